@@ -0,0 +1,80 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+
+/**
+ * Kuzzle instance connected to a StubSocket, exposing its protected hot paths
+ */
+public class BenchmarkKuzzle extends Kuzzle {
+  private final StubSocket stub;
+
+  /**
+   * @param stub - Socket replacing the websocket connection
+   * @throws URISyntaxException
+   */
+  public BenchmarkKuzzle(final StubSocket stub) throws URISyntaxException {
+    super("localhost", new Options().setConnect(Mode.MANUAL));
+    this.stub = stub;
+    this.stub.attach(this);
+    this.setSocket(stub);
+    this.state.reset(States.CONNECTED);
+  }
+
+  /**
+   * @return socket requests are sent to
+   */
+  public StubSocket getStub() {
+    return this.stub;
+  }
+
+  /**
+   * Sends a request built beforehand, bypassing query()
+   *
+   * @param request - Request, with its requestId
+   * @param listener - Response callback listener
+   * @throws JSONException
+   */
+  public void emit(final JSONObject request, final OnQueryDoneListener listener) throws JSONException {
+    this.emitRequest(request, listener);
+  }
+
+  /**
+   * Registers a listener waiting for the response to a request
+   *
+   * @param requestId - Request unique identifier
+   * @param listener - Response callback listener
+   */
+  public void expect(final String requestId, final OnQueryDoneListener listener) {
+    this.currentQueries.put(requestId, listener);
+  }
+
+  /**
+   * Same entry point as the websocket onTextReceived handler
+   *
+   * @param frame - Raw frame
+   */
+  public void receive(final String frame) {
+    try {
+      this.receiveFrame(frame);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Forgets the requests tracked for Room.subscribeToSelf, which otherwise
+   * grow for 10 seconds and skew long runs
+   */
+  public void clearHistory() {
+    this.requestHistory.clear();
+  }
+}
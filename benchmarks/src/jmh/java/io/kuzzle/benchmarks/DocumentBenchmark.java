@@ -0,0 +1,49 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+
+/**
+ * Document construction, as done for every fetched document and search hit, and serialization
+ */
+@State(Scope.Thread)
+public class DocumentBenchmark {
+  private Collection collection;
+  private JSONObject content;
+  private JSONObject meta;
+  private Document document;
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    BenchmarkKuzzle kuzzle = new BenchmarkKuzzle(new StubSocket());
+
+    this.collection = new Collection(kuzzle, Fixtures.COLLECTION, Fixtures.INDEX);
+    this.content = Fixtures.source(1);
+    this.meta = Fixtures.meta();
+    this.document = new Document(this.collection, "doc-1", this.content, this.meta);
+  }
+
+  @Benchmark
+  public Document construct() throws JSONException {
+    return new Document(this.collection, "doc-1", this.content, this.meta);
+  }
+
+  @Benchmark
+  public JSONObject serialize() {
+    return this.document.serialize();
+  }
+
+  @Benchmark
+  public String serializeToString() {
+    return this.document.toString();
+  }
+}
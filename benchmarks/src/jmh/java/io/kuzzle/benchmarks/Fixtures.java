@@ -0,0 +1,122 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Payloads shaped like the ones exchanged with a Kuzzle server
+ */
+public final class Fixtures {
+  public static final String INDEX = "bench-index";
+  public static final String COLLECTION = "bench-collection";
+
+  private Fixtures() {
+  }
+
+  /**
+   * @param i - Document number
+   * @return document content with nested objects, arrays and every scalar type
+   */
+  public static JSONObject source(final int i) throws JSONException {
+    return new JSONObject()
+      .put("name", "document " + i)
+      .put("description", "A document used to measure the SDK hot paths, with \"escaped\" characters\n")
+      .put("count", i)
+      .put("price", i * 1.5)
+      .put("active", i % 2 == 0)
+      .put("missing", JSONObject.NULL)
+      .put("tags", new JSONArray().put("alpha").put("beta").put("gamma"))
+      .put("location", new JSONObject().put("lat", 43.6 + i / 1000.0).put("lon", 3.87))
+      .put("history", new JSONArray()
+        .put(new JSONObject().put("at", 1500000000000L + i).put("by", "user-" + i))
+        .put(new JSONObject().put("at", 1500000001000L + i).put("by", "user-" + (i + 1))));
+  }
+
+  /**
+   * @return document metadata as sent by Kuzzle
+   */
+  public static JSONObject meta() throws JSONException {
+    return new JSONObject()
+      .put("author", "bench-user")
+      .put("createdAt", 1500000000000L)
+      .put("updatedAt", JSONObject.NULL)
+      .put("updater", JSONObject.NULL)
+      .put("active", true)
+      .put("deletedAt", JSONObject.NULL);
+  }
+
+  /**
+   * @param first - Number of the first hit
+   * @param count - Number of hits
+   * @return array of search hits
+   */
+  public static JSONArray hits(final int first, final int count) throws JSONException {
+    JSONArray hits = new JSONArray();
+
+    for (int i = first; i < first + count; i++) {
+      hits.put(new JSONObject()
+        .put("_id", "doc-" + i)
+        .put("_score", 1)
+        .put("_source", source(i))
+        .put("_meta", meta()));
+    }
+
+    return hits;
+  }
+
+  /**
+   * @param requestId - Request unique identifier
+   * @param controller - API controller
+   * @param action - API action
+   * @param result - Response result
+   * @return response frame
+   */
+  public static JSONObject response(final String requestId, final String controller, final String action, final Object result) throws JSONException {
+    return new JSONObject()
+      .put("requestId", requestId)
+      .put("room", requestId)
+      .put("status", 200)
+      .put("error", JSONObject.NULL)
+      .put("controller", controller)
+      .put("action", action)
+      .put("index", INDEX)
+      .put("collection", COLLECTION)
+      .put("volatile", new JSONObject().put("sdkVersion", "3.0.10"))
+      .put("result", result);
+  }
+
+  /**
+   * @param i - Document number
+   * @return real-time notification about a created document
+   */
+  public static JSONObject notification(final int i) throws JSONException {
+    return new JSONObject()
+      .put("status", 200)
+      .put("index", INDEX)
+      .put("collection", COLLECTION)
+      .put("controller", "document")
+      .put("action", "create")
+      .put("state", "done")
+      .put("scope", "in")
+      .put("volatile", new JSONObject().put("sdkVersion", "3.0.10"))
+      .put("requestId", "notification-" + i)
+      .put("room", "room-id")
+      .put("timestamp", 1500000000000L)
+      .put("type", "document")
+      .put("result", new JSONObject()
+        .put("_id", "doc-" + i)
+        .put("_source", source(i))
+        .put("_meta", meta()));
+  }
+
+  /**
+   * @param size - Number of documents
+   * @return search response result holding that many hits
+   */
+  public static JSONObject searchResult(final int size) throws JSONException {
+    return new JSONObject()
+      .put("total", size)
+      .put("hits", hits(0, size));
+  }
+}
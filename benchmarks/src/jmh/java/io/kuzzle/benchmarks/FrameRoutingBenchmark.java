@@ -0,0 +1,71 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+
+/**
+ * Routing of the frames received by the websocket onTextReceived handler.
+ * Frames stay below the decode threshold, so they are decoded on the benchmark thread.
+ */
+@State(Scope.Thread)
+public class FrameRoutingBenchmark {
+  private static final String REQUEST_ID = "0f9d3c1e-5b9a-4c43-9a8e-2d6f1c7a4b21";
+
+  /**
+   * Number of search hits carried by the response frame
+   */
+  @Param({"1", "100"})
+  public int hits;
+
+  private BenchmarkKuzzle kuzzle;
+  private String frame;
+  private String unexpectedFrame;
+  private JSONObject received;
+
+  private final OnQueryDoneListener listener = new OnQueryDoneListener() {
+    @Override
+    public void onSuccess(JSONObject response) {
+      FrameRoutingBenchmark.this.received = response;
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      throw new IllegalStateException(error.toString());
+    }
+  };
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    this.kuzzle = new BenchmarkKuzzle(new StubSocket());
+    this.frame = Fixtures.response(REQUEST_ID, "document", "search", Fixtures.searchResult(this.hits)).toString();
+    this.unexpectedFrame = Fixtures.response("unknown-request", "document", "search", Fixtures.searchResult(this.hits)).toString();
+  }
+
+  /**
+   * Response to a pending request
+   */
+  @Benchmark
+  public JSONObject response() {
+    this.kuzzle.expect(REQUEST_ID, this.listener);
+    this.kuzzle.receive(this.frame);
+    return this.received;
+  }
+
+  /**
+   * Frame no listener is waiting for, decoded and then dropped
+   */
+  @Benchmark
+  public BenchmarkKuzzle unexpected() {
+    this.kuzzle.receive(this.unexpectedFrame);
+    return this.kuzzle;
+  }
+}
@@ -0,0 +1,56 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.kuzzle.sdk.json.JsonEngine;
+import io.kuzzle.sdk.json.OrgJsonEngine;
+import io.kuzzle.sdk.json.StreamingJsonEngine;
+
+/**
+ * org.json and streaming JSON engines, on search response frames
+ */
+@State(Scope.Thread)
+public class JsonEngineBenchmark {
+  @Param({"org.json", "streaming"})
+  public String engine;
+
+  /**
+   * Number of search hits in the frame
+   */
+  @Param({"1", "100"})
+  public int hits;
+
+  private JsonEngine jsonEngine;
+  private JSONObject object;
+  private String frame;
+
+  @Setup
+  public void setup() throws JSONException {
+    this.jsonEngine = this.engine.equals("streaming") ? new StreamingJsonEngine() : new OrgJsonEngine();
+    this.object = Fixtures.response("0f9d3c1e-5b9a-4c43-9a8e-2d6f1c7a4b21", "document", "search", Fixtures.searchResult(this.hits));
+    this.frame = this.object.toString();
+  }
+
+  @Benchmark
+  public JSONObject parse() throws JSONException {
+    return this.jsonEngine.parse(this.frame);
+  }
+
+  @Benchmark
+  public String serialize() throws JSONException {
+    StringBuilder out = new StringBuilder(this.frame.length());
+    this.jsonEngine.write(out, this.object);
+    return out.toString();
+  }
+
+  @Benchmark
+  public JSONObject copy() throws JSONException {
+    return this.jsonEngine.copy(this.object);
+  }
+}
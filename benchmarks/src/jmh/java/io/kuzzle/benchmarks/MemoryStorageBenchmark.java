@@ -0,0 +1,73 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.MemoryStorage;
+
+/**
+ * Mapping of the raw sorted set and geospatial results returned by the memory storage controller
+ */
+@State(Scope.Thread)
+public class MemoryStorageBenchmark {
+  @Param({"10", "1000"})
+  public int size;
+
+  private ExposedMemoryStorage memoryStorage;
+  private JSONArray zrange;
+  private JSONArray georadius;
+
+  /**
+   * Exposes the result mappers, which are protected
+   */
+  static class ExposedMemoryStorage extends MemoryStorage {
+    ExposedMemoryStorage(final Kuzzle kuzzle) {
+      super(kuzzle);
+    }
+
+    JSONObject[] zrange(final JSONArray members) {
+      return this.mapZrangeResults(members);
+    }
+
+    JSONObject[] georadius(final JSONArray points) throws JSONException {
+      return this.mapGeoradiusResults(points);
+    }
+  }
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    this.memoryStorage = new ExposedMemoryStorage(new BenchmarkKuzzle(new StubSocket()));
+
+    // zrange ... WITHSCORES: [member, score, member, score, ...]
+    this.zrange = new JSONArray();
+    // georadius ... WITHCOORD WITHDIST: [[name, distance, [lon, lat]], ...]
+    this.georadius = new JSONArray();
+
+    for (int i = 0; i < this.size; i++) {
+      this.zrange.put("member" + i).put(Double.toString(i * 0.25));
+      this.georadius.put(new JSONArray()
+        .put("point" + i)
+        .put(Double.toString(i * 12.5))
+        .put(new JSONArray().put(Double.toString(3.87 + i / 1000.0)).put(Double.toString(43.6))));
+    }
+  }
+
+  @Benchmark
+  public JSONObject[] mapZrangeResults() {
+    return this.memoryStorage.zrange(this.zrange);
+  }
+
+  @Benchmark
+  public JSONObject[] mapGeoradiusResults() throws JSONException {
+    return this.memoryStorage.georadius(this.georadius);
+  }
+}
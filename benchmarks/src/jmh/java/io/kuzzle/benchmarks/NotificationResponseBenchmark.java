@@ -0,0 +1,47 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.responses.NotificationResponse;
+
+/**
+ * Decoding of real-time notifications about documents
+ */
+@State(Scope.Thread)
+public class NotificationResponseBenchmark {
+  private BenchmarkKuzzle kuzzle;
+  private String frame;
+  private JSONObject notification;
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    this.kuzzle = new BenchmarkKuzzle(new StubSocket());
+    this.notification = Fixtures.notification(1);
+    this.frame = this.notification.toString();
+  }
+
+  /**
+   * From the raw frame, as received from the socket
+   */
+  @Benchmark
+  public NotificationResponse fromFrame() throws JSONException {
+    return new NotificationResponse(this.kuzzle, Json.parse(this.frame));
+  }
+
+  /**
+   * From the copy each room listener gets of a decoded frame.
+   * The copy is needed anyway: NotificationResponse alters the object it decodes.
+   */
+  @Benchmark
+  public NotificationResponse fromObject() throws JSONException {
+    return new NotificationResponse(this.kuzzle, Json.copy(this.notification));
+  }
+}
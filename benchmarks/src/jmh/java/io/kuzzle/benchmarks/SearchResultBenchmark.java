@@ -0,0 +1,86 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.responses.SearchResult;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Paging through a scrolled search result with SearchResult.fetchNext.
+ * The stub socket answers each request synchronously with a page of hits.
+ */
+@State(Scope.Thread)
+public class SearchResultBenchmark {
+  @Param({"10", "100"})
+  public int pageSize;
+
+  @Param({"10"})
+  public int pages;
+
+  private BenchmarkKuzzle kuzzle;
+  private Collection collection;
+  private JSONObject filters;
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    final String searchPage = page("search");
+    final String scrollPage = page("scroll");
+
+    this.kuzzle = new BenchmarkKuzzle(new StubSocket(new StubSocket.Responder() {
+      @Override
+      public String respond(String requestId, String frame) {
+        String page = frame.contains("\"action\":\"scroll\"") ? scrollPage : searchPage;
+        return "{\"requestId\":\"" + requestId + "\",\"room\":\"" + requestId + "\"," + page;
+      }
+    }));
+
+    this.collection = new Collection(this.kuzzle, Fixtures.COLLECTION, Fixtures.INDEX);
+    this.filters = new JSONObject().put("query", new JSONObject().put("match_all", new JSONObject()));
+  }
+
+  /**
+   * @return response fields following requestId and room, without the opening brace
+   */
+  private String page(final String action) throws JSONException {
+    JSONObject response = Fixtures.response("id", "document", action, new JSONObject()
+      .put("total", this.pageSize * this.pages)
+      .put("_scroll_id", "scroll-id")
+      .put("hits", Fixtures.hits(0, this.pageSize)));
+
+    response.remove("requestId");
+    response.remove("room");
+
+    return response.toString().substring(1);
+  }
+
+  @Benchmark
+  public long pageThrough() throws Exception {
+    Options options = new Options();
+    options.setSize((long) this.pageSize);
+    options.setScroll("1m");
+
+    SearchResult result = this.collection.searchSync(this.filters, options);
+    long documents = 0;
+
+    while (result != null) {
+      documents += result.getDocuments().size();
+
+      KuzzleFuture<SearchResult> next = new KuzzleFuture<>();
+      result.fetchNext(next);
+      result = next.await();
+    }
+
+    this.kuzzle.clearHistory();
+    return documents;
+  }
+}
@@ -0,0 +1,57 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.enums.Policies;
+import io.kuzzle.sdk.security.Security;
+
+/**
+ * Evaluation of user rights, as returned by getMyRights and getUserRights
+ */
+@State(Scope.Thread)
+public class SecurityBenchmark {
+  private static final String[] CONTROLLERS = {"document", "collection", "index", "ms", "realtime", "security", "server", "auth"};
+  private static final String[] VALUES = {"allowed", "conditional", "denied"};
+
+  /**
+   * Number of rights
+   */
+  @Param({"10", "1000"})
+  public int size;
+
+  private Security security;
+  private JSONObject[] policies;
+
+  @Setup
+  public void setup() throws JSONException, URISyntaxException {
+    this.security = new Security(new BenchmarkKuzzle(new StubSocket()));
+    this.policies = new JSONObject[this.size];
+
+    for (int i = 0; i < this.size; i++) {
+      this.policies[i] = new JSONObject()
+        .put("controller", i % 10 == 0 ? "*" : CONTROLLERS[i % CONTROLLERS.length])
+        .put("action", i % 7 == 0 ? "*" : "action" + (i % 20))
+        .put("index", i % 3 == 0 ? "*" : "index" + (i % 5))
+        .put("collection", i % 4 == 0 ? "*" : "collection" + (i % 6))
+        .put("value", VALUES[i % VALUES.length]);
+    }
+  }
+
+  @Benchmark
+  public Policies controllerAction() {
+    return this.security.isActionAllowed(this.policies, "document", "action3");
+  }
+
+  @Benchmark
+  public Policies collectionAction() {
+    return this.security.isActionAllowed(this.policies, "document", "action3", "index1", "collection2");
+  }
+}
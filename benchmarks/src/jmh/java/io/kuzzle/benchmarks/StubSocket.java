@@ -0,0 +1,124 @@
+package io.kuzzle.benchmarks;
+
+import java.net.URI;
+
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+/**
+ * Socket never connecting to anything.
+ * Sent frames are either dropped, or answered synchronously by a Responder,
+ * so that a whole request/response round trip runs on the benchmark thread.
+ */
+public class StubSocket extends WebSocketClient {
+  private final Responder responder;
+  private BenchmarkKuzzle kuzzle;
+  private long sentBytes = 0;
+
+  /**
+   * Builds the response frame to a request
+   */
+  public interface Responder {
+    /**
+     * @param requestId - Unique identifier of the request
+     * @param frame - Serialized request
+     * @return response frame, or null to leave the request unanswered
+     */
+    String respond(String requestId, String frame);
+  }
+
+  /**
+   * Socket dropping every sent frame
+   */
+  public StubSocket() {
+    this(null);
+  }
+
+  /**
+   * @param responder - Builds the responses to sent frames
+   */
+  public StubSocket(final Responder responder) {
+    super(URI.create("ws://localhost:7512/"));
+    this.responder = responder;
+  }
+
+  /**
+   * @param kuzzle - Kuzzle instance receiving the responses
+   */
+  void attach(final BenchmarkKuzzle kuzzle) {
+    this.kuzzle = kuzzle;
+  }
+
+  /**
+   * @return number of characters sent so far, consumed by benchmarks so that sending is not optimized away
+   */
+  public long getSentBytes() {
+    return this.sentBytes;
+  }
+
+  @Override
+  public void send(final String message) {
+    this.sentBytes += message.length();
+
+    if (this.responder != null) {
+      String response = this.responder.respond(requestId(message), message);
+
+      if (response != null) {
+        this.onTextReceived(response);
+      }
+    }
+  }
+
+  @Override
+  public void send(final byte[] data) {
+    this.sentBytes += data.length;
+  }
+
+  @Override
+  public void connect() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public void onOpen() {
+  }
+
+  @Override
+  public void onTextReceived(final String message) {
+    this.kuzzle.receive(message);
+  }
+
+  @Override
+  public void onBinaryReceived(final byte[] data) {
+  }
+
+  @Override
+  public void onPingReceived(final byte[] data) {
+  }
+
+  @Override
+  public void onPongReceived(final byte[] data) {
+  }
+
+  @Override
+  public void onException(final Exception e) {
+    throw new RuntimeException(e);
+  }
+
+  @Override
+  public void onCloseReceived() {
+  }
+
+  /**
+   * Reads the requestId of a serialized request, which the SDK always writes as a string
+   *
+   * @param frame - Serialized request
+   * @return request unique identifier
+   */
+  static String requestId(final String frame) {
+    int start = frame.indexOf("\"requestId\":\"") + 13;
+    return frame.substring(start, frame.indexOf('"', start));
+  }
+}
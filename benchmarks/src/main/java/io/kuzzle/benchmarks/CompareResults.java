@@ -0,0 +1,127 @@
+package io.kuzzle.benchmarks;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, benchmark by benchmark.
+ *
+ * A benchmark regresses when its score got worse by more than the threshold,
+ * and by more than the sum of both score errors.
+ *
+ * Usage: CompareResults &lt;baseline.json&gt; &lt;results.json&gt; [threshold percent]
+ */
+public final class CompareResults {
+  private CompareResults() {
+  }
+
+  public static void main(final String[] args) throws IOException, JSONException {
+    if (args.length < 2) {
+      System.err.println("Usage: CompareResults <baseline.json> <results.json> [threshold percent]");
+      System.exit(2);
+    }
+
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+    Map<String, JSONObject> baseline = load(new File(args[0]));
+    Map<String, JSONObject> results = load(new File(args[1]));
+    int regressions = 0;
+
+    System.out.println(String.format("%-80s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+
+    for (Map.Entry<String, JSONObject> entry : results.entrySet()) {
+      JSONObject current = entry.getValue().getJSONObject("primaryMetric");
+      JSONObject previous = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).getJSONObject("primaryMetric") : null;
+
+      if (previous == null) {
+        System.out.println(String.format("%-80s %14s %14.3f %9s", entry.getKey(), "-", current.getDouble("score"), "new"));
+        continue;
+      }
+
+      double before = previous.getDouble("score");
+      double after = current.getDouble("score");
+      double change = before != 0 ? (after - before) / before * 100 : 0;
+      double noise = errorOf(previous) + errorOf(current);
+      // throughput modes: higher is better. Time modes: lower is better
+      boolean higherIsBetter = entry.getValue().getString("mode").equals("thrpt");
+      double worse = higherIsBetter ? -change : change;
+      boolean regressed = worse > threshold && Math.abs(after - before) > noise;
+
+      if (regressed) {
+        regressions++;
+      }
+
+      System.out.println(String.format("%-80s %14.3f %14.3f %+8.1f%%%s", entry.getKey(), before, after, change, regressed ? "  REGRESSION" : ""));
+    }
+
+    for (String key : baseline.keySet()) {
+      if (!results.containsKey(key)) {
+        System.out.println(String.format("%-80s %14.3f %14s %9s", key, baseline.get(key).getJSONObject("primaryMetric").getDouble("score"), "-", "removed"));
+      }
+    }
+
+    if (regressions > 0) {
+      System.err.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+      System.exit(1);
+    }
+  }
+
+  private static double errorOf(final JSONObject metric) {
+    double error = metric.optDouble("scoreError", 0);
+    return Double.isNaN(error) ? 0 : error;
+  }
+
+  /**
+   * @return results indexed by benchmark name and parameters
+   */
+  private static Map<String, JSONObject> load(final File file) throws IOException, JSONException {
+    StringBuilder content = new StringBuilder();
+    char[] buffer = new char[8192];
+
+    try (Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8")) {
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        content.append(buffer, 0, read);
+      }
+    }
+
+    JSONArray runs = new JSONArray(content.toString());
+    Map<String, JSONObject> results = new LinkedHashMap<>();
+
+    for (int i = 0; i < runs.length(); i++) {
+      JSONObject run = runs.getJSONObject(i);
+      StringBuilder key = new StringBuilder(run.getString("benchmark").replace("io.kuzzle.benchmarks.", ""));
+      JSONObject params = run.optJSONObject("params");
+
+      if (params != null) {
+        List<String> names = new ArrayList<>();
+
+        for (Iterator<String> iterator = params.keys(); iterator.hasNext(); ) {
+          names.add(iterator.next());
+        }
+
+        Collections.sort(names);
+
+        for (String name : names) {
+          key.append(' ').append(name).append('=').append(params.getString(name));
+        }
+      }
+
+      results.put(key.toString(), run);
+    }
+
+    return results;
+  }
+}
@@ -0,0 +1,314 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kuzzle.benchmarks.server.StandInServer;
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.core.RoomOptions;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Closed-loop end-to-end benchmark of the SDK against an in-process StandInServer.
+ *
+ * Each client keeps a fixed number of requests in flight, picking each new request
+ * from the operation mix. Reports requests/s and latency percentiles per operation,
+ * and the notifications received by the subscribed rooms.
+ *
+ * Options (--name=value):
+ *   --clients        Kuzzle instances (default 4)
+ *   --inflight       requests in flight per client (default 8)
+ *   --warmup         warmup duration, in seconds (default 3)
+ *   --duration       measured duration, in seconds (default 10)
+ *   --mix            weighted operations (default get=40,create=15,search=10,publish=15,ms.set=10,ms.get=10)
+ *                    among get, create, replace, search, publish, ms.set, ms.get, checkToken
+ *   --subscriptions  rooms subscribed to the benchmark collection per client (default 1)
+ *   --documents      documents stored before the run (default 1000)
+ */
+public class EndToEndBenchmark {
+  private static final String INDEX = "benchmark";
+  private static final String COLLECTION = "documents";
+
+  private final int clients;
+  private final int inflight;
+  private final int warmup;
+  private final int duration;
+  private final int subscriptions;
+  private final int documents;
+  private final Operation[] mix;
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final AtomicLong notifications = new AtomicLong();
+  private final List<Slot> slots = new ArrayList<>();
+  private volatile boolean running = true;
+  private volatile boolean measuring = false;
+  private CountDownLatch drained;
+
+  /**
+   * Request slot: sends a request, waits for its response, then sends the next one
+   */
+  private class Slot implements Runnable, ResponseListener<Object> {
+    private final Kuzzle kuzzle;
+    private final Collection collection;
+    private final LatencyRecorder[] latencies = new LatencyRecorder[Operation.values().length];
+    private final long[] errors = new long[Operation.values().length];
+    private Operation operation;
+    private long start;
+
+    Slot(final Kuzzle kuzzle) {
+      this.kuzzle = kuzzle;
+      this.collection = new Collection(kuzzle, COLLECTION, INDEX);
+
+      for (int i = 0; i < this.latencies.length; i++) {
+        this.latencies[i] = new LatencyRecorder();
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!EndToEndBenchmark.this.running) {
+        EndToEndBenchmark.this.drained.countDown();
+        return;
+      }
+
+      this.operation = EndToEndBenchmark.this.mix[ThreadLocalRandom.current().nextInt(EndToEndBenchmark.this.mix.length)];
+      this.start = System.nanoTime();
+
+      try {
+        this.operation.send(this.kuzzle, this.collection, EndToEndBenchmark.this.documents, this);
+      } catch (JSONException | RuntimeException e) {
+        this.onError(null);
+      }
+    }
+
+    @Override
+    public void onSuccess(Object response) {
+      this.completed(true);
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      this.completed(false);
+    }
+
+    private void completed(final boolean success) {
+      long elapsed = System.nanoTime() - this.start;
+
+      if (EndToEndBenchmark.this.measuring) {
+        if (success) {
+          this.latencies[this.operation.ordinal()].record(elapsed);
+        } else {
+          this.errors[this.operation.ordinal()]++;
+        }
+      }
+
+      // the next request is not sent from the thread reading the socket
+      EndToEndBenchmark.this.executor.execute(this);
+    }
+  }
+
+  /**
+   * @param options - Benchmark options
+   */
+  public EndToEndBenchmark(final Map<String, String> options) {
+    this.clients = intOption(options, "clients", 4);
+    this.inflight = intOption(options, "inflight", 8);
+    this.warmup = intOption(options, "warmup", 3);
+    this.duration = intOption(options, "duration", 10);
+    this.subscriptions = intOption(options, "subscriptions", 1);
+    this.documents = intOption(options, "documents", 1000);
+    this.mix = parseMix(options.containsKey("mix") ? options.get("mix") : "get=40,create=15,search=10,publish=15,ms.set=10,ms.get=10");
+  }
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Invalid option " + arg + ": expected --name=value");
+      }
+
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+
+    new EndToEndBenchmark(options).run();
+    System.exit(0);
+  }
+
+  /**
+   * Starts a stand-in server, runs the benchmark and prints its report
+   *
+   * @throws Exception
+   */
+  public void run() throws Exception {
+    StandInServer server = new StandInServer(0);
+    server.startAndWait();
+
+    for (int i = 0; i < this.documents; i++) {
+      server.getBackend().getDocuments().put(INDEX, COLLECTION, "doc-" + i, new JSONObject().put("name", "document " + i).put("value", i));
+    }
+
+    List<Kuzzle> instances = new ArrayList<>();
+
+    for (int i = 0; i < this.clients; i++) {
+      instances.add(this.connect(server.getPort()));
+    }
+
+    for (Kuzzle kuzzle : instances) {
+      kuzzle.memoryStorage.setSync("key", "value", null);
+
+      for (int i = 0; i < this.subscriptions; i++) {
+        this.subscribe(kuzzle);
+      }
+
+      for (int i = 0; i < this.inflight; i++) {
+        this.slots.add(new Slot(kuzzle));
+      }
+    }
+
+    this.drained = new CountDownLatch(this.slots.size());
+
+    for (Slot slot : this.slots) {
+      this.executor.execute(slot);
+    }
+
+    Thread.sleep(TimeUnit.SECONDS.toMillis(this.warmup));
+    long notificationsBefore = this.notifications.get();
+    long start = System.nanoTime();
+    this.measuring = true;
+    Thread.sleep(TimeUnit.SECONDS.toMillis(this.duration));
+    this.measuring = false;
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    long received = this.notifications.get() - notificationsBefore;
+
+    this.running = false;
+    boolean complete = this.drained.await(10, TimeUnit.SECONDS);
+
+    this.report(elapsed, received);
+
+    if (!complete) {
+      System.out.println(this.drained.getCount() + " request(s) never got a response");
+    }
+
+    for (Kuzzle kuzzle : instances) {
+      kuzzle.disconnect();
+    }
+
+    server.stop();
+    this.executor.shutdownNow();
+  }
+
+  private Kuzzle connect(final int port) throws Exception {
+    final KuzzleFuture<Void> connected = new KuzzleFuture<>();
+    Options options = new Options();
+    options.setPort(port);
+
+    Kuzzle kuzzle = new Kuzzle("localhost", options, connected);
+    connected.get(10, TimeUnit.SECONDS);
+
+    return kuzzle;
+  }
+
+  private void subscribe(final Kuzzle kuzzle) throws Exception {
+    KuzzleFuture<Room> subscribed = new KuzzleFuture<>();
+
+    new Collection(kuzzle, COLLECTION, INDEX)
+      .subscribe(new JSONObject(), new RoomOptions(), new ResponseListener<NotificationResponse>() {
+        @Override
+        public void onSuccess(NotificationResponse response) {
+          EndToEndBenchmark.this.notifications.incrementAndGet();
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+        }
+      })
+      .onDone(subscribed);
+
+    subscribed.get(10, TimeUnit.SECONDS);
+  }
+
+  private void report(final double elapsed, final long received) {
+    System.out.println(String.format(Locale.ROOT, "%d client(s), %d request(s) in flight each, %d subscription(s) each, %.1fs measured",
+      this.clients, this.inflight, this.subscriptions, elapsed));
+    System.out.println(String.format(Locale.ROOT, "%-12s %10s %10s %10s %10s %10s %8s", "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors"));
+
+    LatencyRecorder all = new LatencyRecorder();
+    long allErrors = 0;
+
+    for (Operation operation : Operation.values()) {
+      LatencyRecorder latencies = new LatencyRecorder();
+      long errors = 0;
+
+      for (Slot slot : this.slots) {
+        latencies.merge(slot.latencies[operation.ordinal()]);
+        errors += slot.errors[operation.ordinal()];
+      }
+
+      if (latencies.getCount() + errors > 0) {
+        this.printLine(operation.getLabel(), latencies, errors, elapsed);
+        all.merge(latencies);
+        allErrors += errors;
+      }
+    }
+
+    this.printLine("total", all, allErrors, elapsed);
+    System.out.println(String.format(Locale.ROOT, "notifications received: %d (%.0f/s)", received, received / elapsed));
+  }
+
+  private void printLine(final String label, final LatencyRecorder latencies, final long errors, final double elapsed) {
+    System.out.println(String.format(Locale.ROOT, "%-12s %10d %10.0f %10.3f %10.3f %10.3f %8d",
+      label,
+      latencies.getCount(),
+      latencies.getCount() / elapsed,
+      latencies.percentile(50) / 1e6,
+      latencies.percentile(99) / 1e6,
+      latencies.percentile(99.9) / 1e6,
+      errors));
+  }
+
+  /**
+   * @param mix - Weighted operations: "get=40,create=20,..."
+   * @return operations, each repeated as many times as its weight
+   */
+  static Operation[] parseMix(final String mix) {
+    List<Operation> operations = new ArrayList<>();
+
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split("=");
+      Operation operation = Operation.fromLabel(parts[0].trim());
+      int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+
+      for (int i = 0; i < weight; i++) {
+        operations.add(operation);
+      }
+    }
+
+    if (operations.isEmpty()) {
+      throw new IllegalArgumentException("Empty operation mix");
+    }
+
+    return operations.toArray(new Operation[0]);
+  }
+
+  private static int intOption(final Map<String, String> options, final String name, final int defaultValue) {
+    return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+  }
+}
@@ -0,0 +1,70 @@
+package io.kuzzle.benchmarks.e2e;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one operation.
+ * Not thread-safe: each recorder is written by one request slot at a time, and recorders are merged once the run is over.
+ */
+public class LatencyRecorder {
+  private long[] samples = new long[1024];
+  private int count = 0;
+  private boolean sorted = true;
+
+  /**
+   * @param nanos - Latency of one request, in nanoseconds
+   */
+  public void record(final long nanos) {
+    if (this.count == this.samples.length) {
+      this.samples = Arrays.copyOf(this.samples, this.count * 2);
+    }
+
+    this.samples[this.count++] = nanos;
+    this.sorted = false;
+  }
+
+  /**
+   * @return number of samples
+   */
+  public int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Adds the samples of another recorder to this one
+   *
+   * @param other - Recorder to merge
+   * @return this
+   */
+  public LatencyRecorder merge(final LatencyRecorder other) {
+    if (this.count + other.count > this.samples.length) {
+      this.samples = Arrays.copyOf(this.samples, this.count + other.count);
+    }
+
+    System.arraycopy(other.samples, 0, this.samples, this.count, other.count);
+    this.count += other.count;
+    this.sorted = false;
+
+    return this;
+  }
+
+  /**
+   * Nearest-rank percentile
+   *
+   * @param percentile - Percentile, between 0 and 100
+   * @return latency at that percentile, in nanoseconds, or 0 without any sample
+   */
+  public long percentile(final double percentile) {
+    if (this.count == 0) {
+      return 0;
+    }
+
+    if (!this.sorted) {
+      Arrays.sort(this.samples, 0, this.count);
+      this.sorted = true;
+    }
+
+    int rank = (int) Math.ceil(percentile / 100 * this.count);
+    return this.samples[Math.max(0, Math.min(this.count, rank) - 1)];
+  }
+}
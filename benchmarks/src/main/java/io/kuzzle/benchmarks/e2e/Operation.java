@@ -0,0 +1,138 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.SearchResult;
+import io.kuzzle.sdk.responses.TokenValidity;
+
+/**
+ * Requests an end-to-end benchmark can send, each through the public SDK API
+ */
+public enum Operation {
+  GET("get") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) {
+      collection.fetchDocument(randomId(documents), new Forward<Document>(listener));
+    }
+  },
+  CREATE("create") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) throws JSONException {
+      collection.createDocument(content(), new Forward<Document>(listener));
+    }
+  },
+  REPLACE("replace") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) throws JSONException {
+      collection.replaceDocument(randomId(documents), content(), null, new Forward<Document>(listener));
+    }
+  },
+  SEARCH("search") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) throws JSONException {
+      JSONObject filters = new JSONObject().put("query", new JSONObject().put("match_all", new JSONObject()));
+      collection.search(filters, new Options().setSize(20L), new Forward<SearchResult>(listener));
+    }
+  },
+  PUBLISH("publish") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) throws JSONException {
+      collection.publishMessage(content(), null, new Forward<JSONObject>(listener));
+    }
+  },
+  MS_SET("ms.set") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) {
+      kuzzle.memoryStorage.set(randomId(documents), "value", new Forward<String>(listener));
+    }
+  },
+  MS_GET("ms.get") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) {
+      kuzzle.memoryStorage.get("key", new Forward<String>(listener));
+    }
+  },
+  CHECK_TOKEN("checkToken") {
+    @Override
+    void send(final Kuzzle kuzzle, final Collection collection, final int documents, final ResponseListener<Object> listener) {
+      kuzzle.checkToken("stand-in-token", new Forward<TokenValidity>(listener));
+    }
+  };
+
+  private final String label;
+
+  Operation(final String label) {
+    this.label = label;
+  }
+
+  /**
+   * @return name of the operation in workload mixes and reports
+   */
+  public String getLabel() {
+    return this.label;
+  }
+
+  /**
+   * @param label - Operation name
+   * @return matching operation
+   */
+  public static Operation fromLabel(final String label) {
+    for (Operation operation : values()) {
+      if (operation.label.equals(label)) {
+        return operation;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown operation: " + label);
+  }
+
+  /**
+   * Sends the request of this operation
+   *
+   * @param kuzzle - Kuzzle instance
+   * @param collection - Benchmark collection
+   * @param documents - Number of documents in the collection, named doc-0 to doc-(n-1)
+   * @param listener - Response callback listener
+   */
+  abstract void send(Kuzzle kuzzle, Collection collection, int documents, ResponseListener<Object> listener) throws JSONException;
+
+  private static String randomId(final int documents) {
+    return "doc-" + ThreadLocalRandom.current().nextInt(documents);
+  }
+
+  private static JSONObject content() throws JSONException {
+    return new JSONObject()
+      .put("name", "benchmark")
+      .put("value", ThreadLocalRandom.current().nextInt())
+      .put("at", System.currentTimeMillis());
+  }
+
+  /**
+   * Forwards a typed response to an untyped listener
+   */
+  private static class Forward<T> implements ResponseListener<T> {
+    private final ResponseListener<Object> listener;
+
+    Forward(final ResponseListener<Object> listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onSuccess(T response) {
+      this.listener.onSuccess(response);
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      this.listener.onError(error);
+    }
+  }
+}
@@ -0,0 +1,451 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kuzzle.benchmarks.network.NetworkConditions;
+import io.kuzzle.benchmarks.network.NetworkScript;
+import io.kuzzle.benchmarks.server.StandInBackend;
+import io.kuzzle.benchmarks.server.StandInServer;
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.core.RoomOptions;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Measures how the SDK offline modes recover from network incidents.
+ *
+ * For each set of offline modes, clients connect to a StandInServer through simulated
+ * network conditions, send uniquely keyed requests at a fixed rate and listen to a room
+ * receiving probe notifications, while a NetworkScript plays disconnections, outages and stalls.
+ *
+ * Reports, per incident:
+ *   - the time to recover, from the moment the network is usable again to the reconnected
+ *     (or connected) event, and the time spent offline
+ *   - the number of queued requests replayed and the replay duration
+ *   - the time to get notifications again, from the recovery to the first probe notification
+ * and, per run, the requests lost (never executed), duplicated (executed more than once),
+ * rejected by the SDK, or left without a response.
+ *
+ * Options (--name=value):
+ *   --modes           runs, each a "+" separated set of queue, replay and resubscribe, or none
+ *                     (default none,queue,queue+replay,queue+replay+resubscribe)
+ *   --conditions      perfect, wifi or 3g (default wifi)
+ *   --script          network incidents, see NetworkScript (default 2000:disconnect,6000:outage=3000,13000:stall=2000,17000:close)
+ *   --clients         Kuzzle instances (default 2)
+ *   --rate            requests sent per second by each client (default 50)
+ *   --reconnectDelay  SDK reconnection delay, in milliseconds (default 1000)
+ *   --drain           time left to pending requests after the script, in seconds (default 5)
+ */
+public class RecoveryBenchmark {
+  private static final String INDEX = "benchmark";
+  private static final String COLLECTION = "probes";
+
+  private final String[] modes;
+  private final NetworkConditions conditions;
+  private final String script;
+  private final int clients;
+  private final int rate;
+  private final int reconnectDelay;
+  private final int drain;
+
+  /**
+   * Client of a run: sends requests and records the events of its Kuzzle instance
+   */
+  private class Client implements Runnable {
+    private final Kuzzle kuzzle;
+    private final String prefix;
+    private final List<Long> ups = Collections.synchronizedList(new ArrayList<Long>());
+    private final List<Long> pops = Collections.synchronizedList(new ArrayList<Long>());
+    private final List<Long> notifications = Collections.synchronizedList(new ArrayList<Long>());
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+
+    Client(final Kuzzle kuzzle, final String prefix) {
+      this.kuzzle = kuzzle;
+      this.prefix = prefix;
+
+      EventListener up = new EventListener() {
+        @Override
+        public void trigger(Object... args) {
+          Client.this.ups.add(System.nanoTime());
+        }
+      };
+
+      kuzzle.addListener(Event.reconnected, up);
+      kuzzle.addListener(Event.connected, up);
+      kuzzle.addListener(Event.offlineQueuePush, new EventListener() {
+        @Override
+        public void trigger(Object... args) {
+          Client.this.queued.incrementAndGet();
+        }
+      });
+      kuzzle.addListener(Event.offlineQueuePop, new EventListener() {
+        @Override
+        public void trigger(Object... args) {
+          Client.this.pops.add(System.nanoTime());
+        }
+      });
+    }
+
+    void subscribe() throws Exception {
+      KuzzleFuture<Room> subscribed = new KuzzleFuture<>();
+
+      new Collection(this.kuzzle, COLLECTION, INDEX)
+        .subscribe(new JSONObject(), new RoomOptions(), new ResponseListener<NotificationResponse>() {
+          @Override
+          public void onSuccess(NotificationResponse response) {
+            Client.this.notifications.add(System.nanoTime());
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+          }
+        })
+        .onDone(subscribed);
+
+      subscribed.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends the next request, keyed by its sequence number
+     */
+    @Override
+    public void run() {
+      final long start = System.nanoTime();
+      String key = this.prefix + this.sent.getAndIncrement();
+
+      try {
+        this.kuzzle.memoryStorage.incr(key, new ResponseListener<Long>() {
+          @Override
+          public void onSuccess(Long response) {
+            Client.this.succeeded.incrementAndGet();
+
+            synchronized (Client.this.latencies) {
+              Client.this.latencies.record(System.nanoTime() - start);
+            }
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+            Client.this.rejected.incrementAndGet();
+          }
+        });
+      } catch (RuntimeException e) {
+        this.rejected.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Backend client publishing probe notifications, ignoring the responses
+   */
+  private static class Prober implements Runnable, StandInBackend.Client {
+    private final StandInBackend backend;
+    private long sequence = 0;
+
+    Prober(final StandInBackend backend) {
+      this.backend = backend;
+    }
+
+    @Override
+    public void run() {
+      try {
+        this.backend.handle(this, new JSONObject()
+          .put("controller", "realtime")
+          .put("action", "publish")
+          .put("index", INDEX)
+          .put("collection", COLLECTION)
+          .put("requestId", "probe-" + this.sequence++)
+          .put("body", new JSONObject().put("probe", this.sequence))
+          .toString());
+      } catch (JSONException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public void send(String frame) {
+    }
+  }
+
+  /**
+   * @param options - Benchmark options
+   */
+  public RecoveryBenchmark(final Map<String, String> options) {
+    this.modes = option(options, "modes", "none,queue,queue+replay,queue+replay+resubscribe").split(",");
+    this.conditions = NetworkConditions.preset(option(options, "conditions", "wifi"));
+    this.script = option(options, "script", "2000:disconnect,6000:outage=3000,13000:stall=2000,17000:close");
+    this.clients = Integer.parseInt(option(options, "clients", "2"));
+    this.rate = Integer.parseInt(option(options, "rate", "50"));
+    this.reconnectDelay = Integer.parseInt(option(options, "reconnectDelay", "1000"));
+    this.drain = Integer.parseInt(option(options, "drain", "5"));
+
+    if (this.rate <= 0) {
+      throw new IllegalArgumentException("--rate must be positive");
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Invalid option " + arg + ": expected --name=value");
+      }
+
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+
+    new RecoveryBenchmark(options).run();
+    System.exit(0);
+  }
+
+  /**
+   * Plays the network script once per set of offline modes, and prints a report of each run
+   *
+   * @throws Exception
+   */
+  public void run() throws Exception {
+    System.out.println("conditions: " + this.conditions + ", script: " + this.script);
+
+    for (String mode : this.modes) {
+      this.run(mode.trim());
+    }
+  }
+
+  private void run(final String mode) throws Exception {
+    Options options = new Options();
+    options.setAutoQueue(false);
+    options.setAutoReplay(false);
+    options.setAutoResubscribe(false);
+    options.setReconnectionDelay(this.reconnectDelay);
+
+    for (String flag : mode.split("\\+")) {
+      switch (flag) {
+        case "queue":
+          options.setAutoQueue(true);
+          break;
+        case "replay":
+          options.setAutoReplay(true);
+          break;
+        case "resubscribe":
+          options.setAutoResubscribe(true);
+          break;
+        case "none":
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown offline mode " + flag + ": expected queue, replay, resubscribe or none");
+      }
+    }
+
+    StandInServer server = new StandInServer(0);
+    server.setConditions(this.conditions);
+    server.startAndWait();
+    options.setPort(server.getPort());
+
+    List<Client> runClients = new ArrayList<>();
+
+    for (int i = 0; i < this.clients; i++) {
+      KuzzleFuture<Void> connected = new KuzzleFuture<>();
+      Client client = new Client(new Kuzzle("localhost", options, connected), "client-" + i + "-");
+      connected.get(10, TimeUnit.SECONDS);
+      client.subscribe();
+      // the connection itself is not a recovery
+      client.ups.clear();
+      runClients.add(client);
+    }
+
+    ScheduledExecutorService senders = Executors.newScheduledThreadPool(this.clients + 1);
+    long period = TimeUnit.SECONDS.toMicros(1) / this.rate;
+
+    for (Client client : runClients) {
+      senders.scheduleAtFixedRate(client, 0, period, TimeUnit.MICROSECONDS);
+    }
+
+    senders.scheduleAtFixedRate(new Prober(server.getBackend()), 0, 50, TimeUnit.MILLISECONDS);
+
+    NetworkScript incidents = NetworkScript.parse(this.script);
+    incidents.start(server);
+    // leaves time to the last incident to be recovered from
+    Thread.sleep(incidents.getLength() + Math.max(3000, 3L * this.reconnectDelay));
+    senders.shutdownNow();
+    senders.awaitTermination(5, TimeUnit.SECONDS);
+    Thread.sleep(TimeUnit.SECONDS.toMillis(this.drain));
+
+    this.report(mode, server, incidents.getIncidents(), runClients);
+
+    incidents.stop();
+
+    for (Client client : runClients) {
+      client.kuzzle.disconnect();
+    }
+
+    server.stop();
+  }
+
+  private void report(final String mode, final StandInServer server, final List<NetworkScript.Incident> incidents, final List<Client> runClients) {
+    System.out.println();
+    System.out.println("modes: " + mode);
+    System.out.println(String.format(Locale.ROOT, "%-12s %8s %10s %12s %12s %10s %12s %14s",
+      "incident", "at s", "recovered", "recover ms", "offline ms", "replayed", "replay ms", "notified ms"));
+
+    long origin = incidents.isEmpty() ? 0 : incidents.get(0).getStart();
+
+    for (int i = 0; i < incidents.size(); i++) {
+      NetworkScript.Incident incident = incidents.get(i);
+      long next = i + 1 < incidents.size() ? incidents.get(i + 1).getStart() : Long.MAX_VALUE;
+      int recovered = 0;
+      long recover = 0;
+      long offline = 0;
+      long replayed = 0;
+      long replay = 0;
+      long notified = 0;
+      boolean silent = false;
+
+      for (Client client : runClients) {
+        Long up = first(client.ups, incident.getStart(), next);
+
+        if (up == null) {
+          continue;
+        }
+
+        recovered++;
+        recover = Math.max(recover, up - incident.getEnd());
+        offline = Math.max(offline, up - incident.getStart());
+
+        List<Long> pops = between(client.pops, up, next);
+        replayed += pops.size();
+
+        if (!pops.isEmpty()) {
+          replay = Math.max(replay, pops.get(pops.size() - 1) - up);
+        }
+
+        Long notification = first(client.notifications, up, next);
+
+        if (notification == null) {
+          silent = true;
+        } else {
+          notified = Math.max(notified, notification - up);
+        }
+      }
+
+      System.out.println(String.format(Locale.ROOT, "%-12s %8.1f %10s %12s %12s %10d %12s %14s",
+        incident.getAction(),
+        (incident.getStart() - origin) / 1e9,
+        recovered + "/" + runClients.size(),
+        recovered > 0 ? millis(recover) : "-",
+        recovered > 0 ? millis(offline) : "-",
+        replayed,
+        replayed > 0 ? millis(replay) : "-",
+        recovered == 0 ? "-" : silent ? "never" : millis(notified)));
+    }
+
+    long sent = 0;
+    long succeeded = 0;
+    long rejected = 0;
+    long queued = 0;
+    long lost = 0;
+    long duplicated = 0;
+    long executedUnanswered = 0;
+    LatencyRecorder latencies = new LatencyRecorder();
+
+    for (Client client : runClients) {
+      sent += client.sent.get();
+      succeeded += client.succeeded.get();
+      rejected += client.rejected.get();
+      queued += client.queued.get();
+
+      synchronized (client.latencies) {
+        latencies.merge(client.latencies);
+      }
+
+      long executed = 0;
+
+      for (long i = 0; i < client.sent.get(); i++) {
+        String value = server.getBackend().getMemoryStorage().get(client.prefix + i);
+
+        if (value == null) {
+          lost++;
+        } else {
+          executed++;
+
+          if (Long.parseLong(value) > 1) {
+            duplicated++;
+          }
+        }
+      }
+
+      executedUnanswered += Math.max(0, executed - client.succeeded.get());
+    }
+
+    long unanswered = sent - succeeded - rejected;
+
+    System.out.println(String.format(Locale.ROOT,
+      "requests: %d sent, %d succeeded, %d rejected, %d queued, %d without response (%d of them executed)",
+      sent, succeeded, rejected, queued, unanswered, executedUnanswered));
+    System.out.println(String.format(Locale.ROOT,
+      "          %d never executed (%d excluding rejections), %d executed more than once",
+      lost, Math.max(0, lost - rejected), duplicated));
+    System.out.println(String.format(Locale.ROOT,
+      "latency:  p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+      latencies.percentile(50) / 1e6, latencies.percentile(99) / 1e6, latencies.percentile(100) / 1e6));
+    System.out.println(String.format(Locale.ROOT,
+      "network:  %d frame(s) dropped, %d frame(s) lost in closed connections",
+      server.getDroppedFrames(), server.getLostFrames()));
+  }
+
+  private static Long first(final List<Long> times, final long from, final long to) {
+    synchronized (times) {
+      for (Long time : times) {
+        if (time >= from && time < to) {
+          return time;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static List<Long> between(final List<Long> times, final long from, final long to) {
+    List<Long> result = new ArrayList<>();
+
+    synchronized (times) {
+      for (Long time : times) {
+        if (time >= from && time < to) {
+          result.add(time);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private static String millis(final long nanos) {
+    return String.format(Locale.ROOT, "%.0f", nanos / 1e6);
+  }
+
+  private static String option(final Map<String, String> options, final String name, final String defaultValue) {
+    return options.containsKey(name) ? options.get(name) : defaultValue;
+  }
+}
@@ -0,0 +1,106 @@
+package io.kuzzle.benchmarks.e2e;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples of registry sizes over a soak run, and detection of the registries growing without bound.
+ *
+ * A registry of bounded size fluctuates around a plateau once the traffic is steady,
+ * however large the plateau. A leaking registry keeps growing: the run is split in quarters,
+ * the first one being the warmup, and a registry leaks if its smallest size over the last quarter
+ * exceeds its largest size over the second quarter by more than a slack.
+ */
+public class RegistryMonitor {
+  private final List<Long> times = new ArrayList<>();
+  private final Map<String, List<Integer>> samples = new LinkedHashMap<>();
+
+  /**
+   * Records the registry sizes at a point in time
+   *
+   * @param time - Sampling time, in milliseconds since the start of the run
+   * @param sizes - Size of each registry, by name
+   */
+  public synchronized void sample(final long time, final Map<String, Integer> sizes) {
+    this.times.add(time);
+
+    for (Map.Entry<String, Integer> entry : sizes.entrySet()) {
+      List<Integer> registry = this.samples.get(entry.getKey());
+
+      if (registry == null) {
+        registry = new ArrayList<>();
+
+        // registries appearing late are considered empty before
+        for (int i = 0; i < this.times.size() - 1; i++) {
+          registry.add(0);
+        }
+
+        this.samples.put(entry.getKey(), registry);
+      }
+
+      registry.add(entry.getValue());
+    }
+  }
+
+  /**
+   * @return number of samples recorded
+   */
+  public synchronized int getSampleCount() {
+    return this.times.size();
+  }
+
+  /**
+   * @param slack - Growth tolerated between the second and the last quarter of the run
+   * @return names of the registries growing without bound, empty if none, or if there are too few samples to tell
+   */
+  public synchronized List<String> getGrowingRegistries(final int slack) {
+    List<String> growing = new ArrayList<>();
+    int count = this.times.size();
+
+    if (count < 8) {
+      return growing;
+    }
+
+    for (Map.Entry<String, List<Integer>> entry : this.samples.entrySet()) {
+      List<Integer> sizes = entry.getValue();
+      int secondQuarterMax = Integer.MIN_VALUE;
+      int lastQuarterMin = Integer.MAX_VALUE;
+
+      for (int i = count / 4; i < count / 2; i++) {
+        secondQuarterMax = Math.max(secondQuarterMax, sizes.get(i));
+      }
+
+      for (int i = count - count / 4; i < count; i++) {
+        lastQuarterMin = Math.min(lastQuarterMin, sizes.get(i));
+      }
+
+      if (lastQuarterMin > secondQuarterMax + slack) {
+        growing.add(entry.getKey());
+      }
+    }
+
+    return growing;
+  }
+
+  /**
+   * @return for each registry: its last sampled size, and its peak size
+   */
+  public synchronized Map<String, int[]> getSummary() {
+    Map<String, int[]> summary = new LinkedHashMap<>();
+
+    for (Map.Entry<String, List<Integer>> entry : this.samples.entrySet()) {
+      List<Integer> sizes = entry.getValue();
+      int peak = 0;
+
+      for (int size : sizes) {
+        peak = Math.max(peak, size);
+      }
+
+      summary.put(entry.getKey(), new int[] {sizes.get(sizes.size() - 1), peak});
+    }
+
+    return summary;
+  }
+}
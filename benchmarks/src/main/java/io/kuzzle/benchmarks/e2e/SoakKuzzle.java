@@ -0,0 +1,63 @@
+package io.kuzzle.benchmarks.e2e;
+
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.EventList;
+
+/**
+ * Kuzzle instance exposing the size of its internal registries, for soak tests
+ */
+public class SoakKuzzle extends Kuzzle {
+  /**
+   * @param host - Kuzzle host
+   * @param options - Connection options
+   * @param connectionCallback - Called once connected
+   * @throws URISyntaxException
+   */
+  public SoakKuzzle(final String host, final Options options, final ResponseListener<Void> connectionCallback) throws URISyntaxException {
+    super(host, options, connectionCallback);
+  }
+
+  /**
+   * @return number of entries of each internal registry, by registry name
+   */
+  public Map<String, Integer> getRegistrySizes() {
+    Map<String, Integer> sizes = new LinkedHashMap<>();
+    int collections = 0;
+    int subscriptions = 0;
+    int listeners = 0;
+
+    for (Map<String, Collection> indexCollections : this.collections.values()) {
+      collections += indexCollections.size();
+    }
+
+    for (Map.Entry<String, ? extends Map<String, Room>> entry : this.subscriptions.entrySet()) {
+      if (!entry.getKey().equals("pending")) {
+        subscriptions += entry.getValue().size();
+      }
+    }
+
+    for (EventList list : this.eventListeners.values()) {
+      listeners += list.size();
+    }
+
+    sizes.put("currentQueries", this.currentQueries.size());
+    sizes.put("rawQueries", this.rawQueries.size());
+    sizes.put("requestHistory", this.requestHistory.size());
+    sizes.put("roomList", this.roomList.size());
+    sizes.put("collections", collections);
+    sizes.put("subscriptions", subscriptions);
+    sizes.put("pendingSubscriptions", this.getPendingSubscriptions().size());
+    sizes.put("offlineQueue", this.offlineQueue.getQueue().size());
+    sizes.put("eventListeners", listeners);
+
+    return sizes;
+  }
+}
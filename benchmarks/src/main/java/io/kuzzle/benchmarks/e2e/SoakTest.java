@@ -0,0 +1,313 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kuzzle.benchmarks.server.StandInServer;
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.core.RoomOptions;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Long-running soak test of the SDK against an in-process StandInServer, detecting leaks
+ * in the SDK internal registries (pending queries, request history, rooms, collections,
+ * subscriptions, offline queue, event listeners).
+ *
+ * Clients send a mix of requests at a fixed rate, some of them failing, subscribe and
+ * unsubscribe continuously, and are disconnected periodically, at a pace compressing hours
+ * of application traffic into minutes. The registry sizes are sampled throughout the run,
+ * and the test fails (exit code 1) if any of them grows without bound: see RegistryMonitor.
+ *
+ * Options (--name=value):
+ *   --clients        Kuzzle instances (default 2)
+ *   --rate           requests sent per second by each client (default 200)
+ *   --mix            weighted operations, see EndToEndBenchmark (default get=40,create=15,search=10,publish=15,ms.set=10,ms.get=10)
+ *   --documents      document ids requested; only half of them exist, so that gets also fail (default 1000)
+ *   --rooms          subscriptions kept open by each client (default 8)
+ *   --churn          time between two subscription renewals, in milliseconds (default 100)
+ *   --reconnect      time between two disconnections of all clients, in seconds, 0 to disable (default 30)
+ *   --abrupt         true to drop the connections without a close handshake (default false)
+ *   --duration       run duration, in minutes (default 30)
+ *   --sample         time between two samples of the registry sizes, in seconds (default 5)
+ *   --slack          growth tolerated for a registry between the second and the last quarter of the run (default 64)
+ */
+public class SoakTest {
+  private static final String INDEX = "soak";
+  private static final String[] COLLECTIONS = {"alpha", "beta", "gamma", "delta"};
+
+  private final int clients;
+  private final int rate;
+  private final Operation[] mix;
+  private final int documents;
+  private final int rooms;
+  private final int churn;
+  private final int reconnect;
+  private final boolean abrupt;
+  private final int duration;
+  private final int sample;
+  private final int slack;
+
+  private final RegistryMonitor monitor = new RegistryMonitor();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong succeeded = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong subscribed = new AtomicLong();
+  private final AtomicLong notifications = new AtomicLong();
+
+  /**
+   * Client of the soak test: sends requests, and renews its subscriptions
+   */
+  private class Client {
+    private final SoakKuzzle kuzzle;
+    private final Queue<Room> open = new ArrayDeque<>();
+    private final ResponseListener<Object> counter = new ResponseListener<Object>() {
+      @Override
+      public void onSuccess(Object response) {
+        SoakTest.this.succeeded.incrementAndGet();
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        SoakTest.this.failed.incrementAndGet();
+      }
+    };
+    private final ResponseListener<NotificationResponse> notified = new ResponseListener<NotificationResponse>() {
+      @Override
+      public void onSuccess(NotificationResponse response) {
+        SoakTest.this.notifications.incrementAndGet();
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    };
+
+    Client(final SoakKuzzle kuzzle) {
+      this.kuzzle = kuzzle;
+    }
+
+    void send() {
+      Operation operation = SoakTest.this.mix[ThreadLocalRandom.current().nextInt(SoakTest.this.mix.length)];
+      SoakTest.this.sent.incrementAndGet();
+
+      try {
+        operation.send(this.kuzzle, this.kuzzle.collection(randomCollection(), INDEX), SoakTest.this.documents, this.counter);
+      } catch (JSONException | RuntimeException e) {
+        SoakTest.this.failed.incrementAndGet();
+      }
+    }
+
+    /**
+     * Unsubscribes the oldest room once enough of them are open, and subscribes a new one
+     */
+    void renew() {
+      Room oldest = null;
+
+      synchronized (this.open) {
+        if (this.open.size() >= SoakTest.this.rooms) {
+          oldest = this.open.poll();
+        }
+      }
+
+      if (oldest != null) {
+        oldest.unsubscribe();
+      }
+
+      this.kuzzle.collection(randomCollection(), INDEX)
+        .subscribe(new JSONObject(), new RoomOptions(), this.notified)
+        .onDone(new ResponseListener<Room>() {
+          @Override
+          public void onSuccess(Room room) {
+            SoakTest.this.subscribed.incrementAndGet();
+
+            synchronized (Client.this.open) {
+              Client.this.open.add(room);
+            }
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+          }
+        });
+    }
+  }
+
+  /**
+   * @param options - Soak test options
+   */
+  public SoakTest(final Map<String, String> options) {
+    this.clients = intOption(options, "clients", 2);
+    this.rate = intOption(options, "rate", 200);
+    this.mix = EndToEndBenchmark.parseMix(options.containsKey("mix") ? options.get("mix") : "get=40,create=15,search=10,publish=15,ms.set=10,ms.get=10");
+    this.documents = intOption(options, "documents", 1000);
+    this.rooms = intOption(options, "rooms", 8);
+    this.churn = intOption(options, "churn", 100);
+    this.reconnect = intOption(options, "reconnect", 30);
+    this.abrupt = options.containsKey("abrupt") && Boolean.parseBoolean(options.get("abrupt"));
+    this.duration = intOption(options, "duration", 30);
+    this.sample = intOption(options, "sample", 5);
+    this.slack = intOption(options, "slack", 64);
+
+    if (this.rate <= 0 || this.churn <= 0 || this.sample <= 0) {
+      throw new IllegalArgumentException("--rate, --churn and --sample must be positive");
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Invalid option " + arg + ": expected --name=value");
+      }
+
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+
+    System.exit(new SoakTest(options).run() ? 0 : 1);
+  }
+
+  /**
+   * Runs the soak test and prints the registry sizes as they are sampled
+   *
+   * @return false if a registry grew without bound
+   * @throws Exception
+   */
+  public boolean run() throws Exception {
+    final StandInServer server = new StandInServer(0);
+    server.startAndWait();
+
+    // half of the requested documents exist: the other gets fail with a "not found" error
+    for (int i = 0; i < this.documents; i += 2) {
+      for (String collection : COLLECTIONS) {
+        server.getBackend().getDocuments().put(INDEX, collection, "doc-" + i, new JSONObject().put("value", i));
+      }
+    }
+
+    Options options = new Options();
+    options.setPort(server.getPort());
+    options.setOfflineMode(Mode.AUTO);
+    options.setReconnectionDelay(200);
+
+    final List<Client> soakClients = new ArrayList<>();
+
+    for (int i = 0; i < this.clients; i++) {
+      KuzzleFuture<Void> connected = new KuzzleFuture<>();
+      soakClients.add(new Client(new SoakKuzzle("localhost", options, connected)));
+      connected.get(10, TimeUnit.SECONDS);
+    }
+
+    ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(this.clients + 2);
+    final long start = System.nanoTime();
+
+    for (final Client client : soakClients) {
+      scheduler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          client.send();
+        }
+      }, 0, TimeUnit.SECONDS.toMicros(1) / this.rate, TimeUnit.MICROSECONDS);
+      scheduler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          client.renew();
+        }
+      }, 0, this.churn, TimeUnit.MILLISECONDS);
+    }
+
+    if (this.reconnect > 0) {
+      scheduler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          server.disconnectAll(SoakTest.this.abrupt);
+        }
+      }, this.reconnect, this.reconnect, TimeUnit.SECONDS);
+    }
+
+    scheduler.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        SoakTest.this.sample(soakClients, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+    }, this.sample, this.sample, TimeUnit.SECONDS);
+
+    Thread.sleep(TimeUnit.MINUTES.toMillis(this.duration));
+    scheduler.shutdownNow();
+    scheduler.awaitTermination(10, TimeUnit.SECONDS);
+
+    List<String> growing = this.monitor.getGrowingRegistries(this.slack);
+    this.report(growing);
+
+    for (Client client : soakClients) {
+      client.kuzzle.disconnect();
+    }
+
+    server.stop();
+
+    return growing.isEmpty();
+  }
+
+  private void sample(final List<Client> soakClients, final long time) {
+    Map<String, Integer> sizes = new LinkedHashMap<>();
+
+    for (Client client : soakClients) {
+      for (Map.Entry<String, Integer> entry : client.kuzzle.getRegistrySizes().entrySet()) {
+        Integer total = sizes.get(entry.getKey());
+        sizes.put(entry.getKey(), (total == null ? 0 : total) + entry.getValue());
+      }
+    }
+
+    this.monitor.sample(time, sizes);
+
+    StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%7.0fs  %d sent, %d ok, %d failed, %d subscribed, %d notifications |",
+      time / 1e3, this.sent.get(), this.succeeded.get(), this.failed.get(), this.subscribed.get(), this.notifications.get()));
+
+    for (Map.Entry<String, Integer> entry : sizes.entrySet()) {
+      line.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+    }
+
+    System.out.println(line);
+  }
+
+  private void report(final List<String> growing) {
+    System.out.println();
+    System.out.println(String.format(Locale.ROOT, "%-22s %10s %10s %8s", "registry", "last", "peak", "status"));
+
+    for (Map.Entry<String, int[]> entry : this.monitor.getSummary().entrySet()) {
+      System.out.println(String.format(Locale.ROOT, "%-22s %10d %10d %8s",
+        entry.getKey(), entry.getValue()[0], entry.getValue()[1], growing.contains(entry.getKey()) ? "GROWING" : "ok"));
+    }
+
+    if (this.monitor.getSampleCount() < 8) {
+      System.out.println("Too few samples to detect growth: increase --duration or decrease --sample");
+    } else if (!growing.isEmpty()) {
+      System.out.println("Registries growing without bound: " + growing);
+    }
+  }
+
+  private static String randomCollection() {
+    return COLLECTIONS[ThreadLocalRandom.current().nextInt(COLLECTIONS.length)];
+  }
+
+  private static int intOption(final Map<String, String> options, final String name, final int defaultValue) {
+    return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+  }
+}
@@ -0,0 +1,512 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.kuzzle.benchmarks.server.StandInServer;
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.core.RoomOptions;
+import io.kuzzle.sdk.enums.Scope;
+import io.kuzzle.sdk.enums.State;
+import io.kuzzle.sdk.enums.Users;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.recording.TrafficLogReader;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Replays a traffic log, recorded with a TrafficLogWriter, through the SDK against an in-process StandInServer.
+ *
+ * Requests are sent at their recorded times, scaled by the replay speed, whatever the responses take:
+ * the recorded workload is reproduced as it was, and compared with the recording.
+ * The stand-in server is first seeded with the documents the recorded responses hold, so that
+ * the replayed reads find them. Subscriptions are replayed through Collection.subscribe, and
+ * unsubscriptions through the rooms they created.
+ *
+ * Reports the recorded and replayed latency percentiles per controller action, requests/s,
+ * notifications, and how late requests were sent compared to their schedule.
+ *
+ * Options (--name=value):
+ *   --log        traffic log to replay (required)
+ *   --speed      replay speed: 1 for real time (default), 10 for ten times faster, 0 to send the requests back to back
+ *   --clients    Kuzzle instances each replaying the whole log (default 1)
+ *   --seed       seeds the stand-in server with the recorded documents (default true)
+ */
+public class TrafficReplayer {
+  private static final String SUBSCRIBE = "realtime:subscribe";
+  private static final String UNSUBSCRIBE = "realtime:unsubscribe";
+
+  private final File log;
+  private final double speed;
+  private final int clients;
+  private final boolean seed;
+
+  // recorded and replayed latencies per controller:action, sorted for the report
+  private final Map<String, LatencyRecorder> recorded = new TreeMap<>();
+  private final ConcurrentHashMap<String, LatencyRecorder> replayed = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+  // recorded roomId of each recorded subscription request
+  private final Map<String, String> recordedRooms = new HashMap<>();
+  private final LatencyRecorder lateness = new LatencyRecorder();
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicLong notifications = new AtomicLong();
+  private long recordedNotifications = 0;
+  private long recordedDuration = 0;
+  private long skipped = 0;
+
+  /**
+   * Kuzzle instance replaying the log, with the rooms it subscribed to, by recorded roomId
+   */
+  private class Client {
+    private final Kuzzle kuzzle;
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    Client(final Kuzzle kuzzle) {
+      this.kuzzle = kuzzle;
+    }
+  }
+
+  /**
+   * Completion of one replayed request
+   */
+  private class Completion implements OnQueryDoneListener {
+    private final String operation;
+    private final long start = System.nanoTime();
+
+    Completion(final String operation) {
+      this.operation = operation;
+      TrafficReplayer.this.pending.incrementAndGet();
+    }
+
+    @Override
+    public void onSuccess(JSONObject response) {
+      TrafficReplayer.this.completed(this.operation, System.nanoTime() - this.start, true);
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      TrafficReplayer.this.completed(this.operation, System.nanoTime() - this.start, false);
+    }
+  }
+
+  /**
+   * @param options - Replay options
+   */
+  public TrafficReplayer(final Map<String, String> options) {
+    if (!options.containsKey("log")) {
+      throw new IllegalArgumentException("Missing option --log=<traffic log>");
+    }
+
+    this.log = new File(options.get("log"));
+    this.speed = options.containsKey("speed") ? Double.parseDouble(options.get("speed")) : 1;
+    this.clients = options.containsKey("clients") ? Integer.parseInt(options.get("clients")) : 1;
+    this.seed = !options.containsKey("seed") || Boolean.parseBoolean(options.get("seed"));
+
+    if (this.speed < 0) {
+      throw new IllegalArgumentException("Invalid option --speed=" + this.speed + ": expected a positive number");
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Invalid option " + arg + ": expected --name=value");
+      }
+
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+
+    new TrafficReplayer(options).run();
+    System.exit(0);
+  }
+
+  /**
+   * Reads the recording, starts a seeded stand-in server, replays the recording and prints the report
+   *
+   * @throws Exception
+   */
+  public void run() throws Exception {
+    StandInServer server = new StandInServer(0);
+    server.startAndWait();
+
+    int documents = this.scan(server);
+    List<Client> instances = new ArrayList<>();
+
+    for (int i = 0; i < this.clients; i++) {
+      instances.add(new Client(this.connect(server.getPort())));
+    }
+
+    long start = System.nanoTime();
+    long requests = this.replay(instances);
+    long sent = System.nanoTime() - start;
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    while (this.pending.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    this.report(documents, requests, sent / 1e9, (System.nanoTime() - start) / 1e9);
+
+    for (Client client : instances) {
+      client.kuzzle.disconnect();
+    }
+
+    server.stop();
+  }
+
+  /**
+   * First pass over the recording: recorded latencies, subscriptions and notifications,
+   * and documents seeding the stand-in server
+   *
+   * @return number of documents seeded
+   */
+  private int scan(final StandInServer server) throws IOException, JSONException {
+    // requests waiting for their recorded response: time sent, operation, index and collection
+    Map<String, Object[]> requests = new HashMap<>();
+    int documents = 0;
+
+    try (TrafficLogReader reader = new TrafficLogReader(this.log)) {
+      TrafficLogReader.Entry entry;
+
+      while ((entry = reader.next()) != null) {
+        JSONObject frame = parse(entry.getFrame());
+        this.recordedDuration = entry.getTime();
+
+        if (frame == null) {
+          continue;
+        }
+
+        String requestId = frame.optString("requestId", null);
+
+        if (entry.isSent()) {
+          if (requestId != null) {
+            requests.put(requestId, new Object[] {entry.getTime(), operation(frame), frame.optString("index", null), frame.optString("collection", null)});
+          }
+          continue;
+        }
+
+        // responses are sent to the room named after their requestId
+        Object[] request = requestId != null && requestId.equals(frame.optString("room", requestId)) ? requests.remove(requestId) : null;
+
+        if (request == null) {
+          if (frame.has("room")) {
+            this.recordedNotifications++;
+          }
+          continue;
+        }
+
+        String operation = (String) request[1];
+        JSONObject result = frame.optJSONObject("result");
+        LatencyRecorder latencies = this.recorded.get(operation);
+
+        if (latencies == null) {
+          latencies = new LatencyRecorder();
+          this.recorded.put(operation, latencies);
+        }
+
+        latencies.record(TimeUnit.MICROSECONDS.toNanos(entry.getTime() - (Long) request[0]));
+
+        if (result == null) {
+          continue;
+        }
+
+        if (operation.equals(SUBSCRIBE) && result.has("roomId")) {
+          this.recordedRooms.put(requestId, result.getString("roomId"));
+        } else if (this.seed && operation.startsWith("document:") && request[2] != null && request[3] != null) {
+          documents += seed(server, (String) request[2], (String) request[3], result);
+        }
+      }
+    }
+
+    return documents;
+  }
+
+  /**
+   * Second pass over the recording: sends the recorded requests at their scaled recorded times
+   *
+   * @return number of requests sent
+   */
+  private long replay(final List<Client> instances) throws IOException, JSONException {
+    long start = System.nanoTime();
+    long requests = 0;
+
+    try (TrafficLogReader reader = new TrafficLogReader(this.log)) {
+      TrafficLogReader.Entry entry;
+
+      while ((entry = reader.next()) != null) {
+        if (!entry.isSent()) {
+          continue;
+        }
+
+        JSONObject frame = parse(entry.getFrame());
+
+        if (frame == null) {
+          this.skipped++;
+          continue;
+        }
+
+        if (this.speed > 0) {
+          long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(entry.getTime()) / this.speed);
+          long wait;
+
+          while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+          }
+
+          this.lateness.record(System.nanoTime() - due);
+        }
+
+        for (Client client : instances) {
+          // each client sends its own copy: the SDK adds its own fields to the request
+          if (this.send(client, new JSONObject(entry.getFrame()))) {
+            requests++;
+          } else {
+            this.skipped++;
+          }
+        }
+      }
+    }
+
+    return requests;
+  }
+
+  /**
+   * Sends a recorded request through the SDK
+   *
+   * @return false if the request could not be replayed
+   */
+  private boolean send(final Client client, final JSONObject request) throws JSONException {
+    final String operation = operation(request);
+    String requestId = request.optString("requestId");
+    Kuzzle.QueryArgs args = new Kuzzle.QueryArgs();
+    args.controller = request.optString("controller");
+    args.action = request.optString("action");
+    args.index = request.optString("index", null);
+    args.collection = request.optString("collection", null);
+
+    if (operation.equals(SUBSCRIBE)) {
+      final String roomId = this.recordedRooms.get(requestId);
+      final Map<String, Room> rooms = client.rooms;
+      final Completion completion = new Completion(operation);
+
+      new Collection(client.kuzzle, args.collection, args.index)
+        .subscribe(request.optJSONObject("body"), roomOptions(request), new ResponseListener<NotificationResponse>() {
+          @Override
+          public void onSuccess(NotificationResponse response) {
+            TrafficReplayer.this.notifications.incrementAndGet();
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+          }
+        })
+        .onDone(new ResponseListener<Room>() {
+          @Override
+          public void onSuccess(Room room) {
+            if (roomId != null) {
+              rooms.put(roomId, room);
+            }
+            completion.onSuccess(null);
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+            completion.onError(error);
+          }
+        });
+
+      return true;
+    }
+
+    if (operation.equals(UNSUBSCRIBE)) {
+      JSONObject body = request.optJSONObject("body");
+      Room room = body != null ? client.rooms.remove(body.optString("roomId")) : null;
+
+      // the subscription was not replayed, or is still pending
+      if (room == null) {
+        return false;
+      }
+
+      room.unsubscribe();
+      return true;
+    }
+
+    // the SDK adds them back, with its own values
+    request.remove("requestId");
+    request.remove("controller");
+    request.remove("action");
+    request.remove("index");
+    request.remove("collection");
+    request.remove("jwt");
+    request.remove("volatile");
+
+    client.kuzzle.query(args, request, new Completion(operation));
+    return true;
+  }
+
+  private void completed(final String operation, final long nanos, final boolean success) {
+    if (success) {
+      LatencyRecorder latencies = this.replayed.get(operation);
+
+      if (latencies == null) {
+        this.replayed.putIfAbsent(operation, new LatencyRecorder());
+        latencies = this.replayed.get(operation);
+      }
+
+      // completions arrive on the socket thread of each client
+      synchronized (latencies) {
+        latencies.record(nanos);
+      }
+    } else {
+      AtomicLong count = this.errors.get(operation);
+
+      if (count == null) {
+        this.errors.putIfAbsent(operation, new AtomicLong());
+        count = this.errors.get(operation);
+      }
+
+      count.incrementAndGet();
+    }
+
+    this.pending.decrementAndGet();
+  }
+
+  private Kuzzle connect(final int port) throws Exception {
+    final KuzzleFuture<Void> connected = new KuzzleFuture<>();
+    Options options = new Options();
+    options.setPort(port);
+
+    Kuzzle kuzzle = new Kuzzle("localhost", options, connected);
+    connected.get(10, TimeUnit.SECONDS);
+
+    return kuzzle;
+  }
+
+  private void report(final int documents, final long requests, final double sent, final double elapsed) {
+    double recordedSeconds = this.recordedDuration / 1e6;
+
+    System.out.println(String.format(Locale.ROOT, "%s: %.1fs recorded, replayed by %d client(s) at %s speed, %d document(s) seeded",
+      this.log.getName(), recordedSeconds, this.clients, this.speed > 0 ? this.speed + "x" : "full", documents));
+    System.out.println(String.format(Locale.ROOT, "%d request(s) sent in %.1fs (%.0f/s), %d skipped, %d left without a response",
+      requests, sent, requests / Math.max(sent, 1e-3), this.skipped, this.pending.get()));
+
+    if (this.lateness.getCount() > 0) {
+      System.out.println(String.format(Locale.ROOT, "requests sent late: p50 %.3fms, p99 %.3fms, max %.3fms",
+        this.lateness.percentile(50) / 1e6, this.lateness.percentile(99) / 1e6, this.lateness.percentile(100) / 1e6));
+    }
+
+    System.out.println(String.format(Locale.ROOT, "%-28s %9s %9s %9s | %9s %9s %9s %9s %9s %7s",
+      "operation", "recorded", "p50 ms", "p99 ms", "replayed", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors"));
+
+    Map<String, Boolean> operations = new TreeMap<>();
+
+    for (String operation : this.recorded.keySet()) {
+      operations.put(operation, true);
+    }
+
+    for (String operation : this.replayed.keySet()) {
+      operations.put(operation, true);
+    }
+
+    for (String operation : this.errors.keySet()) {
+      operations.put(operation, true);
+    }
+
+    for (String operation : operations.keySet()) {
+      LatencyRecorder before = this.recorded.containsKey(operation) ? this.recorded.get(operation) : new LatencyRecorder();
+      LatencyRecorder after = this.replayed.containsKey(operation) ? this.replayed.get(operation) : new LatencyRecorder();
+      long failed = this.errors.containsKey(operation) ? this.errors.get(operation).get() : 0;
+
+      System.out.println(String.format(Locale.ROOT, "%-28s %9d %9.3f %9.3f | %9d %9.0f %9.3f %9.3f %9.3f %7d",
+        operation,
+        before.getCount(),
+        before.percentile(50) / 1e6,
+        before.percentile(99) / 1e6,
+        after.getCount(),
+        after.getCount() / elapsed,
+        after.percentile(50) / 1e6,
+        after.percentile(99) / 1e6,
+        after.percentile(99.9) / 1e6,
+        failed));
+    }
+
+    System.out.println(String.format(Locale.ROOT, "notifications: %d recorded, %d replayed", this.recordedNotifications, this.notifications.get()));
+  }
+
+  /**
+   * Stores the documents a recorded document response holds: a document, or search hits
+   *
+   * @return number of documents stored
+   */
+  private static int seed(final StandInServer server, final String index, final String collection, final JSONObject result) throws JSONException {
+    JSONArray hits = result.optJSONArray("hits");
+    int seeded = 0;
+
+    if (hits == null) {
+      hits = new JSONArray().put(result);
+    }
+
+    for (int i = 0; i < hits.length(); i++) {
+      JSONObject hit = hits.optJSONObject(i);
+
+      if (hit != null && hit.has("_id") && hit.optJSONObject("_source") != null) {
+        server.getBackend().getDocuments().put(index, collection, hit.getString("_id"), hit.getJSONObject("_source"));
+        seeded++;
+      }
+    }
+
+    return seeded;
+  }
+
+  private static RoomOptions roomOptions(final JSONObject request) {
+    RoomOptions options = new RoomOptions();
+
+    if (request.has("scope")) {
+      options.setScope(Scope.valueOf(request.optString("scope").toUpperCase(Locale.ROOT)));
+    }
+
+    if (request.has("state")) {
+      options.setState(State.valueOf(request.optString("state").toUpperCase(Locale.ROOT)));
+    }
+
+    if (request.has("users")) {
+      options.setUsers(Users.valueOf(request.optString("users").toUpperCase(Locale.ROOT)));
+    }
+
+    return options;
+  }
+
+  private static String operation(final JSONObject request) {
+    return request.optString("controller") + ":" + request.optString("action");
+  }
+
+  private static JSONObject parse(final String frame) {
+    try {
+      return new JSONObject(frame);
+    } catch (JSONException e) {
+      return null;
+    }
+  }
+}
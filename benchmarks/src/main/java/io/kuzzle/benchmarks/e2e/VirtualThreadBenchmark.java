@@ -0,0 +1,206 @@
+package io.kuzzle.benchmarks.e2e;
+
+import org.json.JSONObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kuzzle.benchmarks.server.StandInServer;
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Blocking API benchmark: runs each *Sync call on its own virtual thread, against an in-process StandInServer.
+ *
+ * All the calls are started at once, so that most of them are blocked waiting for their response at the same time.
+ * The number of platform threads is sampled during the run: blocked virtual threads release their carrier,
+ * so it must stay flat whatever the number of calls. Fails if it grows by more than --maxThreadGrowth.
+ *
+ * Needs JDK 21 or later at runtime: the virtual thread executor is looked up by reflection,
+ * the benchmarks being compiled at the same language level as the SDK.
+ *
+ * Options (--name=value):
+ *   --calls            blocking calls, each on its own virtual thread (default 100000)
+ *   --clients          Kuzzle instances the calls are spread over (default 4)
+ *   --documents        documents stored before the run, and fetched by the calls (default 1000)
+ *   --maxThreadGrowth  platform threads allowed on top of those running before the calls (default 64)
+ */
+public class VirtualThreadBenchmark {
+  private static final String INDEX = "benchmark";
+  private static final String COLLECTION = "documents";
+
+  private final int calls;
+  private final int clients;
+  private final int documents;
+  private final int maxThreadGrowth;
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final AtomicLong errors = new AtomicLong();
+  private volatile boolean sampling = true;
+  private int maxThreads;
+
+  /**
+   * @param options - Benchmark options
+   */
+  public VirtualThreadBenchmark(final Map<String, String> options) {
+    this.calls = intOption(options, "calls", 100000);
+    this.clients = intOption(options, "clients", 4);
+    this.documents = intOption(options, "documents", 1000);
+    this.maxThreadGrowth = intOption(options, "maxThreadGrowth", 64);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Invalid option " + arg + ": expected --name=value");
+      }
+
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+
+    System.exit(new VirtualThreadBenchmark(options).run() ? 0 : 1);
+  }
+
+  /**
+   * Starts a stand-in server, runs the calls and prints the report
+   *
+   * @return true if the platform threads stayed within the allowed growth, and every call completed
+   * @throws Exception
+   */
+  public boolean run() throws Exception {
+    ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+    StandInServer server = new StandInServer(0);
+    server.startAndWait();
+
+    for (int i = 0; i < this.documents; i++) {
+      server.getBackend().getDocuments().put(INDEX, COLLECTION, "doc-" + i, new JSONObject().put("name", "document " + i).put("value", i));
+    }
+
+    List<Collection> collections = new ArrayList<>();
+
+    for (int i = 0; i < this.clients; i++) {
+      Collection collection = new Collection(this.connect(server.getPort()), COLLECTION, INDEX);
+      // first call outside of the measure: lazily created SDK threads are part of the baseline
+      collection.fetchDocumentSync("doc-0");
+      collections.add(collection);
+    }
+
+    int before = this.threads.getThreadCount();
+    this.maxThreads = before;
+    Thread sampler = this.startSampler();
+    long start = System.nanoTime();
+
+    for (int i = 0; i < this.calls; i++) {
+      final Collection collection = collections.get(i % collections.size());
+      final String id = "doc-" + (i % this.documents);
+
+      virtualThreads.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            collection.fetchDocumentSync(id);
+            VirtualThreadBenchmark.this.completed.incrementAndGet();
+          } catch (KuzzleFuture.ResponseError | RuntimeException e) {
+            VirtualThreadBenchmark.this.errors.incrementAndGet();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+    }
+
+    virtualThreads.shutdown();
+    boolean finished = virtualThreads.awaitTermination(5, TimeUnit.MINUTES);
+    double elapsed = (System.nanoTime() - start) / 1e9;
+
+    this.sampling = false;
+    sampler.join();
+
+    int growth = this.maxThreads - before;
+    boolean flat = growth <= this.maxThreadGrowth;
+
+    System.out.println(String.format(Locale.ROOT, "%d blocking call(s) on virtual threads, %d client(s), %.1fs",
+      this.calls, this.clients, elapsed));
+    System.out.println(String.format(Locale.ROOT, "completed: %d (%.0f/s), errors: %d%s",
+      this.completed.get(), this.completed.get() / elapsed, this.errors.get(), finished ? "" : ", timed out"));
+    System.out.println(String.format(Locale.ROOT, "platform threads: %d before, %d at most during the run (+%d, %d allowed): %s",
+      before, this.maxThreads, growth, this.maxThreadGrowth, flat ? "flat" : "GROWING"));
+
+    for (Collection collection : collections) {
+      collection.getKuzzle().disconnect();
+    }
+
+    server.stop();
+
+    return flat && finished && this.completed.get() + this.errors.get() == this.calls;
+  }
+
+  /**
+   * Samples the number of live platform threads: virtual threads are not counted by the ThreadMXBean
+   */
+  private Thread startSampler() {
+    Thread sampler = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (VirtualThreadBenchmark.this.sampling) {
+          VirtualThreadBenchmark.this.maxThreads = Math.max(VirtualThreadBenchmark.this.maxThreads, VirtualThreadBenchmark.this.threads.getThreadCount());
+
+          try {
+            Thread.sleep(10);
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+      }
+    }, "thread-sampler");
+
+    sampler.setDaemon(true);
+    sampler.start();
+    return sampler;
+  }
+
+  /**
+   * @return Executors.newVirtualThreadPerTaskExecutor(), which only exists from JDK 21
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("Virtual threads need JDK 21 or later, running on " + System.getProperty("java.version")
+        + ": use -Pjdk21Home=<path>", e);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException("Unable to create a virtual thread executor", e);
+    }
+  }
+
+  private Kuzzle connect(final int port) throws Exception {
+    final KuzzleFuture<Void> connected = new KuzzleFuture<>();
+    Options options = new Options();
+    options.setPort(port);
+
+    Kuzzle kuzzle = new Kuzzle("localhost", options, connected);
+    connected.get(10, TimeUnit.SECONDS);
+
+    return kuzzle;
+  }
+
+  private static int intOption(final Map<String, String> options, final String name, final int defaultValue) {
+    return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+  }
+}
@@ -0,0 +1,96 @@
+package io.kuzzle.benchmarks.network;
+
+import java.util.Random;
+
+/**
+ * One-way latency added to each frame crossing a simulated link
+ */
+public abstract class LatencyDistribution {
+  /**
+   * @param random - Random source
+   * @return latency of a frame, in milliseconds
+   */
+  public abstract long sample(Random random);
+
+  /**
+   * @param millis - Latency, in milliseconds
+   * @return distribution always returning the same latency
+   */
+  public static LatencyDistribution constant(final long millis) {
+    return new LatencyDistribution() {
+      @Override
+      public long sample(Random random) {
+        return millis;
+      }
+
+      @Override
+      public String toString() {
+        return millis + "ms";
+      }
+    };
+  }
+
+  /**
+   * @param min - Minimum latency, in milliseconds
+   * @param max - Maximum latency, in milliseconds
+   * @return uniformly distributed latency
+   */
+  public static LatencyDistribution uniform(final long min, final long max) {
+    if (max < min) {
+      throw new IllegalArgumentException("LatencyDistribution.uniform: max must not be lower than min");
+    }
+
+    return new LatencyDistribution() {
+      @Override
+      public long sample(Random random) {
+        return min + (long) (random.nextDouble() * (max - min));
+      }
+
+      @Override
+      public String toString() {
+        return min + "-" + max + "ms";
+      }
+    };
+  }
+
+  /**
+   * @param mean - Mean latency, in milliseconds
+   * @param deviation - Standard deviation, in milliseconds
+   * @return normally distributed latency, never negative
+   */
+  public static LatencyDistribution normal(final long mean, final long deviation) {
+    return new LatencyDistribution() {
+      @Override
+      public long sample(Random random) {
+        return Math.max(0, Math.round(mean + random.nextGaussian() * deviation));
+      }
+
+      @Override
+      public String toString() {
+        return mean + "ms +/- " + deviation + "ms";
+      }
+    };
+  }
+
+  /**
+   * Mostly fast links with occasional very slow frames, as seen on mobile networks
+   *
+   * @param base - Latency of most frames, in milliseconds
+   * @param spike - Latency of slow frames, in milliseconds
+   * @param spikeRate - Probability of a slow frame, between 0 and 1
+   * @return bimodal latency
+   */
+  public static LatencyDistribution spiky(final long base, final long spike, final double spikeRate) {
+    return new LatencyDistribution() {
+      @Override
+      public long sample(Random random) {
+        return random.nextDouble() < spikeRate ? spike : base;
+      }
+
+      @Override
+      public String toString() {
+        return base + "ms, " + spike + "ms " + (spikeRate * 100) + "% of the time";
+      }
+    };
+  }
+}
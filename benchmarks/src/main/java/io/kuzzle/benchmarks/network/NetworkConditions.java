@@ -0,0 +1,120 @@
+package io.kuzzle.benchmarks.network;
+
+/**
+ * Conditions applied to each direction of a simulated connection
+ */
+public class NetworkConditions {
+  private LatencyDistribution latency = LatencyDistribution.constant(0);
+  private long bandwidth = 0;
+  private double dropRate = 0;
+
+  /**
+   * @return conditions of a local connection: no latency, no bandwidth cap, no drop
+   */
+  public static NetworkConditions perfect() {
+    return new NetworkConditions();
+  }
+
+  /**
+   * @return conditions of a good wifi connection
+   */
+  public static NetworkConditions wifi() {
+    return new NetworkConditions()
+      .setLatency(LatencyDistribution.normal(15, 5))
+      .setBandwidth(2 * 1024 * 1024);
+  }
+
+  /**
+   * @return conditions of a lossy 3G connection: slow, jittery, with occasional latency spikes and lost frames
+   */
+  public static NetworkConditions lossy3G() {
+    return new NetworkConditions()
+      .setLatency(LatencyDistribution.spiky(150, 1500, 0.02))
+      .setBandwidth(48 * 1024)
+      .setDropRate(0.01);
+  }
+
+  /**
+   * @param name - perfect, wifi or 3g
+   * @return preset conditions
+   */
+  public static NetworkConditions preset(final String name) {
+    switch (name) {
+      case "perfect":
+        return perfect();
+      case "wifi":
+        return wifi();
+      case "3g":
+        return lossy3G();
+      default:
+        throw new IllegalArgumentException("Unknown network conditions: " + name);
+    }
+  }
+
+  /**
+   * @return one-way latency distribution
+   */
+  public LatencyDistribution getLatency() {
+    return this.latency;
+  }
+
+  /**
+   * @param latency - One-way latency distribution
+   * @return this
+   */
+  public NetworkConditions setLatency(final LatencyDistribution latency) {
+    if (latency == null) {
+      throw new IllegalArgumentException("NetworkConditions.setLatency: latency distribution required");
+    }
+
+    this.latency = latency;
+    return this;
+  }
+
+  /**
+   * @return bandwidth cap, in bytes per second (0: unlimited)
+   */
+  public long getBandwidth() {
+    return this.bandwidth;
+  }
+
+  /**
+   * @param bandwidth - Bandwidth cap, in bytes per second (0: unlimited)
+   * @return this
+   */
+  public NetworkConditions setBandwidth(final long bandwidth) {
+    if (bandwidth < 0) {
+      throw new IllegalArgumentException("NetworkConditions.setBandwidth: bandwidth must be positive");
+    }
+
+    this.bandwidth = bandwidth;
+    return this;
+  }
+
+  /**
+   * @return probability for a frame to be lost
+   */
+  public double getDropRate() {
+    return this.dropRate;
+  }
+
+  /**
+   * @param dropRate - Probability for a frame to be lost, between 0 and 1
+   * @return this
+   */
+  public NetworkConditions setDropRate(final double dropRate) {
+    if (dropRate < 0 || dropRate > 1) {
+      throw new IllegalArgumentException("NetworkConditions.setDropRate: drop rate must be between 0 and 1");
+    }
+
+    this.dropRate = dropRate;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "latency " + this.latency
+      + ", bandwidth " + (this.bandwidth > 0 ? this.bandwidth + " B/s" : "unlimited")
+      + ", drop rate " + (this.dropRate * 100) + "%";
+  }
+}
@@ -0,0 +1,232 @@
+package io.kuzzle.benchmarks.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.benchmarks.server.StandInServer;
+
+/**
+ * Timed network incidents played against a StandInServer.
+ *
+ * <pre>
+ *   NetworkScript script = NetworkScript.parse("2000:outage=3000,8000:stall=2000,10000:3g");
+ *   script.start(server);
+ * </pre>
+ *
+ * Steps are "&lt;time in ms&gt;:&lt;action&gt;[=&lt;duration in ms&gt;]", the time being relative to the start of the script:
+ *   disconnect   drops all connections abruptly, as a network failure would
+ *   close        closes all connections with a WebSocket close handshake, as a server shutdown would
+ *   outage       drops all connections and refuses new ones for the duration
+ *   stall        holds the frames of the open connections for the duration
+ *   perfect, wifi, 3g  switches to preset network conditions
+ *
+ * Each incident is logged with its time, so that benchmarks can measure how long the clients take to recover.
+ */
+public class NetworkScript {
+  private final List<Step> steps = new ArrayList<>();
+  private final List<Incident> incidents = Collections.synchronizedList(new ArrayList<Incident>());
+  private ScheduledExecutorService scheduler;
+
+  private static class Step {
+    final long at;
+    final String action;
+    final long duration;
+
+    Step(final long at, final String action, final long duration) {
+      this.at = at;
+      this.action = action;
+      this.duration = duration;
+    }
+  }
+
+  /**
+   * Incident played by the script
+   */
+  public static class Incident {
+    private final String action;
+    private final long start;
+    private final long end;
+
+    Incident(final String action, final long start, final long end) {
+      this.action = action;
+      this.start = start;
+      this.end = end;
+    }
+
+    /**
+     * @return script action
+     */
+    public String getAction() {
+      return this.action;
+    }
+
+    /**
+     * @return System.nanoTime() at the start of the incident
+     */
+    public long getStart() {
+      return this.start;
+    }
+
+    /**
+     * @return System.nanoTime() at which the network is usable again
+     */
+    public long getEnd() {
+      return this.end;
+    }
+  }
+
+  /**
+   * @param script - Comma-separated steps: "2000:outage=3000,8000:disconnect"
+   * @return parsed script
+   */
+  public static NetworkScript parse(final String script) {
+    NetworkScript parsed = new NetworkScript();
+
+    for (String entry : script.split(",")) {
+      String step = entry.trim();
+
+      if (step.isEmpty()) {
+        continue;
+      }
+
+      int colon = step.indexOf(':');
+      int equals = step.indexOf('=');
+
+      if (colon < 0) {
+        throw new IllegalArgumentException("Invalid script step " + step + ": expected <time>:<action>[=<duration>]");
+      }
+
+      parsed.add(
+        Long.parseLong(step.substring(0, colon)),
+        equals < 0 ? step.substring(colon + 1) : step.substring(colon + 1, equals),
+        equals < 0 ? 0 : Long.parseLong(step.substring(equals + 1)));
+    }
+
+    return parsed;
+  }
+
+  /**
+   * Adds a step to the script
+   *
+   * @param at - Time of the step, in milliseconds after the start of the script
+   * @param action - disconnect, close, outage, stall, perfect, wifi or 3g
+   * @param duration - Duration of an outage or of a stall, in milliseconds
+   * @return this
+   */
+  public NetworkScript add(final long at, final String action, final long duration) {
+    switch (action) {
+      case "outage":
+      case "stall":
+        if (duration <= 0) {
+          throw new IllegalArgumentException("NetworkScript.add: " + action + " requires a duration");
+        }
+        break;
+      case "disconnect":
+      case "close":
+        break;
+      default:
+        // throws on unknown actions
+        NetworkConditions.preset(action);
+    }
+
+    if (at < 0) {
+      throw new IllegalArgumentException("NetworkScript.add: negative step time");
+    }
+
+    this.steps.add(new Step(at, action, duration));
+    return this;
+  }
+
+  /**
+   * Schedules the steps against a server
+   *
+   * @param server - Stand-in server
+   */
+  public void start(final StandInServer server) {
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "network-script");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+    for (final Step step : this.steps) {
+      this.scheduler.schedule(new Runnable() {
+        @Override
+        public void run() {
+          NetworkScript.this.play(server, step);
+        }
+      }, step.at, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Cancels the steps not played yet
+   */
+  public void stop() {
+    if (this.scheduler != null) {
+      this.scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * @return time at which the last step ends, in milliseconds after the start of the script
+   */
+  public long getLength() {
+    long length = 0;
+
+    for (Step step : this.steps) {
+      length = Math.max(length, step.at + step.duration);
+    }
+
+    return length;
+  }
+
+  /**
+   * @return incidents played so far, in order
+   */
+  public List<Incident> getIncidents() {
+    synchronized (this.incidents) {
+      return new ArrayList<>(this.incidents);
+    }
+  }
+
+  private void play(final StandInServer server, final Step step) {
+    long now = System.nanoTime();
+
+    switch (step.action) {
+      case "disconnect":
+        server.disconnectAll(true);
+        this.incidents.add(new Incident(step.action, now, now));
+        break;
+      case "close":
+        server.disconnectAll(false);
+        this.incidents.add(new Incident(step.action, now, now));
+        break;
+      case "outage":
+        server.setAccepting(false);
+        server.disconnectAll(true);
+        this.incidents.add(new Incident(step.action, now, now + TimeUnit.MILLISECONDS.toNanos(step.duration)));
+        this.scheduler.schedule(new Runnable() {
+          @Override
+          public void run() {
+            server.setAccepting(true);
+          }
+        }, step.duration, TimeUnit.MILLISECONDS);
+        break;
+      case "stall":
+        server.stall(step.duration);
+        this.incidents.add(new Incident(step.action, now, now + TimeUnit.MILLISECONDS.toNanos(step.duration)));
+        break;
+      default:
+        server.setConditions(NetworkConditions.preset(step.action));
+    }
+  }
+}
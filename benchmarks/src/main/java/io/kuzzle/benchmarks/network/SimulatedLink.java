@@ -0,0 +1,182 @@
+package io.kuzzle.benchmarks.network;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One direction of a simulated connection.
+ *
+ * Frames are delivered in order, like on a TCP connection, after a latency sampled
+ * from the link conditions, and after the time needed to transmit them at the capped bandwidth.
+ * A frame can also be dropped, or held while the link is stalled.
+ * Frames still in flight when the link is closed are lost.
+ */
+public class SimulatedLink {
+  private final ScheduledExecutorService scheduler;
+  private final Receiver receiver;
+  private final Random random = new Random();
+  private final Queue<Frame> inFlight = new ArrayDeque<>();
+
+  private volatile NetworkConditions conditions;
+  private volatile boolean closed = false;
+  private long busyUntil = 0;
+  private long lastDelivery = 0;
+  private long stalledUntil = 0;
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong lost = new AtomicLong();
+
+  private static class Frame {
+    final String content;
+    final long delivery;
+
+    Frame(final String content, final long delivery) {
+      this.content = content;
+      this.delivery = delivery;
+    }
+  }
+
+  /**
+   * Receiving end of a link
+   */
+  public interface Receiver {
+    /**
+     * @param frame - Frame delivered by the link
+     */
+    void receive(String frame);
+  }
+
+  /**
+   * @param scheduler - Single-threaded scheduler delivering the frames
+   * @param conditions - Link conditions
+   * @param receiver - Receiving end
+   */
+  public SimulatedLink(final ScheduledExecutorService scheduler, final NetworkConditions conditions, final Receiver receiver) {
+    this.scheduler = scheduler;
+    this.conditions = conditions;
+    this.receiver = receiver;
+  }
+
+  /**
+   * @param conditions - New link conditions, applied to the next frames
+   */
+  public void setConditions(final NetworkConditions conditions) {
+    this.conditions = conditions;
+  }
+
+  /**
+   * Holds the frames sent from now on until the end of the stall
+   *
+   * @param millis - Stall duration, in milliseconds
+   */
+  public synchronized void stall(final long millis) {
+    this.stalledUntil = Math.max(this.stalledUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  /**
+   * Closes the link: frames in flight are lost, and frames sent afterwards are ignored
+   */
+  public void close() {
+    synchronized (this) {
+      this.closed = true;
+      this.lost.addAndGet(this.inFlight.size());
+      this.inFlight.clear();
+    }
+  }
+
+  /**
+   * @param frame - Frame to send through the link
+   */
+  public void send(final String frame) {
+    if (this.closed) {
+      return;
+    }
+
+    this.sent.incrementAndGet();
+    NetworkConditions current = this.conditions;
+
+    if (current.getDropRate() > 0 && this.random.nextDouble() < current.getDropRate()) {
+      this.dropped.incrementAndGet();
+      return;
+    }
+
+    synchronized (this) {
+      long now = System.nanoTime();
+      long departure = Math.max(Math.max(now, this.busyUntil), this.stalledUntil);
+
+      if (current.getBandwidth() > 0) {
+        departure += frame.length() * TimeUnit.SECONDS.toNanos(1) / current.getBandwidth();
+      }
+
+      this.busyUntil = departure;
+      long delivery = Math.max(departure + TimeUnit.MILLISECONDS.toNanos(current.getLatency().sample(this.random)), this.lastDelivery);
+      this.lastDelivery = delivery;
+      this.inFlight.add(new Frame(frame, delivery));
+
+      this.scheduler.schedule(new Runnable() {
+        @Override
+        public void run() {
+          SimulatedLink.this.deliverDue();
+        }
+      }, delivery - now, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Delivers, in order, the frames whose delivery time has come.
+   * Each frame schedules a call, so none is left behind, and the single scheduler thread
+   * keeps deliveries from overlapping.
+   */
+  private void deliverDue() {
+    while (true) {
+      Frame next;
+
+      synchronized (this) {
+        next = this.inFlight.peek();
+
+        if (next == null || next.delivery > System.nanoTime()) {
+          return;
+        }
+
+        this.inFlight.poll();
+      }
+
+      this.delivered.incrementAndGet();
+      this.receiver.receive(next.content);
+    }
+  }
+
+  /**
+   * @return number of frames sent through the link
+   */
+  public long getSent() {
+    return this.sent.get();
+  }
+
+  /**
+   * @return number of frames delivered
+   */
+  public long getDelivered() {
+    return this.delivered.get();
+  }
+
+  /**
+   * @return number of frames dropped by the link conditions
+   */
+  public long getDropped() {
+    return this.dropped.get();
+  }
+
+  /**
+   * @return number of frames in flight when the link was closed
+   */
+  public long getLost() {
+    return this.lost.get();
+  }
+}
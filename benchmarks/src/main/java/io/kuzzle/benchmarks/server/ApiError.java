@@ -0,0 +1,42 @@
+package io.kuzzle.benchmarks.server;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Error answered to a request, as Kuzzle would
+ */
+public class ApiError extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  private final int status;
+
+  /**
+   * @param status - HTTP-like status code
+   * @param message - Error message
+   */
+  public ApiError(final int status, final String message) {
+    super(message);
+    this.status = status;
+  }
+
+  /**
+   * @return HTTP-like status code
+   */
+  public int getStatus() {
+    return this.status;
+  }
+
+  /**
+   * @return error content of a response frame
+   */
+  public JSONObject toJSON() {
+    try {
+      return new JSONObject()
+        .put("status", this.status)
+        .put("message", this.getMessage());
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
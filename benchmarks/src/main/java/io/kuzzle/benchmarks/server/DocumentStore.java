@@ -0,0 +1,281 @@
+package io.kuzzle.benchmarks.server;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of the document controller.
+ *
+ * Search filters are not evaluated: a search returns every document of the collection,
+ * paginated with from/size, or scrolled when the request has a scroll option.
+ */
+public class DocumentStore {
+  private final ConcurrentHashMap<String, Map<String, StoredDocument>> collections = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, ScrollCursor> cursors = new ConcurrentHashMap<>();
+
+  private static class StoredDocument {
+    final JSONObject source;
+    final JSONObject meta;
+    final long version;
+
+    StoredDocument(final JSONObject source, final JSONObject meta, final long version) {
+      this.source = source;
+      this.meta = meta;
+      this.version = version;
+    }
+  }
+
+  private static class ScrollCursor {
+    final List<JSONObject> hits;
+    final int size;
+    int offset;
+
+    ScrollCursor(final List<JSONObject> hits, final int size, final int offset) {
+      this.hits = hits;
+      this.size = size;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * Stores a document without going through the API, to prepare a data set
+   *
+   * @param index - Data index
+   * @param collection - Data collection
+   * @param id - Document unique identifier
+   * @param source - Document content
+   */
+  public void put(final String index, final String collection, final String id, final JSONObject source) {
+    Map<String, StoredDocument> documents = this.collection(index, collection);
+
+    synchronized (documents) {
+      documents.put(id, new StoredDocument(source, meta(null), 1));
+    }
+  }
+
+  /**
+   * @param index - Data index
+   * @param collection - Data collection
+   * @return number of documents in the collection
+   */
+  public int count(final String index, final String collection) {
+    Map<String, StoredDocument> documents = this.collection(index, collection);
+
+    synchronized (documents) {
+      return documents.size();
+    }
+  }
+
+  /**
+   * Executes a document controller action
+   *
+   * @param action - Controller action
+   * @param request - Request
+   * @return response result
+   * @throws ApiError if the action fails or is not supported
+   * @throws JSONException
+   */
+  public Object execute(final String action, final JSONObject request) throws ApiError, JSONException {
+    Map<String, StoredDocument> documents = this.collection(request.optString("index"), request.optString("collection"));
+    String id = request.optString("_id", null);
+    JSONObject body = request.optJSONObject("body");
+
+    synchronized (documents) {
+      switch (action) {
+        case "create":
+          if (id == null) {
+            id = UUID.randomUUID().toString();
+          }
+          if (documents.containsKey(id)) {
+            throw new ApiError(409, "Document already exists");
+          }
+          return write(documents, id, body, "created");
+        case "createOrReplace":
+          return write(documents, required(id), body, documents.containsKey(id) ? "updated" : "created");
+        case "replace":
+          existing(documents, id);
+          return write(documents, id, body, "updated");
+        case "update": {
+          StoredDocument document = existing(documents, id);
+
+          if (body == null) {
+            throw new ApiError(400, "Missing document changes");
+          }
+
+          JSONObject merged = new JSONObject(document.source.toString());
+
+          for (Iterator<String> iterator = body.keys(); iterator.hasNext(); ) {
+            String key = iterator.next();
+            merged.put(key, body.get(key));
+          }
+
+          JSONObject result = write(documents, id, merged, "updated");
+          result.remove("_source");
+          return result;
+        }
+        case "get":
+          return hit(id, existing(documents, id)).put("found", true);
+        case "exists":
+          return documents.containsKey(required(id));
+        case "delete":
+          existing(documents, id);
+          documents.remove(id);
+          return new JSONObject().put("_id", id).put("found", true);
+        case "count":
+          return new JSONObject().put("count", documents.size());
+        case "mGet": {
+          JSONArray ids = body != null ? body.optJSONArray("ids") : null;
+
+          if (ids == null) {
+            throw new ApiError(400, "Missing document identifiers");
+          }
+
+          JSONArray hits = new JSONArray();
+
+          for (int i = 0; i < ids.length(); i++) {
+            StoredDocument document = documents.get(ids.getString(i));
+            if (document != null) {
+              hits.put(hit(ids.getString(i), document));
+            }
+          }
+
+          return new JSONObject().put("hits", hits).put("total", hits.length());
+        }
+        case "search":
+          return this.search(documents, request);
+        case "scroll":
+          return this.scroll(request.optString("scrollId"));
+        default:
+          throw new ApiError(400, "document:" + action + " is not supported by the stand-in server");
+      }
+    }
+  }
+
+  private JSONObject search(final Map<String, StoredDocument> documents, final JSONObject request) throws JSONException {
+    List<JSONObject> hits = new ArrayList<>(documents.size());
+
+    for (Map.Entry<String, StoredDocument> entry : documents.entrySet()) {
+      hits.add(hit(entry.getKey(), entry.getValue()));
+    }
+
+    int from = request.optInt("from", 0);
+    int size = request.optInt("size", 10);
+    JSONObject result = page(hits, from, size);
+
+    if (request.has("scroll")) {
+      String scrollId = UUID.randomUUID().toString();
+      this.cursors.put(scrollId, new ScrollCursor(hits, size, from + size));
+      result.put("_scroll_id", scrollId);
+    }
+
+    return result;
+  }
+
+  private JSONObject scroll(final String scrollId) throws ApiError, JSONException {
+    ScrollCursor cursor = this.cursors.get(scrollId);
+
+    if (cursor == null) {
+      throw new ApiError(404, "Unknown scroll identifier");
+    }
+
+    synchronized (cursor) {
+      JSONObject result = page(cursor.hits, cursor.offset, cursor.size);
+      cursor.offset += cursor.size;
+
+      if (cursor.offset >= cursor.hits.size()) {
+        this.cursors.remove(scrollId);
+      }
+
+      return result.put("_scroll_id", scrollId);
+    }
+  }
+
+  private static JSONObject page(final List<JSONObject> hits, final int from, final int size) throws JSONException {
+    JSONArray page = new JSONArray();
+
+    for (int i = from; i < Math.min(from + size, hits.size()); i++) {
+      page.put(hits.get(i));
+    }
+
+    return new JSONObject().put("hits", page).put("total", hits.size());
+  }
+
+  private static JSONObject write(final Map<String, StoredDocument> documents, final String id, final JSONObject body, final String outcome) throws JSONException {
+    StoredDocument previous = documents.get(id);
+    StoredDocument document = new StoredDocument(
+      body != null ? body : new JSONObject(),
+      meta(previous),
+      previous != null ? previous.version + 1 : 1);
+
+    documents.put(id, document);
+
+    return hit(id, document).put("result", outcome);
+  }
+
+  private static JSONObject hit(final String id, final StoredDocument document) throws JSONException {
+    return new JSONObject()
+      .put("_id", id)
+      .put("_version", document.version)
+      .put("_source", document.source)
+      .put("_meta", document.meta);
+  }
+
+  private static JSONObject meta(final StoredDocument previous) {
+    long now = System.currentTimeMillis();
+
+    try {
+      return new JSONObject()
+        .put("author", "-1")
+        .put("createdAt", previous != null ? previous.meta.getLong("createdAt") : now)
+        .put("updatedAt", previous != null ? now : JSONObject.NULL)
+        .put("updater", previous != null ? "-1" : JSONObject.NULL)
+        .put("active", true)
+        .put("deletedAt", JSONObject.NULL);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String required(final String id) throws ApiError {
+    if (id == null) {
+      throw new ApiError(400, "Missing document identifier");
+    }
+
+    return id;
+  }
+
+  private static StoredDocument existing(final Map<String, StoredDocument> documents, final String id) throws ApiError {
+    StoredDocument document = documents.get(required(id));
+
+    if (document == null) {
+      throw new ApiError(404, "Document " + id + " not found");
+    }
+
+    return document;
+  }
+
+  private Map<String, StoredDocument> collection(final String index, final String collection) {
+    String key = index + "/" + collection;
+    Map<String, StoredDocument> documents = this.collections.get(key);
+
+    if (documents == null) {
+      Map<String, StoredDocument> created = new LinkedHashMap<>();
+      documents = this.collections.putIfAbsent(key, created);
+
+      if (documents == null) {
+        documents = created;
+      }
+    }
+
+    return documents;
+  }
+}
@@ -0,0 +1,144 @@
+package io.kuzzle.benchmarks.server;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory implementation of the string commands of the memory storage controller.
+ * Keys do not expire: ex/px options are accepted and ignored.
+ */
+public class MemoryStore {
+  private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+
+  /**
+   * @param key - Key
+   * @return value stored at the key, or null
+   */
+  public String get(final String key) {
+    return this.values.get(key);
+  }
+
+  /**
+   * Executes a memory storage controller action
+   *
+   * @param action - Controller action
+   * @param request - Request
+   * @return response result
+   * @throws ApiError if the action fails or is not supported
+   * @throws JSONException
+   */
+  public Object execute(final String action, final JSONObject request) throws ApiError, JSONException {
+    String key = request.optString("_id", null);
+    JSONObject body = request.optJSONObject("body") != null ? request.optJSONObject("body") : new JSONObject();
+
+    switch (action) {
+      case "set": {
+        String value = body.getString("value");
+
+        if (body.optBoolean("nx")) {
+          return this.values.putIfAbsent(required(key), value) == null ? "OK" : JSONObject.NULL;
+        }
+        if (body.optBoolean("xx")) {
+          return this.values.replace(required(key), value) != null ? "OK" : JSONObject.NULL;
+        }
+
+        this.values.put(required(key), value);
+        return "OK";
+      }
+      case "get": {
+        String value = this.values.get(required(key));
+        return value != null ? value : JSONObject.NULL;
+      }
+      case "del":
+        return this.count(body.getJSONArray("keys"), true);
+      case "exists":
+        return this.count(request.getJSONArray("keys"), false);
+      case "incr":
+        return this.add(required(key), 1);
+      case "decr":
+        return this.add(required(key), -1);
+      case "incrby":
+        return this.add(required(key), body.getLong("value"));
+      case "decrby":
+        return this.add(required(key), -body.getLong("value"));
+      case "keys": {
+        Pattern pattern = glob(request.optString("pattern", "*"));
+        JSONArray keys = new JSONArray();
+
+        for (String candidate : this.values.keySet()) {
+          if (pattern.matcher(candidate).matches()) {
+            keys.put(candidate);
+          }
+        }
+
+        return keys;
+      }
+      case "flushdb":
+        this.values.clear();
+        return "OK";
+      default:
+        throw new ApiError(400, "ms:" + action + " is not supported by the stand-in server");
+    }
+  }
+
+  private long count(final JSONArray keys, final boolean remove) throws JSONException {
+    long count = 0;
+
+    for (int i = 0; i < keys.length(); i++) {
+      if ((remove ? this.values.remove(keys.getString(i)) : this.values.get(keys.getString(i))) != null) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private long add(final String key, final long delta) throws ApiError {
+    while (true) {
+      String previous = this.values.get(key);
+      long value;
+
+      try {
+        value = (previous != null ? Long.parseLong(previous) : 0) + delta;
+      } catch (NumberFormatException e) {
+        throw new ApiError(400, "Value is not an integer");
+      }
+
+      boolean stored = previous != null
+        ? this.values.replace(key, previous, Long.toString(value))
+        : this.values.putIfAbsent(key, Long.toString(value)) == null;
+
+      if (stored) {
+        return value;
+      }
+    }
+  }
+
+  private static String required(final String key) throws ApiError {
+    if (key == null) {
+      throw new ApiError(400, "Missing key");
+    }
+
+    return key;
+  }
+
+  private static Pattern glob(final String pattern) {
+    StringBuilder regex = new StringBuilder();
+
+    for (char c : pattern.toCharArray()) {
+      if (c == '*') {
+        regex.append(".*");
+      } else if (c == '?') {
+        regex.append('.');
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+
+    return Pattern.compile(regex.toString());
+  }
+}
@@ -0,0 +1,325 @@
+package io.kuzzle.benchmarks.server;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request handling of the stand-in server, independent from the transport.
+ *
+ * Supported API:
+ *   - document: create, createOrReplace, replace, update, get, exists, delete, count, mGet, search, scroll
+ *   - realtime: subscribe, unsubscribe, publish
+ *   - ms: set, get, del, exists, incr, decr, incrby, decrby, keys, flushdb
+ *   - auth: login, logout, checkToken
+ *   - server: now
+ *
+ * Subscription filters, scope, state and users are not evaluated: every subscriber
+ * of a collection is notified of every change made to it, and of every message published to it.
+ */
+public class StandInBackend {
+  private final DocumentStore documents = new DocumentStore();
+  private final MemoryStore memoryStorage = new MemoryStore();
+  private final Set<String> tokens = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+  // index/collection -> channels, channel -> subscribed clients, client -> channels
+  private final ConcurrentHashMap<String, Set<String>> collectionChannels = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Set<Client>> channelClients = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Client, Set<String>> clientChannels = new ConcurrentHashMap<>();
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong notifications = new AtomicLong();
+
+  /**
+   * Connection of a client to the backend
+   */
+  public interface Client {
+    /**
+     * @param frame - Frame to send to the client
+     */
+    void send(String frame);
+  }
+
+  /**
+   * @return document controller storage, to prepare data sets
+   */
+  public DocumentStore getDocuments() {
+    return this.documents;
+  }
+
+  /**
+   * @return memory storage controller storage, to check what requests changed
+   */
+  public MemoryStore getMemoryStorage() {
+    return this.memoryStorage;
+  }
+
+  /**
+   * @return number of requests handled
+   */
+  public long getRequests() {
+    return this.requests.get();
+  }
+
+  /**
+   * @return number of notifications sent
+   */
+  public long getNotifications() {
+    return this.notifications.get();
+  }
+
+  /**
+   * @return number of clients with at least one subscription
+   */
+  public int getSubscribers() {
+    return this.clientChannels.size();
+  }
+
+  /**
+   * Handles a request frame, answers it, and then notifies the subscribers it concerns
+   *
+   * @param client - Client sending the request
+   * @param frame - Request frame
+   */
+  public void handle(final Client client, final String frame) {
+    JSONObject request;
+    JSONObject response;
+    boolean succeeded = false;
+
+    this.requests.incrementAndGet();
+
+    try {
+      request = new JSONObject(frame);
+    } catch (JSONException e) {
+      // Kuzzle cannot answer a request it cannot read either
+      return;
+    }
+
+    try {
+      response = this.response(request, 200, this.execute(client, request), JSONObject.NULL);
+      succeeded = true;
+    } catch (ApiError e) {
+      response = this.response(request, e.getStatus(), JSONObject.NULL, e.toJSON());
+    } catch (JSONException | RuntimeException e) {
+      response = this.response(request, 500, JSONObject.NULL, new ApiError(500, String.valueOf(e.getMessage())).toJSON());
+    }
+
+    client.send(response.toString());
+
+    if (succeeded) {
+      this.notifySubscribers(request, response);
+    }
+  }
+
+  /**
+   * Forgets the subscriptions of a disconnected client
+   *
+   * @param client - Disconnected client
+   */
+  public void disconnected(final Client client) {
+    Set<String> channels = this.clientChannels.remove(client);
+
+    if (channels != null) {
+      for (String channel : channels) {
+        Set<Client> clients = this.channelClients.get(channel);
+        if (clients != null) {
+          clients.remove(client);
+        }
+      }
+    }
+  }
+
+  private Object execute(final Client client, final JSONObject request) throws ApiError, JSONException {
+    String controller = request.optString("controller");
+    String action = request.optString("action");
+
+    switch (controller) {
+      case "document":
+        return this.documents.execute(action, request);
+      case "ms":
+        return this.memoryStorage.execute(action, request);
+      case "realtime":
+        return this.realtime(client, action, request);
+      case "auth":
+        return this.auth(action, request);
+      case "server":
+        if (action.equals("now")) {
+          return new JSONObject().put("now", System.currentTimeMillis());
+        }
+        break;
+      default:
+        break;
+    }
+
+    throw new ApiError(400, controller + ":" + action + " is not supported by the stand-in server");
+  }
+
+  private Object realtime(final Client client, final String action, final JSONObject request) throws ApiError, JSONException {
+    switch (action) {
+      case "subscribe": {
+        String collection = request.optString("index") + "/" + request.optString("collection");
+        JSONObject filters = request.optJSONObject("body");
+        String roomId = Integer.toHexString((collection + (filters != null ? filters.toString() : "{}")).hashCode());
+        String channel = roomId + "-" + Integer.toHexString((request.optString("scope") + request.optString("state") + request.optString("users")).hashCode());
+
+        register(this.collectionChannels, collection, channel);
+        register(this.channelClients, channel, client);
+        register(this.clientChannels, client, channel);
+
+        return new JSONObject().put("roomId", roomId).put("channel", channel);
+      }
+      case "unsubscribe": {
+        String roomId = request.getJSONObject("body").getString("roomId");
+        Set<String> channels = this.clientChannels.get(client);
+
+        if (channels != null) {
+          for (String channel : channels) {
+            if (channel.startsWith(roomId + "-")) {
+              channels.remove(channel);
+              this.channelClients.get(channel).remove(client);
+            }
+          }
+        }
+
+        return new JSONObject().put("roomId", roomId);
+      }
+      case "publish":
+        return new JSONObject().put("published", true);
+      default:
+        throw new ApiError(400, "realtime:" + action + " is not supported by the stand-in server");
+    }
+  }
+
+  private Object auth(final String action, final JSONObject request) throws ApiError, JSONException {
+    switch (action) {
+      case "login": {
+        JSONObject credentials = request.optJSONObject("body");
+        String jwt = UUID.randomUUID().toString();
+
+        this.tokens.add(jwt);
+
+        return new JSONObject()
+          .put("_id", credentials != null ? credentials.optString("username", "anonymous") : "anonymous")
+          .put("jwt", jwt)
+          .put("expiresAt", System.currentTimeMillis() + 3600000);
+      }
+      case "logout":
+        this.tokens.remove(request.optString("jwt"));
+        return new JSONObject();
+      case "checkToken": {
+        String token = request.getJSONObject("body").optString("token");
+
+        if (this.tokens.contains(token)) {
+          return new JSONObject().put("valid", true).put("expiresAt", System.currentTimeMillis() + 3600000);
+        }
+
+        return new JSONObject().put("valid", false).put("state", "Invalid token");
+      }
+      default:
+        throw new ApiError(400, "auth:" + action + " is not supported by the stand-in server");
+    }
+  }
+
+  /**
+   * Sends a notification to the subscribers of the collection a request modified
+   */
+  private void notifySubscribers(final JSONObject request, final JSONObject response) {
+    String controller = request.optString("controller");
+    String action = request.optString("action");
+    String scope;
+    JSONObject result;
+
+    try {
+      if (controller.equals("realtime") && action.equals("publish")) {
+        // the SDK reads the _id of every notification about a document
+        result = new JSONObject()
+          .put("_id", request.optString("_id", UUID.randomUUID().toString()))
+          .put("_source", request.optJSONObject("body") != null ? request.getJSONObject("body") : new JSONObject());
+        scope = "in";
+      } else if (controller.equals("document") && (action.equals("create") || action.equals("createOrReplace") || action.equals("replace") || action.equals("update"))) {
+        result = response.getJSONObject("result");
+        scope = "in";
+      } else if (controller.equals("document") && action.equals("delete")) {
+        result = new JSONObject().put("_id", request.getString("_id"));
+        scope = "out";
+      } else {
+        return;
+      }
+
+      Set<String> channels = this.collectionChannels.get(request.optString("index") + "/" + request.optString("collection"));
+
+      if (channels == null) {
+        return;
+      }
+
+      for (String channel : channels) {
+        Set<Client> clients = this.channelClients.get(channel);
+
+        if (clients == null || clients.isEmpty()) {
+          continue;
+        }
+
+        String notification = new JSONObject()
+          .put("status", 200)
+          .put("requestId", request.optString("requestId"))
+          .put("room", channel)
+          .put("index", request.optString("index"))
+          .put("collection", request.optString("collection"))
+          .put("controller", controller)
+          .put("action", action)
+          .put("state", "done")
+          .put("scope", scope)
+          .put("volatile", request.optJSONObject("volatile") != null ? request.getJSONObject("volatile") : new JSONObject())
+          .put("timestamp", System.currentTimeMillis())
+          .put("type", "document")
+          .put("result", result)
+          .toString();
+
+        for (Client client : clients) {
+          client.send(notification);
+          this.notifications.incrementAndGet();
+        }
+      }
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private JSONObject response(final JSONObject request, final int status, final Object result, final Object error) {
+    try {
+      return new JSONObject()
+        .put("requestId", request.optString("requestId"))
+        .put("room", request.optString("requestId"))
+        .put("status", status)
+        .put("error", error)
+        .put("controller", request.optString("controller"))
+        .put("action", request.optString("action"))
+        .put("index", request.opt("index") != null ? request.opt("index") : JSONObject.NULL)
+        .put("collection", request.opt("collection") != null ? request.opt("collection") : JSONObject.NULL)
+        .put("volatile", request.optJSONObject("volatile") != null ? request.getJSONObject("volatile") : new JSONObject())
+        .put("result", result);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static <K, V> void register(final ConcurrentHashMap<K, Set<V>> map, final K key, final V value) {
+    Set<V> values = map.get(key);
+
+    if (values == null) {
+      Set<V> created = Collections.newSetFromMap(new ConcurrentHashMap<V, Boolean>());
+      values = map.putIfAbsent(key, created);
+
+      if (values == null) {
+        values = created;
+      }
+    }
+
+    values.add(value);
+  }
+}
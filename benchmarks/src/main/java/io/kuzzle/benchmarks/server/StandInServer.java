@@ -0,0 +1,298 @@
+package io.kuzzle.benchmarks.server;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
+import org.java_websocket.server.WebSocketServer;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.benchmarks.network.NetworkConditions;
+import io.kuzzle.benchmarks.network.SimulatedLink;
+
+/**
+ * In-process WebSocket server standing in for Kuzzle, for end-to-end benchmarks.
+ * Speaks enough of the Kuzzle protocol for the SDK: see StandInBackend for the supported API.
+ *
+ * <pre>
+ *   StandInServer server = new StandInServer(0);
+ *   server.startAndWait();
+ *   Kuzzle kuzzle = new Kuzzle("localhost", new Options().setPort(server.getPort()));
+ * </pre>
+ *
+ * Network conditions can be simulated between the clients and the backend:
+ * latency, bandwidth cap and frame drops (setConditions), stalls, disconnections
+ * and outages during which connections are refused. See NetworkScript to schedule them.
+ */
+public class StandInServer extends WebSocketServer {
+  private final StandInBackend backend;
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final List<Connection> connections = new CopyOnWriteArrayList<>();
+  private final List<SimulatedLink> links = new CopyOnWriteArrayList<>();
+  private volatile Exception failure;
+  private volatile NetworkConditions conditions;
+  private volatile boolean accepting = true;
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Transport of the frames exchanged with a connected client,
+   * through simulated links when network conditions are set
+   */
+  private class Connection implements StandInBackend.Client {
+    private final WebSocket socket;
+    private final SimulatedLink upstream;
+    private final SimulatedLink downstream;
+
+    Connection(final WebSocket socket, final NetworkConditions conditions) {
+      this.socket = socket;
+
+      if (conditions == null) {
+        this.upstream = null;
+        this.downstream = null;
+        return;
+      }
+
+      this.upstream = new SimulatedLink(getScheduler(), conditions, new SimulatedLink.Receiver() {
+        @Override
+        public void receive(String frame) {
+          StandInServer.this.backend.handle(Connection.this, frame);
+        }
+      });
+      this.downstream = new SimulatedLink(getScheduler(), conditions, new SimulatedLink.Receiver() {
+        @Override
+        public void receive(String frame) {
+          Connection.this.write(frame);
+        }
+      });
+      StandInServer.this.links.add(this.upstream);
+      StandInServer.this.links.add(this.downstream);
+    }
+
+    void received(final String frame) {
+      if (this.upstream != null) {
+        this.upstream.send(frame);
+      } else {
+        StandInServer.this.backend.handle(this, frame);
+      }
+    }
+
+    @Override
+    public void send(final String frame) {
+      if (this.downstream != null) {
+        this.downstream.send(frame);
+      } else {
+        this.write(frame);
+      }
+    }
+
+    void write(final String frame) {
+      if (this.socket.isOpen()) {
+        this.socket.send(frame);
+      }
+    }
+
+    void closeLinks() {
+      if (this.upstream != null) {
+        this.upstream.close();
+        this.downstream.close();
+      }
+    }
+  }
+
+  /**
+   * @param port - Listening port, 0 to pick a free one
+   */
+  public StandInServer(final int port) {
+    this(port, new StandInBackend());
+  }
+
+  /**
+   * @param port - Listening port, 0 to pick a free one
+   * @param backend - Request handler
+   */
+  public StandInServer(final int port, final StandInBackend backend) {
+    super(new InetSocketAddress("localhost", port));
+    this.backend = backend;
+    this.setReuseAddr(true);
+  }
+
+  /**
+   * @return request handler, holding the server data and counters
+   */
+  public StandInBackend getBackend() {
+    return this.backend;
+  }
+
+  /**
+   * Starts the server and waits for it to listen
+   *
+   * @throws Exception if the server could not start within 10 seconds
+   */
+  public void startAndWait() throws Exception {
+    this.start();
+
+    if (!this.started.await(10, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Stand-in server did not start");
+    }
+
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  /**
+   * Sets the network conditions of new connections and of the open ones
+   *
+   * @param conditions - Network conditions, or null to exchange frames directly
+   * @return this
+   */
+  public StandInServer setConditions(final NetworkConditions conditions) {
+    this.conditions = conditions;
+
+    if (conditions != null) {
+      for (SimulatedLink link : this.links) {
+        link.setConditions(conditions);
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Holds the frames exchanged over open connections, in both directions
+   *
+   * @param millis - Stall duration, in milliseconds
+   */
+  public void stall(final long millis) {
+    for (SimulatedLink link : this.links) {
+      link.stall(millis);
+    }
+  }
+
+  /**
+   * Closes all connections
+   *
+   * @param abrupt - true to drop the TCP connections without a WebSocket close handshake,
+   *               as when the network goes away. Frames still in flight are lost.
+   */
+  public void disconnectAll(final boolean abrupt) {
+    for (Connection connection : this.connections) {
+      connection.closeLinks();
+
+      if (abrupt) {
+        connection.socket.closeConnection(CloseFrame.ABNORMAL_CLOSE, "Simulated network failure");
+      } else {
+        connection.socket.close(CloseFrame.GOING_AWAY, "Simulated server shutdown");
+      }
+    }
+  }
+
+  /**
+   * @param accepting - false to refuse new connections, as an unreachable server would
+   */
+  public void setAccepting(final boolean accepting) {
+    this.accepting = accepting;
+  }
+
+  /**
+   * @return number of frames dropped by the simulated network conditions
+   */
+  public long getDroppedFrames() {
+    long dropped = 0;
+
+    for (SimulatedLink link : this.links) {
+      dropped += link.getDropped();
+    }
+
+    return dropped;
+  }
+
+  /**
+   * @return number of frames in flight on connections closed by disconnectAll
+   */
+  public long getLostFrames() {
+    long lost = 0;
+
+    for (SimulatedLink link : this.links) {
+      lost += link.getLost();
+    }
+
+    return lost;
+  }
+
+  @Override
+  public void onStart() {
+    this.started.countDown();
+  }
+
+  @Override
+  public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(final WebSocket conn, final Draft draft, final ClientHandshake request) throws InvalidDataException {
+    // refusing the handshake makes the client fail to connect, and retry if it reconnects automatically
+    if (!this.accepting) {
+      throw new InvalidDataException(CloseFrame.TRY_AGAIN_LATER, "Simulated unreachable server");
+    }
+
+    return super.onWebsocketHandshakeReceivedAsServer(conn, draft, request);
+  }
+
+  @Override
+  public void onOpen(final WebSocket conn, final ClientHandshake handshake) {
+    Connection connection = new Connection(conn, this.conditions);
+    conn.setAttachment(connection);
+    this.connections.add(connection);
+  }
+
+  @Override
+  public void onClose(final WebSocket conn, final int code, final String reason, final boolean remote) {
+    Connection connection = conn.getAttachment();
+
+    if (connection != null) {
+      connection.closeLinks();
+      this.connections.remove(connection);
+      this.backend.disconnected(connection);
+    }
+  }
+
+  @Override
+  public void onMessage(final WebSocket conn, final String message) {
+    Connection connection = conn.getAttachment();
+
+    if (connection != null) {
+      connection.received(message);
+    }
+  }
+
+  @Override
+  public void onError(final WebSocket conn, final Exception ex) {
+    // errors without a connection are server errors: the server failed to start or stopped
+    if (conn == null) {
+      this.failure = ex;
+      this.started.countDown();
+    }
+  }
+
+  private synchronized ScheduledExecutorService getScheduler() {
+    if (this.scheduler == null) {
+      this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "stand-in-network");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+
+    return this.scheduler;
+  }
+}
@@ -0,0 +1,335 @@
+package io.kuzzle.sdk.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a StreamingDocumentCodec for each class annotated with io.kuzzle.sdk.util.KuzzleDocument.
+ *
+ * The codec of a class is generated in the same package, named after the class with a "Codec" suffix
+ * (nested classes names are joined with underscores). It decodes the document content straight from
+ * the response text with a JsonReader, and from a JSONObject otherwise, without any reflection.
+ *
+ * Usage, with the SDK on the compile classpath:
+ *   annotationProcessor 'io.kuzzle:sdk-codegen:<version>'
+ */
+@SupportedAnnotationTypes(DocumentCodecProcessor.DOCUMENT)
+public class DocumentCodecProcessor extends AbstractProcessor {
+  static final String DOCUMENT = "io.kuzzle.sdk.util.KuzzleDocument";
+  static final String DOCUMENT_ID = "io.kuzzle.sdk.util.DocumentId";
+
+  /**
+   * Supported field types, with the way each one is decoded and read
+   */
+  private enum FieldType {
+    STRING("getString", "nextString()"),
+    BOOLEAN("getBoolean", "nextBoolean()"),
+    INT("getInt", "nextNumber().intValue()"),
+    LONG("getLong", "nextNumber().longValue()"),
+    FLOAT("getDouble", "nextNumber().floatValue()"),
+    DOUBLE("getDouble", "nextNumber().doubleValue()"),
+    OBJECT("getJSONObject", "nextObject()"),
+    ARRAY("getJSONArray", "nextArray()");
+
+    private final String getter;
+    private final String reader;
+
+    FieldType(final String getter, final String reader) {
+      this.getter = getter;
+      this.reader = reader;
+    }
+  }
+
+  private static class Field {
+    private final String name;
+    private final FieldType type;
+
+    Field(final String name, final FieldType type) {
+      this.name = name;
+      this.type = type;
+    }
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() != ElementKind.CLASS) {
+          this.error(element, "@KuzzleDocument only applies to classes");
+        } else {
+          this.generate((TypeElement) element);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private void generate(final TypeElement type) {
+    if (!this.isInstantiable(type)) {
+      return;
+    }
+
+    String id = null;
+    List<Field> fields = new ArrayList<>();
+    boolean valid = true;
+
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      Set<Modifier> modifiers = field.getModifiers();
+      String name = field.getSimpleName().toString();
+
+      if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+        continue;
+      }
+
+      if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+        this.error(field, "@KuzzleDocument fields cannot be private or final, unless transient");
+        valid = false;
+        continue;
+      }
+
+      if (hasAnnotation(field, DOCUMENT_ID)) {
+        if (id != null || fieldType(field.asType()) != FieldType.STRING) {
+          this.error(field, "@DocumentId only applies to a single String field");
+          valid = false;
+        }
+
+        id = name;
+        continue;
+      }
+
+      FieldType fieldType = fieldType(field.asType());
+
+      if (fieldType == null) {
+        this.error(field, "Unsupported @KuzzleDocument field type: " + field.asType());
+        valid = false;
+        continue;
+      }
+
+      fields.add(new Field(name, fieldType));
+    }
+
+    if (!valid) {
+      return;
+    }
+
+    String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String codecName = codecName(type);
+
+    try (Writer writer = this.processingEnv.getFiler()
+      .createSourceFile(packageName.isEmpty() ? codecName : packageName + "." + codecName, type)
+      .openWriter()) {
+      writer.write(source(packageName, codecName, type.getQualifiedName().toString(), id, fields));
+    } catch (IOException e) {
+      this.error(type, "Unable to write " + codecName + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Checks that generated codecs can create instances of a class
+   */
+  private boolean isInstantiable(final TypeElement type) {
+    Set<Modifier> modifiers = type.getModifiers();
+
+    if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+      this.error(type, "@KuzzleDocument classes cannot be abstract or private");
+      return false;
+    }
+
+    if (!(type.getEnclosingElement() instanceof PackageElement) && !modifiers.contains(Modifier.STATIC)) {
+      this.error(type, "@KuzzleDocument nested classes must be static");
+      return false;
+    }
+
+    List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+    for (ExecutableElement constructor : constructors) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+
+    this.error(type, "@KuzzleDocument classes need a non-private constructor without arguments");
+    return false;
+  }
+
+  private static boolean hasAnnotation(final Element element, final String annotation) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static FieldType fieldType(final TypeMirror type) {
+    switch (type.getKind()) {
+      case BOOLEAN:
+        return FieldType.BOOLEAN;
+      case INT:
+        return FieldType.INT;
+      case LONG:
+        return FieldType.LONG;
+      case FLOAT:
+        return FieldType.FLOAT;
+      case DOUBLE:
+        return FieldType.DOUBLE;
+      case DECLARED:
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+
+        switch (name) {
+          case "java.lang.String":
+            return FieldType.STRING;
+          case "java.lang.Boolean":
+            return FieldType.BOOLEAN;
+          case "java.lang.Integer":
+            return FieldType.INT;
+          case "java.lang.Long":
+            return FieldType.LONG;
+          case "java.lang.Float":
+            return FieldType.FLOAT;
+          case "java.lang.Double":
+            return FieldType.DOUBLE;
+          case "org.json.JSONObject":
+            return FieldType.OBJECT;
+          case "org.json.JSONArray":
+            return FieldType.ARRAY;
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return codec simple name: nested classes names joined with underscores, followed by "Codec"
+   */
+  private static String codecName(final TypeElement type) {
+    StringBuilder name = new StringBuilder(type.getSimpleName());
+
+    for (Element outer = type.getEnclosingElement(); outer instanceof TypeElement; outer = outer.getEnclosingElement()) {
+      name.insert(0, outer.getSimpleName() + "_");
+    }
+
+    return name.append("Codec").toString();
+  }
+
+  private static String source(final String packageName, final String codecName, final String typeName, final String id, final List<Field> fields) {
+    StringBuilder out = new StringBuilder();
+
+    if (!packageName.isEmpty()) {
+      out.append("package ").append(packageName).append(";\n\n");
+    }
+
+    out.append("import org.json.JSONException;\n")
+      .append("import org.json.JSONObject;\n\n")
+      .append("import io.kuzzle.sdk.json.JsonReader;\n")
+      .append("import io.kuzzle.sdk.util.StreamingDocumentCodec;\n\n")
+      .append("/**\n")
+      .append(" * Codec of ").append(typeName).append(", generated by the Kuzzle SDK codec processor: do not edit\n")
+      .append(" */\n")
+      .append("public final class ").append(codecName).append(" implements StreamingDocumentCodec<").append(typeName).append("> {\n");
+
+    // decoding a parsed content
+    out.append("  @Override\n")
+      .append("  public ").append(typeName).append(" decode(String id, JSONObject source) throws JSONException {\n")
+      .append("    ").append(typeName).append(" document = new ").append(typeName).append("();\n");
+
+    if (id != null) {
+      out.append("    document.").append(id).append(" = id;\n");
+    }
+
+    for (Field field : fields) {
+      out.append("    if (!source.isNull(\"").append(field.name).append("\")) {\n")
+        .append("      document.").append(field.name).append(" = ");
+
+      if (field.type == FieldType.FLOAT) {
+        out.append("(float) ");
+      }
+
+      out.append("source.").append(field.type.getter).append("(\"").append(field.name).append("\");\n")
+        .append("    }\n");
+    }
+
+    out.append("    return document;\n")
+      .append("  }\n\n");
+
+    // reading the content from the response text
+    out.append("  @Override\n")
+      .append("  public ").append(typeName).append(" read(String id, JsonReader source) throws JSONException {\n")
+      .append("    ").append(typeName).append(" document = new ").append(typeName).append("();\n");
+
+    if (id != null) {
+      out.append("    document.").append(id).append(" = id;\n");
+    }
+
+    out.append("    source.beginObject();\n")
+      .append("    while (source.hasNext()) {\n")
+      .append("      String name = source.nextName();\n\n")
+      .append("      if (source.peek() == JsonReader.Token.NULL) {\n")
+      .append("        source.skipValue();\n")
+      .append("        continue;\n")
+      .append("      }\n\n")
+      .append("      switch (name) {\n");
+
+    for (Field field : fields) {
+      out.append("        case \"").append(field.name).append("\":\n")
+        .append("          document.").append(field.name).append(" = source.").append(field.type.reader).append(";\n")
+        .append("          break;\n");
+    }
+
+    out.append("        default:\n")
+      .append("          source.skipValue();\n")
+      .append("      }\n")
+      .append("    }\n")
+      .append("    source.endObject();\n")
+      .append("    return document;\n")
+      .append("  }\n\n");
+
+    // encoding
+    out.append("  @Override\n")
+      .append("  public JSONObject encode(").append(typeName).append(" document) throws JSONException {\n")
+      .append("    JSONObject source = new JSONObject();\n");
+
+    for (Field field : fields) {
+      out.append("    source.put(\"").append(field.name).append("\", document.").append(field.name).append(");\n");
+    }
+
+    out.append("    return source;\n")
+      .append("  }\n")
+      .append("}\n");
+
+    return out.toString();
+  }
+
+  private void error(final Element element, final String message) {
+    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,228 @@
+package io.kuzzle.test.codegen;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import io.kuzzle.sdk.codegen.DocumentCodecProcessor;
+import io.kuzzle.sdk.json.JsonReader;
+import io.kuzzle.sdk.util.StreamingDocumentCodec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentCodecProcessorTest {
+  private File sources;
+  private File classes;
+  private ByteArrayOutputStream diagnostics;
+
+  @Before
+  public void setUp() throws IOException {
+    sources = Files.createTempDirectory("codegen-sources").toFile();
+    classes = Files.createTempDirectory("codegen-classes").toFile();
+    diagnostics = new ByteArrayOutputStream();
+  }
+
+  @After
+  public void tearDown() {
+    delete(sources);
+    delete(classes);
+  }
+
+  private static void delete(final File file) {
+    File[] children = file.listFiles();
+
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+
+    file.delete();
+  }
+
+  /**
+   * Compiles a single class of the "cars" package, running the processor
+   *
+   * @return true if the compilation succeeded
+   */
+  private boolean compile(final String name, final String source) throws IOException, URISyntaxException {
+    File file = new File(sources, "cars/" + name + ".java");
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    return compiler.run(null, diagnostics, diagnostics,
+      "-processor", "io.kuzzle.sdk.codegen.DocumentCodecProcessor",
+      "-classpath", classpath(DocumentCodecProcessor.class, StreamingDocumentCodec.class, JSONObject.class),
+      "-s", classes.getPath(),
+      "-d", classes.getPath(),
+      file.getPath()) == 0;
+  }
+
+  /**
+   * Test runners do not always expose their classpath in java.class.path: it is rebuilt from the classes locations
+   */
+  private static String classpath(final Class<?>... classes) throws URISyntaxException {
+    StringBuilder classpath = new StringBuilder();
+
+    for (Class<?> type : classes) {
+      if (classpath.length() > 0) {
+        classpath.append(File.pathSeparator);
+      }
+
+      classpath.append(new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+    }
+
+    return classpath.toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private StreamingDocumentCodec<Object> codec(final String name) throws Exception {
+    URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()}, this.getClass().getClassLoader());
+    return (StreamingDocumentCodec<Object>) loader.loadClass("cars." + name).newInstance();
+  }
+
+  private static Object field(final Object document, final String name) throws Exception {
+    return document.getClass().getField(name).get(document);
+  }
+
+  private static final String CAR = "package cars;\n"
+    + "import io.kuzzle.sdk.util.DocumentId;\n"
+    + "import io.kuzzle.sdk.util.KuzzleDocument;\n"
+    + "import org.json.JSONArray;\n"
+    + "@KuzzleDocument\n"
+    + "public class Car {\n"
+    + "  @DocumentId public String id;\n"
+    + "  public String brand;\n"
+    + "  public int seats;\n"
+    + "  public Long mileage;\n"
+    + "  public double price;\n"
+    + "  public boolean electric;\n"
+    + "  public JSONArray colors;\n"
+    + "  public transient String cache;\n"
+    + "  public static int count;\n"
+    + "}\n";
+
+  @Test
+  public void shouldReadDocuments() throws Exception {
+    assertTrue(diagnostics.toString(), compile("Car", CAR));
+
+    String frame = "{\"brand\":\"Renault\",\"seats\":5,\"mileage\":12000000000,\"price\":9999.5,"
+      + "\"electric\":true,\"colors\":[\"red\"],\"owner\":{\"name\":\"foo\"},\"cache\":null}";
+    Object car = codec("CarCodec").read("foo", new JsonReader(frame));
+
+    assertEquals(field(car, "id"), "foo");
+    assertEquals(field(car, "brand"), "Renault");
+    assertEquals(field(car, "seats"), 5);
+    assertEquals(field(car, "mileage"), 12000000000L);
+    assertEquals(field(car, "price"), 9999.5);
+    assertEquals(field(car, "electric"), true);
+    assertEquals(((JSONArray) field(car, "colors")).getString(0), "red");
+    assertNull(field(car, "cache"));
+  }
+
+  @Test
+  public void shouldSkipNullValues() throws Exception {
+    assertTrue(diagnostics.toString(), compile("Car", CAR));
+
+    Object car = codec("CarCodec").read("foo", new JsonReader("{\"brand\":null,\"seats\":2}"));
+
+    assertNull(field(car, "brand"));
+    assertEquals(field(car, "seats"), 2);
+  }
+
+  @Test
+  public void shouldDecodeAndEncodeDocuments() throws Exception {
+    assertTrue(diagnostics.toString(), compile("Car", CAR));
+
+    StreamingDocumentCodec<Object> codec = codec("CarCodec");
+    JSONObject source = new JSONObject().put("brand", "Peugeot").put("seats", 2).put("price", 10);
+    Object car = codec.decode("bar", source);
+
+    assertEquals(field(car, "id"), "bar");
+    assertEquals(field(car, "seats"), 2);
+    assertNull(field(car, "mileage"));
+
+    JSONObject encoded = codec.encode(car);
+    assertEquals(encoded.getString("brand"), "Peugeot");
+    assertEquals(encoded.getDouble("price"), 10, 0);
+    assertFalse(encoded.has("id"));
+    assertFalse(encoded.has("mileage"));
+    assertFalse(encoded.has("cache"));
+  }
+
+  @Test
+  public void shouldNameNestedClassesCodecs() throws Exception {
+    assertTrue(diagnostics.toString(), compile("Garage", "package cars;\n"
+      + "public class Garage {\n"
+      + "  @io.kuzzle.sdk.util.KuzzleDocument\n"
+      + "  public static class Car {\n"
+      + "    public String brand;\n"
+      + "  }\n"
+      + "}\n"));
+
+    Object car = codec("Garage_CarCodec").read("foo", new JsonReader("{\"brand\":\"Fiat\"}"));
+    assertEquals(field(car, "brand"), "Fiat");
+  }
+
+  @Test
+  public void shouldRejectUnsupportedFields() throws Exception {
+    assertFalse(compile("Car", "package cars;\n"
+      + "@io.kuzzle.sdk.util.KuzzleDocument\n"
+      + "public class Car {\n"
+      + "  public java.util.Date built;\n"
+      + "}\n"));
+    assertTrue(diagnostics.toString(), diagnostics.toString().contains("Unsupported @KuzzleDocument field type: java.util.Date"));
+  }
+
+  @Test
+  public void shouldRejectPrivateFields() throws Exception {
+    assertFalse(compile("Car", "package cars;\n"
+      + "@io.kuzzle.sdk.util.KuzzleDocument\n"
+      + "public class Car {\n"
+      + "  private String brand;\n"
+      + "}\n"));
+    assertTrue(diagnostics.toString(), diagnostics.toString().contains("cannot be private or final"));
+  }
+
+  @Test
+  public void shouldRequireAConstructorWithoutArguments() throws Exception {
+    assertFalse(compile("Car", "package cars;\n"
+      + "@io.kuzzle.sdk.util.KuzzleDocument\n"
+      + "public class Car {\n"
+      + "  public String brand;\n"
+      + "  public Car(String brand) {\n"
+      + "    this.brand = brand;\n"
+      + "  }\n"
+      + "}\n"));
+    assertTrue(diagnostics.toString(), diagnostics.toString().contains("constructor without arguments"));
+  }
+
+  @Test
+  public void shouldRequireAStringDocumentId() throws Exception {
+    assertFalse(compile("Car", "package cars;\n"
+      + "@io.kuzzle.sdk.util.KuzzleDocument\n"
+      + "public class Car {\n"
+      + "  @io.kuzzle.sdk.util.DocumentId public int id;\n"
+      + "}\n"));
+    assertTrue(diagnostics.toString(), diagnostics.toString().contains("@DocumentId only applies to a single String field"));
+  }
+}
@@ -10,12 +10,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.json.JsonReader;
+import io.kuzzle.sdk.listeners.HitConsumer;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.SubscribeListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.OnRawQueryDoneListener;
 import io.kuzzle.sdk.responses.SearchResult;
 import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.responses.SlicedScroll;
+import io.kuzzle.sdk.responses.TypedSearchResult;
+import io.kuzzle.sdk.util.DocumentCodec;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.sdk.util.NotificationPublisher;
+import io.kuzzle.sdk.util.StreamingDocumentCodec;
 
 public class Collection {
   private final Kuzzle kuzzle;
@@ -47,7 +59,7 @@ public class Collection {
     this.index = index;
 
     try {
-      this.headers = new JSONObject(kuzzle.getHeaders().toString());
+      this.headers = Json.copy(kuzzle.getHeaders());
     }
     catch (JSONException e) {
       throw new RuntimeException(e);
@@ -134,6 +146,529 @@ public class Collection {
     }
   }
 
+  /**
+   * Blocking version of {@link #search(JSONObject, Options, ResponseListener)}
+   *
+   * @return search result
+   */
+  public SearchResult searchSync(final JSONObject filters, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<SearchResult> future = new KuzzleFuture<>();
+    this.search(filters, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Executes a search on the data collection, decoding documents with the provided codec.
+   * Documents content is decoded without building Document objects, and straight from the
+   * response text with a StreamingDocumentCodec.
+   *
+   * @param filters  Search filters to apply
+   * @param options  Request options
+   * @param codec  Documents codec
+   * @param listener  Response callback listener
+   */
+  public <T> void search(final JSONObject filters, @NonNull final Options options, @NonNull final DocumentCodec<T> codec, @NonNull final ResponseListener<TypedSearchResult<T>> listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("listener cannot be null");
+    }
+    if (codec == null) {
+      throw new IllegalArgumentException("Collection.search: codec required");
+    }
+    this.kuzzle.isValid();
+    JSONObject data = new JSONObject();
+    try {
+      if (filters != null) {
+        data.put("body", filters);
+      }
+
+      this.kuzzle.addHeaders(data, this.getHeaders());
+
+      this.kuzzle.query(makeQueryArgs("document", "search"), data, options, this.typedSearchListener(codec, options, filters, listener));
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Builds the listener decoding a typed search or scroll response.
+   * Streaming codecs read the raw response frame, other codecs the parsed response.
+   *
+   * @param codec  Documents codec
+   * @param options  Request options
+   * @param filters  Search filters
+   * @param listener  Response callback listener
+   * @return query listener
+   */
+  private <T> OnQueryDoneListener typedSearchListener(final DocumentCodec<T> codec, final Options options, final JSONObject filters, final ResponseListener<TypedSearchResult<T>> listener) {
+    if (codec instanceof StreamingDocumentCodec) {
+      final StreamingDocumentCodec<T> streaming = (StreamingDocumentCodec<T>) codec;
+
+      return new OnRawQueryDoneListener() {
+        @Override
+        public void onRawResponse(String frame) {
+          try {
+            readSearchResult(frame, streaming, options, filters, listener);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onSuccess(JSONObject object) {
+          try {
+            readSearchResult(object.toString(), streaming, options, filters, listener);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+          listener.onError(error);
+        }
+      };
+    }
+
+    return new OnQueryDoneListener() {
+      @Override
+      public void onSuccess(JSONObject object) {
+        try {
+          listener.onSuccess(decodeSearchResult(object.getJSONObject("result"), codec, options, filters));
+        } catch (JSONException e) {
+          throw new RuntimeException(e);
+        }
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        listener.onError(error);
+      }
+    };
+  }
+
+  /**
+   * Builds the listener decoding a typed document response
+   *
+   * @param codec  Document codec
+   * @param listener  Response callback listener
+   * @return query listener
+   */
+  private <T> OnQueryDoneListener typedDocumentListener(final DocumentCodec<T> codec, final ResponseListener<T> listener) {
+    if (codec instanceof StreamingDocumentCodec) {
+      final StreamingDocumentCodec<T> streaming = (StreamingDocumentCodec<T>) codec;
+
+      return new OnRawQueryDoneListener() {
+        @Override
+        public void onRawResponse(String frame) {
+          try {
+            readDocument(frame, streaming, listener);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onSuccess(JSONObject object) {
+          try {
+            readDocument(object.toString(), streaming, listener);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+          listener.onError(error);
+        }
+      };
+    }
+
+    return new OnQueryDoneListener() {
+      @Override
+      public void onSuccess(JSONObject response) {
+        try {
+          JSONObject result = response.getJSONObject("result");
+          listener.onSuccess(codec.decode(result.getString("_id"), result.getJSONObject("_source")));
+        } catch (JSONException e) {
+          throw new RuntimeException(e);
+        }
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        listener.onError(error);
+      }
+    };
+  }
+
+  /**
+   * Reads a search or scroll response, decoding documents while the response is read
+   *
+   * @param frame  Response text
+   * @param codec  Documents codec
+   * @param options  Request options
+   * @param filters  Search filters
+   * @param listener  Response callback listener
+   * @throws JSONException
+   */
+  private <T> void readSearchResult(final String frame, final StreamingDocumentCodec<T> codec, final Options options, final JSONObject filters, final ResponseListener<TypedSearchResult<T>> listener) throws JSONException {
+    JsonReader reader = new JsonReader(frame);
+    List<T> docs = new ArrayList<>();
+    JSONObject error = null;
+    JSONObject aggregations = null;
+    // sorted searches keep the raw values of their last hit, to fetch the next page with search_after
+    RawHit last = filters != null && filters.has("sort") ? new RawHit() : null;
+    long total = 0;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("error") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        error = reader.nextObject();
+      } else if (name.equals("result") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          String field = reader.nextName();
+
+          if (field.equals("hits") && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              docs.add(this.readHit(frame, reader, codec, last));
+            }
+            reader.endArray();
+          } else if (field.equals("total") && reader.peek() == JsonReader.Token.NUMBER) {
+            total = reader.nextNumber().longValue();
+          } else if (field.equals("_scroll_id") && reader.peek() == JsonReader.Token.STRING) {
+            options.setScrollId(reader.nextString());
+          } else if (field.equals("aggregations") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+            aggregations = reader.nextObject();
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (error != null) {
+      this.readError(error, listener);
+      return;
+    }
+
+    listener.onSuccess(new TypedSearchResult<>(
+      Collection.this,
+      codec,
+      total,
+      docs,
+      last != null && last.source != null ? last.toJSONObject(frame) : null,
+      aggregations,
+      options,
+      filters != null ? filters : new JSONObject()
+    ));
+  }
+
+  /**
+   * Reads a single document response, decoding the document while the response is read
+   *
+   * @param frame  Response text
+   * @param codec  Document codec
+   * @param listener  Response callback listener
+   * @throws JSONException
+   */
+  private <T> void readDocument(final String frame, final StreamingDocumentCodec<T> codec, final ResponseListener<T> listener) throws JSONException {
+    JsonReader reader = new JsonReader(frame);
+    JSONObject error = null;
+    T document = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("error") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        error = reader.nextObject();
+      } else if (name.equals("result") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        document = this.readHit(frame, reader, codec, null);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (error != null) {
+      this.readError(error, listener);
+      return;
+    }
+
+    listener.onSuccess(document);
+  }
+
+  /**
+   * Decodes a document from its _id and _source fields.
+   * Kuzzle sends the identifier first: should it not, the content is decoded once the identifier is read.
+   * When raw values are requested, the content is always decoded from its bounds, which are kept along with the hit sort values.
+   *
+   * @param frame  Response text
+   * @param reader  Reader positioned on the document object
+   * @param codec  Document codec
+   * @param raw  Filled with the hit raw values, or null
+   * @return decoded document
+   * @throws JSONException
+   */
+  private <T> T readHit(final String frame, final JsonReader reader, final StreamingDocumentCodec<T> codec, final RawHit raw) throws JSONException {
+    String id = null;
+    T document = null;
+    int[] source = null;
+    JSONArray sort = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("_id") && reader.peek() == JsonReader.Token.STRING) {
+        id = reader.nextString();
+      } else if (name.equals("_source") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        if (id != null && raw == null) {
+          document = codec.read(id, reader);
+        } else {
+          source = reader.skipValueBounds();
+        }
+      } else if (name.equals("sort") && raw != null && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+        sort = reader.nextArray();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (document == null && source != null) {
+      document = codec.read(id, new JsonReader(frame, source[0], source[1]));
+    }
+
+    if (raw != null) {
+      raw.id = id;
+      raw.source = source;
+      raw.sort = sort;
+    }
+
+    return document;
+  }
+
+  /**
+   * Raw values of a hit read from a response text: its content is only kept as bounds,
+   * and built on demand
+   */
+  private static class RawHit {
+    private String id;
+    private int[] source;
+    private JSONArray sort;
+
+    /**
+     * @param frame  Response text the hit was read from
+     * @return the hit _id, _source and sort values
+     * @throws JSONException
+     */
+    private JSONObject toJSONObject(final String frame) throws JSONException {
+      return new JSONObject()
+        .put("_id", this.id)
+        .put("_source", new JsonReader(frame, this.source[0], this.source[1]).nextObject())
+        .putOpt("sort", this.sort);
+    }
+  }
+
+  /**
+   * Hands an error read from a raw response over to the listener.
+   * Raw responses skip the SDK token expiration check, which is done here instead.
+   *
+   * @param error  Kuzzle error
+   * @param listener  Response callback listener
+   */
+  private void readError(final JSONObject error, final ResponseListener<?> listener) {
+    if ("Token expired".equals(error.optString("message"))) {
+      this.kuzzle.emitEvent(Event.tokenExpired, listener);
+    }
+
+    listener.onError(error);
+  }
+
+  /**
+   * Decodes a search or scroll result with the provided codec
+   *
+   * @param result  Search result content
+   * @param codec  Documents codec
+   * @param options  Request options
+   * @param filters  Search filters
+   * @return Decoded search result
+   * @throws JSONException
+   */
+  private <T> TypedSearchResult<T> decodeSearchResult(final JSONObject result, final DocumentCodec<T> codec, final Options options, final JSONObject filters) throws JSONException {
+    JSONArray hits = result.getJSONArray("hits");
+    List<T> docs = new ArrayList<>(hits.length());
+    JSONObject hit = null;
+
+    for (int i = 0; i < hits.length(); i++) {
+      hit = hits.getJSONObject(i);
+      docs.add(codec.decode(hit.getString("_id"), hit.getJSONObject("_source")));
+    }
+
+    if (result.has("_scroll_id")) {
+      options.setScrollId(result.getString("_scroll_id"));
+    }
+
+    return new TypedSearchResult<>(
+      Collection.this,
+      codec,
+      result.getLong("total"),
+      docs,
+      hit,
+      result.optJSONObject("aggregations"),
+      options,
+      filters != null ? filters : new JSONObject()
+    );
+  }
+
+  /**
+   * Executes a search on the data collection, handing documents over to the consumer one at a time.
+   * The response is decoded while it is read: documents are never all held in memory,
+   * making this method suitable for large result pages.
+   *
+   * @param filters  Search filters to apply
+   * @param options  Request options
+   * @param consumer  Documents consumer
+   */
+  public void searchStream(final JSONObject filters, @NonNull final Options options, @NonNull final HitConsumer consumer) {
+    if (options == null) {
+      throw new IllegalArgumentException("Collection.searchStream: options cannot be null");
+    }
+    if (consumer == null) {
+      throw new IllegalArgumentException("Collection.searchStream: consumer cannot be null");
+    }
+    this.kuzzle.isValid();
+    JSONObject data = new JSONObject();
+    try {
+      if (filters != null) {
+        data.put("body", filters);
+      }
+
+      this.kuzzle.addHeaders(data, this.getHeaders());
+
+      this.kuzzle.query(makeQueryArgs("document", "search"), data, options, new OnRawQueryDoneListener() {
+        @Override
+        public void onRawResponse(String frame) {
+          try {
+            streamSearchResult(new JsonReader(frame), options, consumer);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onSuccess(JSONObject object) {
+          try {
+            streamSearchResult(new JsonReader(object.toString()), options, consumer);
+          } catch (JSONException e) {
+            throw new RuntimeException(e);
+          }
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+          if (error != null) {
+            consumer.onError(error);
+          }
+        }
+      });
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Reads a search response, handing each document over to the consumer as soon as it is parsed
+   *
+   * @param reader  Response reader
+   * @param options  Request options
+   * @param consumer  Documents consumer
+   * @throws JSONException
+   */
+  private void streamSearchResult(final JsonReader reader, final Options options, final HitConsumer consumer) throws JSONException {
+    JSONObject error = null;
+    JSONObject aggregations = null;
+    long total = 0;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("error") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        error = reader.nextObject();
+      } else if (name.equals("result") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          String field = reader.nextName();
+
+          if (field.equals("hits") && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              this.streamHit(reader, consumer);
+            }
+            reader.endArray();
+          } else if (field.equals("total") && reader.peek() == JsonReader.Token.NUMBER) {
+            total = reader.nextNumber().longValue();
+          } else if (field.equals("_scroll_id") && reader.peek() == JsonReader.Token.STRING) {
+            options.setScrollId(reader.nextString());
+          } else if (field.equals("aggregations") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+            aggregations = reader.nextObject();
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (error != null) {
+      if ("Token expired".equals(error.optString("message"))) {
+        this.kuzzle.emitEvent(Event.tokenExpired, consumer);
+      }
+
+      consumer.onError(error);
+      return;
+    }
+
+    consumer.onSuccess(total, aggregations);
+  }
+
+  private void streamHit(final JsonReader reader, final HitConsumer consumer) throws JSONException {
+    String id = null;
+    JSONObject content = null;
+    JSONObject meta = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("_id") && reader.peek() == JsonReader.Token.STRING) {
+        id = reader.nextString();
+      } else if (name.equals("_source") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        content = reader.nextObject();
+      } else if (name.equals("_meta") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        meta = reader.nextObject();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    consumer.onHit(id, content, meta);
+  }
+
   /**
    * {@link #scroll(String, Options, ResponseListener)}
    */
@@ -221,6 +756,66 @@ public class Collection {
     }
   }
 
+  /**
+   * Blocking version of {@link #scroll(String, Options, JSONObject, ResponseListener)}
+   *
+   * @return next search result page
+   */
+  public SearchResult scrollSync(@NonNull final String scrollId, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<SearchResult> future = new KuzzleFuture<>();
+    this.scroll(scrollId, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Reads the documents matching the filters through several scroll cursors in parallel,
+   * each over one slice of the results. See {@link SlicedScroll}.
+   *
+   * @param filters  Search filters to apply
+   * @param slices  Number of slices read in parallel
+   * @param options  Request options: the scroll duration and the page size are required
+   * @param maxPages  Maximum number of pages requested or waiting to be consumed, at least one per slice
+   * @return sliced scroll, to consume with one merged iterator or one iterator per slice
+   */
+  public SlicedScroll slicedScroll(final JSONObject filters, final int slices, @NonNull final Options options, final int maxPages) {
+    this.kuzzle.isValid();
+    return new SlicedScroll(this, filters, slices, options, maxPages);
+  }
+
+  /**
+   * Gets the next page of results from a previous search or scroll request,
+   * decoding documents with the provided codec
+   *
+   * @param scrollId  Scroll unique identifier
+   * @param options  Request options
+   * @param filters  Original search filters
+   * @param codec  Documents codec
+   * @param listener  Response callback listener
+   */
+  public <T> void scroll(String scrollId, final Options options, final JSONObject filters, @NonNull final DocumentCodec<T> codec, @NonNull final ResponseListener<TypedSearchResult<T>> listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("listener cannot be null");
+    }
+
+    if (codec == null) {
+      throw new IllegalArgumentException("Collection.scroll: codec required");
+    }
+
+    if (scrollId == null) {
+      throw new RuntimeException("Collection.scroll: scrollId is required");
+    }
+
+    options.setScrollId(scrollId);
+
+    try {
+      JSONObject request = new JSONObject().put("body", new JSONObject());
+
+      this.kuzzle.query(this.kuzzle.buildQueryArgs("document", "scroll"), request, options, this.typedSearchListener(codec, options, filters, listener));
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * {@link #scrollSpecifications(String, Options, ResponseListener)}
    */
@@ -423,6 +1018,17 @@ public class Collection {
     }
   }
 
+  /**
+   * Blocking version of {@link #count(JSONObject, Options, ResponseListener)}
+   *
+   * @return number of matching documents
+   */
+  public int countSync(final JSONObject filters, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Integer> future = new KuzzleFuture<>();
+    this.count(filters, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #create(JSONObject, Options, ResponseListener)}
    */
@@ -585,6 +1191,17 @@ public class Collection {
     return this.createDocument(doc, options, listener);
   }
 
+  /**
+   * Blocking version of {@link #createDocument(String, JSONObject, Options, ResponseListener)}
+   *
+   * @return created document
+   */
+  public Document createDocumentSync(final String id, @NonNull final JSONObject content, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.createDocument(id, content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #createDocument(Document, Options, ResponseListener)}
    */
@@ -653,6 +1270,43 @@ public class Collection {
     return this;
   }
 
+  /**
+   * Create a new document in kuzzle, encoding its content with the provided codec
+   *
+   * @param id  document ID (can be null)
+   * @param content  document to encode
+   * @param codec  Document codec
+   * @param options  Request options
+   * @param listener  Response callback listener, receiving the created document decoded
+   * @return this
+   * @throws JSONException
+   */
+  public <T> Collection createDocument(final String id, @NonNull final T content, @NonNull final DocumentCodec<T> codec, final Options options, final ResponseListener<T> listener) throws JSONException {
+    if (content == null) {
+      throw new IllegalArgumentException("Cannot create an empty document");
+    }
+    if (codec == null) {
+      throw new IllegalArgumentException("Collection.createDocument: codec required");
+    }
+
+    String action = "create";
+    JSONObject data = new JSONObject().put("body", codec.encode(content));
+
+    if (id != null) {
+      data.put("_id", id);
+    }
+
+    if (options != null && options.getIfExist().equals("replace")) {
+      action = "createOrReplace";
+    }
+
+    this.kuzzle.addHeaders(data, this.getHeaders());
+
+    this.kuzzle.query(makeQueryArgs("document", action), data, options, listener != null ? this.typedDocumentListener(codec, listener) : null);
+
+    return this;
+  }
+
   /**
    * {@link #collectionMapping(JSONObject)}
    */
@@ -707,6 +1361,17 @@ public class Collection {
     return this.deleteDocument(documentId, null, options, listener, null);
   }
 
+  /**
+   * Blocking version of {@link #deleteDocument(String, Options, ResponseListener)}
+   *
+   * @return deleted document ID
+   */
+  public String deleteDocumentSync(@NonNull final String documentId, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.deleteDocument(documentId, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #deleteDocument(JSONObject, Options, ResponseListener)}
    */
@@ -987,6 +1652,55 @@ public class Collection {
     }
   }
 
+  /**
+   * {@link #fetchDocumentSync(String, Options)}
+   */
+  public Document fetchDocumentSync(@NonNull final String documentId) throws KuzzleFuture.ResponseError, InterruptedException {
+    return this.fetchDocumentSync(documentId, null);
+  }
+
+  /**
+   * Blocking version of {@link #fetchDocument(String, Options, ResponseListener)}
+   *
+   * @return fetched document
+   */
+  public Document fetchDocumentSync(@NonNull final String documentId, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.fetchDocument(documentId, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Fetch a document from Kuzzle, decoding its content with the provided codec.
+   * The content is decoded without building a Document object, and straight from the
+   * response text with a StreamingDocumentCodec.
+   *
+   * @param documentId  Document unique identifier
+   * @param options  Request options
+   * @param codec  Document codec
+   * @param listener  Response callback listener
+   */
+  public <T> void fetchDocument(@NonNull final String documentId, final Options options, @NonNull final DocumentCodec<T> codec, @NonNull final ResponseListener<T> listener) {
+    if (documentId == null) {
+      throw new IllegalArgumentException("Collection.fetchDocument: documentId required");
+    }
+    if (codec == null) {
+      throw new IllegalArgumentException("Collection.fetchDocument: codec required");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("Collection.fetchDocument: listener required");
+    }
+
+    try {
+      JSONObject data = new JSONObject().put("_id", documentId);
+      this.kuzzle.addHeaders(data, this.getHeaders());
+
+      this.kuzzle.query(makeQueryArgs("document", "get"), data, options, this.typedDocumentListener(codec, listener));
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * {@link #getMapping(Options, ResponseListener)}
    */
@@ -1291,6 +2005,17 @@ public class Collection {
     }
   }
 
+  /**
+   * Blocking version of {@link #mGetDocument(String[], Options, ResponseListener)}
+   *
+   * @return fetched documents
+   */
+  public JSONObject mGetDocumentSync(final String[] documentIds, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<JSONObject> future = new KuzzleFuture<>();
+    this.mGetDocument(documentIds, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #mGetDocument(String[], Options, ResponseListener)}
    */
@@ -1529,6 +2254,17 @@ public class Collection {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #publishMessage(JSONObject, Options, ResponseListener)}
+   *
+   * @return raw Kuzzle API response
+   */
+  public JSONObject publishMessageSync(@NonNull final JSONObject content, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<JSONObject> future = new KuzzleFuture<>();
+    this.publishMessage(content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #replaceDocument(String, JSONObject, Options, ResponseListener)}
    */
@@ -1595,6 +2331,17 @@ public class Collection {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #replaceDocument(String, JSONObject, Options, ResponseListener)}
+   *
+   * @return replaced document
+   */
+  public Document replaceDocumentSync(@NonNull final String documentId, final JSONObject content, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.replaceDocument(documentId, content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #validateSpecifications(JSONObject, Options, ResponseListener)}
    */
@@ -1691,7 +2438,7 @@ public class Collection {
       }
 
       if (replace) {
-        this.headers = new JSONObject(content.toString());
+        this.headers = Json.copy(content);
       } else {
         for (Iterator ite = content.keys(); ite.hasNext(); ) {
           String key = (String) ite.next();
@@ -1739,6 +2486,40 @@ public class Collection {
     return subscribeResponseListener;
   }
 
+  /**
+   * Subscribes to this data collection, publishing notifications to
+   * Reactive Streams subscribers.
+   * A failed subscription request fails the publisher.
+   * The subscription ends once the last subscriber cancels, or once the publisher completes.
+   *
+   * @param filters  Subscription filters
+   * @param options  Request options
+   * @param publisher  Notifications publisher
+   * @return an object with a onDone() callback triggered when the subscription is active
+   */
+  public SubscribeListener subscribe(final JSONObject filters, final RoomOptions options, @NonNull final NotificationPublisher publisher) {
+    if (publisher == null) {
+      throw new IllegalArgumentException("Collection.subscribe: publisher required");
+    }
+
+    SubscribeListener subscribeResponseListener = this.subscribe(filters, options, (ResponseListener<NotificationResponse>) publisher);
+
+    subscribeResponseListener.onDone(new ResponseListener<Room>() {
+      @Override
+      public void onSuccess(Room response) {
+        // notifications are published by the room, unsubscribed from once the publisher is not used anymore
+        publisher.attach(response);
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        publisher.onError(error);
+      }
+    });
+
+    return subscribeResponseListener;
+  }
+
   /**
    * {@link #truncate(Options, ResponseListener)}
    */
@@ -1870,6 +2651,17 @@ public class Collection {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #updateDocument(String, JSONObject, Options, ResponseListener)}
+   *
+   * @return updated document
+   */
+  public Document updateDocumentSync(@NonNull final String documentId, @NonNull final JSONObject content, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.updateDocument(documentId, content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #updateSpecifications(JSONObject, Options, ResponseListener)}
    */
@@ -7,6 +7,7 @@ import org.json.JSONObject;
 
 import java.util.Iterator;
 
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 
@@ -35,7 +36,7 @@ public class CollectionMapping {
    */
   public CollectionMapping(final Collection kuzzleDataCollection, final JSONObject mapping) {
     try {
-      this.headers = new JSONObject(kuzzleDataCollection.getHeaders().toString());
+      this.headers = Json.copy(kuzzleDataCollection.getHeaders());
     }
     catch(JSONException e) {
       throw new RuntimeException(e);
@@ -221,7 +222,7 @@ public class CollectionMapping {
       }
 
       if (replace) {
-        this.headers = new JSONObject(content.toString());
+        this.headers = Json.copy(content);
       } else {
         for (Iterator ite = content.keys(); ite.hasNext(); ) {
           String key = (String) ite.next();
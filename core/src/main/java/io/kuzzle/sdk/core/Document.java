@@ -6,11 +6,14 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.SubscribeListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
 
 public class Document {
   private final Collection dataCollection;
@@ -45,7 +48,7 @@ public class Document {
     this.setContent(content, true);
 
     if (meta != null) {
-      this.meta = new JSONObject(meta.toString());
+      this.meta = Json.copy(meta);
     }
 
     this.headers = kuzzleDataCollection.getHeaders();
@@ -171,6 +174,17 @@ public class Document {
     }
   }
 
+  /**
+   * Blocking version of {@link #delete(Options, ResponseListener)}
+   *
+   * @return deleted document ID
+   */
+  public String deleteSync(final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.delete(options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #exists(Options, ResponseListener)}
    */
@@ -214,6 +228,17 @@ public class Document {
     }
   }
 
+  /**
+   * Blocking version of {@link #exists(Options, ResponseListener)}
+   *
+   * @return true if the document exists in Kuzzle
+   */
+  public boolean existsSync(final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Boolean> future = new KuzzleFuture<>();
+    this.exists(options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #refresh(Options, ResponseListener)}
    */
@@ -269,6 +294,17 @@ public class Document {
     }
   }
 
+  /**
+   * Blocking version of {@link #refresh(Options, ResponseListener)}
+   *
+   * @return document as currently stored in Kuzzle
+   */
+  public Document refreshSync(final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.refresh(options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #save(Options, ResponseListener)}
    */
@@ -330,6 +366,17 @@ public class Document {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #save(Options, ResponseListener)}
+   *
+   * @return saved document
+   */
+  public Document saveSync(final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Document> future = new KuzzleFuture<>();
+    this.save(options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #publish(Options)}
    */
@@ -371,7 +418,7 @@ public class Document {
   public Document setContent(final JSONObject content, final boolean replace) throws JSONException {
     if (replace) {
       if (content != null) {
-        this.content = new JSONObject(content.toString());
+        this.content = Json.copy(content);
       }
       else {
         this.content = new JSONObject();
@@ -530,7 +577,7 @@ public class Document {
       }
 
       if (replace) {
-        this.headers = new JSONObject(content.toString());
+        this.headers = Json.copy(content);
       } else {
         for (Iterator ite = content.keys(); ite.hasNext(); ) {
           String key = (String) ite.next();
@@ -1,8 +1,6 @@
 package io.kuzzle.sdk.core;
 
 import android.support.annotation.NonNull;
-import android.webkit.WebView;
-import android.webkit.WebViewClient;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -10,48 +8,77 @@ import org.json.JSONObject;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Calendar;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Queue;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.EventPolicy;
 import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.json.JsonReader;
+import io.kuzzle.sdk.json.ParallelFrameParser;
 import io.kuzzle.sdk.listeners.EventListener;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.OnRawQueryDoneListener;
+import io.kuzzle.sdk.metrics.Gauge;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.recording.TrafficRecorder;
 import io.kuzzle.sdk.responses.TokenValidity;
 import io.kuzzle.sdk.security.Security;
 import io.kuzzle.sdk.security.User;
+import io.kuzzle.sdk.state.ConnectionState;
 import io.kuzzle.sdk.state.KuzzleQueue;
 import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.time.Clock;
+import io.kuzzle.sdk.time.SystemClock;
+import io.kuzzle.sdk.tracing.Span;
+import io.kuzzle.sdk.tracing.Tracer;
 import io.kuzzle.sdk.util.EventList;
+import io.kuzzle.sdk.util.EventStats;
+import io.kuzzle.sdk.util.FrameDispatcher;
+import io.kuzzle.sdk.util.InterceptorChain;
 import io.kuzzle.sdk.util.OfflineQueueLoader;
 import io.kuzzle.sdk.util.QueryObject;
 import io.kuzzle.sdk.util.QueueFilter;
-import io.kuzzle.sdk_android.BuildConfig;
+import io.kuzzle.sdk.util.RequestEnvelope;
+import io.kuzzle.sdk.util.RequestInterceptor;
+import io.kuzzle.sdk.util.ResponseInterceptor;
+import io.kuzzle.sdk.util.StallDetector;
 import tech.gusavila92.websocketclient.WebSocketClient;
 
 /**
  * The type Kuzzle.
  */
 public class Kuzzle {
+  private static final String SDK_VERSION = loadSdkVersion();
+  // Frames are only read up to this number of characters to find their ordering key, on the socket thread
+  private static final int ORDERING_KEY_SCAN_LIMIT = 8192;
   private final int MAX_EMIT_TIMEOUT = 10;
-  private final int EVENT_TIMEOUT = 200;
 
   protected ConcurrentHashMap<Event, EventList> eventListeners = new ConcurrentHashMap<>();
+  protected ConcurrentHashMap<Event, EventPolicy> eventPolicies = new ConcurrentHashMap<>();
+  protected ConcurrentHashMap<Event, EventStats> eventStats = new ConcurrentHashMap<>();
+  protected long eventWindow = 200;
 
   protected WebSocketClient socket;
   protected ConcurrentHashMap<String, OnQueryDoneListener> currentQueries = new ConcurrentHashMap<>();
+  protected ConcurrentHashMap<String, OnRawQueryDoneListener> rawQueries = new ConcurrentHashMap<>();
   protected ConcurrentHashMap<String, EventListener> roomList = new ConcurrentHashMap<>();
 
   protected Map<String, Map<String, Collection>> collections = new ConcurrentHashMap<>();
@@ -62,7 +89,7 @@ public class Kuzzle {
   protected Integer port;
   protected boolean isSsl;
   protected ResponseListener<Void> connectionCallback;
-  protected States state = States.INITIALIZING;
+  protected ConnectionState state = new ConnectionState(States.INITIALIZING);
   protected long reconnectionDelay;
   protected boolean autoResubscribe;
   protected boolean autoQueue;
@@ -84,6 +111,45 @@ public class Kuzzle {
   protected int queueMaxSize;
   protected String jwtToken = null;
 
+  // Serialized once: headers, global volatile data, SDK version and JWT
+  protected RequestEnvelope envelope = new RequestEnvelope();
+
+  // Longest wait of the blocking *Sync methods for a response, in milliseconds, 0 for no bound
+  protected volatile long syncTimeout;
+
+  // Frames larger than this number of characters are decoded off the socket thread
+  protected int decodeThreshold;
+  protected ThreadPoolExecutor decodeExecutor;
+  protected FrameDispatcher frameDispatcher;
+  protected ParallelFrameParser frameParser;
+
+  // Time source and scheduler of the event throttling, offline queue expiry and replay, and request history expiry
+  protected Clock clock = SystemClock.INSTANCE;
+
+  // Counters, gauges and response latencies of this instance
+  protected MetricsRegistry metrics = new MetricsRegistry();
+
+  // Watchdog over the response and notification callbacks, null if disabled
+  protected volatile StallDetector stallDetector;
+
+  // Trace context propagation and client spans
+  protected Tracer tracer = new Tracer();
+
+  // Receives the frames sent and received, null when not recording
+  protected volatile TrafficRecorder trafficRecorder;
+
+  // Interceptors, copied on write: with none registered, queries and frames only pay a length check
+  protected volatile RequestInterceptor[] requestInterceptors = new RequestInterceptor[0];
+  protected volatile ResponseInterceptor[] responseInterceptors = new ResponseInterceptor[0];
+
+  // Last link of the request interceptor chain
+  private final RequestInterceptor queryPerformer = new RequestInterceptor() {
+    @Override
+    public void intercept(Chain chain) throws JSONException {
+      Kuzzle.this.performQuery(chain.getRequest(), chain.getOptions(), chain.getListener());
+    }
+  };
+
   /*
    This property contains the centralized subscription list in the following format:
     roomId:
@@ -119,26 +185,131 @@ public class Kuzzle {
   }
 
   /**
-   * Emit an event to all registered listeners
-   * An event cannot be emitted multiple times before a timeout has been reached.
+   * Emit an event to all registered listeners,
+   * following the delivery policy of the event
    *
    * @param event - Event name to emit
    * @param args - Event payload
    */
-  protected void emitEvent(Event event, Object... args) {
-    long now = System.currentTimeMillis();
+  protected void emitEvent(final Event event, Object... args) {
+    final EventStats stats = this.getEventStats(event);
+    stats.emitted();
+
+    switch (this.getEventPolicy(event)) {
+      case SUMMARIZE: {
+        long now = this.clock.now();
+
+        if (stats.openWindow(now, this.eventWindow)) {
+          this.deliverEvent(event, stats, args);
+        } else if (stats.summarize(args)) {
+          // the dropped events are summarized once the window closes
+          this.clock.schedule(new Runnable() {
+            @Override
+            public void run() {
+              Object[] summary = stats.flushSummary();
+
+              if (summary != null) {
+                Kuzzle.this.deliverEvent(event, stats, summary);
+              }
+            }
+          }, Math.max(0, stats.windowEnd(this.eventWindow) - now));
+        }
+        break;
+      }
+      case COALESCE:
+        if (stats.coalesce(args)) {
+          this.clock.schedule(new Runnable() {
+            @Override
+            public void run() {
+              Kuzzle.this.deliverEvent(event, stats, stats.flush());
+            }
+          }, this.eventWindow);
+        }
+        break;
+      default:
+        this.deliverEvent(event, stats, args);
+    }
+  }
 
-    if (this.eventListeners.containsKey(event)) {
-      EventList l = this.eventListeners.get(event);
+  private void deliverEvent(final Event event, final EventStats stats, final Object... args) {
+    EventList l = this.eventListeners.get(event);
 
-      if (l.lastEmitted < now - this.EVENT_TIMEOUT) {
-        for (io.kuzzle.sdk.util.Event e : l.values()) {
-          e.trigger(args);
-        }
+    stats.delivered();
+
+    if (l != null) {
+      for (io.kuzzle.sdk.util.Event e : l.values()) {
+        e.trigger(args);
+      }
+    }
+  }
+
+  /**
+   * Sets how bursts of an event are delivered to its listeners
+   *
+   * @param event - Event name
+   * @param policy - Delivery policy
+   * @return this
+   */
+  public Kuzzle setEventPolicy(@NonNull final Event event, @NonNull final EventPolicy policy) {
+    if (event == null || policy == null) {
+      throw new IllegalArgumentException("Kuzzle.setEventPolicy: event and policy are required");
+    }
+
+    this.eventPolicies.put(event, policy);
+    return this;
+  }
+
+  /**
+   * Gets the delivery policy of an event.
+   * Every event is delivered unless configured otherwise with setEventPolicy.
+   *
+   * @param event - Event name
+   * @return event delivery policy
+   */
+  public EventPolicy getEventPolicy(final Event event) {
+    EventPolicy policy = this.eventPolicies.get(event);
+
+    return policy != null ? policy : EventPolicy.DELIVER_ALL;
+  }
+
+  /**
+   * Sets the window used by the COALESCE and SUMMARIZE policies
+   *
+   * @param window - Window duration, in milliseconds
+   * @return this
+   */
+  public Kuzzle setEventWindow(final long window) {
+    this.eventWindow = Math.max(0, window);
+    return this;
+  }
+
+  /**
+   * @return window used by the COALESCE and SUMMARIZE policies, in milliseconds
+   */
+  public long getEventWindow() {
+    return this.eventWindow;
+  }
+
+  /**
+   * Gets the delivery statistics of an event: number of emitted,
+   * delivered, coalesced and dropped events
+   *
+   * @param event - Event name
+   * @return event statistics
+   */
+  public EventStats getEventStats(final Event event) {
+    EventStats stats = this.eventStats.get(event);
+
+    if (stats == null) {
+      EventStats created = new EventStats();
+      stats = this.eventStats.putIfAbsent(event, created);
 
-        l.lastEmitted = now;
+      if (stats == null) {
+        stats = created;
       }
     }
+
+    return stats;
   }
 
   /**
@@ -146,7 +317,30 @@ public class Kuzzle {
    * @return Connection status
    */
   public States getState() {
-    return state;
+    return this.state.get();
+  }
+
+  /**
+   * Adds a listener notified once of each connection state transition,
+   * on the thread applying it: usually the socket thread
+   *
+   * @param listener - Transition listener
+   * @return this
+   */
+  public Kuzzle addStateListener(@NonNull final ConnectionState.TransitionListener listener) {
+    this.state.addListener(listener);
+    return this;
+  }
+
+  /**
+   * Removes a connection state transition listener
+   *
+   * @param listener - Transition listener
+   * @return this
+   */
+  public Kuzzle removeStateListener(final ConnectionState.TransitionListener listener) {
+    this.state.removeListener(listener);
+    return this;
   }
 
   /**
@@ -166,6 +360,7 @@ public class Kuzzle {
 
     Options opt = (options != null ? options : new Options());
 
+    this.clock = opt.getClock();
     this.autoQueue = opt.isAutoQueue();
     this.autoReconnect = opt.isAutoReconnect();
     this.autoReplay = opt.isAutoReplay();
@@ -179,6 +374,9 @@ public class Kuzzle {
     this.queueTTL = opt.getQueueTTL();
     this.reconnectionDelay = opt.getReconnectionDelay();
     this.replayInterval = opt.getReplayInterval();
+    this.decodeThreshold = opt.getDecodeThreshold();
+
+    this.startDecoders();
 
     this.connectionCallback = connectionCallback;
 
@@ -188,12 +386,149 @@ public class Kuzzle {
     if (opt.getConnect() == Mode.AUTO) {
       connect();
     } else {
-      this.state = States.READY;
+      this.state.transition(States.READY);
     }
 
     this.security = new Security(this);
     this.memoryStorage = new MemoryStorage(this);
     this.subscriptions.put("pending", new ConcurrentHashMap<String, Room>());
+    this.registerGauges();
+    this.metrics.setEnabled(opt.isMetrics());
+    this.tracer.setSampleRate(opt.getTraceSampleRate());
+    this.setStallThreshold(opt.getStallThreshold());
+    this.setSyncTimeout(opt.getSyncTimeout());
+  }
+
+  /**
+   * Sets the duration over which a response or notification callback is reported
+   * as stalled, with a callbackStalled event and a metric
+   *
+   * @param threshold - Threshold in milliseconds, 0 to disable the detection
+   * @return this
+   */
+  public Kuzzle setStallThreshold(final long threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Kuzzle.setStallThreshold: threshold must be positive or 0");
+    }
+
+    StallDetector previous = this.stallDetector;
+
+    if (previous != null) {
+      previous.stop();
+    }
+
+    this.stallDetector = threshold == 0 ? null : new StallDetector(threshold, new StallDetector.StallListener() {
+      @Override
+      public void onStall(StallDetector.Stall stall) {
+        Kuzzle.this.metrics.increment(MetricsRegistry.CALLBACKS_STALLED);
+        // room channels are not bounded: notification stalls share one counter, their channel is in the event
+        Kuzzle.this.metrics.increment(MetricsRegistry.CALLBACKS_STALLED + "." + (stall.getType().equals("notification") ? "notification" : stall.getName()));
+        Kuzzle.this.emitEvent(Event.callbackStalled, stall);
+      }
+    });
+
+    return this;
+  }
+
+  /**
+   * @return duration over which a callback is reported as stalled, in milliseconds, 0 if disabled
+   */
+  public long getStallThreshold() {
+    StallDetector stallDetector = this.stallDetector;
+    return stallDetector != null ? stallDetector.getThreshold() : 0;
+  }
+
+  /**
+   * Sets the longest wait of the blocking *Sync methods for a response.
+   * Past it, they fail with a timeout error: the request itself is not aborted.
+   *
+   * @param timeout - Timeout in milliseconds, 0 to wait without bound
+   * @return this
+   */
+  public Kuzzle setSyncTimeout(final long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("Kuzzle.setSyncTimeout: timeout must be positive or 0");
+    }
+
+    this.syncTimeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return longest wait of the blocking *Sync methods for a response, in milliseconds, 0 if unbounded
+   */
+  public long getSyncTimeout() {
+    return this.syncTimeout;
+  }
+
+  /**
+   * Registers the gauges read from this instance state
+   */
+  private void registerGauges() {
+    this.metrics
+      .gauge(MetricsRegistry.PENDING_REQUESTS, new Gauge() {
+        @Override
+        public long value() {
+          return Kuzzle.this.currentQueries.size() + Kuzzle.this.rawQueries.size();
+        }
+      })
+      .gauge(MetricsRegistry.QUEUE_DEPTH, new Gauge() {
+        @Override
+        public long value() {
+          synchronized (Kuzzle.this.offlineQueue) {
+            return Kuzzle.this.offlineQueue.getQueue().size();
+          }
+        }
+      })
+      .gauge(MetricsRegistry.QUEUE_AGE, new Gauge() {
+        @Override
+        public long value() {
+          synchronized (Kuzzle.this.offlineQueue) {
+            QueryObject oldest = (QueryObject) Kuzzle.this.offlineQueue.getQueue().peek();
+            return oldest != null ? Kuzzle.this.clock.now() - oldest.getTimestamp().getTime() : 0;
+          }
+        }
+      });
+  }
+
+  /**
+   * @return time source and scheduler of this instance
+   */
+  public Clock getClock() {
+    return this.clock;
+  }
+
+  /**
+   * @return metrics registry of this instance: requests, responses, offline queue,
+   * notifications and connection counters, and response latencies per controller action
+   */
+  public MetricsRegistry getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * @return tracer of this instance, to set its sample rate and span sink
+   */
+  public Tracer getTracer() {
+    return this.tracer;
+  }
+
+  /**
+   * Records the frames sent and received from now on, to replay them later
+   *
+   * @param recorder - Traffic recorder, such as a TrafficLogWriter, or null to stop recording
+   * @return this
+   */
+  public Kuzzle setTrafficRecorder(final TrafficRecorder recorder) {
+    this.trafficRecorder = recorder;
+    return this;
+  }
+
+  /**
+   * @return traffic recorder of this instance, null when not recording
+   */
+  public TrafficRecorder getTrafficRecorder() {
+    return this.trafficRecorder;
   }
 
   /**
@@ -246,11 +581,8 @@ public class Kuzzle {
       }
     };
 
-    if (!eventListeners.containsKey(kuzzleEvent)) {
-      eventListeners.put(kuzzleEvent, new EventList());
-    }
-
-    eventListeners.get(kuzzleEvent).put(listener, e);
+    this.eventListeners.putIfAbsent(kuzzleEvent, new EventList());
+    this.eventListeners.get(kuzzleEvent).put(listener, e);
     return this;
   }
 
@@ -322,9 +654,13 @@ public class Kuzzle {
       this.disconnect();
     }
 
+    if (this.decodeExecutor.isShutdown()) {
+      this.startDecoders();
+    }
+
     this.socket = createSocket();
 
-    Kuzzle.this.state = States.CONNECTING;
+    this.state.transition(States.CONNECTING);
 
     if (socket != null) {
       socket.connect();
@@ -431,6 +767,12 @@ public class Kuzzle {
    * @return this
    */
   public Kuzzle flushQueue() {
+    if (this.tracer.isTracing()) {
+      for (QueryObject o : this.getOfflineQueue()) {
+        this.tracer.end(o.getQuery().optString("requestId", null), Span.Status.DISCARDED);
+      }
+    }
+
     this.getOfflineQueue().clear();
     return this;
   }
@@ -877,62 +1219,54 @@ public class Kuzzle {
   }
 
   /**
-   * WebViewClient to forward kuzzle's jwt token after an OAuth authentication
+   * Completes an OAuth authentication: fetches the Kuzzle response
+   * from the URL the identity provider redirected to, and forwards
+   * the resulting jwt token to this instance.
+   * The login listener provided to login() is then invoked.
+   *
+   * @param url - Redirection URL, containing the authorization code
    */
-  protected class KuzzleWebViewClient extends WebViewClient {
-    @Override
-    public boolean shouldOverrideUrlLoading(WebView view, final String url) {
-      if (url.contains("code=")) {
-        new Thread(new Runnable() {
-          @Override
-          public void run() {
-            try {
-              HttpURLConnection conn = (HttpURLConnection) URI.create(url).toURL().openConnection();
-              conn.setRequestMethod("GET");
-              conn.setUseCaches(false);
-
-              BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-              StringBuilder sb = new StringBuilder();
-              String line;
-              while ((line = br.readLine()) != null) {
-                sb.append(line);
-              }
-              br.close();
+  public void completeOAuthLogin(@NonNull final String url) {
+    if (url == null) {
+      throw new IllegalArgumentException("Kuzzle.completeOAuthLogin: redirection URL required");
+    }
 
-              JSONObject response = new JSONObject(sb.toString());
-              if (response.isNull("error")) {
-                Kuzzle.this.setJwtToken(response);
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          HttpURLConnection conn = (HttpURLConnection) URI.create(url).toURL().openConnection();
+          conn.setRequestMethod("GET");
+          conn.setUseCaches(false);
+
+          BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()));
+          StringBuilder sb = new StringBuilder();
+          String line;
+          while ((line = br.readLine()) != null) {
+            sb.append(line);
+          }
+          br.close();
 
-                if (loginCallback != null) {
-                  loginCallback.onSuccess(response.getJSONObject("result"));
-                }
-              } else {
-                emitEvent(Event.loginAttempt, new JSONObject()
-                        .put("success", false)
-                        .put("error", response.getJSONObject("error")));
-                if (loginCallback != null) {
-                  loginCallback.onError(response.getJSONObject("error"));
-                }
-              }
-            } catch (JSONException | IOException e) {
-              e.printStackTrace();
+          JSONObject response = Json.parse(sb.toString());
+          if (response.isNull("error")) {
+            Kuzzle.this.setJwtToken(response);
+
+            if (loginCallback != null) {
+              loginCallback.onSuccess(response.getJSONObject("result"));
+            }
+          } else {
+            emitEvent(Event.loginAttempt, new JSONObject()
+                    .put("success", false)
+                    .put("error", response.getJSONObject("error")));
+            if (loginCallback != null) {
+              loginCallback.onError(response.getJSONObject("error"));
             }
           }
-        }).start();
-      } else {
-        view.loadUrl(url);
+        } catch (JSONException | IOException e) {
+          e.printStackTrace();
+        }
       }
-      return true;
-    }
-  }
-
-  /**
-   * Gets kuzzle web view client.
-   *
-   * @return the kuzzle web view client
-   */
-  public KuzzleWebViewClient getKuzzleWebViewClient() {
-    return new KuzzleWebViewClient();
+    }).start();
   }
 
   /**
@@ -946,7 +1280,35 @@ public class Kuzzle {
 
     this.socket = null;
     this.collections.clear();
-    this.state = States.DISCONNECTED;
+    this.state.transition(States.DISCONNECTED);
+    this.metrics.stopExporting();
+
+    StallDetector stallDetector = this.stallDetector;
+
+    if (stallDetector != null) {
+      stallDetector.stop();
+    }
+
+    // frames already offloaded are still handled
+    this.decodeExecutor.shutdown();
+  }
+
+  /**
+   * Creates the workers decoding large frames, and dispatching frames to them
+   */
+  private void startDecoders() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    this.decodeExecutor = new ThreadPoolExecutor(processors, processors, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "kuzzle-decoder");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    this.decodeExecutor.allowCoreThreadTimeOut(true);
+    this.frameDispatcher = new FrameDispatcher(this.decodeExecutor);
+    this.frameParser = new ParallelFrameParser(this.decodeExecutor, processors, 64);
   }
 
   /**
@@ -1081,29 +1443,20 @@ public class Kuzzle {
             .put("action", queryArgs.action)
             .put("controller", queryArgs.controller);
 
-    // Global volatile data
-    JSONObject _volatile = new JSONObject();
-    for (Iterator ite = this._volatile.keys(); ite.hasNext(); ) {
-      String key = (String) ite.next();
-      _volatile.put(key, this._volatile.get(key));
-    }
+    /*
+     * Global volatile data, headers and the JWT are added by the request envelope
+     * when the request is sent. Only volatile data specific to this query
+     * needs to be merged here
+     */
+    object.remove("volatile");
 
-    // Volatile data for this query
     if (options != null) {
-      if (!options.isQueuable() && this.state != States.CONNECTED) {
-        discardRequest(listener, object);
-        return this;
-      }
-
       if (options.getRefresh() != null) {
         object.put("refresh", options.getRefresh());
       }
 
-      if (options.getVolatile() != null) {
-        for (Iterator iterator = options.getVolatile().keys(); iterator.hasNext(); ) {
-          String key = (String) iterator.next();
-          _volatile.put(key, options.getVolatile().get(key));
-        }
+      if (options.getVolatile() != null && options.getVolatile().length() > 0) {
+        object.put("volatile", this.envelope.mergeVolatile(this.headers, this._volatile, this.getSdkVersion(), options.getVolatile()));
       }
 
       if (options.getFrom() != null) {
@@ -1123,9 +1476,6 @@ public class Kuzzle {
       }
     }
 
-    _volatile.put("sdkVersion", this.getSdkVersion());
-    object.put("volatile", _volatile);
-
     if (queryArgs.collection != null) {
       object.put("collection", queryArgs.collection);
     }
@@ -1134,17 +1484,42 @@ public class Kuzzle {
       object.put("index", queryArgs.index);
     }
 
-    this.addHeaders(object, this.headers);
+    RequestInterceptor[] interceptors = this.requestInterceptors;
 
-    /*
-     * Do not add the token for the checkToken route, to avoid getting a token error when
-     * a developer simply wish to verify his token
-     */
-    if (this.jwtToken != null && !(queryArgs.controller.equals("auth") && queryArgs.action.equals("checkToken"))) {
-      object.put("jwt", this.jwtToken);
+    if (interceptors.length == 0) {
+      this.performQuery(object, options, listener);
+    } else {
+      new InterceptorChain(interceptors, this.queryPerformer, object, options, listener).start();
     }
 
-    if (this.state == States.CONNECTED || (options != null && !options.isQueuable())) {
+    return this;
+  }
+
+  /**
+   * Sends, queues or discards a query, once intercepted
+   *
+   * @param object - Query
+   * @param options - Request options
+   * @param listener - Response callback listener
+   * @throws JSONException
+   */
+  protected void performQuery(final JSONObject object, final Options options, final OnQueryDoneListener listener) throws JSONException {
+    // read once: the socket thread may change it at any time
+    States state = this.state.get();
+
+    if (options != null && !options.isQueuable() && state != States.CONNECTED) {
+      discardRequest(listener, object);
+      return;
+    }
+
+    if (state == States.CONNECTED || (options != null && !options.isQueuable())) {
+      this.startSpan(object, listener);
+
+      if (listener instanceof OnRawQueryDoneListener) {
+        emitRequest(object, listener);
+        return;
+      }
+
       emitRequest(object, listener == null ? null : new OnQueryDoneListener() {
         @Override
         public void onSuccess(JSONObject response) {
@@ -1158,22 +1533,56 @@ public class Kuzzle {
           }
         }
       });
-    } else if (this.queuing || (options != null && options.isQueuable()) || this.state == States.INITIALIZING || this.state == States.CONNECTING) {
+    } else if (this.queuing || (options != null && options.isQueuable()) || state == States.INITIALIZING || state == States.CONNECTING) {
       cleanQueue();
 
       if (queueFilter.filter(object)) {
+        this.startSpan(object, listener);
         QueryObject o = new QueryObject();
-        o.setTimestamp(new Date());
+        o.setTimestamp(new Date(this.clock.now()));
         o.setCb(listener);
         o.setQuery(object);
         this.offlineQueue.addToQueue(o);
+        this.metrics.increment(MetricsRegistry.QUEUE_PUSHED);
         Kuzzle.this.emitEvent(Event.offlineQueuePush, o);
+
+        // the connection may have been established, and the queue replayed, since the state was read
+        if (this.state.get() == States.CONNECTED && !this.queuing) {
+          this.dequeue();
+        }
       }
     } else {
       discardRequest(listener, object);
     }
+  }
 
-    return this;
+  /**
+   * Starts the span of a query expecting a response, if it is traced,
+   * and adds its trace context to the query volatile data
+   *
+   * @param object - Query
+   * @param listener - Response callback listener
+   * @throws JSONException
+   */
+  private void startSpan(final JSONObject object, final OnQueryDoneListener listener) throws JSONException {
+    JSONObject requestVolatile = object.optJSONObject("volatile");
+    String traceparent = requestVolatile != null ? requestVolatile.optString("traceparent", null) : null;
+
+    if (listener == null || (traceparent == null && this.tracer.getSampleRate() <= 0)) {
+      return;
+    }
+
+    Span span = this.tracer.start(object.getString("requestId"), object.optString("controller"), object.optString("action"), traceparent);
+
+    if (span == null) {
+      return;
+    }
+
+    if (requestVolatile != null) {
+      requestVolatile.put("traceparent", span.getContext().toTraceparent());
+    } else {
+      object.put("volatile", this.envelope.mergeVolatile(this.headers, this._volatile, this.getSdkVersion(), new JSONObject().put("traceparent", span.getContext().toTraceparent())));
+    }
   }
 
   /**
@@ -1236,7 +1645,7 @@ public class Kuzzle {
    * @return this
    */
   public Kuzzle replayQueue() {
-    if (this.state != States.OFFLINE && !this.autoReplay) {
+    if (this.state.get() != States.OFFLINE && !this.autoReplay) {
       this.cleanQueue();
       this.dequeue();
     }
@@ -1277,6 +1686,7 @@ public class Kuzzle {
         }
       }
     }
+    this.envelope.invalidate();
     return this;
   }
 
@@ -1286,7 +1696,7 @@ public class Kuzzle {
    * @return this
    */
   public Kuzzle startQueuing() {
-    if (this.state == States.OFFLINE && !this.autoQueue) {
+    if (this.state.get() == States.OFFLINE && !this.autoQueue) {
       this.queuing = true;
     }
     return this;
@@ -1298,7 +1708,7 @@ public class Kuzzle {
    * @return this
    */
   public Kuzzle stopQueuing() {
-    if (this.state == States.OFFLINE && !this.autoQueue) {
+    if (this.state.get() == States.OFFLINE && !this.autoQueue) {
       this.queuing = false;
     }
     return this;
@@ -1310,7 +1720,7 @@ public class Kuzzle {
    * @return current state validity
    */
   protected boolean isValidState() {
-    switch (this.state) {
+    switch (this.state.get()) {
       case INITIALIZING:
       case READY:
       case DISCONNECTED:
@@ -1325,6 +1735,8 @@ public class Kuzzle {
    * Handles network reconnection
    */
   private void reconnect() {
+    this.metrics.increment(MetricsRegistry.RECONNECTIONS);
+
     if (this.autoResubscribe) {
       this.renewSubscriptions();
     }
@@ -1353,8 +1765,14 @@ public class Kuzzle {
     socket = new WebSocketClient(uri) {
       @Override
       public void onOpen() {
-        if (Kuzzle.this.state == States.OFFLINE) { // Reconnect
-          Kuzzle.this.state = States.CONNECTED;
+        States previous = Kuzzle.this.state.transition(States.CONNECTED);
+
+        // the instance was disconnected while the socket was opening, or is already connected
+        if (previous == null || previous == States.CONNECTED) {
+          return;
+        }
+
+        if (previous == States.OFFLINE) { // Reconnect
 
           if (Kuzzle.this.jwtToken != null) {
             Kuzzle.this.checkToken(jwtToken, new ResponseListener<TokenValidity>() {
@@ -1379,8 +1797,6 @@ public class Kuzzle {
             Kuzzle.this.reconnect();
           }
         } else {
-          Kuzzle.this.state = States.CONNECTED;
-
           Kuzzle.this.renewSubscriptions();
           Kuzzle.this.dequeue();
           Kuzzle.this.emitEvent(Event.connected);
@@ -1392,34 +1808,9 @@ public class Kuzzle {
       }
 
       @Override
-      public void onTextReceived(String message) {
+      public void onTextReceived(final String message) {
         try {
-          JSONObject json = new JSONObject(message);
-          OnQueryDoneListener listener = null;
-          if (json.has("requestId")) {
-            listener = currentQueries.get(json.getString("requestId"));
-          } else {
-            listener = currentQueries.get(json.getString("room"));
-          }
-
-          if (listener != null) {
-            // checking token expiration
-            if (!json.isNull("error") && json.getJSONObject("error").getString("message").equals("Token expired") && !json.getString("action").equals("logout")) {
-              emitEvent(Event.tokenExpired, listener);
-            }
-
-            if (!json.isNull("error")) {
-              listener.onError(json.getJSONObject("error"));
-            } else {
-              listener.onSuccess(json);
-            }
-            currentQueries.remove(json.getString("requestId"));
-          }
-
-          EventListener l  = roomList.get(json.getString("room"));
-          if (l != null) {
-            l.trigger(new JSONObject(message));
-          }
+          Kuzzle.this.receiveFrame(message);
         } catch (JSONException e) {
           throw new RuntimeException(e);
         }
@@ -1442,7 +1833,10 @@ public class Kuzzle {
 
       @Override
       public void onException(Exception e) {
-        Kuzzle.this.state = States.ERROR;
+        if (Kuzzle.this.state.transition(States.ERROR) == States.CONNECTED) {
+          Kuzzle.this.metrics.increment(MetricsRegistry.DISCONNECTIONS);
+        }
+
         Kuzzle.this.emitEvent(Event.error, e.getMessage());
 
         if (connectionCallback != null) {
@@ -1458,14 +1852,25 @@ public class Kuzzle {
 
       @Override
       public void onCloseReceived() {
-        Kuzzle.this.state = States.OFFLINE;
+        States previous = Kuzzle.this.state.transition(States.OFFLINE);
+
+        // the instance was disconnected, or the connection loss is already handled
+        if (previous == null || previous == States.OFFLINE) {
+          return;
+        }
+
+        if (previous == States.CONNECTED) {
+          Kuzzle.this.metrics.increment(MetricsRegistry.DISCONNECTIONS);
+        }
         if (!Kuzzle.this.autoReconnect) {
           Kuzzle.this.disconnect();
         }
         if (Kuzzle.this.autoQueue) {
           Kuzzle.this.queuing = true;
         }
-        currentQueries.clear();
+        Kuzzle.this.metrics.requestsAbandoned();
+        Kuzzle.this.tracer.abandon();
+        Kuzzle.this.abandonPendingQueries();
 
         Kuzzle.this.emitEvent(Event.disconnected);
       }
@@ -1486,35 +1891,262 @@ public class Kuzzle {
    * @throws JSONException
    */
   protected void emitRequest(final JSONObject request, final OnQueryDoneListener listener) throws JSONException {
-    Date now = new Date();
-    Calendar c = Calendar.getInstance();
-    c.setTime(now);
-    c.add(Calendar.SECOND, -MAX_EMIT_TIMEOUT);
+    if (listener instanceof OnRawQueryDoneListener) {
+      rawQueries.put(request.get("requestId").toString(), (OnRawQueryDoneListener) listener);
+    } else if (listener != null) {
+      currentQueries.put(request.get("requestId").toString(), listener);
+    }
 
+    // only requests expecting a response are timed: others would never leave the pending requests
     if (listener != null) {
-      currentQueries.put(request.get("requestId").toString(), listener);
+      this.metrics.requestSent(request.get("requestId").toString(), request.optString("controller"), request.optString("action"));
+    } else {
+      this.metrics.increment(MetricsRegistry.REQUESTS_SENT);
     }
 
-    socket.send(request.toString());
+    if (this.tracer.isTracing()) {
+      this.tracer.sent(request.getString("requestId"));
+    }
+
+    String frame = this.envelope.serialize(request, this.headers, this._volatile, this.getSdkVersion(), this.jwtToken);
+    TrafficRecorder recorder = this.trafficRecorder;
+
+    socket.send(frame);
+
+    if (recorder != null) {
+      recorder.sent(frame);
+    }
 
     // Track requests made to allow Room.subscribeToSelf to work
-    this.requestHistory.put(request.getString("requestId"), new Date());
+    long now = this.clock.now();
+    this.requestHistory.put(request.getString("requestId"), new Date(now));
 
     // Clean history from requests made more than 10s ago
-    Iterator ite = requestHistory.keySet().iterator();
+    long expired = now - TimeUnit.SECONDS.toMillis(MAX_EMIT_TIMEOUT);
+    Iterator<Date> ite = requestHistory.values().iterator();
 
     while (ite.hasNext()) {
-      if (this.requestHistory.get(ite.next()).before(c.getTime())) {
+      if (ite.next().getTime() < expired) {
         ite.remove();
       }
     }
   }
+  /**
+   * Handles a frame received from Kuzzle.
+   * Frames larger than the decode threshold are decoded on a worker thread,
+   * as are frames following them with the same requestId, to keep them in order.
+   *
+   * @param message - Raw frame
+   * @throws JSONException
+   */
+  protected void receiveFrame(final String message) throws JSONException {
+    TrafficRecorder recorder = this.trafficRecorder;
+
+    if (recorder != null) {
+      recorder.received(message);
+    }
+
+    if (this.tracer.isTracing()) {
+      this.tracer.received(this.peekRequestId(message));
+    }
+
+    // late frames of a disconnected socket: the workers are gone
+    if (this.decodeExecutor.isShutdown()) {
+      this.handleFrame(message, false);
+      return;
+    }
+
+    final boolean large = message.length() >= this.decodeThreshold;
+
+    if (!large && this.frameDispatcher.isIdle()) {
+      this.handleFrame(message, false);
+      return;
+    }
+
+    this.frameDispatcher.dispatch(this.peekOrderingKey(message), large, new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Kuzzle.this.handleFrame(message, large);
+        } catch (JSONException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+  }
+
+  /**
+   * Decodes a frame and invokes the matching listeners
+   *
+   * @param message - Raw frame
+   * @param parallel - true to decode the documents it contains in parallel
+   * @throws JSONException
+   */
+  protected void handleFrame(final String message, final boolean parallel) throws JSONException {
+    StallDetector stallDetector = this.stallDetector;
+
+    if (!this.rawQueries.isEmpty()) {
+      String requestId = this.peekRequestId(message);
+      // notifications have no requestId
+      OnRawQueryDoneListener raw = requestId != null ? this.rawQueries.remove(requestId) : null;
+
+      if (raw != null) {
+        this.metrics.responseReceived(requestId, false);
+
+        // raw responses are not decoded: their controller and action are unknown, and
+        // naming them after their requestId would create one stall counter per request
+        if (stallDetector != null) {
+          stallDetector.enter("response", "raw", null);
+        }
+        try {
+          raw.onRawResponse(message);
+        } catch (RuntimeException e) {
+          this.failListener(raw, e);
+          throw e;
+        } finally {
+          if (stallDetector != null) {
+            stallDetector.exit();
+          }
+        }
+
+        if (this.tracer.isTracing()) {
+          this.tracer.end(requestId, Span.Status.OK);
+        }
+        return;
+      }
+    }
+
+    JSONObject json = parallel ? this.frameParser.parse(message) : Json.parse(message);
+
+    for (ResponseInterceptor interceptor : this.responseInterceptors) {
+      json = interceptor.intercept(json);
+
+      if (json == null) {
+        return;
+      }
+    }
+
+    // removed before being invoked, so that a duplicated response frame cannot invoke it twice
+    OnQueryDoneListener listener = null;
+    if (json.has("requestId")) {
+      listener = this.currentQueries.remove(json.getString("requestId"));
+    } else {
+      listener = this.currentQueries.remove(json.getString("room"));
+    }
+
+    if (listener != null) {
+      this.metrics.responseReceived(json.has("requestId") ? json.getString("requestId") : json.getString("room"), !json.isNull("error"));
+
+      // checking token expiration
+      if (!json.isNull("error") && json.getJSONObject("error").getString("message").equals("Token expired") && !json.getString("action").equals("logout")) {
+        this.emitEvent(Event.tokenExpired, listener);
+      }
+
+      if (stallDetector != null) {
+        stallDetector.enter("response", json.optString("controller"), json.optString("action"));
+      }
+      try {
+        if (!json.isNull("error")) {
+          listener.onError(json.getJSONObject("error"));
+        } else {
+          listener.onSuccess(json);
+        }
+      } catch (RuntimeException e) {
+        this.failListener(listener, e);
+        throw e;
+      } finally {
+        if (stallDetector != null) {
+          stallDetector.exit();
+        }
+      }
+
+      if (this.tracer.isTracing()) {
+        this.tracer.end(json.optString("requestId", null), json.isNull("error") ? Span.Status.OK : Span.Status.ERROR);
+      }
+    }
+
+    EventListener l = this.roomList.get(json.getString("room"));
+    if (l != null) {
+      this.metrics.increment(MetricsRegistry.NOTIFICATIONS_DELIVERED);
+
+      if (stallDetector != null) {
+        stallDetector.enter("notification", json.getString("room"), null);
+      }
+      try {
+        l.trigger(Json.copy(json));
+      } finally {
+        if (stallDetector != null) {
+          stallDetector.exit();
+        }
+      }
+    } else if (listener == null) {
+      this.metrics.increment(MetricsRegistry.RESPONSES_UNMATCHED);
+    }
+  }
+
+  /**
+   * Reads the requestId of a response frame, without parsing the rest of it
+   *
+   * @param frame - Raw response frame
+   * @return request unique identifier, or null if there is none
+   * @throws JSONException
+   */
+  protected String peekRequestId(final String frame) throws JSONException {
+    JsonReader reader = new JsonReader(frame);
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals("requestId") && reader.peek() == JsonReader.Token.STRING) {
+        return reader.nextString();
+      }
+
+      reader.skipValue();
+    }
+
+    return null;
+  }
+
+  /**
+   * Reads the key keeping frames in order without parsing the whole frame: the room,
+   * which is the subscription channel for notifications and the requestId for responses.
+   * Only the beginning of the frame is read: frames whose key lies further, after a large result,
+   * get no key, and are kept in order with each other.
+   *
+   * @param frame - Raw frame
+   * @return frame room, or its requestId if it has none, or null if they are not found at the beginning of the frame
+   */
+  protected String peekOrderingKey(final String frame) {
+    JsonReader reader = new JsonReader(frame, 0, Math.min(frame.length(), ORDERING_KEY_SCAN_LIMIT));
+    String requestId = null;
+
+    try {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+
+        if (name.equals("room") && reader.peek() == JsonReader.Token.STRING) {
+          return reader.nextString();
+        } else if (name.equals("requestId") && reader.peek() == JsonReader.Token.STRING) {
+          requestId = reader.nextString();
+        } else {
+          reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (JSONException e) {
+      // the scan limit was reached, or the frame is malformed, which is reported once it is decoded
+      return null;
+    }
+
+    return requestId;
+  }
+
 
   /**
    * Helper function ensuring that this Kuzzle object is still valid before performing a query
    */
   protected void isValid() {
-    if (this.state == States.DISCONNECTED) {
+    if (this.state.get() == States.DISCONNECTED) {
       throw new IllegalStateException("This Kuzzle object has been invalidated. Did you try to access it after a disconnect call?");
     }
   }
@@ -1569,6 +2201,8 @@ public class Kuzzle {
 
   /**
    * Global headers getter
+   * Changes made directly to the returned object are ignored by queries
+   * until setHeaders is called.
    *
    * @return global headers
    */
@@ -1582,7 +2216,29 @@ public class Kuzzle {
    * @return Current SDK version
    */
   public String getSdkVersion() {
-    return BuildConfig.VERSION_NAME;
+    return SDK_VERSION;
+  }
+
+  private static String loadSdkVersion() {
+    InputStream stream = Kuzzle.class.getResourceAsStream("sdk.properties");
+
+    if (stream == null) {
+      return "unknown";
+    }
+
+    try {
+      Properties properties = new Properties();
+      properties.load(stream);
+      return properties.getProperty("version", "unknown");
+    } catch (IOException e) {
+      return "unknown";
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        // nothing to do
+      }
+    }
   }
 
   /**
@@ -1622,11 +2278,16 @@ public class Kuzzle {
    * @return this
    */
   protected Kuzzle addSubscription(final String roomId, final String id, final Room kuzzleRoom) {
+    // keyed by roomId, as deleteSubscription and getSubscriptions look it up
     ConcurrentHashMap<String, Room> room = this.subscriptions.get(roomId);
 
     if (room == null) {
-      room = new ConcurrentHashMap<>();
-      this.subscriptions.put(id, room);
+      ConcurrentHashMap<String, Room> created = new ConcurrentHashMap<>();
+      room = this.subscriptions.putIfAbsent(roomId, created);
+
+      if (room == null) {
+        room = created;
+      }
     }
 
     room.put(id, kuzzleRoom);
@@ -1709,6 +2370,74 @@ public class Kuzzle {
     return this.queueFilter;
   }
 
+  /**
+   * Adds a request interceptor, invoked after the ones already added
+   *
+   * @param interceptor - Request interceptor
+   * @return this
+   */
+  public synchronized Kuzzle addRequestInterceptor(@NonNull final RequestInterceptor interceptor) {
+    if (interceptor == null) {
+      throw new IllegalArgumentException("Kuzzle.addRequestInterceptor: an interceptor is required");
+    }
+
+    RequestInterceptor[] interceptors = Arrays.copyOf(this.requestInterceptors, this.requestInterceptors.length + 1);
+    interceptors[interceptors.length - 1] = interceptor;
+    this.requestInterceptors = interceptors;
+    return this;
+  }
+
+  /**
+   * Removes a request interceptor
+   *
+   * @param interceptor - Request interceptor
+   * @return this
+   */
+  public synchronized Kuzzle removeRequestInterceptor(final RequestInterceptor interceptor) {
+    this.requestInterceptors = without(this.requestInterceptors, interceptor);
+    return this;
+  }
+
+  /**
+   * Adds a response interceptor, invoked after the ones already added
+   *
+   * @param interceptor - Response interceptor
+   * @return this
+   */
+  public synchronized Kuzzle addResponseInterceptor(@NonNull final ResponseInterceptor interceptor) {
+    if (interceptor == null) {
+      throw new IllegalArgumentException("Kuzzle.addResponseInterceptor: an interceptor is required");
+    }
+
+    ResponseInterceptor[] interceptors = Arrays.copyOf(this.responseInterceptors, this.responseInterceptors.length + 1);
+    interceptors[interceptors.length - 1] = interceptor;
+    this.responseInterceptors = interceptors;
+    return this;
+  }
+
+  /**
+   * Removes a response interceptor
+   *
+   * @param interceptor - Response interceptor
+   * @return this
+   */
+  public synchronized Kuzzle removeResponseInterceptor(final ResponseInterceptor interceptor) {
+    this.responseInterceptors = without(this.responseInterceptors, interceptor);
+    return this;
+  }
+
+  private static <T> T[] without(final T[] array, final T element) {
+    for (int i = 0; i < array.length; i++) {
+      if (array[i] == element) {
+        T[] copy = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+        return copy;
+      }
+    }
+
+    return array;
+  }
+
   /**
    * autoReplay option getter
    *
@@ -1814,16 +2543,15 @@ public class Kuzzle {
    * Clean up the queue, ensuring the queryTTL and queryMaxSize properties are respected
    */
   private void cleanQueue() {
-    Date now = new Date();
-    Calendar cal = Calendar.getInstance();
-    cal.setTime(now);
-    cal.add(Calendar.MILLISECOND, -queueTTL);
+    long deadline = this.clock.now() - queueTTL;
 
     if (this.queueTTL > 0) {
       QueryObject o;
       while ((o = (QueryObject) offlineQueue.getQueue().peek()) != null) {
-        if (o.getTimestamp().before(cal.getTime())) {
+        if (o.getTimestamp().getTime() < deadline) {
           offlineQueue.getQueue().poll();
+          this.metrics.increment(MetricsRegistry.QUEUE_EXPIRED);
+          this.tracer.end(o.getQuery().optString("requestId", null), Span.Status.EXPIRED);
         } else {
           break;
         }
@@ -1834,7 +2562,9 @@ public class Kuzzle {
     if (this.queueMaxSize > 0 && size > this.queueMaxSize) {
       int i = 0;
       while (offlineQueue.getQueue().peek() != null && (size - this.queueMaxSize) >= i) {
-        this.offlineQueue.getQueue().poll();
+        QueryObject expired = (QueryObject) this.offlineQueue.getQueue().poll();
+        this.metrics.increment(MetricsRegistry.QUEUE_EXPIRED);
+        this.tracer.end(expired.getQuery().optString("requestId", null), Span.Status.EXPIRED);
         i++;
       }
     }
@@ -1870,14 +2600,20 @@ public class Kuzzle {
     }
     if (this.offlineQueue.getQueue().size() > 0) {
       try {
-        QueryObject query = (QueryObject) this.offlineQueue.getQueue().poll();
+        QueryObject query = this.offlineQueue.dequeue();
+
+        if (query == null) {
+          // emptied meanwhile by a concurrent replay
+          return;
+        }
+
         this.emitRequest(query.getQuery(), query.getCb());
+        this.metrics.increment(MetricsRegistry.QUEUE_REPLAYED);
         this.emitEvent(Event.offlineQueuePop, query);
       } catch (JSONException e) {
         throw new RuntimeException(e);
       }
-      Timer timer = new Timer(UUID.randomUUID().toString());
-      timer.schedule(new TimerTask() {
+      this.clock.schedule(new Runnable() {
         @Override
         public void run() {
           dequeue();
@@ -1896,11 +2632,13 @@ public class Kuzzle {
    * @return this
    */
   protected Kuzzle deleteSubscription(final String roomId, final String id) {
-    if (this.subscriptions.containsKey(roomId)) {
-      this.subscriptions.get(roomId).remove(id);
+    ConcurrentHashMap<String, Room> room = this.subscriptions.get(roomId);
+
+    if (room != null) {
+      room.remove(id);
 
-      if (this.subscriptions.get(roomId).isEmpty()) {
-        this.subscriptions.remove(roomId);
+      if (room.isEmpty()) {
+        this.subscriptions.remove(roomId, room);
       }
     }
 
@@ -2032,6 +2770,26 @@ public class Kuzzle {
     return this.jwtToken;
   }
 
+  /**
+   * decodeThreshold option setter
+   *
+   * @param threshold - Size, in characters, above which frames are decoded off the socket thread
+   * @return this
+   */
+  public Kuzzle setDecodeThreshold(int threshold) {
+    this.decodeThreshold = Math.max(0, threshold);
+    return this;
+  }
+
+  /**
+   * decodeThreshold option getter
+   *
+   * @return decode threshold value
+   */
+  public int getDecodeThreshold() {
+    return this.decodeThreshold;
+  }
+
   /**
    * queueTTL option getter
    *
@@ -2060,11 +2818,14 @@ public class Kuzzle {
    */
   public Kuzzle setVolatile(JSONObject _volatile) {
     this._volatile = _volatile;
+    this.envelope.invalidate();
     return this;
   }
 
   /**
    * Global volatile data getter
+   * Changes made directly to the returned object are ignored by queries
+   * until setVolatile is called.
    *
    * @return Global volatile data
    */
@@ -2573,6 +3334,12 @@ public class Kuzzle {
    * @throws  JSONException
    */
   protected void discardRequest(final OnQueryDoneListener listener, JSONObject query) throws JSONException {
+    this.metrics.increment(MetricsRegistry.REQUESTS_DISCARDED);
+
+    if (this.tracer.isTracing()) {
+      this.tracer.end(query.optString("requestId", null), Span.Status.DISCARDED);
+    }
+
     if (listener != null) {
       JSONObject err = new JSONObject()
               .put("status", 400)
@@ -2582,6 +3349,56 @@ public class Kuzzle {
     }
   }
 
+  /**
+   * Fails the requests still waiting for a response once the connection is lost:
+   * it will never come, and blocked callers would otherwise wait forever
+   */
+  protected void abandonPendingQueries() {
+    for (String requestId : this.currentQueries.keySet()) {
+      // removed first: a response handled concurrently cannot invoke the listener twice
+      OnQueryDoneListener listener = this.currentQueries.remove(requestId);
+
+      if (listener != null) {
+        listener.onError(abandonedError(requestId));
+      }
+    }
+
+    for (String requestId : this.rawQueries.keySet()) {
+      OnRawQueryDoneListener listener = this.rawQueries.remove(requestId);
+
+      if (listener != null) {
+        listener.onError(abandonedError(requestId));
+      }
+    }
+  }
+
+  private static JSONObject abandonedError(final String requestId) {
+    try {
+      return new JSONObject()
+        .put("status", 500)
+        .put("message", "Connection lost before receiving the response.\nAbandoned request: " + requestId);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Fails a listener unable to handle its response, such as a response which cannot be decoded,
+   * so that callers waiting for it are not left blocked. KuzzleFuture listeners already completed ignore it.
+   *
+   * @param listener - Response callback listener
+   * @param cause - Exception thrown by the listener
+   */
+  private void failListener(final OnQueryDoneListener listener, final RuntimeException cause) {
+    try {
+      listener.onError(new JSONObject()
+        .put("status", 500)
+        .put("message", "Unable to handle the response: " + cause.getMessage()));
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * {@link #createMyCredentials(String, JSONObject, Options, ResponseListener)}
    */
@@ -8,9 +8,11 @@ import org.json.JSONArray;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
 import io.kuzzle.sdk.util.KuzzleJSONObject;
 
 /**
@@ -477,6 +479,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #decr(String, Options, ResponseListener)}
+   *
+   * @return decremented value
+   */
+  public long decrSync(@NonNull final String key, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Long> future = new KuzzleFuture<>();
+    this.decr(key, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #decrby(String, long, Options, ResponseListener)}
    */
@@ -555,6 +568,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #del(String[], Options, ResponseListener)}
+   *
+   * @return number of deleted keys
+   */
+  public long delSync(@NonNull final String[] keys, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Long> future = new KuzzleFuture<>();
+    this.del(keys, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #exists(String[], Options, ResponseListener)}
    */
@@ -575,6 +599,17 @@ public class MemoryStorage {
     send("exists", query, options, getCallbackLong(listener));
   }
 
+  /**
+   * Blocking version of {@link #exists(String[], Options, ResponseListener)}
+   *
+   * @return number of existing keys
+   */
+  public long existsSync(@NonNull final String[] keys, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Long> future = new KuzzleFuture<>();
+    this.exists(keys, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #expire(String, long, Options, ResponseListener)}
    */
@@ -616,6 +651,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #expire(String, long, Options, ResponseListener)}
+   *
+   * @return 1 if the timeout was set, 0 otherwise
+   */
+  public int expireSync(@NonNull final String key, final long seconds, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Integer> future = new KuzzleFuture<>();
+    this.expire(key, seconds, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #expireat(String, long, Options, ResponseListener)}
    */
@@ -962,6 +1008,17 @@ public class MemoryStorage {
     send("get", query, options, getCallbackString(listener));
   }
 
+  /**
+   * Blocking version of {@link #get(String, Options, ResponseListener)}
+   *
+   * @return key value
+   */
+  public String getSync(@NonNull final String key, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.get(key, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #getbit(String, long, Options, ResponseListener)}
    */
@@ -1128,6 +1185,17 @@ public class MemoryStorage {
     send("hget", query, options, getCallbackString(listener));
   }
 
+  /**
+   * Blocking version of {@link #hget(String, String, Options, ResponseListener)}
+   *
+   * @return field value
+   */
+  public String hgetSync(@NonNull final String key, @NonNull final String field, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.hget(key, field, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #hgetall(String, Options, ResponseListener)}
    */
@@ -1167,6 +1235,17 @@ public class MemoryStorage {
     );
   }
 
+  /**
+   * Blocking version of {@link #hgetall(String, Options, ResponseListener)}
+   *
+   * @return hash fields and values
+   */
+  public JSONObject hgetallSync(@NonNull final String key, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<JSONObject> future = new KuzzleFuture<>();
+    this.hgetall(key, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #hincrby(String, String, long, Options, ResponseListener)}
    */
@@ -1430,6 +1509,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #hset(String, String, String, Options, ResponseListener)}
+   *
+   * @return 1 if the field was created, 0 if it was updated
+   */
+  public int hsetSync(@NonNull final String key, @NonNull final String field, @NonNull final String value, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Integer> future = new KuzzleFuture<>();
+    this.hset(key, field, value, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #hsetnx(String, String, String, Options, ResponseListener)}
    */
@@ -1549,6 +1639,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #incr(String, Options, ResponseListener)}
+   *
+   * @return incremented value
+   */
+  public long incrSync(@NonNull final String key, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Long> future = new KuzzleFuture<>();
+    this.incr(key, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #incrby(String, long, Options, ResponseListener)}
    */
@@ -1652,6 +1753,17 @@ public class MemoryStorage {
     send("keys", query, options, getCallbackStringArray(listener));
   }
 
+  /**
+   * Blocking version of {@link #keys(String, Options, ResponseListener)}
+   *
+   * @return matching keys
+   */
+  public String[] keysSync(@NonNull final String pattern, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String[]> future = new KuzzleFuture<>();
+    this.keys(pattern, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #lindex(String, long, Options, ResponseListener)}
    */
@@ -2031,6 +2143,17 @@ public class MemoryStorage {
     send("mget", query, options, getCallbackStringArray(listener));
   }
 
+  /**
+   * Blocking version of {@link #mget(String[], Options, ResponseListener)}
+   *
+   * @return keys values
+   */
+  public String[] mgetSync(@NonNull final String[] keys, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String[]> future = new KuzzleFuture<>();
+    this.mget(keys, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #mset(JSONObject[], Options, ResponseListener)}
    */
@@ -2903,6 +3026,17 @@ public class MemoryStorage {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #set(String, String, Options, ResponseListener)}
+   *
+   * @return Kuzzle API response ("OK")
+   */
+  public String setSync(@NonNull final String key, @NonNull final String value, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.set(key, value, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #setex(String, String, long, Options, ResponseListener)}
    */
@@ -3552,6 +3686,17 @@ public class MemoryStorage {
     send("ttl", query, options, getCallbackLong(listener));
   }
 
+  /**
+   * Blocking version of {@link #ttl(String, Options, ResponseListener)}
+   *
+   * @return remaining time to live, in seconds
+   */
+  public long ttlSync(@NonNull final String key, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Long> future = new KuzzleFuture<>();
+    this.ttl(key, options, future);
+    return future.awaitValue(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #type(String, Options, ResponseListener)}
    */
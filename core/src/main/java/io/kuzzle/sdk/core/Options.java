@@ -8,7 +8,10 @@ import org.json.JSONObject;
 
 import io.kuzzle.sdk.enums.CollectionType;
 import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.responses.SearchResult;
+import io.kuzzle.sdk.time.Clock;
+import io.kuzzle.sdk.time.SystemClock;
 
 public class Options {
   // Default values
@@ -25,6 +28,12 @@ public class Options {
   private Mode connect = Mode.AUTO;
   private Mode offlineMode = Mode.MANUAL;
   private int replayInterval = 10;
+  private int decodeThreshold = 131072;
+  private boolean metrics = true;
+  private double traceSampleRate = 0;
+  private long stallThreshold = 1000;
+  private long syncTimeout = 120000;
+  private Clock clock = SystemClock.INSTANCE;
   private boolean queuable = true;
   private String defaultIndex = null;
   private boolean replaceIfExist = false;
@@ -73,8 +82,8 @@ public class Options {
     this.autoQueue = originalOptions.autoQueue;
     this.autoReconnect = originalOptions.autoReconnect;
     this.autoResubscribe = originalOptions.autoResubscribe;
-    this.headers = new JSONObject(originalOptions.headers.toString());
-    this._volatile = new JSONObject(originalOptions._volatile.toString());
+    this.headers = Json.copy(originalOptions.headers);
+    this._volatile = Json.copy(originalOptions._volatile);
     this.queueMaxSize = originalOptions.queueMaxSize;
     this.queueTTL = originalOptions.queueTTL;
     this.reconnectionDelay = originalOptions.reconnectionDelay;
@@ -82,6 +91,12 @@ public class Options {
     this.connect = originalOptions.connect;
     this.offlineMode = originalOptions.offlineMode;
     this.replayInterval = originalOptions.replayInterval;
+    this.decodeThreshold = originalOptions.decodeThreshold;
+    this.metrics = originalOptions.metrics;
+    this.traceSampleRate = originalOptions.traceSampleRate;
+    this.stallThreshold = originalOptions.stallThreshold;
+    this.syncTimeout = originalOptions.syncTimeout;
+    this.clock = originalOptions.clock;
     this.queuable = originalOptions.queuable;
     this.defaultIndex = originalOptions.defaultIndex;
     this.replaceIfExist = originalOptions.replaceIfExist;
@@ -238,6 +253,140 @@ public class Options {
     return this;
   }
 
+  /**
+   * decodeThreshold property getter
+   *
+   * @return decodeThreshold property value
+   */
+  public int getDecodeThreshold() {
+    return decodeThreshold;
+  }
+
+  /**
+   * decodeThreshold property setter:
+   * frames larger than this number of characters are decoded on worker threads,
+   * with the documents they contain decoded in parallel. Negative values are set to 0.
+   *
+   * @param decodeThreshold New decodeThreshold value
+   * @return this
+   */
+  public Options setDecodeThreshold(int decodeThreshold) {
+    this.decodeThreshold = Math.max(0, decodeThreshold);
+    return this;
+  }
+
+  /**
+   * metrics option getter
+   *
+   * @return metrics option value
+   */
+  public boolean isMetrics() {
+    return metrics;
+  }
+
+  /**
+   * metrics option setter:
+   * false to stop recording the counters and latencies of Kuzzle.getMetrics()
+   *
+   * @param metrics New metrics option value
+   * @return this
+   */
+  public Options setMetrics(boolean metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * traceSampleRate option getter
+   *
+   * @return traceSampleRate option value
+   */
+  public double getTraceSampleRate() {
+    return traceSampleRate;
+  }
+
+  /**
+   * traceSampleRate option setter:
+   * share of the requests getting a W3C trace context and a client span, between 0 (none) and 1 (all)
+   *
+   * @param traceSampleRate New traceSampleRate option value
+   * @return this
+   */
+  public Options setTraceSampleRate(double traceSampleRate) {
+    this.traceSampleRate = traceSampleRate;
+    return this;
+  }
+
+  /**
+   * stallThreshold option getter
+   *
+   * @return stallThreshold option value
+   */
+  public long getStallThreshold() {
+    return stallThreshold;
+  }
+
+  /**
+   * stallThreshold option setter:
+   * duration in milliseconds over which a response or notification callback is reported
+   * with a callbackStalled event, 0 to disable the detection
+   *
+   * @param stallThreshold New stallThreshold value
+   * @return this
+   */
+  public Options setStallThreshold(long stallThreshold) {
+    this.stallThreshold = stallThreshold;
+    return this;
+  }
+
+  /**
+   * syncTimeout option getter
+   *
+   * @return syncTimeout option value
+   */
+  public long getSyncTimeout() {
+    return syncTimeout;
+  }
+
+  /**
+   * syncTimeout option setter:
+   * duration in milliseconds after which the blocking *Sync methods give up waiting for a response, 0 to wait without bound
+   *
+   * @param syncTimeout New syncTimeout value
+   * @return this
+   */
+  public Options setSyncTimeout(long syncTimeout) {
+    this.syncTimeout = syncTimeout;
+    return this;
+  }
+
+  /**
+   * clock option getter
+   *
+   * @return clock option value
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * clock option setter:
+   * time source and scheduler of the event throttling, subscription renewals,
+   * offline queue expiry and replay, and request history expiry.
+   * Tests can pass a ManualClock to simulate time.
+   *
+   * @param clock New clock value
+   * @return this
+   */
+  public Options setClock(@NonNull Clock clock) {
+    if (clock == null) {
+      throw new IllegalArgumentException("Invalid value for option 'clock': a clock is required");
+    }
+
+    this.clock = clock;
+    return this;
+  }
+
   /**
    * queueTTL property getter
    *
@@ -7,8 +7,6 @@ import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -18,6 +16,7 @@ import io.kuzzle.sdk.enums.Event;
 import io.kuzzle.sdk.enums.Scope;
 import io.kuzzle.sdk.enums.State;
 import io.kuzzle.sdk.enums.Users;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.EventListener;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.SubscribeListener;
@@ -34,9 +33,9 @@ public class Room {
   protected JSONObject headers;
   protected JSONObject _volatile;
   protected boolean subscribeToSelf;
-  protected String roomId;
+  protected volatile String roomId;
   protected Kuzzle kuzzle;
-  protected String channel;
+  protected volatile String channel;
   protected Scope scope;
   protected State state;
   protected Users users;
@@ -44,12 +43,14 @@ public class Room {
 
   // Used to avoid subscription renewals to trigger multiple times because of
   // multiple but similar events
-  private long lastRenewal = 0;
+  private volatile long lastRenewal = 0;
   private long renewalDelay = 500;
 
-  // Used to delay method calls when subscription is in progress
-  protected boolean subscribing = false;
-  private ArrayList<Runnable> queue = new ArrayList<>();
+  // Used to delay method calls when subscription is in progress.
+  // Caller threads, the subscription thread and the socket thread check and update
+  // subscribing, roomId and the queue while holding the queue lock
+  protected volatile boolean subscribing = false;
+  private final ArrayList<Runnable> queue = new ArrayList<>();
   private SubscribeListener doneListener;
 
   /**
@@ -84,7 +85,7 @@ public class Room {
     this.collection = kuzzleDataCollection.getCollection();
 
     try {
-      this.headers = new JSONObject(kuzzleDataCollection.getHeaders().toString());
+      this.headers = Json.copy(kuzzleDataCollection.getHeaders());
     }
     catch (JSONException e) {
       throw new RuntimeException(e);
@@ -108,22 +109,32 @@ public class Room {
     }
 
     // Delays this call until after the subscription is finished
-    if (!this.isReady()) {
-      this.queue.add(new Runnable() {
-        @Override
-        public void run() {
+    if (this.enqueueIfNotReady(new Runnable() {
+      @Override
+      public void run() {
+        try {
           Room.this.count(listener);
+        } catch (IllegalStateException e) {
+          // the room was unsubscribed while this call was delayed: nobody is left to catch this
+          try {
+            listener.onError(new JSONObject().put("message", e.getMessage()));
+          } catch (JSONException je) {
+            throw new RuntimeException(je);
+          }
         }
-      });
+      }
+    })) {
       return;
     }
 
-    if (this.roomId == null) {
+    String roomId = this.roomId;
+
+    if (roomId == null) {
       throw new IllegalStateException("Room.count: cannot count subscriptions on an inactive room");
     }
 
     try {
-      JSONObject data = new JSONObject().put("body", new JSONObject().put("roomId", this.roomId));
+      JSONObject data = new JSONObject().put("body", new JSONObject().put("roomId", roomId));
       this.kuzzle.addHeaders(data, this.headers);
 
       this.kuzzle.query(this.dataCollection.makeQueryArgs("realtime", "count"), data, new OnQueryDoneListener() {
@@ -201,12 +212,12 @@ public class Room {
    * @return this
    */
   public Room renew(final JSONObject filters, @NonNull final ResponseListener<NotificationResponse> listener, final SubscribeListener subscribeResponseListener) {
-    long now = System.currentTimeMillis();
-
     if (listener == null) {
       throw new IllegalArgumentException("Room.renew: a callback listener is required");
     }
 
+    long now = this.kuzzle.getClock().now();
+
     // Skip subscription renewal if another one was performed just a moment before
     if (this.lastRenewal > 0 && (now - this.lastRenewal) <= this.renewalDelay) {
       return this;
@@ -220,27 +231,37 @@ public class Room {
       If not yet connected, registers itself into the subscriptions list and wait for the
       main Kuzzle object to renew subscriptions once online
      */
-    if (this.kuzzle.state != States.CONNECTED) {
+    if (this.kuzzle.getState() != States.CONNECTED) {
       this.listener = listener;
       this.doneListener = subscribeResponseListener;
       this.kuzzle.addPendingSubscription(this.id, this);
       return this;
     }
 
-    if (this.subscribing) {
-      this.queue.add(new Runnable() {
-        @Override
-        public void run() {
-          Room.this.renew(filters, listener, subscribeResponseListener);
-        }
-      });
+    final String previousRoomId;
 
-      return this;
+    synchronized (this.queue) {
+      if (this.subscribing) {
+        this.queue.add(new Runnable() {
+          @Override
+          public void run() {
+            Room.this.renew(filters, listener, subscribeResponseListener);
+          }
+        });
+
+        return this;
+      }
+
+      // claims the current room id, unsubscribed from once the lock is released
+      previousRoomId = this.roomId;
+      this.roomId = null;
+      this.subscribing = true;
+    }
+
+    if (previousRoomId != null) {
+      this.unsubscribeRenewed(previousRoomId);
     }
 
-    this.unsubscribe();
-    this.roomId = null;
-    this.subscribing = true;
     this.listener = listener;
     this.doneListener = subscribeResponseListener;
     this.kuzzle.addPendingSubscription(this.id, this);
@@ -264,37 +285,42 @@ public class Room {
             Room.this.kuzzle.query(Room.this.dataCollection.makeQueryArgs("realtime", "subscribe"), subscribeQuery, options, new OnQueryDoneListener() {
               @Override
               public void onSuccess(JSONObject args) {
+                // the room stays "subscribing" until it is fully registered:
+                // calls made meanwhile are delayed, instead of seeing a half-initialized room.
+                // It stops subscribing even if this fails, so that later calls are not queued forever
                 try {
                   Room.this.kuzzle.deletePendingSubscription(Room.this.id);
-                  Room.this.subscribing = false;
-                  Room.this.lastRenewal = System.currentTimeMillis();
+                  Room.this.lastRenewal = Room.this.kuzzle.getClock().now();
 
                   JSONObject result = args.getJSONObject("result");
                   Room.this.channel = result.getString("channel");
                   Room.this.roomId = result.getString("roomId");
+
+                  Room.this.kuzzle.addSubscription(Room.this.roomId, Room.this.id, Room.this);
+
+                  Room.this.kuzzle.addRoom(Room.this.channel,  new EventListener() {
+                    @Override
+                    public void trigger(final Object... args) {
+                      callAfterRenew(args[0]);
+                    }
+                  });
+
                   if (subscribeResponseListener != null) {
                     subscribeResponseListener.done(null, Room.this);
                   }
                 } catch (JSONException e) {
                   throw new RuntimeException(e);
+                } finally {
+                  Room.this.dequeue();
                 }
-
-                Room.this.kuzzle.addSubscription(Room.this.roomId, Room.this.id, Room.this);
-
-                Room.this.kuzzle.addRoom(Room.this.channel,  new EventListener() {
-                  @Override
-                  public void trigger(final Object... args) {
-                    callAfterRenew(args[0]);
-                  }
-                });
-
-                Room.this.dequeue();
               }
 
               @Override
               public void onError(JSONObject arg) {
-                Room.this.subscribing = false;
-                Room.this.queue.clear();
+                synchronized (Room.this.queue) {
+                  Room.this.subscribing = false;
+                  Room.this.queue.clear();
+                }
                 if (subscribeResponseListener != null) {
                   subscribeResponseListener.done(arg, null);
                 }
@@ -323,55 +349,77 @@ public class Room {
    * @return this
    */
   public Room unsubscribe() {
-    if (!this.isReady()) {
-      this.queue.add(new Runnable() {
+    final String roomId;
+
+    synchronized (this.queue) {
+      if (this.enqueueIfNotReady(new Runnable() {
         @Override
         public void run() {
           Room.this.unsubscribe();
         }
-      });
-      return this;
+      })) {
+        return this;
+      }
+
+      // claims the room id, so that concurrent calls unsubscribe only once
+      roomId = this.roomId;
+      this.roomId = null;
     }
 
-    if (this.roomId == null) {
-      return this;
+    if (roomId != null) {
+      this.sendUnsubscribe(roomId);
     }
 
+    return this;
+  }
+
+  /**
+   * Unsubscribes from the room replaced by a renewal.
+   * Called once the queue lock is released, the room id being already claimed.
+   *
+   * @param roomId - Id of the replaced room
+   */
+  protected void unsubscribeRenewed(final String roomId) {
+    this.sendUnsubscribe(roomId);
+  }
+
+  /**
+   * Stops listening to a claimed room id, and sends the unsubscribe request if no other room uses it.
+   * Must not be called while holding the queue lock: the request is sent from the calling thread.
+   *
+   * @param roomId - Claimed room id
+   */
+  private void sendUnsubscribe(final String roomId) {
     try {
-      final JSONObject data = new JSONObject().put("body", new JSONObject().put("roomId", this.roomId));
+      final JSONObject data = new JSONObject().put("body", new JSONObject().put("roomId", roomId));
       this.kuzzle.addHeaders(data, this.headers);
 
       this.kuzzle.removeRoom(Room.this.channel);
-      this.kuzzle.deleteSubscription(this.roomId, this.id);
+      this.kuzzle.deleteSubscription(roomId, this.id);
 
-      if (this.kuzzle.getSubscriptions(this.roomId) == null) {
-        final String roomId = this.roomId;
+      if (this.kuzzle.getSubscriptions(roomId) == null) {
         if (this.kuzzle.getPendingSubscriptions().isEmpty()) {
           this.kuzzle.query(this.dataCollection.makeQueryArgs("realtime", "unsubscribe"), data);
         } else {
-          final Timer timer = new Timer(UUID.randomUUID().toString());
-          unsubscribeTask(timer, roomId, data).run();
+          unsubscribeTask(roomId, data).run();
         }
       }
-
-      this.roomId = null;
     }
     catch (JSONException e) {
       throw new RuntimeException(e);
     }
-    return this;
   }
 
   /**
-   * Unsubscribe task timer task.
+   * Unsubscribe task: sends the unsubscribe request once there is no pending subscription,
+   * checking again every 100ms
    *
-   * @param timer  the timer
    * @param roomId the room id
    * @param data   the data
-   * @return the timer task
+   * @return the task
    */
-  protected TimerTask unsubscribeTask(final Timer timer, final String roomId, final JSONObject data) {
-    return new TimerTask() {
+  protected Runnable unsubscribeTask(final String roomId, final JSONObject data) {
+    return new Runnable() {
       @Override
       public void run() {
         try {
@@ -380,7 +428,7 @@ public class Room {
               Room.this.kuzzle.query(Room.this.dataCollection.makeQueryArgs("realtime", "unsubscribe"), data);
             }
           } else {
-            timer.schedule(unsubscribeTask(timer, roomId, data), 100);
+            Room.this.kuzzle.getClock().schedule(unsubscribeTask(roomId, data), 100);
           }
         } catch (JSONException e) {
           throw new RuntimeException(e);
@@ -530,31 +578,54 @@ public class Room {
   }
 
   /**
-   * Runs all queued methods called while subscription was in progress
+   * Ends the subscription in progress, and runs all queued methods called meanwhile.
+   * Methods called while they run are run directly, or queued again if another subscription started.
    */
   protected void dequeue() {
-    if (this.queue.size() > 0) {
-      ExecutorService threadPool = Executors.newSingleThreadExecutor();
+    ArrayList<Runnable> pending;
+
+    synchronized (this.queue) {
+      this.subscribing = false;
 
-      for(Runnable r: this.queue) {
-        threadPool.execute(r);
+      if (this.queue.isEmpty()) {
+        return;
       }
 
-      threadPool.shutdown();
+      pending = new ArrayList<>(this.queue);
+      this.queue.clear();
+    }
 
-      try {
-        threadPool.awaitTermination(1, TimeUnit.SECONDS);
-      }
-      catch (InterruptedException e) {
-        // do nothing
-      }
-      finally {
-        this.queue.clear();
-      }
+    ExecutorService threadPool = Executors.newSingleThreadExecutor();
+
+    for(Runnable r: pending) {
+      threadPool.execute(r);
+    }
+
+    threadPool.shutdown();
+
+    try {
+      threadPool.awaitTermination(1, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      // do nothing
     }
   }
 
-  private boolean isReady() {
-    return this.kuzzle.state == States.CONNECTED && !this.subscribing;
+  /**
+   * Queues a method call if the room is not ready to run it,
+   * checking the room state and queuing atomically
+   *
+   * @param call - Delayed method call
+   * @return true if the call was queued
+   */
+  private boolean enqueueIfNotReady(final Runnable call) {
+    synchronized (this.queue) {
+      if (this.kuzzle.getState() == States.CONNECTED && !this.subscribing) {
+        return false;
+      }
+
+      this.queue.add(call);
+      return true;
+    }
   }
 }
@@ -11,5 +11,6 @@ public enum Event {
   tokenExpired,
   loginAttempt,
   offlineQueuePush,
-  offlineQueuePop
+  offlineQueuePop,
+  callbackStalled
 }
@@ -0,0 +1,22 @@
+package io.kuzzle.sdk.enums;
+
+/**
+ * How bursts of a global event are delivered to its listeners
+ */
+public enum EventPolicy {
+  /**
+   * Every emitted event is delivered
+   */
+  DELIVER_ALL,
+  /**
+   * Events emitted within the same window are merged:
+   * only the last one is delivered, once the window closes
+   */
+  COALESCE,
+  /**
+   * The first event of a window is delivered, the next ones are dropped and counted.
+   * When the window closes, the last dropped event is delivered, followed by an
+   * io.kuzzle.sdk.util.EventSummary holding the number of events dropped
+   */
+  SUMMARIZE
+}
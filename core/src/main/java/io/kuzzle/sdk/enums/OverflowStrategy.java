@@ -0,0 +1,25 @@
+package io.kuzzle.sdk.enums;
+
+/**
+ * What a notification publisher does with a notification arriving
+ * while its subscriber's buffer is full
+ */
+public enum OverflowStrategy {
+  /**
+   * The subscription fails with an error, and is cancelled
+   */
+  BUFFER,
+  /**
+   * The oldest buffered notification is dropped to make room
+   */
+  DROP_OLDEST,
+  /**
+   * The incoming notification is dropped
+   */
+  DROP_NEWEST,
+  /**
+   * A buffered notification about the same document is replaced by the incoming one.
+   * Notifications about other documents are handled as with DROP_OLDEST
+   */
+  LATEST
+}
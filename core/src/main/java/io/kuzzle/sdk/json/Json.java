@@ -0,0 +1,61 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Holds the JSON engine used by the whole SDK
+ */
+public final class Json {
+  private static volatile JsonEngine engine = new StreamingJsonEngine();
+
+  private Json() {}
+
+  /**
+   * @return the current JSON engine
+   */
+  public static JsonEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Replaces the JSON engine used by the SDK.
+   * Use an OrgJsonEngine to get back the org.json behavior.
+   *
+   * @param jsonEngine - New JSON engine
+   */
+  public static void setEngine(final JsonEngine jsonEngine) {
+    if (jsonEngine == null) {
+      throw new IllegalArgumentException("Json.setEngine: engine argument missing");
+    }
+
+    engine = jsonEngine;
+  }
+
+  /**
+   * {@link JsonEngine#parse(String)}
+   */
+  public static JSONObject parse(final String json) throws JSONException {
+    return engine.parse(json);
+  }
+
+  /**
+   * {@link JsonEngine#copy(JSONObject)}
+   */
+  public static JSONObject copy(final JSONObject object) throws JSONException {
+    return engine.copy(object);
+  }
+
+  /**
+   * Serializes a JSON object
+   *
+   * @param object - Object to serialize
+   * @return JSON text
+   * @throws JSONException
+   */
+  public static String serialize(final JSONObject object) throws JSONException {
+    StringBuilder sb = new StringBuilder();
+    engine.write(sb, object);
+    return sb.toString();
+  }
+}
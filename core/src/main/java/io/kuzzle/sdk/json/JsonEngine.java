@@ -0,0 +1,39 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * JSON backend used by the SDK to parse incoming frames, copy documents
+ * and serialize outgoing requests.
+ *
+ * Implementations must be thread-safe.
+ */
+public interface JsonEngine {
+  /**
+   * Parses a JSON object
+   *
+   * @param json - JSON text
+   * @return parsed object
+   * @throws JSONException
+   */
+  JSONObject parse(String json) throws JSONException;
+
+  /**
+   * Deep copies a JSON object
+   *
+   * @param object - Object to copy
+   * @return independent copy of the object
+   * @throws JSONException
+   */
+  JSONObject copy(JSONObject object) throws JSONException;
+
+  /**
+   * Serializes a JSON value, with the same representation as org.json
+   *
+   * @param out - Destination buffer
+   * @param value - JSONObject, JSONArray or scalar to serialize
+   * @throws JSONException
+   */
+  void write(StringBuilder out, Object value) throws JSONException;
+}
@@ -0,0 +1,573 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Pull parser reading a JSON text one token at a time.
+ *
+ * Values are only materialized on demand: callers walk the document with
+ * beginObject/nextName/endObject and friends, and either build a subtree
+ * with nextValue() or skip it with skipValue().
+ *
+ * Scalars are converted the same way org.json does: integers fitting in an
+ * int are returned as Integer, larger ones as Long, and decimals as Double.
+ */
+public class JsonReader {
+  /**
+   * JSON tokens
+   */
+  public enum Token {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+  }
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_OBJECT = 2;
+  private static final int DANGLING_NAME = 3;
+  private static final int NONEMPTY_OBJECT = 4;
+  private static final int EMPTY_ARRAY = 5;
+  private static final int NONEMPTY_ARRAY = 6;
+
+  private final String in;
+  private final int length;
+  private int pos;
+
+  private int[] stack = new int[32];
+  private int stackSize = 0;
+  private Token peeked = null;
+
+  /**
+   * @param in - JSON text to read
+   */
+  public JsonReader(final String in) {
+    this(in, 0, in != null ? in.length() : 0);
+  }
+
+  /**
+   * Reads a slice of a text holding a single JSON value
+   *
+   * @param in - Text to read
+   * @param start - Offset of the first character of the value
+   * @param end - Offset following the last character of the value
+   */
+  public JsonReader(final String in, final int start, final int end) {
+    if (in == null) {
+      throw new IllegalArgumentException("JsonReader: cannot read a null JSON text");
+    }
+
+    if (start < 0 || end > in.length() || start > end) {
+      throw new IllegalArgumentException("JsonReader: invalid bounds");
+    }
+
+    this.in = in;
+    this.pos = start;
+    this.length = end;
+    this.push(EMPTY_DOCUMENT);
+  }
+
+  /**
+   * @return the type of the next token, without consuming it
+   * @throws JSONException
+   */
+  public Token peek() throws JSONException {
+    if (this.peeked != null) {
+      return this.peeked;
+    }
+
+    int top = this.stack[this.stackSize - 1];
+    char c;
+
+    switch (top) {
+      case EMPTY_ARRAY:
+        this.stack[this.stackSize - 1] = NONEMPTY_ARRAY;
+        if (this.nextNonWhitespace() == ']') {
+          this.pos++;
+          return this.peeked = Token.END_ARRAY;
+        }
+        break;
+      case NONEMPTY_ARRAY:
+        c = this.nextNonWhitespace();
+        if (c == ']') {
+          this.pos++;
+          return this.peeked = Token.END_ARRAY;
+        } else if (c != ',') {
+          throw this.syntaxError("Expected ',' or ']'");
+        }
+        this.pos++;
+        break;
+      case EMPTY_OBJECT:
+      case NONEMPTY_OBJECT:
+        c = this.nextNonWhitespace();
+        if (c == '}') {
+          this.pos++;
+          return this.peeked = Token.END_OBJECT;
+        }
+
+        if (top == NONEMPTY_OBJECT) {
+          if (c != ',') {
+            throw this.syntaxError("Expected ',' or '}'");
+          }
+          this.pos++;
+          c = this.nextNonWhitespace();
+        }
+
+        if (c != '"') {
+          throw this.syntaxError("Expected a name");
+        }
+
+        this.stack[this.stackSize - 1] = DANGLING_NAME;
+        return this.peeked = Token.NAME;
+      case DANGLING_NAME:
+        this.stack[this.stackSize - 1] = NONEMPTY_OBJECT;
+        if (this.nextNonWhitespace() != ':') {
+          throw this.syntaxError("Expected ':'");
+        }
+        this.pos++;
+        break;
+      case EMPTY_DOCUMENT:
+        this.stack[this.stackSize - 1] = NONEMPTY_DOCUMENT;
+        break;
+      default:
+        this.skipWhitespace();
+        if (this.pos == this.length) {
+          return this.peeked = Token.END_DOCUMENT;
+        }
+        throw this.syntaxError("Unexpected data after the end of the document");
+    }
+
+    c = this.nextNonWhitespace();
+
+    switch (c) {
+      case '{':
+        this.pos++;
+        return this.peeked = Token.BEGIN_OBJECT;
+      case '[':
+        this.pos++;
+        return this.peeked = Token.BEGIN_ARRAY;
+      case '"':
+        return this.peeked = Token.STRING;
+      case 't':
+      case 'f':
+        return this.peeked = Token.BOOLEAN;
+      case 'n':
+        return this.peeked = Token.NULL;
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return this.peeked = Token.NUMBER;
+        }
+        throw this.syntaxError("Unexpected character '" + c + "'");
+    }
+  }
+
+  /**
+   * @return true if the current object or array has more elements
+   * @throws JSONException
+   */
+  public boolean hasNext() throws JSONException {
+    Token token = this.peek();
+    return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+  }
+
+  /**
+   * Consumes the beginning of an object
+   *
+   * @throws JSONException
+   */
+  public void beginObject() throws JSONException {
+    this.expect(Token.BEGIN_OBJECT);
+    this.push(EMPTY_OBJECT);
+  }
+
+  /**
+   * Consumes the end of an object
+   *
+   * @throws JSONException
+   */
+  public void endObject() throws JSONException {
+    this.expect(Token.END_OBJECT);
+    this.stackSize--;
+  }
+
+  /**
+   * Consumes the beginning of an array
+   *
+   * @throws JSONException
+   */
+  public void beginArray() throws JSONException {
+    this.expect(Token.BEGIN_ARRAY);
+    this.push(EMPTY_ARRAY);
+  }
+
+  /**
+   * Consumes the end of an array
+   *
+   * @throws JSONException
+   */
+  public void endArray() throws JSONException {
+    this.expect(Token.END_ARRAY);
+    this.stackSize--;
+  }
+
+  /**
+   * @return the next property name
+   * @throws JSONException
+   */
+  public String nextName() throws JSONException {
+    this.expect(Token.NAME);
+    return this.readString();
+  }
+
+  /**
+   * @return the next string value
+   * @throws JSONException
+   */
+  public String nextString() throws JSONException {
+    this.expect(Token.STRING);
+    return this.readString();
+  }
+
+  /**
+   * @return the next boolean value
+   * @throws JSONException
+   */
+  public boolean nextBoolean() throws JSONException {
+    this.expect(Token.BOOLEAN);
+
+    if (this.pos + 4 <= this.length && this.in.startsWith("true", this.pos)) {
+      this.pos += 4;
+      return true;
+    } else if (this.pos + 5 <= this.length && this.in.startsWith("false", this.pos)) {
+      this.pos += 5;
+      return false;
+    }
+
+    throw this.syntaxError("Expected a boolean");
+  }
+
+  /**
+   * Consumes the next null value
+   *
+   * @throws JSONException
+   */
+  public void nextNull() throws JSONException {
+    this.expect(Token.NULL);
+
+    if (this.pos + 4 > this.length || !this.in.startsWith("null", this.pos)) {
+      throw this.syntaxError("Expected null");
+    }
+
+    this.pos += 4;
+  }
+
+  /**
+   * @return the next number, as an Integer, a Long or a Double
+   * @throws JSONException
+   */
+  public Number nextNumber() throws JSONException {
+    this.expect(Token.NUMBER);
+
+    int start = this.pos;
+    boolean decimal = false;
+
+    while (this.pos < this.length) {
+      char c = this.in.charAt(this.pos);
+
+      if (c == '.' || c == 'e' || c == 'E') {
+        decimal = true;
+      } else if (c != '-' && c != '+' && (c < '0' || c > '9')) {
+        break;
+      }
+
+      this.pos++;
+    }
+
+    String literal = this.in.substring(start, this.pos);
+
+    try {
+      if (!decimal) {
+        long value = Long.parseLong(literal);
+
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+          return (int) value;
+        }
+
+        return value;
+      }
+    } catch (NumberFormatException e) {
+      // integer too large for a long: parsed as a double below
+    }
+
+    try {
+      return Double.valueOf(literal);
+    } catch (NumberFormatException e) {
+      throw this.syntaxError("Invalid number '" + literal + "'");
+    }
+  }
+
+  /**
+   * Reads the next value and all of its children
+   *
+   * @return a JSONObject, a JSONArray, a String, a Number, a Boolean or JSONObject.NULL
+   * @throws JSONException
+   */
+  public Object nextValue() throws JSONException {
+    switch (this.peek()) {
+      case BEGIN_OBJECT:
+        return this.nextObject();
+      case BEGIN_ARRAY:
+        return this.nextArray();
+      case STRING:
+        return this.nextString();
+      case NUMBER:
+        return this.nextNumber();
+      case BOOLEAN:
+        return this.nextBoolean();
+      case NULL:
+        this.nextNull();
+        return JSONObject.NULL;
+      default:
+        throw this.syntaxError("Expected a value");
+    }
+  }
+
+  /**
+   * @return the next object and all of its children
+   * @throws JSONException
+   */
+  public JSONObject nextObject() throws JSONException {
+    JSONObject object = new JSONObject();
+
+    this.beginObject();
+    while (this.hasNext()) {
+      object.put(this.nextName(), this.nextValue());
+    }
+    this.endObject();
+
+    return object;
+  }
+
+  /**
+   * @return the next array and all of its children
+   * @throws JSONException
+   */
+  public JSONArray nextArray() throws JSONException {
+    JSONArray array = new JSONArray();
+
+    this.beginArray();
+    while (this.hasNext()) {
+      array.put(this.nextValue());
+    }
+    this.endArray();
+
+    return array;
+  }
+
+  /**
+   * Skips the next value and all of its children, without building them
+   *
+   * @throws JSONException
+   */
+  public void skipValue() throws JSONException {
+    int depth = 0;
+
+    do {
+      switch (this.peek()) {
+        case BEGIN_OBJECT:
+          this.beginObject();
+          depth++;
+          break;
+        case BEGIN_ARRAY:
+          this.beginArray();
+          depth++;
+          break;
+        case END_OBJECT:
+          this.endObject();
+          depth--;
+          break;
+        case END_ARRAY:
+          this.endArray();
+          depth--;
+          break;
+        case NAME:
+        case STRING:
+          this.peeked = null;
+          this.skipString();
+          break;
+        case NUMBER:
+          this.nextNumber();
+          break;
+        case BOOLEAN:
+          this.nextBoolean();
+          break;
+        case NULL:
+          this.nextNull();
+          break;
+        default:
+          throw this.syntaxError("Expected a value");
+      }
+    } while (depth > 0);
+  }
+
+  /**
+   * Skips the next value, returning where it lies in the input text,
+   * so that it can be read later with a separate JsonReader
+   *
+   * @return start and end offsets of the skipped value
+   * @throws JSONException
+   */
+  public int[] skipValueBounds() throws JSONException {
+    Token token = this.peek();
+    int start = (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) ? this.pos - 1 : this.pos;
+
+    this.skipValue();
+
+    return new int[] {start, this.pos};
+  }
+
+  private void expect(final Token token) throws JSONException {
+    if (this.peek() != token) {
+      throw this.syntaxError("Expected " + token + " but was " + this.peeked);
+    }
+
+    this.peeked = null;
+  }
+
+  private void push(final int scope) {
+    if (this.stackSize == this.stack.length) {
+      int[] grown = new int[this.stackSize * 2];
+      System.arraycopy(this.stack, 0, grown, 0, this.stackSize);
+      this.stack = grown;
+    }
+
+    this.stack[this.stackSize++] = scope;
+  }
+
+  private void skipWhitespace() {
+    while (this.pos < this.length) {
+      char c = this.in.charAt(this.pos);
+
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return;
+      }
+
+      this.pos++;
+    }
+  }
+
+  private char nextNonWhitespace() throws JSONException {
+    this.skipWhitespace();
+
+    if (this.pos == this.length) {
+      throw this.syntaxError("Unexpected end of input");
+    }
+
+    return this.in.charAt(this.pos);
+  }
+
+  /**
+   * Reads a string starting at the current opening quote
+   */
+  private String readString() throws JSONException {
+    int start = ++this.pos;
+
+    // fast path: no escape sequence, the string is a plain substring of the input
+    while (this.pos < this.length) {
+      char c = this.in.charAt(this.pos);
+
+      if (c == '"') {
+        return this.in.substring(start, this.pos++);
+      } else if (c == '\\') {
+        break;
+      }
+
+      this.pos++;
+    }
+
+    StringBuilder sb = new StringBuilder(this.pos - start + 16);
+    sb.append(this.in, start, this.pos);
+
+    while (this.pos < this.length) {
+      char c = this.in.charAt(this.pos++);
+
+      if (c == '"') {
+        return sb.toString();
+      } else if (c == '\\') {
+        sb.append(this.readEscape());
+      } else {
+        sb.append(c);
+      }
+    }
+
+    throw this.syntaxError("Unterminated string");
+  }
+
+  private void skipString() throws JSONException {
+    this.pos++;
+
+    while (this.pos < this.length) {
+      char c = this.in.charAt(this.pos++);
+
+      if (c == '"') {
+        return;
+      } else if (c == '\\') {
+        this.readEscape();
+      }
+    }
+
+    throw this.syntaxError("Unterminated string");
+  }
+
+  private char readEscape() throws JSONException {
+    if (this.pos == this.length) {
+      throw this.syntaxError("Unterminated escape sequence");
+    }
+
+    char c = this.in.charAt(this.pos++);
+
+    switch (c) {
+      case 'u':
+        if (this.pos + 4 > this.length) {
+          throw this.syntaxError("Unterminated escape sequence");
+        }
+
+        try {
+          char unicode = (char) Integer.parseInt(this.in.substring(this.pos, this.pos + 4), 16);
+          this.pos += 4;
+          return unicode;
+        } catch (NumberFormatException e) {
+          throw this.syntaxError("Invalid unicode escape sequence");
+        }
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case '"':
+      case '\\':
+      case '/':
+        return c;
+      default:
+        throw this.syntaxError("Invalid escape sequence '\\" + c + "'");
+    }
+  }
+
+  private JSONException syntaxError(final String message) {
+    return new JSONException(message + " at character " + this.pos);
+  }
+}
@@ -0,0 +1,35 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Compatibility backend, delegating everything to org.json
+ */
+public class OrgJsonEngine implements JsonEngine {
+  @Override
+  public JSONObject parse(final String json) throws JSONException {
+    return new JSONObject(json);
+  }
+
+  @Override
+  public JSONObject copy(final JSONObject object) throws JSONException {
+    return new JSONObject(object.toString());
+  }
+
+  @Override
+  public void write(final StringBuilder out, final Object value) throws JSONException {
+    if (value == null || value == JSONObject.NULL) {
+      out.append("null");
+    } else if (value instanceof String) {
+      out.append(JSONObject.quote((String) value));
+    } else if (value instanceof Number) {
+      out.append(JSONObject.numberToString((Number) value));
+    } else if (value instanceof Boolean || value instanceof JSONObject || value instanceof JSONArray) {
+      out.append(value.toString());
+    } else {
+      out.append(JSONObject.quote(value.toString()));
+    }
+  }
+}
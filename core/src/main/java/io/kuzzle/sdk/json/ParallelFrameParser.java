@@ -0,0 +1,155 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses large response frames, decoding the documents of their
+ * result.hits array (search, scroll and mGet responses) on several threads.
+ *
+ * The frame is first scanned once to locate each hit, without building
+ * anything. Hits are then split in chunks, parsed concurrently, and put back
+ * in their original order. The calling thread takes part in the work, and
+ * parses any chunk no worker has picked up yet: the executor may be busy or
+ * shared with the caller's own pool without risking a deadlock.
+ */
+public class ParallelFrameParser {
+  private final Executor executor;
+  private final int parallelism;
+  private final int minChunkSize;
+
+  /**
+   * @param executor - Executor running the chunks parsing
+   * @param parallelism - Maximum number of chunks
+   * @param minChunkSize - Minimum number of hits per chunk
+   */
+  public ParallelFrameParser(final Executor executor, final int parallelism, final int minChunkSize) {
+    if (executor == null) {
+      throw new IllegalArgumentException("ParallelFrameParser: executor argument missing");
+    }
+
+    this.executor = executor;
+    this.parallelism = Math.max(1, parallelism);
+    this.minChunkSize = Math.max(1, minChunkSize);
+  }
+
+  /**
+   * Parses a response frame
+   *
+   * @param frame - Raw response frame
+   * @return parsed frame, identical to what Json.parse would return
+   * @throws JSONException
+   */
+  public JSONObject parse(final String frame) throws JSONException {
+    JsonReader reader = new JsonReader(frame);
+    JSONObject response = new JSONObject();
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (name.equals("result") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+        JSONObject result = new JSONObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+          String field = reader.nextName();
+
+          if (field.equals("hits") && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+            result.put(field, this.parseHits(reader, frame));
+          } else {
+            result.put(field, reader.nextValue());
+          }
+        }
+        reader.endObject();
+
+        response.put(name, result);
+      } else {
+        response.put(name, reader.nextValue());
+      }
+    }
+    reader.endObject();
+
+    return response;
+  }
+
+  private JSONArray parseHits(final JsonReader reader, final String frame) throws JSONException {
+    final List<int[]> bounds = new ArrayList<>();
+
+    reader.beginArray();
+    while (reader.hasNext()) {
+      bounds.add(reader.skipValueBounds());
+    }
+    reader.endArray();
+
+    final Object[] hits = new Object[bounds.size()];
+    final int chunkSize = Math.max(this.minChunkSize, (hits.length + this.parallelism - 1) / this.parallelism);
+    final int chunks = (hits.length + chunkSize - 1) / chunkSize;
+    final AtomicInteger nextChunk = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(chunks);
+    final JSONException[] failure = new JSONException[1];
+
+    Runnable worker = new Runnable() {
+      @Override
+      public void run() {
+        int chunk;
+
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+          try {
+            int end = Math.min(hits.length, (chunk + 1) * chunkSize);
+
+            for (int i = chunk * chunkSize; i < end; i++) {
+              int[] hit = bounds.get(i);
+              hits[i] = new JsonReader(frame, hit[0], hit[1]).nextValue();
+            }
+          } catch (JSONException e) {
+            synchronized (failure) {
+              failure[0] = e;
+            }
+          } finally {
+            done.countDown();
+          }
+        }
+      }
+    };
+
+    try {
+      for (int i = 1; i < chunks; i++) {
+        this.executor.execute(worker);
+      }
+    } catch (RejectedExecutionException e) {
+      // remaining chunks are parsed by the calling thread
+    }
+
+    worker.run();
+
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+
+    synchronized (failure) {
+      if (failure[0] != null) {
+        throw failure[0];
+      }
+    }
+
+    JSONArray array = new JSONArray();
+
+    for (Object hit : hits) {
+      array.put(hit);
+    }
+
+    return array;
+  }
+}
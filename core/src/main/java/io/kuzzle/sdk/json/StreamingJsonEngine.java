@@ -0,0 +1,122 @@
+package io.kuzzle.sdk.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+import io.kuzzle.sdk.util.KuzzleJSONObject;
+
+/**
+ * Default backend.
+ *
+ * Parses with a JsonReader, which reads strings as plain substrings of the
+ * input whenever possible, instead of going through org.json's tokenizer.
+ * Copies walk the tree instead of serializing and parsing it back, and
+ * serialization writes a whole tree into a single buffer.
+ */
+public class StreamingJsonEngine implements JsonEngine {
+  @Override
+  public JSONObject parse(final String json) throws JSONException {
+    JsonReader reader = new JsonReader(json);
+
+    if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+      throw new JSONException("A JSON object text must begin with '{'");
+    }
+
+    return reader.nextObject();
+  }
+
+  @Override
+  public JSONObject copy(final JSONObject object) throws JSONException {
+    if (!isPlain(object)) {
+      return new JSONObject(object.toString());
+    }
+
+    JSONObject copy = new JSONObject();
+
+    for (Iterator<String> iterator = object.keys(); iterator.hasNext(); ) {
+      String key = iterator.next();
+      copy.put(key, this.copyValue(object.get(key)));
+    }
+
+    return copy;
+  }
+
+  private Object copyValue(final Object value) throws JSONException {
+    if (value instanceof JSONObject) {
+      return this.copy((JSONObject) value);
+    }
+
+    if (value instanceof JSONArray && isPlain(value)) {
+      JSONArray array = (JSONArray) value;
+      JSONArray copy = new JSONArray();
+
+      for (int i = 0; i < array.length(); i++) {
+        copy.put(this.copyValue(array.get(i)));
+      }
+
+      return copy;
+    }
+
+    if (value instanceof JSONArray) {
+      return new JSONArray(value.toString());
+    }
+
+    return value;
+  }
+
+  /**
+   * Only org.json's own classes are walked directly:
+   * subclasses may override the way they are represented
+   */
+  private static boolean isPlain(final Object value) {
+    Class<?> type = value.getClass();
+    return type == JSONObject.class || type == JSONArray.class || type == KuzzleJSONObject.class;
+  }
+
+  @Override
+  public void write(final StringBuilder out, final Object value) throws JSONException {
+    if (value == null || value == JSONObject.NULL) {
+      out.append("null");
+    } else if (value instanceof String) {
+      out.append(JSONObject.quote((String) value));
+    } else if (value instanceof Number) {
+      out.append(JSONObject.numberToString((Number) value));
+    } else if (value instanceof Boolean || ((value instanceof JSONObject || value instanceof JSONArray) && !isPlain(value))) {
+      out.append(value.toString());
+    } else if (value instanceof JSONObject) {
+      JSONObject object = (JSONObject) value;
+      boolean first = true;
+
+      out.append('{');
+      for (Iterator<String> iterator = object.keys(); iterator.hasNext(); ) {
+        String key = iterator.next();
+
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+
+        out.append(JSONObject.quote(key)).append(':');
+        this.write(out, object.get(key));
+      }
+      out.append('}');
+    } else if (value instanceof JSONArray) {
+      JSONArray array = (JSONArray) value;
+
+      out.append('[');
+      for (int i = 0; i < array.length(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+
+        this.write(out, array.get(i));
+      }
+      out.append(']');
+    } else {
+      out.append(JSONObject.quote(value.toString()));
+    }
+  }
+}
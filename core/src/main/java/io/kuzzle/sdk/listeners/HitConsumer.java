@@ -0,0 +1,32 @@
+package io.kuzzle.sdk.listeners;
+
+import org.json.JSONObject;
+
+/**
+ * Receives search results one document at a time, as they are decoded
+ */
+public interface HitConsumer {
+  /**
+   * Invoked for each fetched document
+   *
+   * @param id Document unique identifier
+   * @param content Document content
+   * @param meta Document metadata
+   */
+  void onHit(String id, JSONObject content, JSONObject meta);
+
+  /**
+   * Invoked once all documents have been handed over
+   *
+   * @param total Total number of fetchable documents
+   * @param aggregations Search aggregations (can be null)
+   */
+  void onSuccess(long total, JSONObject aggregations);
+
+  /**
+   * On error.
+   *
+   * @param error Raw Kuzzle API error content
+   */
+  void onError(JSONObject error);
+}
@@ -0,0 +1,15 @@
+package io.kuzzle.sdk.listeners;
+
+/**
+ * Query listener receiving the raw response frame, so that large responses
+ * can be decoded as a stream instead of being parsed into a JSONObject first.
+ *
+ * onSuccess and onError are only invoked for responses not coming from the
+ * network, such as discarded requests.
+ */
+public interface OnRawQueryDoneListener extends OnQueryDoneListener {
+  /**
+   * @param frame Raw Kuzzle API response
+   */
+  void onRawResponse(String frame);
+}
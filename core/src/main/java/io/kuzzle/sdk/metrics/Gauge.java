@@ -0,0 +1,11 @@
+package io.kuzzle.sdk.metrics;
+
+/**
+ * Value read when a metrics snapshot is taken, such as the size of a queue
+ */
+public interface Gauge {
+  /**
+   * @return current value
+   */
+  long value();
+}
@@ -0,0 +1,72 @@
+package io.kuzzle.sdk.metrics;
+
+/**
+ * Latency distribution copied from a LatencyHistogram. All values are in microseconds.
+ */
+public class HistogramSnapshot {
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  HistogramSnapshot(final long[] counts, final long count, final long sum, final long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * @return number of latencies recorded
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * @return mean latency, 0 if none was recorded
+   */
+  public long getMean() {
+    return this.count > 0 ? this.sum / this.count : 0;
+  }
+
+  /**
+   * @return highest latency recorded
+   */
+  public long getMax() {
+    return this.max;
+  }
+
+  /**
+   * @param percentile - Percentile, between 0 and 100
+   * @return latency under which this percentage of the recorded latencies fall, 0 if none was recorded
+   */
+  public long getPercentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("HistogramSnapshot.getPercentile: percentile must be between 0 and 100");
+    }
+
+    long total = 0;
+
+    for (long bucket : this.counts) {
+      total += bucket;
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+
+    for (int i = 0; i < this.counts.length; i++) {
+      seen += this.counts[i];
+
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.highestValue(i), this.max);
+      }
+    }
+
+    return this.max;
+  }
+}
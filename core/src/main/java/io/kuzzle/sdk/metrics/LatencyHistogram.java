@@ -0,0 +1,84 @@
+package io.kuzzle.sdk.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram, with logarithmic buckets of linear sub-buckets,
+ * as HdrHistogram does: latencies are recorded in microseconds, with a relative
+ * error below 1/16 (6.25%), up to about 38 hours.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 36;
+  private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+  static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final StripedCounter count = new StripedCounter();
+  private final StripedCounter sum = new StripedCounter();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param nanos - Latency to record, in nanoseconds
+   */
+  public void record(final long nanos) {
+    long micros = Math.min(Math.max(0, nanos / 1000), MAX_VALUE);
+    long current;
+
+    this.counts.incrementAndGet(index(micros));
+    this.count.increment();
+    this.sum.add(micros);
+
+    while (micros > (current = this.max.get())) {
+      if (this.max.compareAndSet(current, micros)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * @return copy of the histogram, consistent enough for reporting while latencies are still recorded
+   */
+  public HistogramSnapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = this.counts.get(i);
+    }
+
+    return new HistogramSnapshot(copy, this.count.sum(), this.sum.sum(), this.max.get());
+  }
+
+  /**
+   * @param micros - Latency, in microseconds
+   * @return index of the bucket counting it
+   */
+  static int index(final long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int shift = exponent - SUB_BUCKET_BITS;
+
+    return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (micros >> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * @param index - Bucket index
+   * @return highest latency counted by the bucket, in microseconds
+   */
+  static long highestValue(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+
+    int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    long subBucket = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
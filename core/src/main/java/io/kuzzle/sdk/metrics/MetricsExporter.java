@@ -0,0 +1,14 @@
+package io.kuzzle.sdk.metrics;
+
+/**
+ * Receives the metrics snapshots taken periodically by a MetricsRegistry,
+ * to forward them to a monitoring system
+ */
+public interface MetricsExporter {
+  /**
+   * Called on the exporting timer thread: must not block for long
+   *
+   * @param snapshot - Metrics at the time of the export
+   */
+  void export(MetricsSnapshot snapshot);
+}
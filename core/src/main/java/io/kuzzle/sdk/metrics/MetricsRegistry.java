@@ -0,0 +1,297 @@
+package io.kuzzle.sdk.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of a Kuzzle instance: counters, gauges, and response latencies per controller action.
+ *
+ * Updates are lock-free and cheap enough to stay enabled in production:
+ * counters are striped, latencies go to HDR-style histograms.
+ * Read them with snapshot(), or have them pushed periodically to a MetricsExporter.
+ *
+ * <pre>
+ *   kuzzle.getMetrics().startExporting(new MetricsExporter() {
+ *     public void export(MetricsSnapshot snapshot) {
+ *       log(snapshot.getCounter(MetricsRegistry.REQUESTS_SENT), snapshot.getLatency("document", "search").getPercentile(99));
+ *     }
+ *   }, 60000);
+ * </pre>
+ */
+public class MetricsRegistry {
+  /** Requests sent to Kuzzle, replayed ones included */
+  public static final String REQUESTS_SENT = "requests.sent";
+  /** Requests sent while offline, neither sent nor queued */
+  public static final String REQUESTS_DISCARDED = "requests.discarded";
+  /** Requests still waiting for their response when the connection was lost */
+  public static final String REQUESTS_ABANDONED = "requests.abandoned";
+  /** Responses matched to a pending request */
+  public static final String RESPONSES_RECEIVED = "responses.received";
+  /** Responses matched to a pending request, and holding an error */
+  public static final String RESPONSES_FAILED = "responses.failed";
+  /** Frames matching neither a pending request nor a subscription */
+  public static final String RESPONSES_UNMATCHED = "responses.unmatched";
+  /** Requests added to the offline queue */
+  public static final String QUEUE_PUSHED = "offlineQueue.pushed";
+  /** Requests replayed from the offline queue */
+  public static final String QUEUE_REPLAYED = "offlineQueue.replayed";
+  /** Requests removed from the offline queue without being sent: expired (queueTTL) or in excess (queueMaxSize) */
+  public static final String QUEUE_EXPIRED = "offlineQueue.expired";
+  /** Notifications delivered to subscriptions */
+  public static final String NOTIFICATIONS_DELIVERED = "notifications.delivered";
+  /** Connections lost */
+  public static final String DISCONNECTIONS = "connection.lost";
+  /** Reconnections after a connection loss */
+  public static final String RECONNECTIONS = "connection.reconnected";
+  /**
+   * Response and notification callbacks running longer than the stall threshold.
+   * Also counted per callback, as "callbacks.stalled.controller:action" or "callbacks.stalled.roomChannel"
+   */
+  public static final String CALLBACKS_STALLED = "callbacks.stalled";
+
+  /** Requests waiting for their response */
+  public static final String PENDING_REQUESTS = "requests.pending";
+  /** Requests in the offline queue */
+  public static final String QUEUE_DEPTH = "offlineQueue.depth";
+  /** Age of the oldest request in the offline queue, in milliseconds */
+  public static final String QUEUE_AGE = "offlineQueue.age";
+
+  private volatile boolean enabled = true;
+
+  private final ConcurrentHashMap<String, StripedCounter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, LatencyHistogram>> latencies = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+  private final StripedCounter sent;
+  private final StripedCounter received;
+  private final StripedCounter failed;
+
+  private Timer exportTimer;
+
+  private static class Pending {
+    final LatencyHistogram histogram;
+    final long start;
+
+    Pending(final LatencyHistogram histogram, final long start) {
+      this.histogram = histogram;
+      this.start = start;
+    }
+  }
+
+  public MetricsRegistry() {
+    for (String name : new String[] {REQUESTS_SENT, REQUESTS_DISCARDED, REQUESTS_ABANDONED, RESPONSES_RECEIVED, RESPONSES_FAILED, RESPONSES_UNMATCHED,
+      QUEUE_PUSHED, QUEUE_REPLAYED, QUEUE_EXPIRED, NOTIFICATIONS_DELIVERED, DISCONNECTIONS, RECONNECTIONS, CALLBACKS_STALLED}) {
+      this.counters.put(name, new StripedCounter());
+    }
+
+    this.sent = this.counters.get(REQUESTS_SENT);
+    this.received = this.counters.get(RESPONSES_RECEIVED);
+    this.failed = this.counters.get(RESPONSES_FAILED);
+  }
+
+  /**
+   * @return false if metrics are not recorded
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * @param enabled - false to stop recording metrics
+   * @return this
+   */
+  public MetricsRegistry setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+
+    if (!enabled) {
+      this.pending.clear();
+    }
+
+    return this;
+  }
+
+  /**
+   * Gets a counter, creating it if needed: applications can add their own counters
+   *
+   * @param name - Counter name
+   * @return counter
+   */
+  public StripedCounter counter(final String name) {
+    StripedCounter counter = this.counters.get(name);
+
+    if (counter == null) {
+      this.counters.putIfAbsent(name, new StripedCounter());
+      counter = this.counters.get(name);
+    }
+
+    return counter;
+  }
+
+  /**
+   * Increments a counter, if metrics are enabled
+   *
+   * @param name - Counter name
+   */
+  public void increment(final String name) {
+    if (this.enabled) {
+      this.counter(name).increment();
+    }
+  }
+
+  /**
+   * Registers a gauge, read at each snapshot
+   *
+   * @param name - Gauge name
+   * @param gauge - Gauge
+   * @return this
+   */
+  public MetricsRegistry gauge(final String name, final Gauge gauge) {
+    if (gauge == null) {
+      throw new IllegalArgumentException("MetricsRegistry.gauge: a gauge is required");
+    }
+
+    this.gauges.put(name, gauge);
+    return this;
+  }
+
+  /**
+   * Records a request sent, to measure its latency once its response is received
+   *
+   * @param requestId - Request unique identifier
+   * @param controller - Kuzzle API controller
+   * @param action - Controller action
+   */
+  public void requestSent(final String requestId, final String controller, final String action) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.sent.increment();
+    this.pending.put(requestId, new Pending(this.histogram(controller, action), System.nanoTime()));
+  }
+
+  /**
+   * Records the response to a request sent
+   *
+   * @param requestId - Request unique identifier
+   * @param error - true if the response holds an error
+   */
+  public void responseReceived(final String requestId, final boolean error) {
+    if (!this.enabled) {
+      return;
+    }
+
+    Pending request = this.pending.remove(requestId);
+
+    this.received.increment();
+    if (error) {
+      this.failed.increment();
+    }
+
+    if (request != null) {
+      request.histogram.record(System.nanoTime() - request.start);
+    }
+  }
+
+  /**
+   * Records the loss of the requests waiting for their response, when the connection is lost
+   */
+  public void requestsAbandoned() {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.counter(REQUESTS_ABANDONED).add(this.pending.size());
+    this.pending.clear();
+  }
+
+  /**
+   * @return current metrics values
+   */
+  public MetricsSnapshot snapshot() {
+    Map<String, Long> counterValues = new TreeMap<>();
+    Map<String, Long> gaugeValues = new TreeMap<>();
+    Map<String, HistogramSnapshot> latencyValues = new LinkedHashMap<>();
+
+    for (Map.Entry<String, StripedCounter> entry : this.counters.entrySet()) {
+      counterValues.put(entry.getKey(), entry.getValue().sum());
+    }
+
+    for (Map.Entry<String, Gauge> entry : this.gauges.entrySet()) {
+      gaugeValues.put(entry.getKey(), entry.getValue().value());
+    }
+
+    for (Map.Entry<String, ConcurrentHashMap<String, LatencyHistogram>> controller : new TreeMap<>(this.latencies).entrySet()) {
+      for (Map.Entry<String, LatencyHistogram> action : new TreeMap<>(controller.getValue()).entrySet()) {
+        latencyValues.put(controller.getKey() + ":" + action.getKey(), action.getValue().snapshot());
+      }
+    }
+
+    return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, latencyValues);
+  }
+
+  /**
+   * Exports a snapshot periodically, on a timer thread. Replaces any previous exporter.
+   *
+   * @param exporter - Exporter
+   * @param period - Time between two exports, in milliseconds
+   * @return this
+   */
+  public synchronized MetricsRegistry startExporting(final MetricsExporter exporter, final long period) {
+    if (exporter == null) {
+      throw new IllegalArgumentException("MetricsRegistry.startExporting: an exporter is required");
+    }
+
+    if (period <= 0) {
+      throw new IllegalArgumentException("MetricsRegistry.startExporting: period must be positive");
+    }
+
+    this.stopExporting();
+    this.exportTimer = new Timer("kuzzle-metrics", true);
+    this.exportTimer.schedule(new TimerTask() {
+      @Override
+      public void run() {
+        exporter.export(MetricsRegistry.this.snapshot());
+      }
+    }, period, period);
+
+    return this;
+  }
+
+  /**
+   * Stops the periodic exports
+   *
+   * @return this
+   */
+  public synchronized MetricsRegistry stopExporting() {
+    if (this.exportTimer != null) {
+      this.exportTimer.cancel();
+      this.exportTimer = null;
+    }
+
+    return this;
+  }
+
+  private LatencyHistogram histogram(final String controller, final String action) {
+    ConcurrentHashMap<String, LatencyHistogram> actions = this.latencies.get(controller);
+
+    if (actions == null) {
+      this.latencies.putIfAbsent(controller, new ConcurrentHashMap<String, LatencyHistogram>());
+      actions = this.latencies.get(controller);
+    }
+
+    LatencyHistogram histogram = actions.get(action);
+
+    if (histogram == null) {
+      actions.putIfAbsent(action, new LatencyHistogram());
+      histogram = actions.get(action);
+    }
+
+    return histogram;
+  }
+}
@@ -0,0 +1,89 @@
+package io.kuzzle.sdk.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Metrics of a Kuzzle instance at a point in time
+ */
+public class MetricsSnapshot {
+  private final long timestamp;
+  private final Map<String, Long> counters;
+  private final Map<String, Long> gauges;
+  private final Map<String, HistogramSnapshot> latencies;
+
+  MetricsSnapshot(final long timestamp, final Map<String, Long> counters, final Map<String, Long> gauges, final Map<String, HistogramSnapshot> latencies) {
+    this.timestamp = timestamp;
+    this.counters = Collections.unmodifiableMap(counters);
+    this.gauges = Collections.unmodifiableMap(gauges);
+    this.latencies = Collections.unmodifiableMap(latencies);
+  }
+
+  /**
+   * @return time of the snapshot, in milliseconds since the epoch
+   */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * @return counters values, by name (see the MetricsRegistry constants)
+   */
+  public Map<String, Long> getCounters() {
+    return this.counters;
+  }
+
+  /**
+   * @param name - Counter name
+   * @return counter value, 0 if unknown
+   */
+  public long getCounter(final String name) {
+    Long value = this.counters.get(name);
+    return value != null ? value : 0;
+  }
+
+  /**
+   * @return gauges values, by name
+   */
+  public Map<String, Long> getGauges() {
+    return this.gauges;
+  }
+
+  /**
+   * @param name - Gauge name
+   * @return gauge value, 0 if unknown
+   */
+  public long getGauge(final String name) {
+    Long value = this.gauges.get(name);
+    return value != null ? value : 0;
+  }
+
+  /**
+   * @return response latencies, by "controller:action"
+   */
+  public Map<String, HistogramSnapshot> getLatencies() {
+    return this.latencies;
+  }
+
+  /**
+   * @param controller - Kuzzle API controller
+   * @param action - Controller action
+   * @return response latencies of this action, or null if no response was received for it
+   */
+  public HistogramSnapshot getLatency(final String controller, final String action) {
+    return this.latencies.get(controller + ":" + action);
+  }
+
+  /**
+   * @param name - Counter name
+   * @param previous - Earlier snapshot
+   * @return counter increments per second since the earlier snapshot
+   */
+  public double getRate(final String name, final MetricsSnapshot previous) {
+    if (previous == null || this.timestamp <= previous.timestamp) {
+      return 0;
+    }
+
+    return (this.getCounter(name) - previous.getCounter(name)) * 1000.0 / (this.timestamp - previous.timestamp);
+  }
+}
@@ -0,0 +1,54 @@
+package io.kuzzle.sdk.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter spreading its increments over several cells, one per thread stripe,
+ * so that threads updating it concurrently do not contend on the same cache line.
+ * Reading it sums the cells: the sum is exact once the updates are over.
+ */
+public class StripedCounter {
+  // cells are this many longs apart, to land on separate cache lines
+  private static final int PADDING = 8;
+  private static final int STRIPES = stripes();
+
+  private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+  private static int stripes() {
+    int processors = Math.min(Runtime.getRuntime().availableProcessors(), 16);
+    int stripes = 1;
+
+    while (stripes < processors) {
+      stripes <<= 1;
+    }
+
+    return stripes;
+  }
+
+  /**
+   * Adds one to the counter
+   */
+  public void increment() {
+    this.add(1);
+  }
+
+  /**
+   * @param delta - Value to add to the counter
+   */
+  public void add(final long delta) {
+    this.cells.getAndAdd((int) (Thread.currentThread().getId() & (STRIPES - 1)) * PADDING, delta);
+  }
+
+  /**
+   * @return counter value
+   */
+  public long sum() {
+    long sum = 0;
+
+    for (int i = 0; i < this.cells.length(); i += PADDING) {
+      sum += this.cells.get(i);
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,153 @@
+package io.kuzzle.sdk.recording;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Reads back, in order, the frames recorded by a TrafficLogWriter
+ */
+public class TrafficLogReader implements Closeable {
+  private final DataInputStream in;
+  private final long startTime;
+  private long time = 0;
+
+  /**
+   * A recorded frame
+   */
+  public static class Entry {
+    private final boolean sent;
+    private final long time;
+    private final String frame;
+
+    Entry(final boolean sent, final long time, final String frame) {
+      this.sent = sent;
+      this.time = time;
+      this.frame = frame;
+    }
+
+    /**
+     * @return true for a frame sent by the SDK, false for a frame received from the server
+     */
+    public boolean isSent() {
+      return this.sent;
+    }
+
+    /**
+     * @return time the frame was recorded at, in microseconds since the recording started
+     */
+    public long getTime() {
+      return this.time;
+    }
+
+    /**
+     * @return the frame
+     */
+    public String getFrame() {
+      return this.frame;
+    }
+  }
+
+  /**
+   * @param file - Log file
+   * @throws IOException if the file is not a traffic log
+   */
+  public TrafficLogReader(final File file) throws IOException {
+    this(new FileInputStream(file));
+  }
+
+  /**
+   * @param input - Stream holding the log, closed with this reader
+   * @throws IOException if the stream is not a traffic log
+   */
+  public TrafficLogReader(final InputStream input) throws IOException {
+    if (input == null) {
+      throw new IllegalArgumentException("TrafficLogReader: an input stream is required");
+    }
+
+    try {
+      this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(input), 65536));
+
+      if (this.in.readInt() != TrafficLogWriter.MAGIC) {
+        throw new IOException("TrafficLogReader: not a traffic log");
+      }
+
+      int version = this.in.readUnsignedByte();
+
+      if (version != TrafficLogWriter.VERSION) {
+        throw new IOException("TrafficLogReader: unsupported traffic log version " + version);
+      }
+
+      this.startTime = this.in.readLong();
+    } catch (ZipException | EOFException e) {
+      input.close();
+      throw new IOException("TrafficLogReader: not a traffic log", e);
+    } catch (IOException e) {
+      input.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return time the recording started at, in milliseconds since the epoch
+   */
+  public long getStartTime() {
+    return this.startTime;
+  }
+
+  /**
+   * @return the next frame, or null at the end of the log
+   * @throws IOException if the log is truncated or corrupted
+   */
+  public Entry next() throws IOException {
+    int direction = this.in.read();
+
+    if (direction == -1) {
+      return null;
+    }
+
+    if (direction != TrafficLogWriter.SENT && direction != TrafficLogWriter.RECEIVED) {
+      throw new IOException("TrafficLogReader.next: corrupted traffic log");
+    }
+
+    this.time += readVarLong(this.in);
+
+    long length = readVarLong(this.in);
+
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("TrafficLogReader.next: corrupted traffic log");
+    }
+
+    byte[] frame = new byte[(int) length];
+    this.in.readFully(frame);
+
+    return new Entry(direction == TrafficLogWriter.SENT, this.time, new String(frame, TrafficLogWriter.UTF8));
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.in.close();
+  }
+
+  static long readVarLong(final DataInputStream in) throws IOException {
+    long value = 0;
+
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("TrafficLogReader: corrupted traffic log");
+  }
+}
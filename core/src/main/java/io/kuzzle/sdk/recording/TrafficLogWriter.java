@@ -0,0 +1,279 @@
+package io.kuzzle.sdk.recording;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the traffic of a Kuzzle instance to a compact log, read back by TrafficLogReader.
+ *
+ * <pre>
+ *   TrafficLogWriter recorder = new TrafficLogWriter(new File("session.ktl"));
+ *   kuzzle.setTrafficRecorder(recorder);
+ *   ...
+ *   kuzzle.setTrafficRecorder(null);
+ *   recorder.close();
+ * </pre>
+ *
+ * Frames are timestamped on the SDK thread, then encoded and written by a background thread:
+ * recording never blocks the SDK. Frames arriving while the backlog is full are dropped and counted.
+ *
+ * Frames are redacted before being written, unless disabled: JWTs, credentials and login bodies are removed.
+ *
+ * Format, gzipped: a header (magic "KZTL", version byte, start time in milliseconds since the epoch),
+ * then one record per frame: direction byte, time elapsed since the previous record in microseconds (varint),
+ * frame length (varint) and UTF-8 frame.
+ */
+public class TrafficLogWriter implements TrafficRecorder, Closeable {
+  static final int MAGIC = 0x4B5A544C;
+  static final int VERSION = 1;
+  static final int SENT = 1;
+  static final int RECEIVED = 2;
+  static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private static final Record END = new Record(0, 0, null);
+
+  private final DataOutputStream out;
+  private final BlockingQueue<Record> backlog;
+  private final Thread writer;
+  private final long start = System.nanoTime();
+  private final AtomicLong recorded = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  private volatile boolean redacted = true;
+  private volatile boolean closed = false;
+  private volatile IOException failure;
+  private long previous = 0;
+
+  private static class Record {
+    final int direction;
+    final long time;
+    final String frame;
+
+    Record(final int direction, final long time, final String frame) {
+      this.direction = direction;
+      this.time = time;
+      this.frame = frame;
+    }
+  }
+
+  /**
+   * @param file - Log file, overwritten
+   * @throws IOException
+   */
+  public TrafficLogWriter(final File file) throws IOException {
+    this(new FileOutputStream(file), 65536);
+  }
+
+  /**
+   * @param output - Stream receiving the log, closed with this writer
+   * @param backlog - Maximum number of frames waiting to be written
+   * @throws IOException
+   */
+  public TrafficLogWriter(final OutputStream output, final int backlog) throws IOException {
+    if (output == null) {
+      throw new IllegalArgumentException("TrafficLogWriter: an output stream is required");
+    }
+
+    if (backlog <= 0) {
+      throw new IllegalArgumentException("TrafficLogWriter: backlog must be positive");
+    }
+
+    this.backlog = new ArrayBlockingQueue<>(backlog);
+    this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(output), 65536));
+    this.out.writeInt(MAGIC);
+    this.out.writeByte(VERSION);
+    this.out.writeLong(System.currentTimeMillis());
+
+    this.writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        TrafficLogWriter.this.drain();
+      }
+    }, "kuzzle-traffic-recorder");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * @param redacted - false to record the frames as they are, JWTs and credentials included
+   * @return this
+   */
+  public TrafficLogWriter setRedacted(final boolean redacted) {
+    this.redacted = redacted;
+    return this;
+  }
+
+  /**
+   * @return number of frames written
+   */
+  public long getRecorded() {
+    return this.recorded.get();
+  }
+
+  /**
+   * @return number of frames dropped because the backlog was full
+   */
+  public long getDropped() {
+    return this.dropped.get();
+  }
+
+  @Override
+  public void sent(final String frame) {
+    this.offer(SENT, frame);
+  }
+
+  @Override
+  public void received(final String frame) {
+    this.offer(RECEIVED, frame);
+  }
+
+  /**
+   * Writes the frames still waiting, and closes the log.
+   * Frames recorded afterwards are ignored.
+   *
+   * @throws IOException if the log could not be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+
+    try {
+      this.backlog.put(END);
+      this.writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("TrafficLogWriter.close: interrupted while writing the backlog");
+    }
+
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  private void offer(final int direction, final String frame) {
+    if (this.closed || frame == null) {
+      return;
+    }
+
+    if (!this.backlog.offer(new Record(direction, System.nanoTime(), frame))) {
+      this.dropped.incrementAndGet();
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      Record record;
+
+      try {
+        record = this.backlog.take();
+      } catch (InterruptedException e) {
+        continue;
+      }
+
+      if (record == END) {
+        break;
+      }
+
+      if (this.failure != null) {
+        continue;
+      }
+
+      try {
+        this.write(record);
+        this.recorded.incrementAndGet();
+      } catch (IOException e) {
+        this.failure = e;
+      }
+    }
+
+    try {
+      this.out.close();
+    } catch (IOException e) {
+      if (this.failure == null) {
+        this.failure = e;
+      }
+    }
+  }
+
+  private void write(final Record record) throws IOException {
+    // frames are queued by several threads: their timestamps may be slightly out of order
+    long time = Math.max(this.previous, TimeUnit.NANOSECONDS.toMicros(record.time - this.start));
+    byte[] frame = (this.redacted ? redact(record.frame) : record.frame).getBytes(UTF8);
+
+    this.out.writeByte(record.direction);
+    writeVarLong(this.out, time - this.previous);
+    writeVarLong(this.out, frame.length);
+    this.out.write(frame);
+    this.previous = time;
+  }
+
+  /**
+   * Removes the secrets a frame may hold: JWTs, checked tokens, credentials, login and updateSelf bodies
+   *
+   * @param frame - Raw frame
+   * @return redacted frame, or the frame itself if it holds no secret or cannot be read
+   */
+  static String redact(final String frame) {
+    // "redentials" matches both "credentials" and the "*Credentials" actions
+    if (!frame.contains("jwt") && !frame.contains("\"auth\"") && !frame.contains("redentials") && !frame.contains("\"token\"")) {
+      return frame;
+    }
+
+    try {
+      JSONObject json = new JSONObject(frame);
+      JSONObject body = json.optJSONObject("body");
+      JSONObject result = json.optJSONObject("result");
+      String controller = json.optString("controller");
+      String action = json.optString("action");
+
+      json.remove("jwt");
+
+      if (result != null) {
+        result.remove("jwt");
+      }
+
+      if (json.has("body")) {
+        if (action.endsWith("Credentials") || (controller.equals("auth") && (action.equals("login") || action.equals("updateSelf")))) {
+          json.put("body", new JSONObject());
+        } else if (body != null) {
+          body.remove("credentials");
+
+          if (action.equals("checkToken")) {
+            body.remove("token");
+          }
+        }
+      }
+
+      return json.toString();
+    } catch (JSONException e) {
+      return frame;
+    }
+  }
+
+  static void writeVarLong(final DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+
+    out.writeByte((int) value);
+  }
+}
@@ -0,0 +1,19 @@
+package io.kuzzle.sdk.recording;
+
+/**
+ * Receives the frames a Kuzzle instance exchanges with the server, as they are sent and received.
+ *
+ * Invoked on the threads sending requests and on the socket thread:
+ * implementations must return quickly and must not throw.
+ */
+public interface TrafficRecorder {
+  /**
+   * @param frame - Request frame, as sent on the socket
+   */
+  void sent(String frame);
+
+  /**
+   * @param frame - Response or notification frame, as received from the socket
+   */
+  void received(String frame);
+}
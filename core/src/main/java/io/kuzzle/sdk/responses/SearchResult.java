@@ -11,6 +11,7 @@ import java.util.List;
 import io.kuzzle.sdk.core.Document;
 import io.kuzzle.sdk.core.Collection;
 import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.ResponseListener;
 
 public class SearchResult implements KuzzleList<Document> {
@@ -93,6 +94,17 @@ public class SearchResult implements KuzzleList<Document> {
     return filters;
   }
 
+  /**
+   * Iterates over the documents of this page and of the next ones, fetching the next pages
+   * following the fetchNext rules while the current one is consumed
+   *
+   * @param prefetch Maximum number of pages fetched ahead of the page being consumed
+   * @return a blocking iterator over all the fetchable documents
+   */
+  public SearchResultIterator iterate(int prefetch) {
+    return new SearchResultIterator(this, prefetch);
+  }
+
   /**
    * Fetches the next batch of documents
    * @param listener Response callback listener
@@ -162,7 +174,7 @@ public class SearchResult implements KuzzleList<Document> {
     // retrieve next results with  from/size if original search use it
     if (options.getFrom() != null && options.getSize() != null) {
       try {
-        filters = new JSONObject(this.filters.toString());
+        filters = Json.copy(this.filters);
       } catch (JSONException e) {
         throw new RuntimeException(e);
       }
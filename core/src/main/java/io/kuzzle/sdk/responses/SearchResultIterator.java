@@ -0,0 +1,203 @@
+package io.kuzzle.sdk.responses;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Iterates over the documents of a search result and of its next pages.
+ *
+ * Pages are fetched with SearchResult.fetchNext, with scroll, search_after or from/size,
+ * ahead of the documents being consumed: up to "prefetch" pages are fetched or waiting to be consumed.
+ * Each page is requested from the previous one's response, the way fetchNext does.
+ *
+ * Consumed pages are released: unlike pages fetched with fetchNext, they do not reference each other.
+ *
+ * hasNext and next block until the next page is fetched, and must not be called from a listener.
+ * A failed page request is thrown as a RuntimeException, caused by a KuzzleFuture.ResponseError.
+ */
+public class SearchResultIterator implements Iterator<Document>, Closeable {
+  private final int prefetch;
+  private final long total;
+  private final Queue<SearchResult> pages = new ArrayDeque<>();
+  private Iterator<Document> current;
+  // page the next one is fetched from, null once closed
+  private SearchResult last;
+  private boolean fetching = false;
+  private boolean exhausted = false;
+  private boolean closed = false;
+  private JSONObject error;
+
+  private final ResponseListener<SearchResult> listener = new ResponseListener<SearchResult>() {
+    @Override
+    public void onSuccess(SearchResult page) {
+      synchronized (SearchResultIterator.this) {
+        SearchResultIterator.this.fetching = false;
+
+        if (SearchResultIterator.this.closed) {
+          return;
+        }
+
+        // an empty page would be fetched again and again
+        if (page == null || page.getDocuments().isEmpty()) {
+          SearchResultIterator.this.exhausted = true;
+        } else {
+          page.getOptions().setPrevious(null);
+          SearchResultIterator.this.pages.add(page);
+          SearchResultIterator.this.last = page;
+        }
+
+        SearchResultIterator.this.notifyAll();
+      }
+
+      SearchResultIterator.this.prefetch();
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      synchronized (SearchResultIterator.this) {
+        SearchResultIterator.this.fetching = false;
+        SearchResultIterator.this.error = error;
+        SearchResultIterator.this.notifyAll();
+      }
+    }
+  };
+
+  /**
+   * @param first - First page
+   * @param prefetch - Maximum number of pages fetched ahead of the page being consumed
+   */
+  public SearchResultIterator(final SearchResult first, final int prefetch) {
+    if (first == null) {
+      throw new IllegalArgumentException("SearchResultIterator: first page required");
+    }
+
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("SearchResultIterator: prefetch must be strictly positive");
+    }
+
+    this.prefetch = prefetch;
+    this.total = first.getTotal();
+    this.current = first.getDocuments().iterator();
+    this.last = first;
+    this.exhausted = first.getDocuments().isEmpty();
+    this.prefetch();
+  }
+
+  /**
+   * @return Total number of fetchable documents
+   */
+  public long getTotal() {
+    return this.total;
+  }
+
+  /**
+   * @return number of fetched pages waiting to be consumed
+   */
+  public synchronized int getBuffered() {
+    return this.pages.size();
+  }
+
+  /**
+   * Blocks until the next page is fetched, if the current one is consumed
+   *
+   * @return true if there are documents left
+   */
+  @Override
+  public boolean hasNext() {
+    if (this.current.hasNext()) {
+      return true;
+    }
+
+    synchronized (this) {
+      SearchResult page;
+
+      while ((page = this.pages.poll()) == null) {
+        if (this.closed) {
+          return false;
+        }
+
+        if (this.error != null) {
+          throw new RuntimeException(new KuzzleFuture.ResponseError(this.error));
+        }
+
+        if (this.exhausted) {
+          return false;
+        }
+
+        try {
+          this.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        }
+      }
+
+      this.current = page.getDocuments().iterator();
+    }
+
+    this.prefetch();
+    return true;
+  }
+
+  @Override
+  public Document next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    return this.current.next();
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("SearchResultIterator.remove: documents cannot be removed");
+  }
+
+  /**
+   * Stops fetching pages, and releases the fetched ones.
+   * Threads blocked in hasNext or next return as if the iteration was over.
+   */
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+    this.pages.clear();
+    this.last = null;
+    this.notifyAll();
+  }
+
+  /**
+   * Fetches the next page, unless enough pages are already fetched or being fetched
+   */
+  private void prefetch() {
+    SearchResult from;
+
+    synchronized (this) {
+      if (this.fetching || this.exhausted || this.closed || this.error != null || this.pages.size() >= this.prefetch) {
+        return;
+      }
+
+      this.fetching = true;
+      from = this.last;
+    }
+
+    try {
+      from.fetchNext(this.listener);
+    } catch (RuntimeException e) {
+      try {
+        this.listener.onError(new JSONObject().put("message", String.valueOf(e.getMessage())));
+      } catch (JSONException je) {
+        throw new RuntimeException(je);
+      }
+    }
+  }
+}
@@ -0,0 +1,400 @@
+package io.kuzzle.sdk.responses;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+/**
+ * Reads a collection through several scroll cursors in parallel, each over one slice of the search results.
+ *
+ * Each slice is searched with a "slice" clause ({"id": i, "max": slices}) and then scrolled with
+ * SearchResult.fetchNext, one page at a time. The pages are consumed either by one merged iterator,
+ * or by one iterator per slice, each meant to run on its own thread.
+ *
+ * At most maxPages pages are requested or waiting to be consumed at any time, across all slices:
+ * a slice only requests its next page once enough fetched pages are consumed. Each slice keeps
+ * one page of that budget, so that slices consumed one after the other do not wait for each other.
+ *
+ * Iterators block until the next page is fetched, and must not be used from a listener.
+ * A failed page request is thrown as a RuntimeException, caused by a KuzzleFuture.ResponseError.
+ */
+public class SlicedScroll implements Closeable {
+  private final Collection collection;
+  private final JSONObject filters;
+  private final Options options;
+  private final int maxPages;
+  private final Slice[] slices;
+  // pages requested or waiting to be consumed
+  private int inFlight = 0;
+  // next slice the merged iterator takes a page from
+  private int cursor = 0;
+  private boolean merged = false;
+  private boolean partitioned = false;
+  private boolean closed = false;
+  private JSONObject error;
+
+  private class Slice implements ResponseListener<SearchResult> {
+    private final int id;
+    private final Queue<SearchResult> pages = new ArrayDeque<>();
+    // page the next one is fetched from, null until the first page is fetched
+    private SearchResult last;
+    // pages requested or waiting to be consumed
+    private int outstanding = 0;
+    private boolean fetching = false;
+    private boolean finished = false;
+    private boolean taken = false;
+    private long total = 0;
+
+    Slice(final int id) {
+      this.id = id;
+    }
+
+    private boolean idle() {
+      return !this.finished && this.outstanding == 0;
+    }
+
+    @Override
+    public void onSuccess(SearchResult page) {
+      synchronized (SlicedScroll.this) {
+        this.fetching = false;
+
+        if (SlicedScroll.this.closed) {
+          return;
+        }
+
+        // an empty page would be fetched again and again
+        if (page == null || page.getDocuments().isEmpty()) {
+          this.finished = true;
+          this.outstanding--;
+          SlicedScroll.this.inFlight--;
+        } else {
+          page.getOptions().setPrevious(null);
+          this.pages.add(page);
+          this.last = page;
+          this.total = page.getTotal();
+        }
+
+        SlicedScroll.this.notifyAll();
+      }
+
+      SlicedScroll.this.schedule();
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      synchronized (SlicedScroll.this) {
+        this.fetching = false;
+        SlicedScroll.this.error = error;
+        SlicedScroll.this.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Iterates over the pages of one slice, or of all of them
+   */
+  private class PageIterator implements Iterator<Document> {
+    private final Slice slice;
+    private Iterator<Document> current = Collections.<Document>emptyList().iterator();
+
+    PageIterator(final Slice slice) {
+      this.slice = slice;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (this.current.hasNext()) {
+        return true;
+      }
+
+      List<Document> documents = SlicedScroll.this.take(this.slice);
+
+      if (documents == null) {
+        return false;
+      }
+
+      this.current = documents.iterator();
+      return true;
+    }
+
+    @Override
+    public Document next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return this.current.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("SlicedScroll: documents cannot be removed");
+    }
+  }
+
+  /**
+   * Starts fetching the first page of each slice
+   *
+   * @param collection - Data collection to read
+   * @param filters - Search filters, without any "slice" clause
+   * @param slices - Number of slices read in parallel
+   * @param options - Search options: the scroll duration and the page size are required
+   * @param maxPages - Maximum number of pages requested or waiting to be consumed, at least one per slice
+   */
+  public SlicedScroll(final Collection collection, final JSONObject filters, final int slices, final Options options, final int maxPages) {
+    if (collection == null) {
+      throw new IllegalArgumentException("SlicedScroll: collection required");
+    }
+
+    if (slices < 1) {
+      throw new IllegalArgumentException("SlicedScroll: slices must be strictly positive");
+    }
+
+    if (maxPages < slices) {
+      throw new IllegalArgumentException("SlicedScroll: maxPages must be at least the number of slices");
+    }
+
+    if (options == null || options.getScroll() == null || options.getSize() == null) {
+      throw new IllegalArgumentException("SlicedScroll: a scroll duration and a page size are required");
+    }
+
+    try {
+      this.filters = filters != null ? Json.copy(filters) : new JSONObject();
+      this.options = new Options(options);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+
+    this.options.setFrom(null).setScrollId(null).setPrevious(null);
+    this.collection = collection;
+    this.maxPages = maxPages;
+    this.slices = new Slice[slices];
+
+    for (int i = 0; i < slices; i++) {
+      this.slices[i] = new Slice(i);
+    }
+
+    this.schedule();
+  }
+
+  /**
+   * @return number of slices
+   */
+  public int getSlices() {
+    return this.slices.length;
+  }
+
+  /**
+   * @return Total number of fetchable documents, known once the first page of each slice is fetched
+   */
+  public synchronized long getTotal() {
+    long total = 0;
+
+    for (Slice slice : this.slices) {
+      total += slice.total;
+    }
+
+    return total;
+  }
+
+  /**
+   * @return number of pages requested or waiting to be consumed
+   */
+  public synchronized int getInFlight() {
+    return this.inFlight;
+  }
+
+  /**
+   * Merges the documents of all slices, in no particular order.
+   * Cannot be combined with partition iterators.
+   *
+   * @return a blocking iterator over all the fetchable documents
+   */
+  public synchronized Iterator<Document> iterator() {
+    if (this.merged || this.partitioned) {
+      throw new IllegalStateException("SlicedScroll.iterator: documents are already being consumed");
+    }
+
+    this.merged = true;
+    return new PageIterator(null);
+  }
+
+  /**
+   * Documents of one slice, to be consumed concurrently with the other slices.
+   * Cannot be combined with the merged iterator.
+   *
+   * @param slice - Slice number, from 0 to getSlices() - 1
+   * @return a blocking iterator over the documents of that slice
+   */
+  public synchronized Iterator<Document> partition(final int slice) {
+    if (slice < 0 || slice >= this.slices.length) {
+      throw new IllegalArgumentException("SlicedScroll.partition: no slice " + slice);
+    }
+
+    if (this.merged || this.slices[slice].taken) {
+      throw new IllegalStateException("SlicedScroll.partition: slice " + slice + " is already being consumed");
+    }
+
+    this.partitioned = true;
+    this.slices[slice].taken = true;
+    return new PageIterator(this.slices[slice]);
+  }
+
+  /**
+   * Stops fetching pages, and releases the fetched ones.
+   * Threads blocked on an iterator return as if the iteration was over.
+   */
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+
+    for (Slice slice : this.slices) {
+      slice.pages.clear();
+      slice.last = null;
+    }
+
+    this.notifyAll();
+  }
+
+  /**
+   * Waits for the next page of a slice, or of any slice
+   *
+   * @param slice - Slice, or null for any of them
+   * @return documents of the page, or null once the slices are read
+   */
+  private List<Document> take(final Slice slice) {
+    SearchResult page = null;
+
+    synchronized (this) {
+      while (page == null) {
+        if (this.closed) {
+          return null;
+        }
+
+        if (this.error != null) {
+          throw new RuntimeException(new KuzzleFuture.ResponseError(this.error));
+        }
+
+        boolean finished = true;
+        int candidates = slice != null ? 1 : this.slices.length;
+
+        for (int i = 0; i < candidates && page == null; i++) {
+          Slice candidate = slice != null ? slice : this.slices[(this.cursor + i) % this.slices.length];
+
+          page = candidate.pages.poll();
+
+          if (page != null) {
+            candidate.outstanding--;
+            this.inFlight--;
+            this.cursor = (candidate.id + 1) % this.slices.length;
+          } else if (!candidate.finished) {
+            finished = false;
+          }
+        }
+
+        if (page == null) {
+          if (finished) {
+            return null;
+          }
+
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+          }
+        }
+      }
+    }
+
+    this.schedule();
+    return page.getDocuments();
+  }
+
+  /**
+   * Requests the next page of each slice allowed to, within the page budget
+   */
+  private void schedule() {
+    List<Slice> fetched = new ArrayList<>();
+
+    synchronized (this) {
+      if (this.closed || this.error != null) {
+        return;
+      }
+
+      int idle = 0;
+
+      for (Slice slice : this.slices) {
+        if (slice.idle()) {
+          idle++;
+        }
+      }
+
+      for (Slice slice : this.slices) {
+        if (slice.finished || slice.fetching) {
+          continue;
+        }
+
+        // a slice without any page uses the one kept for it, others leave those of idle slices
+        if (slice.idle() ? this.inFlight < this.maxPages : this.inFlight + idle < this.maxPages) {
+          if (slice.idle()) {
+            idle--;
+          }
+
+          slice.fetching = true;
+          slice.outstanding++;
+          this.inFlight++;
+          fetched.add(slice);
+        }
+      }
+    }
+
+    for (Slice slice : fetched) {
+      this.fetch(slice);
+    }
+  }
+
+  private void fetch(final Slice slice) {
+    SearchResult last;
+
+    synchronized (this) {
+      last = slice.last;
+    }
+
+    try {
+      if (last != null) {
+        last.fetchNext(slice);
+        return;
+      }
+
+      JSONObject filters = Json.copy(this.filters);
+
+      if (this.slices.length > 1) {
+        filters.put("slice", new JSONObject().put("id", slice.id).put("max", this.slices.length));
+      }
+
+      this.collection.search(filters, new Options(this.options), slice);
+    } catch (JSONException | RuntimeException e) {
+      try {
+        slice.onError(new JSONObject().put("message", String.valueOf(e.getMessage())));
+      } catch (JSONException je) {
+        throw new RuntimeException(je);
+      }
+    }
+  }
+}
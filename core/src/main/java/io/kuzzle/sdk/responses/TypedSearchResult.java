@@ -0,0 +1,252 @@
+package io.kuzzle.sdk.responses;
+
+import android.support.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.DocumentCodec;
+
+/**
+ * Search result page whose documents are decoded with a DocumentCodec
+ *
+ * @param <T> Decoded document type
+ */
+public class TypedSearchResult<T> implements KuzzleList<T> {
+  private Collection collection;
+  private DocumentCodec<T> codec;
+  private long total;
+  private List<T> documents;
+  private JSONObject aggregations;
+  private Options options;
+  private JSONObject filters;
+  private JSONObject lastHit;
+  private long fetchedDocument;
+
+  /**
+   * @param collection - Searched data collection
+   * @param codec - Codec used to decode documents
+   * @param total - Total number of fetchable documents
+   * @param documents - Decoded documents
+   * @param lastHit - Raw last hit of this page (_id, _source and sort), used to fetch the next one with search_after,
+   *                or null to encode the last document instead
+   * @param aggregations - Search aggregations
+   * @param options - Search request options
+   * @param filters - Search request filters
+   */
+  public TypedSearchResult(Collection collection, DocumentCodec<T> codec, long total, List<T> documents, JSONObject lastHit, JSONObject aggregations, Options options, @NonNull JSONObject filters) {
+    this.collection = collection;
+    this.codec = codec;
+    this.total = total;
+    this.documents = documents;
+    this.lastHit = lastHit;
+    this.aggregations = aggregations;
+    this.options = options;
+    this.filters = filters;
+    this.fetchedDocument = documents.size();
+  }
+
+  /**
+   * @return Decoded documents list
+   */
+  public List<T> getDocuments() {
+    return documents;
+  }
+
+  /**
+   * @return Total number of fetchable documents
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * @return Search request aggregations parameters
+   */
+  public JSONObject getAggregations() {
+    return aggregations;
+  }
+
+  /**
+   * @return Number of fetched documents so far
+   */
+  public long getFetchedDocument() {
+    return fetchedDocument;
+  }
+
+  /**
+   * @return Parent data collection
+   */
+  public Collection getCollection() {
+    return collection;
+  }
+
+  /**
+   * @return Search request options
+   */
+  public Options getOptions() {
+    return options;
+  }
+
+  /**
+   * @return Search request filters
+   */
+  public JSONObject getFilters() {
+    return filters;
+  }
+
+  /**
+   * Fetches the next batch of documents, following the same rules as SearchResult.fetchNext
+   *
+   * @param listener Response callback listener
+   */
+  public void fetchNext(final ResponseListener<TypedSearchResult<T>> listener) {
+    Options options;
+
+    try {
+      options = new Options(this.options);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+
+    // Pages do not reference each other: only the fetched documents count is carried over
+    ResponseListener<TypedSearchResult<T>> next = new ResponseListener<TypedSearchResult<T>>() {
+      @Override
+      public void onSuccess(TypedSearchResult<T> response) {
+        if (response != null) {
+          response.fetchedDocument += TypedSearchResult.this.fetchedDocument;
+        }
+
+        listener.onSuccess(response);
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        listener.onError(error);
+      }
+    };
+
+    // retrieve next results with scroll if original search use it
+    if (options.getScrollId() != null) {
+      if (this.fetchedDocument >= this.getTotal()) {
+        listener.onSuccess(null);
+
+        return;
+      }
+
+      options.setFrom(null);
+      options.setSize(null);
+
+      this.collection.scroll(options.getScrollId(), options, this.filters, this.codec, next);
+
+      return;
+    }
+
+    // retrieve next results using ES's search_after
+    if (options.getSize() != null && this.filters.has("sort")) {
+      if (this.fetchedDocument >= this.getTotal() || this.documents.isEmpty()) {
+        listener.onSuccess(null);
+
+        return;
+      }
+
+      options.setFrom(null);
+
+      try {
+        this.filters.put("search_after", this.searchAfter());
+      } catch (JSONException e) {
+        throw new RuntimeException(e);
+      }
+
+      this.collection.search(this.filters, options, this.codec, next);
+
+      return;
+    }
+
+    // retrieve next results with  from/size if original search use it
+    if (options.getFrom() != null && options.getSize() != null) {
+      JSONObject filters;
+
+      try {
+        filters = Json.copy(this.filters);
+      } catch (JSONException e) {
+        throw new RuntimeException(e);
+      }
+
+      options.setFrom(options.getFrom() + options.getSize());
+
+      if (options.getFrom() >= this.getTotal()) {
+        listener.onSuccess(null);
+
+        return;
+      }
+
+      this.collection.search(filters, options, this.codec, next);
+
+      return;
+    }
+
+    try {
+      listener.onError(new JSONObject().put("message", "Unable to retrieve next results from search: missing scrollId or from/size params"));
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Sort values of the last hit of this page: those returned by Kuzzle if any,
+   * otherwise read from the hit raw content, the last document being encoded if there is none
+   *
+   * @return search_after values fetching the next page
+   * @throws JSONException
+   */
+  private JSONArray searchAfter() throws JSONException {
+    if (this.lastHit != null && this.lastHit.has("sort")) {
+      return this.lastHit.getJSONArray("sort");
+    }
+
+    JSONObject source = this.lastHit != null ? this.lastHit.getJSONObject("_source") : this.codec.encode(this.documents.get(this.documents.size() - 1));
+    JSONArray sort = this.filters.getJSONArray("sort");
+    JSONArray searchAfter = new JSONArray();
+
+    for (int i = 0; i < sort.length(); i++) {
+      Object criteria = sort.get(i);
+      String field = criteria instanceof JSONObject ? ((JSONObject) criteria).keys().next() : criteria.toString();
+
+      if (field.equals("_id") && this.lastHit != null) {
+        searchAfter.put(this.lastHit.get("_id"));
+      } else {
+        searchAfter.put(fieldValue(source, field));
+      }
+    }
+
+    return searchAfter;
+  }
+
+  /**
+   * @param source - Document content
+   * @param field - Field name, nested fields being separated by dots
+   * @return the field value
+   * @throws JSONException
+   */
+  private static Object fieldValue(JSONObject source, String field) throws JSONException {
+    if (source.has(field)) {
+      return source.get(field);
+    }
+
+    int dot = field.indexOf('.');
+
+    if (dot > 0 && source.optJSONObject(field.substring(0, dot)) != null) {
+      return fieldValue(source.getJSONObject(field.substring(0, dot)), field.substring(dot + 1));
+    }
+
+    throw new JSONException("JSONObject[\"" + field + "\"] not found.");
+  }
+}
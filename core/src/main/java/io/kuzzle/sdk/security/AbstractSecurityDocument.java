@@ -7,6 +7,7 @@ import org.json.JSONObject;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 
@@ -46,7 +47,7 @@ public class AbstractSecurityDocument {
     }
 
     if (meta != null) {
-      this.meta = new JSONObject(meta.toString());
+      this.meta = Json.copy(meta);
     }
   }
 
@@ -62,7 +63,7 @@ public class AbstractSecurityDocument {
       throw new IllegalArgumentException("AbstractSecurityDocument.setContent: cannot set null content");
     }
 
-    this.content = new JSONObject(content.toString());
+    this.content = Json.copy(content);
 
     return this;
   }
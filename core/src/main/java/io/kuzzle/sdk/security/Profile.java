@@ -11,6 +11,7 @@ import java.util.Arrays;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 
@@ -35,7 +36,7 @@ public class Profile extends AbstractSecurityDocument {
     this.updateActionName = "updateProfile";
 
     if (content != null) {
-      this.content = new JSONObject(content.toString());
+      this.content = Json.copy(content);
 
       if (content.has("policies")) {
         JSONArray arr = content.getJSONArray("policies");
@@ -187,7 +188,7 @@ public class Profile extends AbstractSecurityDocument {
   public JSONObject serialize() throws JSONException {
     JSONObject
       data = new JSONObject(),
-      content = new JSONObject(this.content.toString());
+      content = Json.copy(this.content);
 
     if (this.policies.size() > 0) {
       content.put("policies", new JSONArray(this.policies));
@@ -8,6 +8,7 @@ import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
@@ -15,6 +16,7 @@ import io.kuzzle.sdk.enums.Policies;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 import io.kuzzle.sdk.responses.SecurityDocumentList;
+import io.kuzzle.sdk.util.KuzzleFuture;
 import io.kuzzle.sdk.util.Scroll;
 
 /**
@@ -96,6 +98,17 @@ public class Security {
     }
   }
 
+  /**
+   * Blocking version of {@link #fetchRole(String, Options, ResponseListener)}
+   *
+   * @return fetched role
+   */
+  public Role fetchRoleSync(@NonNull final String id, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Role> future = new KuzzleFuture<>();
+    this.fetchRole(id, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #fetchRole(String, Options, ResponseListener)}
    */
@@ -150,6 +163,17 @@ public class Security {
     });
   }
 
+  /**
+   * Blocking version of {@link #searchRoles(JSONObject, Options, ResponseListener)}
+   *
+   * @return matching roles
+   */
+  public SecurityDocumentList searchRolesSync(@NonNull final JSONObject filters, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<SecurityDocumentList> future = new KuzzleFuture<>();
+    this.searchRoles(filters, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #searchRoles(JSONObject, Options, ResponseListener)}
    */
@@ -435,6 +459,17 @@ public class Security {
     });
   }
 
+  /**
+   * Blocking version of {@link #fetchProfile(String, Options, ResponseListener)}
+   *
+   * @return fetched profile
+   */
+  public Profile fetchProfileSync(@NonNull final String id, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<Profile> future = new KuzzleFuture<>();
+    this.fetchProfile(id, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #fetchProfile(String, Options, ResponseListener)}
    */
@@ -494,6 +529,17 @@ public class Security {
     });
   }
 
+  /**
+   * Blocking version of {@link #searchProfiles(JSONObject, Options, ResponseListener)}
+   *
+   * @return matching profiles
+   */
+  public SecurityDocumentList searchProfilesSync(@NonNull final JSONObject filters, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<SecurityDocumentList> future = new KuzzleFuture<>();
+    this.searchProfiles(filters, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #searchProfiles(JSONObject, Options, ResponseListener)}
    */
@@ -831,6 +877,17 @@ public class Security {
     });
   }
 
+  /**
+   * Blocking version of {@link #fetchUser(String, Options, ResponseListener)}
+   *
+   * @return fetched user
+   */
+  public User fetchUserSync(@NonNull final String id, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<User> future = new KuzzleFuture<>();
+    this.fetchUser(id, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #fetchUser(String, Options, ResponseListener)}
    */
@@ -956,6 +1013,17 @@ public class Security {
     });
   }
 
+  /**
+   * Blocking version of {@link #searchUsers(JSONObject, Options, ResponseListener)}
+   *
+   * @return matching users
+   */
+  public SecurityDocumentList searchUsersSync(@NonNull final JSONObject filters, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<SecurityDocumentList> future = new KuzzleFuture<>();
+    this.searchUsers(filters, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #searchUsers(JSONObject, Options, ResponseListener)}
    */
@@ -1004,6 +1072,17 @@ public class Security {
     }
   }
 
+  /**
+   * Blocking version of {@link #createUser(String, JSONObject, Options, ResponseListener)}
+   *
+   * @return created user
+   */
+  public User createUserSync(@NonNull final String id, @NonNull final JSONObject content, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<User> future = new KuzzleFuture<>();
+    this.createUser(id, content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #createUser(String, JSONObject, Options, ResponseListener)}
    */
@@ -1134,6 +1213,17 @@ public class Security {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #deleteUser(String, Options, ResponseListener)}
+   *
+   * @return deleted user ID
+   */
+  public String deleteUserSync(@NonNull final String id, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    this.deleteUser(id, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #deleteUser(String, Options, ResponseListener)}
    */
@@ -1266,6 +1356,17 @@ public class Security {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #updateUser(String, JSONObject, Options, ResponseListener)}
+   *
+   * @return updated user
+   */
+  public User updateUserSync(@NonNull final String id, final JSONObject content, final Options options) throws JSONException, KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<User> future = new KuzzleFuture<>();
+    this.updateUser(id, content, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #updateUser(String, JSONObject, Options, ResponseListener)}
    */
@@ -1441,6 +1542,17 @@ public class Security {
     return this;
   }
 
+  /**
+   * Blocking version of {@link #getUserRights(String, Options, ResponseListener)}
+   *
+   * @return user rights
+   */
+  public JSONObject[] getUserRightsSync(@NonNull final String id, final Options options) throws KuzzleFuture.ResponseError, InterruptedException {
+    KuzzleFuture<JSONObject[]> future = new KuzzleFuture<>();
+    this.getUserRights(id, options, future);
+    return future.await(this.kuzzle.getSyncTimeout(), TimeUnit.MILLISECONDS);
+  }
+
   /**
    * {@link #createCredentials(String, String, JSONObject, Options, ResponseListener)}
    */
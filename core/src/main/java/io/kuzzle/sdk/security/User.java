@@ -8,12 +8,15 @@ import org.json.JSONObject;
 
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.List;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.json.Json;
 import io.kuzzle.sdk.security.Profile;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
 
 /**
  * This class handles users management in Kuzzle
@@ -38,7 +41,7 @@ public class User extends AbstractSecurityDocument {
     this.updateActionName = "updateUser";
 
     if (content != null) {
-      this.content = new JSONObject(content.toString());
+      this.content = Json.copy(content);
 
       if (content.has("profileIds")) {
         JSONArray profiles = content.getJSONArray("profileIds");
@@ -248,7 +251,7 @@ public class User extends AbstractSecurityDocument {
   public JSONObject serialize() throws JSONException {
     JSONObject
       data = new JSONObject().put("_id", this.id),
-      content = new JSONObject(this.content.toString());
+      content = Json.copy(this.content);
 
     if (this.profileIds.size() > 0) {
       content.put("profileIds", new JSONArray(this.profileIds));
@@ -269,8 +272,8 @@ public class User extends AbstractSecurityDocument {
     JSONObject
       data = new JSONObject().put("_id", this.id),
       body = new JSONObject(),
-      content = new JSONObject(this.content.toString()),
-      credentials = new JSONObject(this.credentials.toString());
+      content = Json.copy(this.content),
+      credentials = Json.copy(this.credentials);
 
     if (this.profileIds.size() > 0) {
       content.put("profileIds", new JSONArray(this.profileIds));
@@ -316,35 +319,27 @@ public class User extends AbstractSecurityDocument {
       return;
     }
 
-    // using an array to allow these variables to be final
-    // while keeping the possibility to change their value
-    final int[] fetched = {0};
-    final boolean[] errored = {false};
+    // profiles are fetched in parallel: responses may arrive in any order,
+    // and on different threads
+    List<KuzzleFuture<Profile>> fetches = new ArrayList<>(this.profileIds.size());
 
-    for (int i = 0; i < this.profileIds.size(); i++) {
-      this.kuzzleSecurity.fetchProfile(this.profileIds.get(i), options, new ResponseListener<Profile>() {
-        @Override
-        public void onSuccess(Profile response) {
-          profiles[fetched[0]] = response;
-          fetched[0]++;
-
-          if (fetched[0] == User.this.profileIds.size()) {
-            listener.onSuccess(profiles);
-          }
-        }
+    for (String profileId : this.profileIds) {
+      KuzzleFuture<Profile> fetch = new KuzzleFuture<>();
+      fetches.add(fetch);
+      this.kuzzleSecurity.fetchProfile(profileId, options, fetch);
+    }
 
-        @Override
-        public void onError(JSONObject error) {
-          // prevents triggering the listener multiple times
-          if (errored[0]) {
-            return;
-          }
+    KuzzleFuture.<Profile>allOf(fetches).then(new ResponseListener<List<Profile>>() {
+      @Override
+      public void onSuccess(List<Profile> response) {
+        listener.onSuccess(response.toArray(profiles));
+      }
 
-          errored[0] = true;
-          listener.onError(error);
-        }
-      });
-    }
+      @Override
+      public void onError(JSONObject error) {
+        listener.onError(error);
+      }
+    });
   }
 
   /**
@@ -0,0 +1,177 @@
+package io.kuzzle.sdk.state;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Connection state of a Kuzzle instance, shared between the socket callbacks and the caller threads.
+ *
+ * The state only changes through the legal transitions below, applied atomically.
+ * Each transition is notified exactly once to the transition listeners, on the thread which applied it.
+ * Transitions applied concurrently may be notified in any order.
+ *
+ * <pre>
+ *   INITIALIZING -&gt; READY
+ *   any state    -&gt; CONNECTING, DISCONNECTED
+ *   CONNECTING, OFFLINE, ERROR, LOGGED_OUT -&gt; CONNECTED
+ *   CONNECTING, CONNECTED, ERROR, LOGGED_OUT -&gt; OFFLINE
+ *   CONNECTING, CONNECTED, OFFLINE, LOGGED_OUT -&gt; ERROR
+ *   CONNECTED -&gt; LOGGED_OUT
+ * </pre>
+ */
+public class ConnectionState {
+  private static final Map<States, EnumSet<States>> TRANSITIONS = new EnumMap<>(States.class);
+
+  static {
+    for (States state : States.values()) {
+      TRANSITIONS.put(state, EnumSet.of(States.CONNECTING, States.DISCONNECTED));
+    }
+
+    TRANSITIONS.get(States.INITIALIZING).add(States.READY);
+    TRANSITIONS.get(States.CONNECTING).addAll(EnumSet.of(States.CONNECTED, States.OFFLINE, States.ERROR));
+    TRANSITIONS.get(States.CONNECTED).addAll(EnumSet.of(States.OFFLINE, States.ERROR, States.LOGGED_OUT));
+    TRANSITIONS.get(States.OFFLINE).addAll(EnumSet.of(States.CONNECTED, States.ERROR));
+    TRANSITIONS.get(States.ERROR).addAll(EnumSet.of(States.CONNECTED, States.OFFLINE));
+    TRANSITIONS.get(States.LOGGED_OUT).addAll(EnumSet.of(States.CONNECTED, States.OFFLINE, States.ERROR));
+  }
+
+  private final AtomicReference<States> state;
+  private final List<TransitionListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Notified of the state transitions
+   */
+  public interface TransitionListener {
+    /**
+     * @param from - Previous state
+     * @param to - New state
+     */
+    void onTransition(States from, States to);
+  }
+
+  /**
+   * @param initial - Initial state
+   */
+  public ConnectionState(final States initial) {
+    if (initial == null) {
+      throw new IllegalArgumentException("ConnectionState: an initial state is required");
+    }
+
+    this.state = new AtomicReference<>(initial);
+  }
+
+  /**
+   * @param from - Current state
+   * @param to - New state
+   * @return true if the state machine allows moving from one state to the other
+   */
+  public static boolean isLegal(final States from, final States to) {
+    return from != to && TRANSITIONS.get(from).contains(to);
+  }
+
+  /**
+   * @return current state
+   */
+  public States get() {
+    return this.state.get();
+  }
+
+  /**
+   * Moves to a new state, only if the current one is the expected one and the transition is legal
+   *
+   * @param expected - Expected current state
+   * @param update - New state
+   * @return true if the transition was applied
+   */
+  public boolean compareAndSet(final States expected, final States update) {
+    if (!isLegal(expected, update) || !this.state.compareAndSet(expected, update)) {
+      return false;
+    }
+
+    this.fire(expected, update);
+    return true;
+  }
+
+  /**
+   * Moves to a new state from the current one, if the transition is legal.
+   * Moving to the current state is a no-op, which is not notified.
+   *
+   * @param update - New state
+   * @return previous state, or null if the transition from the current state is illegal
+   */
+  public States transition(final States update) {
+    while (true) {
+      States current = this.state.get();
+
+      if (current == update) {
+        return current;
+      }
+
+      if (!isLegal(current, update)) {
+        return null;
+      }
+
+      if (this.state.compareAndSet(current, update)) {
+        this.fire(current, update);
+        return current;
+      }
+    }
+  }
+
+  /**
+   * Forces the state, whatever the current one: for restorations and tests only
+   *
+   * @param update - New state
+   * @return previous state
+   */
+  public States reset(final States update) {
+    if (update == null) {
+      throw new IllegalArgumentException("ConnectionState.reset: a state is required");
+    }
+
+    States previous = this.state.getAndSet(update);
+
+    if (previous != update) {
+      this.fire(previous, update);
+    }
+
+    return previous;
+  }
+
+  /**
+   * @param listener - Transition listener
+   * @return this
+   */
+  public ConnectionState addListener(final TransitionListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("ConnectionState.addListener: a listener is required");
+    }
+
+    this.listeners.add(listener);
+    return this;
+  }
+
+  /**
+   * @param listener - Transition listener
+   * @return this
+   */
+  public ConnectionState removeListener(final TransitionListener listener) {
+    this.listeners.remove(listener);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return this.state.get().toString();
+  }
+
+  private void fire(final States from, final States to) {
+    for (TransitionListener listener : this.listeners) {
+      listener.onTransition(from, to);
+    }
+  }
+}
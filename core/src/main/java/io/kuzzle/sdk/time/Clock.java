@@ -0,0 +1,36 @@
+package io.kuzzle.sdk.time;
+
+/**
+ * Source of time and delayed tasks of the SDK timing logic:
+ * event throttling, subscription renewal debounce, offline queue TTL, request history expiry and queue replay.
+ *
+ * SystemClock follows the wall clock. ManualClock only moves when told to,
+ * so that tests can simulate hours of queuing and replay in a few milliseconds.
+ */
+public interface Clock {
+  /**
+   * @return current time, in milliseconds since the epoch
+   */
+  long now();
+
+  /**
+   * Runs a task once, after a delay
+   *
+   * @param task - Task to run
+   * @param delay - Delay, in milliseconds
+   * @return handle to cancel the task
+   */
+  Scheduled schedule(Runnable task, long delay);
+
+  /**
+   * A task waiting for its time to come
+   */
+  interface Scheduled {
+    /**
+     * Prevents the task from running, if it did not run yet
+     *
+     * @return false if the task already ran or was cancelled
+     */
+    boolean cancel();
+  }
+}
@@ -0,0 +1,143 @@
+package io.kuzzle.sdk.time;
+
+import java.util.PriorityQueue;
+
+/**
+ * Clock which only moves when told to, for tests.
+ *
+ * Delayed tasks run on the thread calling advance(), in the order they fall due,
+ * with the clock set to their due time: tasks scheduled by a running task run during the same advance()
+ * if they fall due before its end. Hours of queue expiry or replay take milliseconds to simulate.
+ *
+ * <pre>
+ *   ManualClock clock = new ManualClock();
+ *   options.setClock(clock);
+ *   ...
+ *   clock.advance(TimeUnit.HOURS.toMillis(2));
+ * </pre>
+ */
+public class ManualClock implements Clock {
+  private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+  private long now;
+  private long sequence;
+
+  private class Task implements Scheduled, Comparable<Task> {
+    final long due;
+    final long order;
+    final Runnable runnable;
+    boolean done;
+
+    Task(final long due, final long order, final Runnable runnable) {
+      this.due = due;
+      this.order = order;
+      this.runnable = runnable;
+    }
+
+    @Override
+    public boolean cancel() {
+      synchronized (ManualClock.this) {
+        if (this.done) {
+          return false;
+        }
+
+        this.done = true;
+        ManualClock.this.tasks.remove(this);
+        return true;
+      }
+    }
+
+    @Override
+    public int compareTo(final Task other) {
+      if (this.due != other.due) {
+        return this.due < other.due ? -1 : 1;
+      }
+
+      return this.order < other.order ? -1 : (this.order == other.order ? 0 : 1);
+    }
+  }
+
+  /**
+   * Starts at the current wall clock time, so that dates computed from it stay plausible
+   */
+  public ManualClock() {
+    this(System.currentTimeMillis());
+  }
+
+  /**
+   * @param start - Initial time, in milliseconds since the epoch
+   */
+  public ManualClock(final long start) {
+    this.now = start;
+  }
+
+  @Override
+  public synchronized long now() {
+    return this.now;
+  }
+
+  @Override
+  public synchronized Scheduled schedule(final Runnable task, final long delay) {
+    if (task == null) {
+      throw new IllegalArgumentException("ManualClock.schedule: a task is required");
+    }
+
+    Task scheduled = new Task(this.now + Math.max(0, delay), this.sequence++, task);
+    this.tasks.add(scheduled);
+    return scheduled;
+  }
+
+  /**
+   * Moves the time forward, running the tasks falling due meanwhile
+   *
+   * @param duration - Time to move forward, in milliseconds
+   * @return number of tasks run
+   */
+  public int advance(final long duration) {
+    if (duration < 0) {
+      throw new IllegalArgumentException("ManualClock.advance: the time cannot move backward");
+    }
+
+    long target;
+    int run = 0;
+
+    synchronized (this) {
+      target = this.now + duration;
+    }
+
+    while (true) {
+      Task next;
+
+      synchronized (this) {
+        next = this.tasks.peek();
+
+        if (next == null || next.due > target) {
+          this.now = Math.max(this.now, target);
+          return run;
+        }
+
+        this.tasks.poll();
+        next.done = true;
+        this.now = Math.max(this.now, next.due);
+      }
+
+      next.runnable.run();
+      run++;
+    }
+  }
+
+  /**
+   * Runs the tasks already due, without moving the time
+   *
+   * @return number of tasks run
+   */
+  public int runDue() {
+    return this.advance(0);
+  }
+
+  /**
+   * @return number of tasks waiting to fall due
+   */
+  public synchronized int getPending() {
+    return this.tasks.size();
+  }
+}
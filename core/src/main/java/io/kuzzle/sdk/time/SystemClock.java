@@ -0,0 +1,57 @@
+package io.kuzzle.sdk.time;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Wall clock. Delayed tasks of all the Kuzzle instances run on a single shared daemon thread:
+ * they must be short, and hand any long work over to another thread.
+ */
+public class SystemClock implements Clock {
+  /** Shared instance, used by default */
+  public static final SystemClock INSTANCE = new SystemClock();
+
+  private static Timer timer;
+
+  @Override
+  public long now() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public Scheduled schedule(final Runnable task, final long delay) {
+    if (task == null) {
+      throw new IllegalArgumentException("SystemClock.schedule: a task is required");
+    }
+
+    final TimerTask timerTask = new TimerTask() {
+      @Override
+      public void run() {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          // a failing task must not kill the thread shared by all the tasks: report it as if it were uncaught
+          Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+      }
+    };
+
+    getTimer().schedule(timerTask, Math.max(0, delay));
+
+    return new Scheduled() {
+      @Override
+      public boolean cancel() {
+        return timerTask.cancel();
+      }
+    };
+  }
+
+  private static synchronized Timer getTimer() {
+    if (timer == null) {
+      timer = new Timer("kuzzle-scheduler", true);
+    }
+
+    return timer;
+  }
+}
@@ -0,0 +1,159 @@
+package io.kuzzle.sdk.tracing;
+
+/**
+ * Client side span of a Kuzzle request.
+ *
+ * Its timestamps are System.nanoTime() values, 0 for the steps the request did not reach:
+ * the request was handed to the SDK (queue), written to the socket (send),
+ * its response frame was received (first byte), and its listener returned (callback).
+ */
+public class Span {
+  public enum Status {
+    /** Successful response */
+    OK,
+    /** Error response */
+    ERROR,
+    /** Discarded, or flushed from the offline queue, without being sent */
+    DISCARDED,
+    /** Removed from the offline queue by its TTL or maximum size, without being sent */
+    EXPIRED,
+    /** Sent, but the connection was lost before its response */
+    ABANDONED
+  }
+
+  private final TraceContext context;
+  private final String parentSpanId;
+  private final String requestId;
+  private final String controller;
+  private final String action;
+  private final long timestamp;
+  private final long queueTime;
+
+  private volatile long sendTime;
+  private volatile long firstByteTime;
+  private volatile long callbackTime;
+  private volatile Status status;
+
+  Span(final TraceContext context, final String parentSpanId, final String requestId, final String controller, final String action) {
+    this.context = context;
+    this.parentSpanId = parentSpanId;
+    this.requestId = requestId;
+    this.controller = controller;
+    this.action = action;
+    this.timestamp = System.currentTimeMillis();
+    this.queueTime = System.nanoTime();
+  }
+
+  void sent() {
+    this.sendTime = System.nanoTime();
+  }
+
+  void received() {
+    if (this.firstByteTime == 0) {
+      this.firstByteTime = System.nanoTime();
+    }
+  }
+
+  void end(final Status status) {
+    this.callbackTime = status == Status.OK || status == Status.ERROR ? System.nanoTime() : 0;
+    this.status = status;
+  }
+
+  /**
+   * @return trace context propagated with the request
+   */
+  public TraceContext getContext() {
+    return this.context;
+  }
+
+  /**
+   * @return trace identifier
+   */
+  public String getTraceId() {
+    return this.context.getTraceId();
+  }
+
+  /**
+   * @return span identifier
+   */
+  public String getSpanId() {
+    return this.context.getSpanId();
+  }
+
+  /**
+   * @return identifier of the parent span, null for a trace root
+   */
+  public String getParentSpanId() {
+    return this.parentSpanId;
+  }
+
+  /**
+   * @return request unique identifier
+   */
+  public String getRequestId() {
+    return this.requestId;
+  }
+
+  /**
+   * @return Kuzzle API controller
+   */
+  public String getController() {
+    return this.controller;
+  }
+
+  /**
+   * @return controller action
+   */
+  public String getAction() {
+    return this.action;
+  }
+
+  /**
+   * @return span start, in milliseconds since the epoch
+   */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * @return time the request was handed to the SDK
+   */
+  public long getQueueTime() {
+    return this.queueTime;
+  }
+
+  /**
+   * @return time the request was last written to the socket
+   */
+  public long getSendTime() {
+    return this.sendTime;
+  }
+
+  /**
+   * @return time the response frame was received, before decoding
+   */
+  public long getFirstByteTime() {
+    return this.firstByteTime;
+  }
+
+  /**
+   * @return time the response listener returned
+   */
+  public long getCallbackTime() {
+    return this.callbackTime;
+  }
+
+  /**
+   * @return how the request ended, null while it is in flight
+   */
+  public Status getStatus() {
+    return this.status;
+  }
+
+  /**
+   * @return time from queue to callback, in nanoseconds, 0 if the listener was not invoked
+   */
+  public long getDuration() {
+    return this.callbackTime != 0 ? this.callbackTime - this.queueTime : 0;
+  }
+}
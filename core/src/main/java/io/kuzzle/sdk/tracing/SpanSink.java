@@ -0,0 +1,13 @@
+package io.kuzzle.sdk.tracing;
+
+/**
+ * Receives the client spans once they end.
+ * Spans end on the thread dispatching the response, usually the socket thread:
+ * implementations should hand them over rather than export them synchronously.
+ */
+public interface SpanSink {
+  /**
+   * @param span - Ended span
+   */
+  void export(Span span);
+}
@@ -0,0 +1,149 @@
+package io.kuzzle.sdk.tracing;
+
+import java.util.Random;
+
+/**
+ * W3C trace context (https://www.w3.org/TR/trace-context/) of a request:
+ * the trace it belongs to, its own span identifier, and whether it is sampled.
+ */
+public class TraceContext {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final String traceId;
+  private final String spanId;
+  private final boolean sampled;
+
+  /**
+   * @param traceId - Trace identifier, 32 lowercase hexadecimal characters
+   * @param spanId - Span identifier, 16 lowercase hexadecimal characters
+   * @param sampled - true if the trace is recorded
+   */
+  public TraceContext(final String traceId, final String spanId, final boolean sampled) {
+    if (!isHex(traceId, 32) || !isHex(spanId, 16)) {
+      throw new IllegalArgumentException("TraceContext: invalid trace or span identifier");
+    }
+
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.sampled = sampled;
+  }
+
+  /**
+   * Starts a new trace
+   *
+   * @param random - Identifiers source
+   * @return root context, sampled
+   */
+  public static TraceContext root(final Random random) {
+    String traceId;
+
+    do {
+      traceId = hex(random.nextLong()) + hex(random.nextLong());
+    } while (traceId.equals("00000000000000000000000000000000"));
+
+    return new TraceContext(traceId, spanId(random), true);
+  }
+
+  /**
+   * Parses a traceparent header
+   *
+   * @param traceparent - traceparent value, such as 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01
+   * @return parsed context, or null if the value is not a valid traceparent
+   */
+  public static TraceContext parse(final String traceparent) {
+    if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+      return null;
+    }
+
+    String version = traceparent.substring(0, 2);
+    String traceId = traceparent.substring(3, 35);
+    String spanId = traceparent.substring(36, 52);
+    String flags = traceparent.substring(53, 55);
+
+    // version ff is forbidden, and version 00 has no trailing fields
+    if (!isHex(version, 2) || version.equals("ff") || (version.equals("00") && traceparent.length() != 55)
+      || !isHex(traceId, 32) || !isHex(spanId, 16) || !isHex(flags, 2)
+      || traceId.equals("00000000000000000000000000000000") || spanId.equals("0000000000000000")) {
+      return null;
+    }
+
+    return new TraceContext(traceId, spanId, (Integer.parseInt(flags, 16) & 1) == 1);
+  }
+
+  /**
+   * @param random - Identifiers source
+   * @return context of a span child of this one, in the same trace
+   */
+  public TraceContext child(final Random random) {
+    return new TraceContext(this.traceId, spanId(random), this.sampled);
+  }
+
+  /**
+   * @return trace identifier
+   */
+  public String getTraceId() {
+    return this.traceId;
+  }
+
+  /**
+   * @return span identifier
+   */
+  public String getSpanId() {
+    return this.spanId;
+  }
+
+  /**
+   * @return true if the trace is recorded
+   */
+  public boolean isSampled() {
+    return this.sampled;
+  }
+
+  /**
+   * @return traceparent header value
+   */
+  public String toTraceparent() {
+    return "00-" + this.traceId + "-" + this.spanId + (this.sampled ? "-01" : "-00");
+  }
+
+  @Override
+  public String toString() {
+    return this.toTraceparent();
+  }
+
+  private static String spanId(final Random random) {
+    long id;
+
+    do {
+      id = random.nextLong();
+    } while (id == 0);
+
+    return hex(id);
+  }
+
+  private static String hex(final long value) {
+    char[] chars = new char[16];
+
+    for (int i = 15; i >= 0; i--) {
+      chars[i] = HEX[(int) (value >>> ((15 - i) * 4)) & 0xf];
+    }
+
+    return new String(chars);
+  }
+
+  private static boolean isHex(final String value, final int length) {
+    if (value == null || value.length() != length) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,151 @@
+package io.kuzzle.sdk.tracing;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates the W3C trace context of Kuzzle requests, and records their client spans.
+ *
+ * A request is traced if it is sampled, or if the application set a sampled traceparent
+ * in its volatile data, in which case its span continues that trace.
+ * With a sample rate of 0 and no traceparent set, requests are neither traced nor modified.
+ */
+public class Tracer {
+  private final Random random = new Random();
+  private final ConcurrentHashMap<String, Span> spans = new ConcurrentHashMap<>();
+
+  private volatile double sampleRate;
+  private volatile SpanSink sink;
+
+  /**
+   * @return share of the requests traced
+   */
+  public double getSampleRate() {
+    return this.sampleRate;
+  }
+
+  /**
+   * @param sampleRate - Share of the requests to trace, between 0 (none) and 1 (all)
+   * @return this
+   */
+  public Tracer setSampleRate(final double sampleRate) {
+    if (!(sampleRate >= 0 && sampleRate <= 1)) {
+      throw new IllegalArgumentException("Tracer.setSampleRate: the sample rate must be between 0 and 1");
+    }
+
+    this.sampleRate = sampleRate;
+    return this;
+  }
+
+  /**
+   * @return span sink, possibly null
+   */
+  public SpanSink getSink() {
+    return this.sink;
+  }
+
+  /**
+   * @param sink - Receives the spans once they end, null to drop them
+   * @return this
+   */
+  public Tracer setSink(final SpanSink sink) {
+    this.sink = sink;
+    return this;
+  }
+
+  /**
+   * Starts the span of a request, if it is traced
+   *
+   * @param requestId - Request unique identifier
+   * @param controller - Kuzzle API controller
+   * @param action - Controller action
+   * @param traceparent - traceparent set by the application, or null
+   * @return started span, to propagate its context, or null if the request is not traced
+   */
+  public Span start(final String requestId, final String controller, final String action, final String traceparent) {
+    TraceContext parent = traceparent != null ? TraceContext.parse(traceparent) : null;
+    TraceContext context;
+
+    if (parent != null) {
+      if (!parent.isSampled()) {
+        return null;
+      }
+
+      context = parent.child(this.random);
+    } else {
+      double rate = this.sampleRate;
+
+      if (rate <= 0 || (rate < 1 && this.random.nextDouble() >= rate)) {
+        return null;
+      }
+
+      context = TraceContext.root(this.random);
+    }
+
+    Span span = new Span(context, parent != null ? parent.getSpanId() : null, requestId, controller, action);
+    this.spans.put(requestId, span);
+
+    return span;
+  }
+
+  /**
+   * @return true if spans are in flight: until then, the other methods can be skipped
+   */
+  public boolean isTracing() {
+    return !this.spans.isEmpty();
+  }
+
+  /**
+   * @param requestId - Request written to the socket
+   */
+  public void sent(final String requestId) {
+    Span span = requestId != null ? this.spans.get(requestId) : null;
+
+    if (span != null) {
+      span.sent();
+    }
+  }
+
+  /**
+   * @param requestId - Request whose response frame was received
+   */
+  public void received(final String requestId) {
+    Span span = requestId != null ? this.spans.get(requestId) : null;
+
+    if (span != null) {
+      span.received();
+    }
+  }
+
+  /**
+   * Ends the span of a request and exports it
+   *
+   * @param requestId - Request unique identifier
+   * @param status - How the request ended
+   */
+  public void end(final String requestId, final Span.Status status) {
+    Span span = requestId != null ? this.spans.remove(requestId) : null;
+
+    if (span != null) {
+      span.end(status);
+
+      SpanSink sink = this.sink;
+      if (sink != null) {
+        sink.export(span);
+      }
+    }
+  }
+
+  /**
+   * Ends the spans of the requests sent and still waiting for their response, when the connection is lost.
+   * Requests still in the offline queue keep their span.
+   */
+  public void abandon() {
+    for (Map.Entry<String, Span> entry : this.spans.entrySet()) {
+      if (entry.getValue().getSendTime() != 0) {
+        this.end(entry.getKey(), Span.Status.ABANDONED);
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Converts stored documents content from and to a user type.
+ * Codecs are plain code, written by hand or generated, and must not rely on reflection.
+ *
+ * @param <T> Decoded document type
+ */
+public interface DocumentCodec<T> {
+  /**
+   * Decodes a document content
+   *
+   * @param id - Document unique identifier
+   * @param source - Document content, as returned by Kuzzle in the _source field
+   * @return decoded document
+   * @throws JSONException
+   */
+  T decode(String id, JSONObject source) throws JSONException;
+
+  /**
+   * Encodes a document into its Kuzzle content
+   *
+   * @param document - Document to encode
+   * @return document content
+   * @throws JSONException
+   */
+  JSONObject encode(T document) throws JSONException;
+}
@@ -0,0 +1,15 @@
+package io.kuzzle.sdk.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the String field of a KuzzleDocument class receiving the document unique identifier.
+ * That field is not part of the encoded document content.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface DocumentId {
+}
@@ -0,0 +1,81 @@
+package io.kuzzle.sdk.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.kuzzle.sdk.listeners.EventListener;
+
+/**
+ * Listeners registered on a global event.
+ *
+ * Copy-on-write: modifications replace the whole listeners map, so that
+ * events can be emitted from any thread without locking, while listeners
+ * are added or removed concurrently.
+ */
+public class EventList {
+  private volatile Map<EventListener, Event> listeners = Collections.emptyMap();
+
+  /**
+   * Registers a listener
+   *
+   * @param listener - Listener provided by the user
+   * @param event - Wrapped listener
+   * @return previously registered wrapped listener, if any
+   */
+  public synchronized Event put(final EventListener listener, final Event event) {
+    Map<EventListener, Event> copy = new HashMap<>(this.listeners);
+    Event previous = copy.put(listener, event);
+
+    this.listeners = Collections.unmodifiableMap(copy);
+    return previous;
+  }
+
+  /**
+   * Unregisters a listener
+   *
+   * @param listener - Listener provided by the user
+   * @return removed wrapped listener, if any
+   */
+  public synchronized Event remove(final EventListener listener) {
+    if (!this.listeners.containsKey(listener)) {
+      return null;
+    }
+
+    Map<EventListener, Event> copy = new HashMap<>(this.listeners);
+    Event previous = copy.remove(listener);
+
+    this.listeners = Collections.unmodifiableMap(copy);
+    return previous;
+  }
+
+  /**
+   * Unregisters all listeners
+   */
+  public synchronized void clear() {
+    this.listeners = Collections.emptyMap();
+  }
+
+  /**
+   * @param listener - Listener provided by the user
+   * @return wrapped listener, or null if not registered
+   */
+  public Event get(final EventListener listener) {
+    return this.listeners.get(listener);
+  }
+
+  /**
+   * @return number of registered listeners
+   */
+  public int size() {
+    return this.listeners.size();
+  }
+
+  /**
+   * @return snapshot of the registered listeners, unaffected by later modifications
+   */
+  public Collection<Event> values() {
+    return this.listeners.values();
+  }
+}
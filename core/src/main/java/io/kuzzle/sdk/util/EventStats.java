@@ -0,0 +1,155 @@
+package io.kuzzle.sdk.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Delivery statistics of a global event, along with the state
+ * needed to apply its delivery policy.
+ * All operations are lock-free.
+ */
+public class EventStats {
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private final AtomicLong emitted = new AtomicLong();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final AtomicLong lastDelivered = new AtomicLong();
+  private final AtomicReference<Object[]> pending = new AtomicReference<>();
+  // last event dropped in the current SUMMARIZE window, and number of events dropped in it
+  private final AtomicReference<Object[]> summarized = new AtomicReference<>();
+  private final AtomicLong summarizedCount = new AtomicLong();
+
+  /**
+   * @return number of times the event has been emitted
+   */
+  public long getEmitted() {
+    return this.emitted.get();
+  }
+
+  /**
+   * @return number of times the event has been delivered to its listeners
+   */
+  public long getDelivered() {
+    return this.delivered.get();
+  }
+
+  /**
+   * @return number of events merged into a later one by the COALESCE policy
+   */
+  public long getCoalesced() {
+    return this.coalesced.get();
+  }
+
+  /**
+   * @return number of events dropped by the SUMMARIZE policy.
+   * The last event of a window is not counted once it is delivered with its summary
+   */
+  public long getDropped() {
+    return this.dropped.get();
+  }
+
+  /**
+   * Counts an emitted event
+   */
+  public void emitted() {
+    this.emitted.incrementAndGet();
+  }
+
+  /**
+   * Counts a delivered event
+   */
+  public void delivered() {
+    this.delivered.incrementAndGet();
+  }
+
+  /**
+   * SUMMARIZE policy: opens a new window if the previous one is closed,
+   * or counts the event as dropped
+   *
+   * @param now - Current time, in milliseconds
+   * @param window - Window duration, in milliseconds
+   * @return true if the event must be delivered
+   */
+  public boolean openWindow(final long now, final long window) {
+    long last = this.lastDelivered.get();
+
+    if (last < now - window && this.lastDelivered.compareAndSet(last, now)) {
+      return true;
+    }
+
+    this.dropped.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * SUMMARIZE policy: keeps a dropped event as the last one of the window
+   *
+   * @param args - Payload of the dropped event
+   * @return true if it is the first event dropped in the window, meaning that the summary must be scheduled
+   */
+  public boolean summarize(final Object[] args) {
+    boolean first = this.summarizedCount.getAndIncrement() == 0;
+    this.summarized.set(args != null ? args : NO_ARGS);
+    return first;
+  }
+
+  /**
+   * SUMMARIZE policy: closes the window
+   *
+   * @return payload of the last dropped event followed by an EventSummary, or null if no event was dropped
+   */
+  public Object[] flushSummary() {
+    Object[] last = this.summarized.getAndSet(null);
+    long count = this.summarizedCount.getAndSet(0);
+
+    if (last == null || count == 0) {
+      return null;
+    }
+
+    // the last dropped event is delivered with the summary: it is counted as delivered only
+    this.dropped.decrementAndGet();
+
+    Object[] args = Arrays.copyOf(last, last.length + 1);
+    args[last.length] = new EventSummary(count);
+    return args;
+  }
+
+  /**
+   * @param window - Window duration, in milliseconds
+   * @return time at which the current SUMMARIZE window closes, in milliseconds
+   */
+  public long windowEnd(final long window) {
+    return this.lastDelivered.get() + window + 1;
+  }
+
+  /**
+   * COALESCE policy: stores the event as the one to deliver when the window closes,
+   * replacing any event already waiting
+   *
+   * @param args - Event payload
+   * @return true if no event was waiting, meaning that the delivery must be scheduled
+   */
+  public boolean coalesce(final Object[] args) {
+    Object[] previous = this.pending.getAndSet(args != null ? args : NO_ARGS);
+
+    if (previous != null) {
+      this.coalesced.incrementAndGet();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * COALESCE policy: closes the window
+   *
+   * @return payload of the event to deliver
+   */
+  public Object[] flush() {
+    return this.pending.getAndSet(null);
+  }
+}
@@ -0,0 +1,28 @@
+package io.kuzzle.sdk.util;
+
+/**
+ * Summary of the events dropped during a window by the SUMMARIZE policy.
+ * Delivered when the window closes, as the last argument following the payload of the last dropped event.
+ */
+public class EventSummary {
+  private final long count;
+
+  /**
+   * @param count - Number of events summarized: those dropped during the window, and the last one
+   */
+  public EventSummary(final long count) {
+    this.count = count;
+  }
+
+  /**
+   * @return number of events summarized: those dropped during the window, and the last one, delivered with this summary
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  @Override
+  public String toString() {
+    return "EventSummary{count=" + this.count + "}";
+  }
+}
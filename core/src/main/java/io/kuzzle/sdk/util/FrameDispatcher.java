@@ -0,0 +1,143 @@
+package io.kuzzle.sdk.util;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Moves the handling of large frames off the socket reader thread,
+ * while keeping frames sharing the same key in order: the room, so that
+ * notifications of a subscription and the response to a request are
+ * never overtaken by later ones.
+ *
+ * Offloaded frames open a chain for their key, drained by a worker thread.
+ * Any frame arriving for that key before the chain is drained, large or not,
+ * is appended to it. Other frames are handled inline.
+ *
+ * A frame without a key may belong to any room: it waits for all the chains
+ * opened before it, and every frame arriving until it is handled waits for it.
+ */
+public class FrameDispatcher {
+  private static final String NO_KEY = "";
+
+  private final Executor executor;
+  private final Map<String, LinkedList<Runnable>> chains = new HashMap<>();
+  // chains the frames without a key are waiting for
+  private int awaitedChains = 0;
+
+  /**
+   * @param executor - Executor draining the offloaded frames chains
+   */
+  public FrameDispatcher(final Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("FrameDispatcher: executor argument missing");
+    }
+
+    this.executor = executor;
+  }
+
+  /**
+   * @return true if no frame is waiting to be handled by a worker
+   */
+  public synchronized boolean isIdle() {
+    return this.chains.isEmpty();
+  }
+
+  /**
+   * Handles a frame, either inline or on a worker
+   *
+   * @param key - Ordering key (can be null)
+   * @param offload - true to handle the frame on a worker
+   * @param task - Frame handling
+   */
+  public void dispatch(final String key, final boolean offload, final Runnable task) {
+    final String chainKey = key != null ? key : NO_KEY;
+    final boolean queued;
+
+    synchronized (this) {
+      LinkedList<Runnable> chain = this.chains.get(NO_KEY);
+
+      if (chain == null) {
+        chain = this.chains.get(chainKey);
+      }
+
+      if (chain != null) {
+        chain.add(task);
+        return;
+      }
+
+      queued = offload || (key == null && !this.chains.isEmpty());
+
+      if (queued) {
+        chain = new LinkedList<>();
+        chain.add(task);
+        this.chains.put(chainKey, chain);
+
+        if (key == null) {
+          this.awaitedChains = this.chains.size() - 1;
+
+          if (this.awaitedChains > 0) {
+            // drained once the last of the chains opened before it is
+            return;
+          }
+        }
+      }
+    }
+
+    if (queued) {
+      this.drain(chainKey);
+    } else {
+      task.run();
+    }
+  }
+
+  private void drain(final String key) {
+    this.executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        while (true) {
+          Runnable next;
+
+          boolean released = false;
+
+          synchronized (FrameDispatcher.this) {
+            LinkedList<Runnable> chain = chains.get(key);
+            next = chain.peek();
+
+            if (next == null) {
+              chains.remove(key);
+              released = !key.equals(NO_KEY) && chains.containsKey(NO_KEY) && --awaitedChains == 0;
+            }
+          }
+
+          if (next == null) {
+            if (released) {
+              FrameDispatcher.this.drain(NO_KEY);
+            }
+
+            return;
+          }
+
+          RuntimeException failure = null;
+
+          try {
+            next.run();
+          } catch (RuntimeException e) {
+            failure = e;
+          }
+
+          synchronized (FrameDispatcher.this) {
+            chains.get(key).poll();
+          }
+
+          if (failure != null) {
+            // a new worker takes over the rest of the chain
+            FrameDispatcher.this.drain(key);
+            throw failure;
+          }
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,94 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+
+/**
+ * Runs a request through an ordered list of interceptors, then through a final
+ * interceptor performing the request.
+ */
+public class InterceptorChain implements RequestInterceptor.Chain {
+  private final RequestInterceptor[] interceptors;
+  private final RequestInterceptor terminal;
+  private final int index;
+  private final JSONObject request;
+  private final Options options;
+  private final OnQueryDoneListener listener;
+  private final AtomicBoolean proceeded = new AtomicBoolean(false);
+
+  /**
+   * @param interceptors - Interceptors, in invocation order
+   * @param terminal - Interceptor performing the request, invoked last
+   * @param request - Request to intercept
+   * @param options - Request options
+   * @param listener - Response listener
+   */
+  public InterceptorChain(final RequestInterceptor[] interceptors, final RequestInterceptor terminal, final JSONObject request, final Options options, final OnQueryDoneListener listener) {
+    this(interceptors, terminal, 0, request, options, listener);
+  }
+
+  private InterceptorChain(final RequestInterceptor[] interceptors, final RequestInterceptor terminal, final int index, final JSONObject request, final Options options, final OnQueryDoneListener listener) {
+    this.interceptors = interceptors;
+    this.terminal = terminal;
+    this.index = index;
+    this.request = request;
+    this.options = options;
+    this.listener = listener;
+  }
+
+  /**
+   * Runs the request through the whole chain
+   *
+   * @throws JSONException
+   */
+  public void start() throws JSONException {
+    this.proceed(this.request, this.listener);
+  }
+
+  @Override
+  public JSONObject getRequest() {
+    return this.request;
+  }
+
+  @Override
+  public Options getOptions() {
+    return this.options;
+  }
+
+  @Override
+  public OnQueryDoneListener getListener() {
+    return this.listener;
+  }
+
+  @Override
+  public void proceed(final JSONObject request, final OnQueryDoneListener listener) throws JSONException {
+    if (request == null) {
+      throw new IllegalArgumentException("InterceptorChain.proceed: a request is required");
+    }
+
+    if (this.index > this.interceptors.length) {
+      throw new IllegalStateException("InterceptorChain.proceed: the request has already been performed");
+    }
+
+    if (!this.proceeded.compareAndSet(false, true)) {
+      throw new IllegalStateException("InterceptorChain.proceed: the request has already been passed on");
+    }
+
+    this.next(request, listener);
+  }
+
+  private void next(final JSONObject request, final OnQueryDoneListener listener) throws JSONException {
+    InterceptorChain next = new InterceptorChain(this.interceptors, this.terminal, this.index + 1, request, this.options, listener);
+
+    if (this.index < this.interceptors.length) {
+      this.interceptors[this.index].intercept(next);
+    } else {
+      this.terminal.intercept(next);
+    }
+  }
+}
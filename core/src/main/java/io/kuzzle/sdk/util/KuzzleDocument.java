@@ -0,0 +1,20 @@
+package io.kuzzle.sdk.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which the sdk-codegen annotation processor generates a
+ * StreamingDocumentCodec, named after the class with a "Codec" suffix.
+ *
+ * The class needs a non-private constructor without arguments. Its non-static and
+ * non-transient fields are mapped to the document content fields of the same name:
+ * they cannot be private or final, and may be a String, a JSONObject, a JSONArray,
+ * a boolean, an int, a long, a float, a double, or their boxed types.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface KuzzleDocument {
+}
@@ -0,0 +1,477 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.kuzzle.sdk.listeners.ResponseListener;
+
+/**
+ * Future completed by a Kuzzle response.
+ *
+ * A KuzzleFuture is also a ResponseListener: it can be passed to any method of
+ * the SDK taking a listener, and then be waited for, chained, or combined
+ * with other futures.
+ *
+ * <pre>
+ *   KuzzleFuture&lt;Document&gt; doc = new KuzzleFuture&lt;&gt;();
+ *   collection.fetchDocument("id", doc);
+ *   doc.get();
+ * </pre>
+ *
+ * Combinators run on the threads completing the futures: they do not start
+ * any thread of their own, except for a single shared timer thread used by timeouts.
+ *
+ * @param <T> Response type
+ */
+public class KuzzleFuture<T> implements Future<T>, ResponseListener<T> {
+  // cancelled timeouts between two purges of the timer queue
+  private static final int PURGE_INTERVAL = 256;
+  private static final AtomicInteger cancelledTimeouts = new AtomicInteger();
+  private static Timer timeoutTimer;
+
+  private final CountDownLatch latch = new CountDownLatch(1);
+  private final List<ResponseListener<? super T>> callbacks = new ArrayList<>();
+  private boolean done = false;
+  private boolean cancelled = false;
+  private T value;
+  private JSONObject error;
+
+  /**
+   * Exception thrown by get() when the request failed
+   */
+  public static class ResponseError extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final JSONObject error;
+
+    /**
+     * @param error - Kuzzle API error content
+     */
+    public ResponseError(final JSONObject error) {
+      super(error != null ? error.optString("message", error.toString()) : null);
+      this.error = error;
+    }
+
+    /**
+     * @return Kuzzle API error content
+     */
+    public JSONObject getError() {
+      return this.error;
+    }
+  }
+
+  /**
+   * @param value - Response
+   * @return a future already completed with the provided response
+   */
+  public static <T> KuzzleFuture<T> completed(final T value) {
+    KuzzleFuture<T> future = new KuzzleFuture<>();
+    future.onSuccess(value);
+    return future;
+  }
+
+  /**
+   * @param error - Kuzzle API error content
+   * @return a future already failed with the provided error
+   */
+  public static <T> KuzzleFuture<T> failed(final JSONObject error) {
+    KuzzleFuture<T> future = new KuzzleFuture<>();
+    future.onError(error);
+    return future;
+  }
+
+  /**
+   * {@link #allOf(List)}
+   */
+  @SafeVarargs
+  public static <T> KuzzleFuture<List<T>> allOf(final KuzzleFuture<? extends T>... futures) {
+    // the array is only read here: handing it over to another method would void @SafeVarargs
+    List<KuzzleFuture<? extends T>> list = new ArrayList<>(futures.length);
+
+    for (KuzzleFuture<? extends T> future : futures) {
+      list.add(future);
+    }
+
+    return allOf(list);
+  }
+
+  /**
+   * Combines futures into one, completed with all of their responses,
+   * in the same order as the futures list.
+   * Fails as soon as one of the futures fails.
+   *
+   * @param futures - Futures to combine
+   * @return combined future
+   */
+  public static <T> KuzzleFuture<List<T>> allOf(final List<? extends KuzzleFuture<? extends T>> futures) {
+    final KuzzleFuture<List<T>> combined = new KuzzleFuture<>();
+    final int count = futures.size();
+    final AtomicReferenceArray<T> results = new AtomicReferenceArray<>(count);
+    final AtomicInteger remaining = new AtomicInteger(count);
+
+    if (count == 0) {
+      combined.onSuccess(new ArrayList<T>());
+      return combined;
+    }
+
+    for (int i = 0; i < count; i++) {
+      final int index = i;
+
+      futures.get(i).then(new ResponseListener<T>() {
+        @Override
+        public void onSuccess(T response) {
+          results.set(index, response);
+
+          if (remaining.decrementAndGet() == 0) {
+            List<T> list = new ArrayList<>(count);
+
+            for (int j = 0; j < count; j++) {
+              list.add(results.get(j));
+            }
+
+            combined.onSuccess(list);
+          }
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+          combined.onError(error);
+        }
+      });
+    }
+
+    return combined;
+  }
+
+  /**
+   * {@link #anyOf(List)}
+   */
+  @SafeVarargs
+  public static <T> KuzzleFuture<T> anyOf(final KuzzleFuture<? extends T>... futures) {
+    // the array is only read here: handing it over to another method would void @SafeVarargs
+    List<KuzzleFuture<? extends T>> list = new ArrayList<>(futures.length);
+
+    for (KuzzleFuture<? extends T> future : futures) {
+      list.add(future);
+    }
+
+    return anyOf(list);
+  }
+
+  /**
+   * Combines futures into one, completed with the first successful response.
+   * Fails with the last error if all of the futures fail.
+   *
+   * @param futures - Futures to combine
+   * @return combined future
+   */
+  public static <T> KuzzleFuture<T> anyOf(final List<? extends KuzzleFuture<? extends T>> futures) {
+    final KuzzleFuture<T> combined = new KuzzleFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+    if (futures.isEmpty()) {
+      combined.onError(errorContent("KuzzleFuture.anyOf: no future to wait for"));
+      return combined;
+    }
+
+    for (KuzzleFuture<? extends T> future : futures) {
+      future.then(new ResponseListener<T>() {
+        @Override
+        public void onSuccess(T response) {
+          combined.onSuccess(response);
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+          if (remaining.decrementAndGet() == 0) {
+            combined.onError(error);
+          }
+        }
+      });
+    }
+
+    return combined;
+  }
+
+  /**
+   * Returns a future failing if this one is not completed within the provided delay.
+   * The request itself is not aborted: its response, if any, is ignored.
+   *
+   * @param timeout - Maximum delay
+   * @param unit - Delay unit
+   * @return future completed with this one's outcome, or failed with a timeout error
+   */
+  public KuzzleFuture<T> withTimeout(final long timeout, final TimeUnit unit) {
+    final KuzzleFuture<T> bounded = new KuzzleFuture<>();
+
+    final TimerTask task = new TimerTask() {
+      @Override
+      public void run() {
+        bounded.onError(errorContent("Request timed out after " + unit.toMillis(timeout) + "ms"));
+      }
+    };
+
+    getTimeoutTimer().schedule(task, unit.toMillis(timeout));
+
+    this.then(new ResponseListener<T>() {
+      @Override
+      public void onSuccess(T response) {
+        cancelTimeout(task);
+        bounded.onSuccess(response);
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        cancelTimeout(task);
+        bounded.onError(error);
+      }
+    });
+
+    return bounded;
+  }
+
+  /**
+   * Registers a listener invoked once this future completes,
+   * or immediately if it is already completed.
+   * Not invoked if the future has been cancelled.
+   *
+   * @param listener - Response callback listener
+   * @return this
+   */
+  public KuzzleFuture<T> then(final ResponseListener<? super T> listener) {
+    synchronized (this) {
+      if (!this.done) {
+        this.callbacks.add(listener);
+        return this;
+      }
+    }
+
+    this.deliver(listener);
+    return this;
+  }
+
+  /**
+   * Completes this future with a response. Ignored if it is already completed.
+   *
+   * @param response Raw Kuzzle API response
+   */
+  @Override
+  public void onSuccess(final T response) {
+    this.complete(response, null, false);
+  }
+
+  /**
+   * Fails this future. Ignored if it is already completed.
+   *
+   * @param error Raw Kuzzle API error content
+   */
+  @Override
+  public void onError(final JSONObject error) {
+    this.complete(null, error != null ? error : errorContent("Unknown error"), false);
+  }
+
+  @Override
+  public boolean cancel(final boolean mayInterruptIfRunning) {
+    return this.complete(null, null, true);
+  }
+
+  @Override
+  public synchronized boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  @Override
+  public synchronized boolean isDone() {
+    return this.done;
+  }
+
+  @Override
+  public T get() throws InterruptedException, ExecutionException {
+    this.latch.await();
+    return this.result();
+  }
+
+  @Override
+  public T get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+    if (!this.latch.await(timeout, unit)) {
+      throw new TimeoutException();
+    }
+
+    return this.result();
+  }
+
+  /**
+   * Waits for the response, backing the blocking variants of the SDK methods.
+   * The caller is parked without holding any monitor:
+   * virtual threads waiting on it do not pin their carrier thread.
+   * Must not be called from a listener: the thread delivering the response would wait for itself.
+   *
+   * @return response
+   * @throws ResponseError if the request failed
+   * @throws InterruptedException if the calling thread was interrupted while waiting
+   */
+  public T await() throws ResponseError, InterruptedException {
+    this.latch.await();
+
+    try {
+      return this.result();
+    } catch (ExecutionException e) {
+      throw (ResponseError) e.getCause();
+    }
+  }
+
+  /**
+   * Waits for a response which cannot be null, such as a count unboxed by the caller.
+   * A request completed without any response is reported as failed.
+   *
+   * @return response
+   * @throws ResponseError if the request failed or was completed without a response
+   * @throws InterruptedException if the calling thread was interrupted while waiting
+   */
+  public T awaitValue() throws ResponseError, InterruptedException {
+    T response = this.await();
+
+    if (response == null) {
+      throw new ResponseError(errorContent("Request completed without a response"));
+    }
+
+    return response;
+  }
+
+  /**
+   * Waits for the response, at most for the provided delay.
+   * The request itself is not aborted on timeout: its response, if any, is ignored.
+   *
+   * @param timeout - Maximum delay, 0 to wait without bound
+   * @param unit - Delay unit
+   * @return response
+   * @throws ResponseError if the request failed, or did not complete within the delay
+   * @throws InterruptedException if the calling thread was interrupted while waiting
+   */
+  public T await(final long timeout, final TimeUnit unit) throws ResponseError, InterruptedException {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("KuzzleFuture.await: timeout must be positive or 0");
+    }
+
+    if (timeout > 0 && !this.latch.await(timeout, unit)) {
+      throw new ResponseError(errorContent("Request timed out after " + unit.toMillis(timeout) + "ms"));
+    }
+
+    return this.await();
+  }
+
+  /**
+   * {@link #awaitValue()}, waiting at most for the provided delay
+   *
+   * @param timeout - Maximum delay, 0 to wait without bound
+   * @param unit - Delay unit
+   * @return response
+   * @throws ResponseError if the request failed, did not complete within the delay, or was completed without a response
+   * @throws InterruptedException if the calling thread was interrupted while waiting
+   */
+  public T awaitValue(final long timeout, final TimeUnit unit) throws ResponseError, InterruptedException {
+    T response = this.await(timeout, unit);
+
+    if (response == null) {
+      throw new ResponseError(errorContent("Request completed without a response"));
+    }
+
+    return response;
+  }
+
+  private synchronized T result() throws ExecutionException {
+    if (this.cancelled) {
+      throw new CancellationException();
+    }
+
+    if (this.error != null) {
+      throw new ExecutionException(new ResponseError(this.error));
+    }
+
+    return this.value;
+  }
+
+  private boolean complete(final T response, final JSONObject failure, final boolean cancel) {
+    List<ResponseListener<? super T>> listeners;
+
+    synchronized (this) {
+      if (this.done) {
+        return false;
+      }
+
+      this.done = true;
+      this.cancelled = cancel;
+      this.value = response;
+      this.error = failure;
+      listeners = new ArrayList<>(this.callbacks);
+      this.callbacks.clear();
+    }
+
+    this.latch.countDown();
+
+    for (ResponseListener<? super T> listener : listeners) {
+      this.deliver(listener);
+    }
+
+    return true;
+  }
+
+  private void deliver(final ResponseListener<? super T> listener) {
+    T response;
+    JSONObject failure;
+
+    synchronized (this) {
+      if (this.cancelled) {
+        return;
+      }
+
+      response = this.value;
+      failure = this.error;
+    }
+
+    if (failure != null) {
+      listener.onError(failure);
+    } else {
+      listener.onSuccess(response);
+    }
+  }
+
+  /**
+   * Cancels a timeout. Cancelled tasks stay in the timer queue until their scheduled time:
+   * they are purged regularly, so that short requests with long timeouts do not pile up there.
+   */
+  private static void cancelTimeout(final TimerTask task) {
+    if (task.cancel() && cancelledTimeouts.incrementAndGet() % PURGE_INTERVAL == 0) {
+      getTimeoutTimer().purge();
+    }
+  }
+
+  private static synchronized Timer getTimeoutTimer() {
+    if (timeoutTimer == null) {
+      timeoutTimer = new Timer("kuzzle-future-timeouts", true);
+    }
+
+    return timeoutTimer;
+  }
+
+  private static JSONObject errorContent(final String message) {
+    try {
+      return new JSONObject().put("message", message);
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
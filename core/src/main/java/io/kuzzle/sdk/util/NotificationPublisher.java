@@ -0,0 +1,415 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONObject;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.enums.OverflowStrategy;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+
+/**
+ * Reactive Streams publisher of real-time notifications.
+ *
+ * A NotificationPublisher is a ResponseListener: it is handed to
+ * Collection.subscribe or Room.renew in place of a callback listener.
+ * Each subscriber gets its own buffer, and only receives as many
+ * notifications as it requested. Notifications arriving while a
+ * subscriber's buffer is full are handled according to the overflow strategy.
+ *
+ * This publisher is hot: subscribers only receive notifications
+ * arriving after their subscription.
+ *
+ * Once attached to its room, which Collection.subscribe does, the publisher
+ * unsubscribes from it when its last subscriber cancels, and when it completes or fails.
+ * It completes when the last subscriber cancels: later subscribers would not get any notification.
+ */
+public class NotificationPublisher implements Publisher<NotificationResponse>, ResponseListener<NotificationResponse> {
+  private final int capacity;
+  private final OverflowStrategy strategy;
+  private final List<NotificationSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong overflows = new AtomicLong();
+
+  private volatile boolean terminated = false;
+  private volatile Throwable terminalError;
+
+  // room publishing notifications, unsubscribed from once the publisher is released
+  private final AtomicReference<Room> room = new AtomicReference<>();
+  private volatile boolean released = false;
+
+  /**
+   * @param capacity - Maximum number of notifications buffered per subscriber
+   * @param strategy - What to do when a subscriber's buffer is full
+   */
+  public NotificationPublisher(final int capacity, final OverflowStrategy strategy) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("NotificationPublisher: capacity must be strictly positive");
+    }
+
+    if (strategy == null) {
+      throw new IllegalArgumentException("NotificationPublisher: overflow strategy argument missing");
+    }
+
+    this.capacity = capacity;
+    this.strategy = strategy;
+  }
+
+  @Override
+  public void subscribe(final Subscriber<? super NotificationResponse> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("NotificationPublisher.subscribe: subscriber argument missing");
+    }
+
+    NotificationSubscription subscription = new NotificationSubscription(subscriber);
+
+    subscriber.onSubscribe(subscription);
+    this.subscriptions.add(subscription);
+
+    if (this.terminated) {
+      subscription.finish(this.terminalError);
+    }
+  }
+
+  /**
+   * Buffers a notification for every subscriber
+   *
+   * @param response - Notification
+   */
+  @Override
+  public void onSuccess(final NotificationResponse response) {
+    if (this.terminated) {
+      return;
+    }
+
+    this.received.incrementAndGet();
+
+    for (NotificationSubscription subscription : this.subscriptions) {
+      subscription.offer(response);
+    }
+  }
+
+  /**
+   * Fails every subscription, once their buffered notifications are consumed
+   *
+   * @param error - Kuzzle API error content
+   */
+  @Override
+  public void onError(final JSONObject error) {
+    this.terminate(new KuzzleFuture.ResponseError(error));
+  }
+
+  /**
+   * Completes every subscription, once their buffered notifications are consumed.
+   * Notifications received afterwards are ignored.
+   */
+  public void complete() {
+    this.terminate(null);
+  }
+
+  /**
+   * Attaches the room publishing notifications, to unsubscribe from it once the publisher is not used anymore.
+   * The room is unsubscribed from right away if the last subscriber already cancelled.
+   *
+   * @param room - Subscribed room
+   */
+  public void attach(final Room room) {
+    if (room == null) {
+      throw new IllegalArgumentException("NotificationPublisher.attach: room argument missing");
+    }
+
+    this.room.set(room);
+
+    if (this.released) {
+      this.release();
+    }
+  }
+
+  /**
+   * @return number of active subscribers
+   */
+  public int getSubscriberCount() {
+    return this.subscriptions.size();
+  }
+
+  /**
+   * @return number of notifications received from Kuzzle
+   */
+  public long getReceived() {
+    return this.received.get();
+  }
+
+  /**
+   * @return number of notifications delivered, all subscribers included
+   */
+  public long getDelivered() {
+    return this.delivered.get();
+  }
+
+  /**
+   * @return number of notifications dropped because of a full buffer, all subscribers included
+   */
+  public long getDropped() {
+    return this.dropped.get();
+  }
+
+  /**
+   * @return number of buffered notifications replaced by a newer one about the same document (LATEST strategy)
+   */
+  public long getCoalesced() {
+    return this.coalesced.get();
+  }
+
+  /**
+   * @return number of subscriptions failed because of a full buffer (BUFFER strategy)
+   */
+  public long getOverflows() {
+    return this.overflows.get();
+  }
+
+  private void terminate(final Throwable error) {
+    if (this.terminated) {
+      return;
+    }
+
+    this.terminalError = error;
+    this.terminated = true;
+
+    for (NotificationSubscription subscription : this.subscriptions) {
+      subscription.finish(error);
+    }
+
+    this.release();
+  }
+
+  /**
+   * Unsubscribes from the attached room, and completes the publisher: no notification can arrive anymore
+   */
+  private void release() {
+    this.released = true;
+
+    Room attached = this.room.getAndSet(null);
+
+    if (attached != null) {
+      attached.unsubscribe();
+      this.terminate(null);
+    }
+  }
+
+  private static Object documentKey(final NotificationResponse response) {
+    Document document = response.getDocument();
+
+    if (document != null && document.getId() != null) {
+      return document.getId();
+    }
+
+    JSONObject result = response.getResult();
+
+    if (result != null && result.has("_id")) {
+      return result.optString("_id");
+    }
+
+    return null;
+  }
+
+  private class NotificationSubscription implements Subscription {
+    private final Subscriber<? super NotificationResponse> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // insertion-ordered: keys are document ids with the LATEST strategy,
+    // and unique objects otherwise
+    private final LinkedHashMap<Object, NotificationResponse> buffer = new LinkedHashMap<>();
+    private boolean done = false;
+    private Throwable error;
+    private boolean errorNow = false;
+    private volatile boolean cancelled = false;
+
+    NotificationSubscription(final Subscriber<? super NotificationResponse> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+      if (n <= 0) {
+        this.fail(new IllegalArgumentException("NotificationPublisher: requested amount must be strictly positive, got " + n));
+        return;
+      }
+
+      long current;
+      long next;
+
+      do {
+        current = this.requested.get();
+        next = current + n < 0 ? Long.MAX_VALUE : current + n;
+      } while (!this.requested.compareAndSet(current, next));
+
+      this.drain();
+    }
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+
+      synchronized (this) {
+        this.buffer.clear();
+      }
+
+      if (NotificationPublisher.this.subscriptions.remove(this) && NotificationPublisher.this.subscriptions.isEmpty()) {
+        NotificationPublisher.this.release();
+      }
+    }
+
+    void offer(final NotificationResponse response) {
+      synchronized (this) {
+        if (this.cancelled || this.done) {
+          return;
+        }
+
+        Object key = null;
+
+        if (NotificationPublisher.this.strategy == OverflowStrategy.LATEST) {
+          key = documentKey(response);
+
+          if (key != null && this.buffer.containsKey(key)) {
+            // replacing a value keeps its position in the buffer
+            this.buffer.put(key, response);
+            NotificationPublisher.this.coalesced.incrementAndGet();
+            return;
+          }
+        }
+
+        if (key == null) {
+          key = new Object();
+        }
+
+        if (this.buffer.size() >= NotificationPublisher.this.capacity) {
+          switch (NotificationPublisher.this.strategy) {
+            case BUFFER:
+              NotificationPublisher.this.overflows.incrementAndGet();
+              this.buffer.clear();
+              this.done = true;
+              this.errorNow = true;
+              this.error = new IllegalStateException("NotificationPublisher: buffer overflow (capacity: " + NotificationPublisher.this.capacity + ")");
+              break;
+            case DROP_NEWEST:
+              NotificationPublisher.this.dropped.incrementAndGet();
+              return;
+            default:
+              Iterator<Object> eldest = this.buffer.keySet().iterator();
+              eldest.next();
+              eldest.remove();
+              NotificationPublisher.this.dropped.incrementAndGet();
+              this.buffer.put(key, response);
+          }
+        } else {
+          this.buffer.put(key, response);
+        }
+      }
+
+      this.drain();
+    }
+
+    void finish(final Throwable failure) {
+      synchronized (this) {
+        if (this.done) {
+          return;
+        }
+
+        this.done = true;
+        this.error = failure;
+      }
+
+      this.drain();
+    }
+
+    private void fail(final Throwable failure) {
+      synchronized (this) {
+        this.buffer.clear();
+        this.done = true;
+        this.errorNow = true;
+        this.error = failure;
+      }
+
+      this.drain();
+    }
+
+    /*
+     Signals are emitted by a single thread at a time: whichever thread
+     enters drain first keeps emitting until no other thread asked for more work.
+     This also bounds the recursion when a subscriber requests from onNext.
+     */
+    private void drain() {
+      if (this.wip.getAndIncrement() != 0) {
+        return;
+      }
+
+      int missed = 1;
+
+      do {
+        long demand = this.requested.get();
+        long emitted = 0;
+
+        while (!this.cancelled) {
+          NotificationResponse next = null;
+          boolean finished;
+          Throwable failure;
+
+          synchronized (this) {
+            if (!this.errorNow && emitted != demand) {
+              Iterator<NotificationResponse> first = this.buffer.values().iterator();
+
+              if (first.hasNext()) {
+                next = first.next();
+                first.remove();
+              }
+            }
+
+            finished = this.done && (this.errorNow || this.buffer.isEmpty());
+            failure = this.error;
+          }
+
+          if (next != null) {
+            this.subscriber.onNext(next);
+            NotificationPublisher.this.delivered.incrementAndGet();
+            emitted++;
+            continue;
+          }
+
+          if (finished) {
+            this.cancel();
+
+            if (failure != null) {
+              this.subscriber.onError(failure);
+            } else {
+              this.subscriber.onComplete();
+            }
+          }
+
+          break;
+        }
+
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+          this.requested.addAndGet(-emitted);
+        }
+
+        missed = this.wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
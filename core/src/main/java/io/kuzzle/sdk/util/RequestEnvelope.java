@@ -0,0 +1,208 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+import io.kuzzle.sdk.json.Json;
+
+/**
+ * Precomputed request envelope.
+ *
+ * Global headers, global volatile data (including the SDK version) and the
+ * authentication token are identical for every request sent by a Kuzzle instance.
+ * This class serializes them once, and then only writes the variable fields of
+ * each request into a reusable buffer.
+ *
+ * The template is rebuilt lazily after a call to invalidate(), or when the
+ * headers or volatile objects are replaced.
+ */
+public class RequestEnvelope {
+  private final StringBuilder buffer = new StringBuilder(512);
+
+  private boolean stale = true;
+  private JSONObject headersSource;
+  private JSONObject volatileSource;
+  private String sdkVersion;
+
+  private String[] headerKeys = new String[0];
+  private String[] headerFragments = new String[0];
+  private JSONObject volatileTemplate = new JSONObject();
+  private String volatileFragment;
+
+  private String jwtSource;
+  private String jwtFragment;
+
+  /**
+   * Marks the template as outdated. It will be rebuilt on the next request.
+   * Must be called whenever global headers or global volatile data are modified.
+   */
+  public synchronized void invalidate() {
+    this.stale = true;
+  }
+
+  /**
+   * Builds the volatile data of a request carrying its own volatile content:
+   * global volatile data, overridden by the request ones, plus the SDK version
+   *
+   * @param headers - Global headers
+   * @param _volatile - Global volatile data
+   * @param sdkVersion - SDK version
+   * @param requestVolatile - Request volatile data
+   * @return merged volatile data
+   * @throws JSONException
+   */
+  public synchronized JSONObject mergeVolatile(final JSONObject headers, final JSONObject _volatile, final String sdkVersion, final JSONObject requestVolatile) throws JSONException {
+    this.refresh(headers, _volatile, sdkVersion);
+
+    JSONObject merged = new JSONObject();
+
+    for (Iterator<String> iterator = this.volatileTemplate.keys(); iterator.hasNext(); ) {
+      String key = iterator.next();
+      merged.put(key, this.volatileTemplate.get(key));
+    }
+
+    for (Iterator<String> iterator = requestVolatile.keys(); iterator.hasNext(); ) {
+      String key = iterator.next();
+      merged.put(key, requestVolatile.get(key));
+    }
+
+    merged.put("sdkVersion", sdkVersion);
+
+    return merged;
+  }
+
+  /**
+   * Serializes a request, adding the envelope parts it does not define itself:
+   *   - global volatile data, if the request has no "volatile" field
+   *   - global headers not already set in the request
+   *   - the authentication token, except for the auth:checkToken route
+   *
+   * @param request - Request variable fields
+   * @param headers - Global headers
+   * @param _volatile - Global volatile data
+   * @param sdkVersion - SDK version
+   * @param jwt - Authentication token (can be null)
+   * @return serialized request
+   * @throws JSONException
+   */
+  public synchronized String serialize(final JSONObject request, final JSONObject headers, final JSONObject _volatile, final String sdkVersion, final String jwt) throws JSONException {
+    this.refresh(headers, _volatile, sdkVersion);
+
+    /*
+     * Do not add the token for the checkToken route, to avoid getting a token error when
+     * a developer simply wish to verify his token
+     */
+    boolean addJwt = jwt != null && !("auth".equals(request.opt("controller")) && "checkToken".equals(request.opt("action")));
+
+    if (addJwt && jwt != this.jwtSource) {
+      this.jwtSource = jwt;
+      this.jwtFragment = "\"jwt\":" + JSONObject.quote(jwt);
+    }
+
+    boolean first = true;
+    this.buffer.setLength(0);
+    this.buffer.append('{');
+
+    for (Iterator<String> iterator = request.keys(); iterator.hasNext(); ) {
+      String key = iterator.next();
+      Object value = request.get(key);
+
+      if ((addJwt && key.equals("jwt")) || (value == JSONObject.NULL && this.isHeader(key))) {
+        continue;
+      }
+
+      if (!first) {
+        this.buffer.append(',');
+      }
+      first = false;
+
+      this.buffer.append(JSONObject.quote(key)).append(':');
+      Json.getEngine().write(this.buffer, value);
+    }
+
+    if (!request.has("volatile")) {
+      first = this.appendFragment(this.volatileFragment, first);
+    }
+
+    for (int i = 0; i < this.headerKeys.length; i++) {
+      if (request.isNull(this.headerKeys[i])) {
+        first = this.appendFragment(this.headerFragments[i], first);
+      }
+    }
+
+    if (addJwt) {
+      this.appendFragment(this.jwtFragment, first);
+    }
+
+    this.buffer.append('}');
+
+    return this.buffer.toString();
+  }
+
+  private boolean appendFragment(final String fragment, final boolean first) {
+    if (!first) {
+      this.buffer.append(',');
+    }
+
+    this.buffer.append(fragment);
+    return false;
+  }
+
+  private boolean isHeader(final String key) {
+    for (String headerKey : this.headerKeys) {
+      if (headerKey.equals(key)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Rebuilds the template if it has been invalidated or if one of its sources changed
+   */
+  private void refresh(final JSONObject headers, final JSONObject _volatile, final String sdkVersion) throws JSONException {
+    if (!this.stale && headers == this.headersSource && _volatile == this.volatileSource && sdkVersion == this.sdkVersion) {
+      return;
+    }
+
+    int headersCount = headers != null ? headers.length() : 0;
+    String[] keys = new String[headersCount];
+    String[] fragments = new String[headersCount];
+    StringBuilder sb = new StringBuilder();
+
+    if (headers != null) {
+      int i = 0;
+      for (Iterator<String> iterator = headers.keys(); iterator.hasNext(); i++) {
+        String key = iterator.next();
+        sb.setLength(0);
+        sb.append(JSONObject.quote(key)).append(':');
+        Json.getEngine().write(sb, headers.get(key));
+        keys[i] = key;
+        fragments[i] = sb.toString();
+      }
+    }
+
+    JSONObject template = new JSONObject();
+
+    if (_volatile != null) {
+      for (Iterator<String> iterator = _volatile.keys(); iterator.hasNext(); ) {
+        String key = iterator.next();
+        template.put(key, _volatile.get(key));
+      }
+    }
+
+    template.put("sdkVersion", sdkVersion);
+
+    this.headerKeys = keys;
+    this.headerFragments = fragments;
+    this.volatileTemplate = template;
+    this.volatileFragment = "\"volatile\":" + Json.serialize(template);
+    this.headersSource = headers;
+    this.volatileSource = _volatile;
+    this.sdkVersion = sdkVersion;
+    this.stale = false;
+  }
+}
@@ -0,0 +1,50 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+
+/**
+ * Intercepts the requests passed to Kuzzle.query, before they are sent, queued or discarded.
+ *
+ * An interceptor either passes the request on with chain.proceed, possibly rewritten or with a
+ * wrapping listener to observe its response, or answers it itself by invoking the listener,
+ * in which case the request never reaches the socket.
+ * Requests replayed from the offline queue are not intercepted again.
+ */
+public interface RequestInterceptor {
+  /**
+   * @param chain - Request being intercepted, and the interceptors following this one
+   * @throws JSONException
+   */
+  void intercept(Chain chain) throws JSONException;
+
+  interface Chain {
+    /**
+     * @return request, with its requestId, controller and action set
+     */
+    JSONObject getRequest();
+
+    /**
+     * @return request options, possibly null
+     */
+    Options getOptions();
+
+    /**
+     * @return response listener, possibly null
+     */
+    OnQueryDoneListener getListener();
+
+    /**
+     * Passes the request to the next interceptor, or sends it if there is none left.
+     * Can only be called once per chain: a request is never sent twice.
+     *
+     * @param request - Request to pass on
+     * @param listener - Response listener to pass on
+     * @throws JSONException
+     */
+    void proceed(JSONObject request, OnQueryDoneListener listener) throws JSONException;
+  }
+}
@@ -0,0 +1,20 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Intercepts the frames received from Kuzzle, responses and notifications alike,
+ * before they are dispatched to their listeners.
+ *
+ * Frames may be intercepted on the frame decoding threads: implementations must be thread-safe.
+ * Responses to queries with an OnRawQueryDoneListener are never decoded, and are not intercepted.
+ */
+public interface ResponseInterceptor {
+  /**
+   * @param frame - Decoded frame
+   * @return frame to dispatch, possibly rewritten, or null to drop it
+   * @throws JSONException
+   */
+  JSONObject intercept(JSONObject frame) throws JSONException;
+}
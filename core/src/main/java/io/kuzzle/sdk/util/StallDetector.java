@@ -0,0 +1,263 @@
+package io.kuzzle.sdk.util;
+
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watchdog over the application callbacks invoked by the socket reader and frame decoding threads.
+ *
+ * Each callback is timed between enter() and exit(). A callback running longer than the threshold
+ * is reported once: by the watchdog while it is still running, with the stack of its thread,
+ * or when it returns if the watchdog did not catch it first.
+ * Timing a callback does not allocate: each thread reuses its own slot.
+ */
+public class StallDetector {
+  private static Timer watchdog;
+
+  private final long threshold;
+  private final StallListener listener;
+  private final List<Slot> slots = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<Slot> slot = new ThreadLocal<Slot>() {
+    @Override
+    protected Slot initialValue() {
+      Slot slot = new Slot(Thread.currentThread());
+      StallDetector.this.slots.add(slot);
+      return slot;
+    }
+  };
+
+  private volatile TimerTask task;
+
+  /**
+   * Receives the stalled callbacks
+   */
+  public interface StallListener {
+    /**
+     * @param stall - Stalled callback. Invoked from the watchdog thread, or from the stalled thread
+     */
+    void onStall(Stall stall);
+  }
+
+  /**
+   * A callback which ran longer than the threshold
+   */
+  public static class Stall {
+    private final String type;
+    private final String name;
+    private final String detail;
+    private final long duration;
+    private final boolean running;
+    private final String thread;
+    private final StackTraceElement[] stackTrace;
+
+    Stall(final String type, final String name, final String detail, final long duration, final boolean running, final String thread, final StackTraceElement[] stackTrace) {
+      this.type = type;
+      this.name = name;
+      this.detail = detail;
+      this.duration = duration;
+      this.running = running;
+      this.thread = thread;
+      this.stackTrace = stackTrace;
+    }
+
+    /**
+     * @return callback type: "response" or "notification"
+     */
+    public String getType() {
+      return this.type;
+    }
+
+    /**
+     * @return callback owner: "controller:action" of a response ("raw" if it is not decoded), room channel of a notification
+     */
+    public String getName() {
+      return this.detail != null ? this.name + ":" + this.detail : this.name;
+    }
+
+    /**
+     * @return time spent in the callback when it was reported, in milliseconds
+     */
+    public long getDuration() {
+      return this.duration;
+    }
+
+    /**
+     * @return true if the callback was still running when reported
+     */
+    public boolean isRunning() {
+      return this.running;
+    }
+
+    /**
+     * @return name of the thread running the callback
+     */
+    public String getThread() {
+      return this.thread;
+    }
+
+    /**
+     * @return stack of the stalled thread, empty if the callback had returned
+     */
+    public StackTraceElement[] getStackTrace() {
+      return this.stackTrace;
+    }
+
+    @Override
+    public String toString() {
+      return this.type + " callback " + this.getName() + (this.running ? " running for " : " took ") + this.duration + "ms on " + this.thread;
+    }
+  }
+
+  private static class Slot {
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int REPORTED = 2;
+
+    final AtomicInteger state = new AtomicInteger(IDLE);
+    final Thread thread;
+    int depth;
+    volatile String type;
+    volatile String name;
+    volatile String detail;
+    volatile long start;
+
+    Slot(final Thread thread) {
+      this.thread = thread;
+    }
+  }
+
+  /**
+   * @param threshold - Callback duration over which it is reported, in milliseconds
+   * @param listener - Receives the stalled callbacks
+   */
+  public StallDetector(final long threshold, final StallListener listener) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("StallDetector: threshold must be positive");
+    }
+
+    if (listener == null) {
+      throw new IllegalArgumentException("StallDetector: a stall listener is required");
+    }
+
+    this.threshold = threshold;
+    this.listener = listener;
+  }
+
+  /**
+   * @return callback duration over which it is reported, in milliseconds
+   */
+  public long getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Marks the start of a callback on the current thread. Nested callbacks are timed as part of the outer one.
+   *
+   * @param type - Callback type
+   * @param name - Callback owner: controller or room channel
+   * @param detail - Controller action, or null
+   */
+  public void enter(final String type, final String name, final String detail) {
+    Slot slot = this.slot.get();
+
+    if (slot.depth++ > 0) {
+      return;
+    }
+
+    slot.type = type;
+    slot.name = name;
+    slot.detail = detail;
+    slot.start = System.nanoTime();
+    slot.state.set(Slot.RUNNING);
+
+    if (this.task == null) {
+      this.startWatchdog();
+    }
+  }
+
+  /**
+   * Marks the end of the callback started on the current thread
+   */
+  public void exit() {
+    Slot slot = this.slot.get();
+
+    if (slot.depth == 0 || --slot.depth > 0) {
+      return;
+    }
+
+    long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - slot.start);
+
+    if (slot.state.getAndSet(Slot.IDLE) == Slot.RUNNING && duration > this.threshold) {
+      this.listener.onStall(new Stall(slot.type, slot.name, slot.detail, duration, false, slot.thread.getName(), new StackTraceElement[0]));
+    }
+  }
+
+  /**
+   * Stops watching running callbacks. Callbacks are still reported when they return late.
+   */
+  public synchronized void stop() {
+    if (this.task != null) {
+      this.task.cancel();
+      this.task = null;
+    }
+  }
+
+  /**
+   * Reports the callbacks running for longer than the threshold, and forgets the threads which ended
+   */
+  void check() {
+    long now = System.nanoTime();
+
+    for (Slot slot : this.slots) {
+      if (!slot.thread.isAlive()) {
+        this.slots.remove(slot);
+        continue;
+      }
+
+      long duration = TimeUnit.NANOSECONDS.toMillis(now - slot.start);
+
+      if (slot.state.get() == Slot.RUNNING && duration > this.threshold) {
+        String type = slot.type;
+        String name = slot.name;
+        String detail = slot.detail;
+        StackTraceElement[] stackTrace = slot.thread.getStackTrace();
+
+        if (slot.state.compareAndSet(Slot.RUNNING, Slot.REPORTED)) {
+          this.listener.onStall(new Stall(type, name, detail, duration, true, slot.thread.getName(), stackTrace));
+        }
+      }
+    }
+  }
+
+  private synchronized void startWatchdog() {
+    if (this.task != null) {
+      return;
+    }
+
+    this.task = new TimerTask() {
+      @Override
+      public void run() {
+        try {
+          StallDetector.this.check();
+        } catch (RuntimeException e) {
+          // a failing stall listener must not kill the watchdog thread, shared by all detectors
+        }
+      }
+    };
+
+    long period = Math.max(10, this.threshold / 4);
+    getWatchdog().schedule(this.task, period, period);
+  }
+
+  private static synchronized Timer getWatchdog() {
+    if (watchdog == null) {
+      watchdog = new Timer("kuzzle-stall-detector", true);
+    }
+
+    return watchdog;
+  }
+}
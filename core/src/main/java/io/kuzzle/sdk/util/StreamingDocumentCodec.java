@@ -0,0 +1,26 @@
+package io.kuzzle.sdk.util;
+
+import org.json.JSONException;
+
+import io.kuzzle.sdk.json.JsonReader;
+
+/**
+ * Document codec able to decode documents content straight from the response text,
+ * without parsing it into a JSONObject first.
+ *
+ * Codecs generated from classes annotated with KuzzleDocument implement this interface.
+ *
+ * @param <T> Decoded document type
+ */
+public interface StreamingDocumentCodec<T> extends DocumentCodec<T> {
+  /**
+   * Decodes a document content from a reader positioned on the _source object.
+   * The whole object must be consumed, unknown fields being skipped.
+   *
+   * @param id - Document unique identifier
+   * @param source - Reader positioned on the document content
+   * @return decoded document
+   * @throws JSONException
+   */
+  T read(String id, JsonReader source) throws JSONException;
+}
@@ -0,0 +1,268 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.responses.SearchResult;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.AllocationMeter;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import io.kuzzle.test.testUtils.RoomExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Bytes allocated per operation on the hot paths, against explicit budgets.
+ * A change making one of these paths allocate more must raise its budget deliberately.
+ *
+ * Budgets leave about 25% over the largest amounts measured on HotSpot 8 (64 bits, compressed oops),
+ * which vary with the JIT compilation of the measured code.
+ */
+public class allocationBudgetTest {
+  // Kuzzle.query, document:get with a generated requestId: 3.4 to 3.9KB
+  private static final long SEND_BUDGET = 5 * 1024;
+  // response frame with a small document routed to its listener: ~1.8KB
+  private static final long RESPONSE_BUDGET = 2304;
+  // document notification delivered to a room listener: 4.8 to 5.1KB
+  private static final long NOTIFICATION_BUDGET = 6400;
+  // search sent and its 20 documents page decoded into a SearchResult: 45 to 55KB
+  private static final long SEARCH_PAGE_BUDGET = 68 * 1024;
+
+  private KuzzleExtend kuzzle;
+  private RecordingSocket socket;
+  private WebSocketClient receiver;
+  private Collection collection;
+  private long received;
+
+  private final OnQueryDoneListener queryListener = new OnQueryDoneListener() {
+    @Override
+    public void onSuccess(JSONObject response) {
+      received++;
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+    }
+  };
+
+  /**
+   * Socket keeping the last frame sent, without recording anything else
+   */
+  private static class RecordingSocket extends WebSocketClient {
+    String sent;
+
+    RecordingSocket() throws URISyntaxException {
+      super(new URI("ws://localhost:7512/"));
+    }
+
+    @Override
+    public void send(String message) {
+      this.sent = message;
+    }
+
+    @Override
+    public void onOpen() {
+    }
+
+    @Override
+    public void onTextReceived(String message) {
+    }
+
+    @Override
+    public void onBinaryReceived(byte[] data) {
+    }
+
+    @Override
+    public void onPingReceived(byte[] data) {
+    }
+
+    @Override
+    public void onPongReceived(byte[] data) {
+    }
+
+    @Override
+    public void onException(Exception e) {
+    }
+
+    @Override
+    public void onCloseReceived() {
+    }
+  }
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    assumeTrue(AllocationMeter.isSupported());
+
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    // creating the receiving socket replaces the instance socket: set the recording one afterwards
+    receiver = kuzzle.createRealSocket();
+    socket = new RecordingSocket();
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+    collection = new Collection(kuzzle, "collection", "index");
+  }
+
+  private static void budget(final String path, final long bytes, final long budget) {
+    assertTrue(path + " allocates " + bytes + " bytes per operation, over its budget of " + budget + " bytes", bytes <= budget);
+  }
+
+  private static String requestId(final String frame) {
+    int start = frame.indexOf("\"requestId\":\"") + 13;
+    return frame.substring(start, frame.indexOf('"', start));
+  }
+
+  @Test
+  public void sendShouldStayWithinBudget() throws Exception {
+    final Kuzzle.QueryArgs args = QueryArgsHelper.makeQueryArgs("document", "get");
+    final JSONObject query = new JSONObject().put("_id", "foo");
+
+    long bytes = AllocationMeter.bytesPerOperation(new AllocationMeter.Operation() {
+      @Override
+      public void run() throws Exception {
+        query.remove("requestId");
+        kuzzle.query(args, query, null, queryListener);
+        // no response comes: forget the pending request, as a response would,
+        // and keep the request history from growing during the measurement
+        kuzzle.getCurrentQueries().clear();
+        kuzzle.getRequestHistory().clear();
+      }
+    });
+
+    budget("Kuzzle.query", bytes, SEND_BUDGET);
+  }
+
+  @Test
+  public void responseRoutingShouldStayWithinBudget() throws Exception {
+    final String frame = new JSONObject()
+      .put("requestId", "response")
+      .put("room", "response")
+      .put("status", 200)
+      .put("error", JSONObject.NULL)
+      .put("result", new JSONObject().put("_id", "foo").put("_source", new JSONObject().put("name", "bar").put("value", 42)))
+      .toString();
+
+    long bytes = AllocationMeter.bytesPerOperation(new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        kuzzle.getCurrentQueries().put("response", queryListener);
+        receiver.onTextReceived(frame);
+      }
+    });
+
+    assertEquals(received, 40000);
+    budget("response routing", bytes, RESPONSE_BUDGET);
+  }
+
+  @Test
+  public void notificationDeliveryShouldStayWithinBudget() throws Exception {
+    final String frame = new JSONObject()
+      .put("status", 200)
+      .put("type", "document")
+      .put("index", "index")
+      .put("collection", "collection")
+      .put("controller", "document")
+      .put("action", "create")
+      .put("state", "done")
+      .put("scope", "in")
+      .put("volatile", new JSONObject())
+      .put("requestId", "someone-else")
+      .put("room", "channel")
+      .put("result", new JSONObject().put("_id", "foo").put("_source", new JSONObject().put("name", "bar").put("value", 42)))
+      .toString();
+    final RoomExtend room = new RoomExtend(collection);
+
+    room.setListener(new ResponseListener<NotificationResponse>() {
+      @Override
+      public void onSuccess(NotificationResponse response) {
+        received++;
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    });
+    kuzzle.addRoom("channel", new EventListener() {
+      @Override
+      public void trigger(Object... args) {
+        room.callAfterRenew(args[0]);
+      }
+    });
+
+    long bytes = AllocationMeter.bytesPerOperation(new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        receiver.onTextReceived(frame);
+      }
+    });
+
+    assertEquals(received, 40000);
+    budget("notification delivery", bytes, NOTIFICATION_BUDGET);
+  }
+
+  @Test
+  public void searchPageDecodeShouldStayWithinBudget() throws Exception {
+    JSONArray hits = new JSONArray();
+
+    for (int i = 0; i < 20; i++) {
+      hits.put(new JSONObject()
+        .put("_id", "doc-" + i)
+        .put("_source", new JSONObject().put("name", "document " + i).put("value", i))
+        .put("_meta", new JSONObject().put("author", "someone")));
+    }
+
+    String frame = new JSONObject()
+      .put("requestId", "REQUEST_ID")
+      .put("room", "REQUEST_ID")
+      .put("status", 200)
+      .put("error", JSONObject.NULL)
+      .put("result", new JSONObject().put("total", 20).put("hits", hits))
+      .toString();
+    final String start = frame.substring(0, frame.indexOf("REQUEST_ID"));
+    final String middle = frame.substring(start.length() + 10, frame.lastIndexOf("REQUEST_ID"));
+    final String end = frame.substring(frame.lastIndexOf("REQUEST_ID") + 10);
+    final JSONObject filters = new JSONObject();
+    final ResponseListener<SearchResult> listener = new ResponseListener<SearchResult>() {
+      @Override
+      public void onSuccess(SearchResult response) {
+        received += response.getDocuments().size();
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    };
+
+    long bytes = AllocationMeter.bytesPerOperation(new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        collection.search(filters, new Options(), listener);
+        String id = requestId(socket.sent);
+        receiver.onTextReceived(start + id + middle + id + end);
+        kuzzle.getRequestHistory().clear();
+      }
+    });
+
+    assertEquals(received, 40000 * 20);
+    budget("search page round trip", bytes, SEARCH_PAGE_BUDGET);
+  }
+}
@@ -0,0 +1,210 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.OnRawQueryDoneListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.state.ConnectionState;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.sdk.util.QueueFilter;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class connectionStateTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private WebSocketClient receiver;
+  private List<String> transitions;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    receiver = kuzzle.createRealSocket();
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+
+    transitions = new CopyOnWriteArrayList<>();
+    kuzzle.addStateListener(new ConnectionState.TransitionListener() {
+      @Override
+      public void onTransition(States from, States to) {
+        transitions.add(from + ">" + to);
+      }
+    });
+  }
+
+  @Test
+  public void shouldNotifyEachTransitionOnce() {
+    kuzzle.setState(States.CONNECTING);
+    receiver.onOpen();
+    receiver.onOpen();
+    receiver.onCloseReceived();
+
+    assertEquals(transitions.toString(), "[READY>CONNECTING, CONNECTING>CONNECTED, CONNECTED>OFFLINE]");
+    assertEquals(kuzzle.getState(), States.OFFLINE);
+  }
+
+  @Test
+  public void shouldIgnoreSocketEventsOnceDisconnected() {
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.disconnect();
+
+    receiver.onCloseReceived();
+    receiver.onException(new Exception("late"));
+    receiver.onOpen();
+
+    assertEquals(kuzzle.getState(), States.DISCONNECTED);
+  }
+
+  @Test
+  public void shouldIgnoreADuplicatedOpening() {
+    EventListener connected = mock(EventListener.class);
+    kuzzle.addListener(Event.connected, connected);
+    kuzzle.setState(States.CONNECTING);
+
+    receiver.onOpen();
+    receiver.onOpen();
+
+    verify(connected, times(1)).trigger();
+  }
+
+  @Test
+  public void shouldIgnoreAConnectionLossOnceDisconnected() throws JSONException {
+    EventListener disconnected = mock(EventListener.class);
+    kuzzle.addListener(Event.disconnected, disconnected);
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, mock(OnQueryDoneListener.class));
+    kuzzle.getCurrentQueries().put("pending", mock(OnQueryDoneListener.class));
+    kuzzle.disconnect();
+
+    receiver.onCloseReceived();
+
+    verify(disconnected, never()).trigger();
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.DISCONNECTIONS), 0);
+    assertEquals(kuzzle.getCurrentQueries().size(), 2);
+  }
+
+  @Test
+  public void shouldHandleAConnectionLossOnce() {
+    EventListener disconnected = mock(EventListener.class);
+    kuzzle.addListener(Event.disconnected, disconnected);
+    kuzzle.setState(States.CONNECTED);
+
+    receiver.onCloseReceived();
+    receiver.onCloseReceived();
+
+    verify(disconnected, times(1)).trigger();
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.DISCONNECTIONS), 1);
+  }
+
+  @Test
+  public void shouldReplayRequestsQueuedWhileTheConnectionOpens() throws JSONException {
+    kuzzle.setState(States.CONNECTING);
+
+    // the queue filter runs after the state is read: open the connection there
+    kuzzle.setQueueFilter(new QueueFilter() {
+      @Override
+      public boolean filter(JSONObject object) {
+        receiver.onOpen();
+        return true;
+      }
+    });
+
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, mock(OnQueryDoneListener.class));
+
+    verify(socket, times(1)).send(anyString());
+    assertEquals(kuzzle.getOfflineQueue().size(), 0);
+  }
+
+  @Test
+  public void shouldFailPendingRequestsOnConnectionLoss() throws JSONException {
+    OnQueryDoneListener listener = mock(OnQueryDoneListener.class);
+    OnRawQueryDoneListener raw = mock(OnRawQueryDoneListener.class);
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, listener);
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject(), null, raw);
+
+    receiver.onCloseReceived();
+
+    verify(listener).onError(any(JSONObject.class));
+    verify(raw).onError(any(JSONObject.class));
+    verify(listener, never()).onSuccess(any(JSONObject.class));
+    assertEquals(kuzzle.getCurrentQueries().size(), 0);
+  }
+
+  @Test(timeout = 5000)
+  public void shouldUnblockBlockingCallsOnConnectionLoss() throws Exception {
+    final Collection collection = new Collection(kuzzle, "collection", "index");
+    final AtomicReference<Exception> thrown = new AtomicReference<>();
+    kuzzle.setState(States.CONNECTED);
+
+    Thread caller = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          collection.fetchDocumentSync("foo");
+        } catch (Exception e) {
+          thrown.set(e);
+        }
+      }
+    });
+    caller.start();
+
+    while (kuzzle.getCurrentQueries().isEmpty()) {
+      Thread.sleep(1);
+    }
+
+    receiver.onCloseReceived();
+    caller.join();
+
+    assertTrue(thrown.get() instanceof KuzzleFuture.ResponseError);
+    assertTrue(thrown.get().getMessage().startsWith("Connection lost"));
+  }
+
+  @Test(timeout = 5000)
+  public void shouldBoundBlockingCalls() throws Exception {
+    assertEquals(kuzzle.getSyncTimeout(), 120000);
+    kuzzle.setSyncTimeout(50);
+    kuzzle.setState(States.CONNECTED);
+
+    try {
+      new Collection(kuzzle, "collection", "index").fetchDocumentSync("foo");
+      fail("fetchDocumentSync should have timed out");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals(e.getMessage(), "Request timed out after 50ms");
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectANegativeSyncTimeout() {
+    kuzzle.setSyncTimeout(-1);
+  }
+}
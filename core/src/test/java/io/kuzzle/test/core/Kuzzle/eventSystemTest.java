@@ -8,6 +8,7 @@ import java.net.URISyntaxException;
 
 import io.kuzzle.sdk.core.Options;
 import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.EventPolicy;
 import io.kuzzle.sdk.enums.Mode;
 import io.kuzzle.sdk.listeners.EventListener;
 import io.kuzzle.sdk.listeners.ResponseListener;
@@ -18,7 +19,12 @@ import tech.gusavila92.websocketclient.WebSocketClient;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class eventSystemTest {
   private KuzzleExtend kuzzle;
@@ -103,4 +109,81 @@ public class eventSystemTest {
     assertEquals(kuzzle.getEventListeners(Event.disconnected).get(listener3).getType(), Event.disconnected);
     assertEquals(kuzzle.getEventListeners(Event.connected).get(listener4).getType(), Event.connected);
   }
+
+  @Test
+  public void testDeliverAllBursts() {
+    EventListener listener = mock(EventListener.class);
+    kuzzle.addListener(Event.offlineQueuePush, listener);
+
+    for (int i = 0; i < 10; i++) {
+      kuzzle.emitEvent(Event.offlineQueuePush, i);
+    }
+
+    verify(listener, times(10)).trigger(any());
+    assertEquals(kuzzle.getEventStats(Event.offlineQueuePush).getEmitted(), 10);
+    assertEquals(kuzzle.getEventStats(Event.offlineQueuePush).getDelivered(), 10);
+    assertEquals(kuzzle.getEventStats(Event.offlineQueuePush).getDropped(), 0);
+  }
+
+  @Test
+  public void testSummarizePolicy() {
+    EventListener listener = mock(EventListener.class);
+    kuzzle.addListener(Event.tokenExpired, listener);
+    kuzzle.setEventPolicy(Event.tokenExpired, EventPolicy.SUMMARIZE);
+    kuzzle.setEventWindow(60000);
+
+    for (int i = 0; i < 5; i++) {
+      kuzzle.emitEvent(Event.tokenExpired, i);
+    }
+
+    verify(listener, times(1)).trigger(0);
+    assertEquals(kuzzle.getEventStats(Event.tokenExpired).getDelivered(), 1);
+    assertEquals(kuzzle.getEventStats(Event.tokenExpired).getDropped(), 4);
+  }
+
+  @Test
+  public void testCoalescePolicy() {
+    EventListener listener = mock(EventListener.class);
+    kuzzle.addListener(Event.offlineQueuePop, listener);
+    kuzzle.setEventPolicy(Event.offlineQueuePop, EventPolicy.COALESCE);
+    kuzzle.setEventWindow(50);
+
+    for (int i = 0; i < 5; i++) {
+      kuzzle.emitEvent(Event.offlineQueuePop, i);
+    }
+
+    verify(listener, timeout(5000)).trigger(4);
+    verify(listener, never()).trigger(0);
+    assertEquals(kuzzle.getEventStats(Event.offlineQueuePop).getCoalesced(), 4);
+  }
+
+  @Test
+  public void testDefaultPolicies() {
+    assertEquals(kuzzle.getEventPolicy(Event.error), EventPolicy.DELIVER_ALL);
+    assertEquals(kuzzle.getEventPolicy(Event.tokenExpired), EventPolicy.DELIVER_ALL);
+    kuzzle.setEventPolicy(Event.error, EventPolicy.SUMMARIZE);
+    assertEquals(kuzzle.getEventPolicy(Event.error), EventPolicy.SUMMARIZE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetEventPolicyIllegalArgument() {
+    kuzzle.setEventPolicy(Event.error, null);
+  }
+
+  @Test
+  public void testListenersSnapshot() {
+    final EventListener added = mock(EventListener.class);
+    EventListener listener = new EventListener() {
+      @Override
+      public void trigger(Object... args) {
+        kuzzle.addListener(Event.connected, added);
+      }
+    };
+
+    kuzzle.addListener(Event.connected, listener);
+    kuzzle.emitEvent(Event.connected);
+
+    verify(added, never()).trigger();
+    assertEquals(kuzzle.getEventListeners(Event.connected).size(), 2);
+  }
 }
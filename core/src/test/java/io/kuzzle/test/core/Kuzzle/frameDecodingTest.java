@@ -0,0 +1,166 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class frameDecodingTest {
+  private KuzzleExtend kuzzle;
+  private OnQueryDoneListener listener;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    options.setDecodeThreshold(1024);
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    kuzzle.setSocket(mock(WebSocketClient.class));
+    kuzzle.setState(States.CONNECTED);
+    listener = mock(OnQueryDoneListener.class);
+  }
+
+  private String searchResponse(String requestId, int count) throws JSONException {
+    JSONArray hits = new JSONArray();
+
+    for (int i = 0; i < count; i++) {
+      hits.put(new JSONObject().put("_id", "id" + i).put("_source", new JSONObject().put("foo", "bar")));
+    }
+
+    return new JSONObject()
+        .put("requestId", requestId)
+        .put("room", requestId)
+        .put("error", JSONObject.NULL)
+        .put("result", new JSONObject().put("total", count).put("hits", hits))
+        .toString();
+  }
+
+  @Test
+  public void testThresholdOption() {
+    assertEquals(kuzzle.getDecodeThreshold(), 1024);
+    kuzzle.setDecodeThreshold(-1);
+    assertEquals(kuzzle.getDecodeThreshold(), 0);
+    assertEquals(new Options().setDecodeThreshold(-1).getDecodeThreshold(), 0);
+  }
+
+  @Test
+  public void testOrderingKeyIsOnlyLookedUpAtTheBeginningOfFrames() throws JSONException {
+    String room = "{\"requestId\":\"foo\",\"room\":\"channel\",\"result\":" + searchResponse("foo", 500) + "}";
+    String requestId = "{\"requestId\":\"foo\",\"result\":{}}";
+    String late = "{\"requestId\":\"foo\",\"result\":" + searchResponse("foo", 500) + ",\"room\":\"channel\"}";
+
+    assertEquals(kuzzle.peekOrderingKey(room), "channel");
+    assertEquals(kuzzle.peekOrderingKey(requestId), "foo");
+    assertNull(kuzzle.peekOrderingKey(late));
+    assertNull(kuzzle.peekOrderingKey("{\"room\":"));
+  }
+
+  @Test
+  public void testSmallFramesAreDecodedInline() throws JSONException, URISyntaxException {
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject().put("requestId", "small"), null, listener);
+    kuzzle.createRealSocket().onTextReceived(searchResponse("small", 1));
+
+    verify(listener).onSuccess(any(JSONObject.class));
+  }
+
+  @Test
+  public void testListenersUnableToHandleTheirResponseAreFailed() throws JSONException, URISyntaxException {
+    doThrow(new RuntimeException("malformed")).when(listener).onSuccess(any(JSONObject.class));
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject().put("requestId", "malformed"), null, listener);
+
+    try {
+      kuzzle.createRealSocket().onTextReceived(searchResponse("malformed", 1));
+      fail("the listener exception should be thrown");
+    } catch (RuntimeException e) {
+      assertEquals(e.getMessage(), "malformed");
+    }
+
+    ArgumentCaptor<JSONObject> error = ArgumentCaptor.forClass(JSONObject.class);
+    verify(listener).onError(error.capture());
+    assertEquals(error.getValue().getString("message"), "Unable to handle the response: malformed");
+  }
+
+  @Test
+  public void testLargeFramesAreDecodedOnWorkers() throws JSONException, URISyntaxException {
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject().put("requestId", "large"), null, listener);
+    kuzzle.createRealSocket().onTextReceived(searchResponse("large", 500));
+
+    ArgumentCaptor<JSONObject> response = ArgumentCaptor.forClass(JSONObject.class);
+    verify(listener, timeout(5000)).onSuccess(response.capture());
+    JSONArray hits = response.getValue().getJSONObject("result").getJSONArray("hits");
+    assertEquals(hits.length(), 500);
+    assertEquals(hits.getJSONObject(499).getString("_id"), "id499");
+  }
+
+  @Test
+  public void testNotificationsOfARoomStayInOrder() throws Exception {
+    final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+
+    kuzzle.addRoom("channel", new EventListener() {
+      @Override
+      public void trigger(Object... args) {
+        try {
+          received.add(((JSONObject) args[0]).getString("requestId"));
+        } catch (JSONException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+
+    // notifications of a room come from different requests: the small one must wait for the large one
+    WebSocketClient socket = kuzzle.createRealSocket();
+    socket.onTextReceived(new JSONObject(searchResponse("first", 500)).put("room", "channel").toString());
+    socket.onTextReceived(new JSONObject(searchResponse("second", 1)).put("room", "channel").toString());
+
+    for (int i = 0; i < 500 && received.size() < 2; i++) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(received.size(), 2);
+    assertEquals(received.get(0), "first");
+    assertEquals(received.get(1), "second");
+  }
+
+  @Test
+  public void testDisconnectStopsTheDecoders() throws JSONException, URISyntaxException {
+    WebSocketClient socket = kuzzle.createRealSocket();
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject().put("requestId", "late"), null, listener);
+    kuzzle.disconnect();
+    assertTrue(kuzzle.getDecodeExecutor().isShutdown());
+
+    // late frames are handled inline
+    socket.onTextReceived(searchResponse("late", 500));
+    verify(listener).onSuccess(any(JSONObject.class));
+
+    kuzzle.setSocket(mock(WebSocketClient.class));
+    kuzzle.connect();
+    assertFalse(kuzzle.getDecodeExecutor().isShutdown());
+  }
+}
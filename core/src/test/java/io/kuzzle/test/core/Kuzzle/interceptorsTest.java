@@ -0,0 +1,158 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.RequestInterceptor;
+import io.kuzzle.sdk.util.ResponseInterceptor;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class interceptorsTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private WebSocketClient receiver;
+  private OnQueryDoneListener listener;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    // creating the receiving socket replaces the instance socket: set the mocked one afterwards
+    receiver = kuzzle.createRealSocket();
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+    listener = mock(OnQueryDoneListener.class);
+  }
+
+  private JSONObject query() throws JSONException {
+    JSONObject query = new JSONObject();
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), query, null, listener);
+    return query;
+  }
+
+  @Test
+  public void shouldRewriteRequests() throws JSONException {
+    kuzzle.addRequestInterceptor(new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) throws JSONException {
+        chain.proceed(chain.getRequest().put("refresh", "wait_for"), chain.getListener());
+      }
+    });
+
+    JSONObject query = query();
+    assertEquals(query.getString("refresh"), "wait_for");
+    verify(socket).send(anyString());
+    assertEquals(kuzzle.getCurrentQueries().containsKey(query.getString("requestId")), true);
+  }
+
+  @Test
+  public void shouldAnswerRequestsLocally() throws JSONException {
+    final JSONObject cached = new JSONObject().put("result", "cached");
+
+    kuzzle.addRequestInterceptor(new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) {
+        chain.getListener().onSuccess(cached);
+      }
+    });
+
+    kuzzle.setState(States.OFFLINE);
+    query();
+
+    verify(listener).onSuccess(cached);
+    verify(socket, never()).send(anyString());
+    assertEquals(kuzzle.getOfflineQueue().size(), 0);
+  }
+
+  @Test
+  public void shouldObserveResponsesThroughWrappingListeners() throws JSONException {
+    final JSONObject[] observed = new JSONObject[1];
+
+    kuzzle.addRequestInterceptor(new RequestInterceptor() {
+      @Override
+      public void intercept(final Chain chain) throws JSONException {
+        chain.proceed(chain.getRequest(), new OnQueryDoneListener() {
+          @Override
+          public void onSuccess(JSONObject response) {
+            observed[0] = response;
+            chain.getListener().onSuccess(response);
+          }
+
+          @Override
+          public void onError(JSONObject error) {
+            chain.getListener().onError(error);
+          }
+        });
+      }
+    });
+
+    String requestId = query().getString("requestId");
+    receiver.onTextReceived(new JSONObject().put("requestId", requestId).put("room", requestId).put("result", new JSONObject()).toString());
+
+    assertEquals(observed[0].getString("requestId"), requestId);
+    verify(listener).onSuccess(any(JSONObject.class));
+  }
+
+  @Test
+  public void shouldStopInterceptingOnceRemoved() throws JSONException {
+    RequestInterceptor answering = new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) {
+      }
+    };
+
+    kuzzle.addRequestInterceptor(answering);
+    query();
+    verify(socket, never()).send(anyString());
+
+    kuzzle.removeRequestInterceptor(answering);
+    query();
+    verify(socket, times(1)).send(anyString());
+  }
+
+  @Test
+  public void shouldRewriteAndDropFrames() throws JSONException {
+    EventListener room = mock(EventListener.class);
+    kuzzle.addRoom("room", room);
+
+    kuzzle.addResponseInterceptor(new ResponseInterceptor() {
+      @Override
+      public JSONObject intercept(JSONObject frame) throws JSONException {
+        return frame.optBoolean("drop") ? null : frame.put("intercepted", true);
+      }
+    });
+
+    receiver.onTextReceived(new JSONObject().put("room", "room").put("drop", true).toString());
+    verify(room, never()).trigger(any(JSONObject.class));
+
+    receiver.onTextReceived(new JSONObject().put("room", "room").toString());
+    verify(room).trigger(any(JSONObject.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNullInterceptors() {
+    kuzzle.addRequestInterceptor(null);
+  }
+}
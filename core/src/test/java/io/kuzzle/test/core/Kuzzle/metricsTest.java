@@ -0,0 +1,149 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.metrics.MetricsSnapshot;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class metricsTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient receiver;
+  private OnQueryDoneListener listener;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    // creating the receiving socket replaces the instance socket: set the mocked one afterwards
+    receiver = kuzzle.createRealSocket();
+    kuzzle.setSocket(mock(WebSocketClient.class));
+    kuzzle.setState(States.CONNECTED);
+
+    listener = new OnQueryDoneListener() {
+      @Override
+      public void onSuccess(JSONObject response) {
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    };
+  }
+
+  private String sendQuery(final String controller, final String action) throws JSONException {
+    JSONObject query = new JSONObject();
+    kuzzle.query(QueryArgsHelper.makeQueryArgs(controller, action), query, null, listener);
+    return query.getString("requestId");
+  }
+
+  private static String frame(final String requestId, final boolean error) throws JSONException {
+    return new JSONObject()
+      .put("requestId", requestId)
+      .put("room", requestId)
+      .put("action", "get")
+      .put("status", error ? 500 : 200)
+      .put("error", error ? new JSONObject().put("message", "failure") : JSONObject.NULL)
+      .put("result", new JSONObject())
+      .toString();
+  }
+
+  @Test
+  public void shouldBeEnabledByDefault() {
+    assertEquals(kuzzle.getMetrics().isEnabled(), true);
+  }
+
+  @Test
+  public void shouldBeDisabledByOptions() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    options.setMetrics(false);
+
+    assertEquals(new Kuzzle("localhost", options, null).getMetrics().isEnabled(), false);
+  }
+
+  @Test
+  public void shouldTimeRequestsUntilTheirResponse() throws JSONException {
+    String first = sendQuery("document", "get");
+    String second = sendQuery("document", "get");
+    sendQuery("document", "search");
+
+    receiver.onTextReceived(frame(first, false));
+    receiver.onTextReceived(frame(second, true));
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_SENT), 3);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_RECEIVED), 2);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_FAILED), 1);
+    assertEquals(snapshot.getLatency("document", "get").getCount(), 2);
+    assertEquals(snapshot.getLatency("document", "search").getCount(), 0);
+    assertEquals(snapshot.getGauge(MetricsRegistry.PENDING_REQUESTS), 1);
+  }
+
+  @Test
+  public void shouldCountRequestsSentWithoutListener() throws JSONException {
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("realtime", "publish"), new JSONObject(), null, null);
+    sendQuery("document", "get");
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_SENT), 2);
+    assertEquals(snapshot.getGauge(MetricsRegistry.PENDING_REQUESTS), 1);
+  }
+
+  @Test
+  public void shouldCountNotificationsAndUnmatchedFrames() throws JSONException {
+    kuzzle.addRoom("room", mock(EventListener.class));
+
+    receiver.onTextReceived(new JSONObject().put("room", "room").put("result", new JSONObject()).toString());
+    receiver.onTextReceived(new JSONObject().put("room", "unknown").put("result", new JSONObject()).toString());
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.NOTIFICATIONS_DELIVERED), 1);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_UNMATCHED), 1);
+  }
+
+  @Test
+  public void shouldCountQueuedAndDiscardedRequests() throws JSONException {
+    kuzzle.setState(States.OFFLINE);
+    sendQuery("document", "get");
+
+    kuzzle.startQueuing();
+    sendQuery("document", "get");
+    sendQuery("document", "get");
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_DISCARDED), 1);
+    assertEquals(snapshot.getCounter(MetricsRegistry.QUEUE_PUSHED), 2);
+    assertEquals(snapshot.getGauge(MetricsRegistry.QUEUE_DEPTH), 2);
+  }
+
+  @Test
+  public void shouldCountAbandonedRequestsOnConnectionLoss() throws JSONException {
+    sendQuery("document", "get");
+    sendQuery("document", "get");
+
+    receiver.onCloseReceived();
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.DISCONNECTIONS), 1);
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_ABANDONED), 2);
+  }
+}
@@ -214,6 +214,50 @@ public class queryTest {
     assertEquals(new JSONObject(argument.getValue()).getString("foo"), "bar");
   }
 
+  @Test
+  public void shouldUpdateHeadersAfterSetHeaders() throws JSONException {
+    kuzzle.setHeaders(new JSONObject().put("foo", "bar"));
+    kuzzle.query(args, new JSONObject());
+    kuzzle.setHeaders(new JSONObject().put("foo", "baz"));
+    kuzzle.query(args, new JSONObject());
+
+    ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
+    verify(socket, times(2)).send(argument.capture());
+
+    assertEquals(new JSONObject(argument.getAllValues().get(0)).getString("foo"), "bar");
+    assertEquals(new JSONObject(argument.getAllValues().get(1)).getString("foo"), "baz");
+  }
+
+  @Test
+  public void shouldUpdateVolatileAfterSetVolatile() throws JSONException {
+    kuzzle.setVolatile(new JSONObject().put("foo", "bar"));
+    kuzzle.query(args, new JSONObject());
+    kuzzle.setVolatile(new JSONObject().put("foo", "baz"));
+    kuzzle.query(args, new JSONObject());
+
+    ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
+    verify(socket, times(2)).send(argument.capture());
+
+    assertEquals(new JSONObject(argument.getAllValues().get(0)).getJSONObject("volatile").getString("foo"), "bar");
+    assertEquals(new JSONObject(argument.getAllValues().get(1)).getJSONObject("volatile").getString("foo"), "baz");
+  }
+
+  @Test
+  public void shouldSendTheCurrentJwtWhenReplayingQueuedRequests() throws JSONException {
+    Options opts = new Options().setQueuable(true);
+    kuzzle.setState(States.OFFLINE);
+    kuzzle.startQueuing();
+    kuzzle.query(args, new JSONObject(), opts);
+
+    kuzzle.setJwtTokenWithoutSubscribe("token");
+    kuzzle.emitRequest(kuzzle.getOfflineQueue().poll().getQuery(), null);
+
+    ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(argument.capture());
+
+    assertEquals(new JSONObject(argument.getValue()).getString("jwt"), "token");
+  }
+
   @Test
   public void shouldEmitRequestIfConnected() throws JSONException {
     Options opts = new Options().setQueuable(false);
@@ -0,0 +1,163 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.OnRawQueryDoneListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.metrics.MetricsSnapshot;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.StallDetector;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class stallDetectionTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient receiver;
+  private List<StallDetector.Stall> stalls;
+
+  private final EventListener slow = new EventListener() {
+    @Override
+    public void trigger(Object... args) {
+      try {
+        Thread.sleep(80);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    options.setStallThreshold(50);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    receiver = kuzzle.createRealSocket();
+    kuzzle.setSocket(mock(WebSocketClient.class));
+    kuzzle.setState(States.CONNECTED);
+
+    stalls = new CopyOnWriteArrayList<>();
+    kuzzle.addListener(Event.callbackStalled, new EventListener() {
+      @Override
+      public void trigger(Object... args) {
+        stalls.add((StallDetector.Stall) args[0]);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    kuzzle.setStallThreshold(0);
+  }
+
+  @Test
+  public void shouldBeEnabledByDefault() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    assertEquals(new KuzzleExtend("localhost", options, null).getStallThreshold(), 1000);
+  }
+
+  @Test
+  public void shouldReportSlowNotificationCallbacks() throws JSONException {
+    kuzzle.addRoom("channel", slow);
+    receiver.onTextReceived(new JSONObject().put("room", "channel").put("result", new JSONObject()).toString());
+
+    assertEquals(stalls.size(), 1);
+    assertEquals(stalls.get(0).getType(), "notification");
+    assertEquals(stalls.get(0).getName(), "channel");
+
+    MetricsSnapshot snapshot = kuzzle.getMetrics().snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.CALLBACKS_STALLED), 1);
+    // one counter for all of the notifications: channels are only named in the event
+    assertEquals(snapshot.getCounter(MetricsRegistry.CALLBACKS_STALLED + ".notification"), 1);
+    assertEquals(snapshot.getCounter(MetricsRegistry.CALLBACKS_STALLED + ".channel"), 0);
+  }
+
+  @Test
+  public void shouldReportSlowResponseListeners() throws JSONException {
+    kuzzle.getCurrentQueries().put("foo", new OnQueryDoneListener() {
+      @Override
+      public void onSuccess(JSONObject response) {
+        slow.trigger();
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    });
+
+    receiver.onTextReceived(new JSONObject()
+      .put("requestId", "foo")
+      .put("room", "foo")
+      .put("controller", "document")
+      .put("action", "search")
+      .put("result", new JSONObject())
+      .toString());
+
+    assertEquals(stalls.size(), 1);
+    assertEquals(stalls.get(0).getType(), "response");
+    assertEquals(stalls.get(0).getName(), "document:search");
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.CALLBACKS_STALLED + ".document:search"), 1);
+  }
+
+  @Test
+  public void shouldReportSlowRawResponseListenersUnderOneName() throws JSONException {
+    for (int i = 0; i < 2; i++) {
+      kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "search"), new JSONObject().put("requestId", "raw" + i), null, new OnRawQueryDoneListener() {
+        @Override
+        public void onRawResponse(String frame) {
+          slow.trigger();
+        }
+
+        @Override
+        public void onSuccess(JSONObject response) {
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+        }
+      });
+
+      receiver.onTextReceived(new JSONObject().put("requestId", "raw" + i).put("room", "raw" + i).put("result", new JSONObject()).toString());
+    }
+
+    assertEquals(stalls.size(), 2);
+    assertEquals(stalls.get(0).getName(), "raw");
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.CALLBACKS_STALLED + ".raw"), 2);
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.CALLBACKS_STALLED + ".raw0"), 0);
+  }
+
+  @Test
+  public void shouldNotReportWhenDisabled() throws JSONException {
+    kuzzle.setStallThreshold(0);
+    kuzzle.addRoom("channel", slow);
+    receiver.onTextReceived(new JSONObject().put("room", "channel").put("result", new JSONObject()).toString());
+
+    assertEquals(stalls.size(), 0);
+    assertEquals(kuzzle.getStallThreshold(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNegativeThresholds() {
+    kuzzle.setStallThreshold(-1);
+  }
+}
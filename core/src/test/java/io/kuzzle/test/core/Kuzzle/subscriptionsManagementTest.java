@@ -14,11 +14,15 @@ import io.kuzzle.sdk.core.Options;
 import io.kuzzle.sdk.core.Room;
 import io.kuzzle.sdk.enums.Mode;
 import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.listeners.SubscribeListener;
 import io.kuzzle.test.testUtils.KuzzleExtend;
 import tech.gusavila92.websocketclient.WebSocketClient;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class subscriptionsManagementTest {
   private KuzzleExtend kuzzle;
@@ -80,4 +84,26 @@ public class subscriptionsManagementTest {
     assertEquals(subscriptions.get("pending").size(), 0);
     assertEquals(subscriptions.containsKey("foo"), false);
   }
+
+  @Test
+  public void testAddSubscriptionUnderItsRoomId() {
+    Map<String, ConcurrentHashMap<String, Room>> subscriptions = kuzzle.getSubscriptions();
+    Room first = mock(Room.class);
+    Room second = mock(Room.class);
+
+    kuzzle.addSubscription("foo", "bar", first);
+    kuzzle.addSubscription("foo", "baz", second);
+
+    assertEquals(subscriptions.keySet().size(), 2);
+    assertEquals(subscriptions.get("foo").size(), 2);
+
+    kuzzle.deleteSubscription("foo", "bar");
+    kuzzle.deleteSubscription("foo", "baz");
+
+    // unsubscribed rooms are not renewed on reconnection
+    assertEquals(subscriptions.keySet().size(), 1);
+    kuzzle.renewSubscriptions();
+    verify(first, never()).renew(any(ResponseListener.class), any(SubscribeListener.class));
+    verify(second, never()).renew(any(ResponseListener.class), any(SubscribeListener.class));
+  }
 }
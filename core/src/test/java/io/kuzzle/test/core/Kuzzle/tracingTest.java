@@ -0,0 +1,129 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.tracing.Span;
+import io.kuzzle.sdk.tracing.SpanSink;
+import io.kuzzle.sdk.tracing.TraceContext;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class tracingTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private WebSocketClient receiver;
+  private OnQueryDoneListener listener;
+  private List<Span> exported;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    options.setTraceSampleRate(1);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    // creating the receiving socket replaces the instance socket: set the mocked one afterwards
+    receiver = kuzzle.createRealSocket();
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+    listener = mock(OnQueryDoneListener.class);
+
+    exported = new ArrayList<>();
+    kuzzle.getTracer().setSink(new SpanSink() {
+      @Override
+      public void export(Span span) {
+        exported.add(span);
+      }
+    });
+  }
+
+  private JSONObject sent() throws JSONException {
+    ArgumentCaptor<String> frame = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(frame.capture());
+    return new JSONObject(frame.getValue());
+  }
+
+  @Test
+  public void shouldPropagateTheTraceContextNextToTheSdkVersion() throws JSONException {
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, listener);
+
+    JSONObject request = sent();
+    TraceContext context = TraceContext.parse(request.getJSONObject("volatile").getString("traceparent"));
+    assertNotNull(context);
+    assertEquals(context.isSampled(), true);
+    assertEquals(request.getJSONObject("volatile").getString("sdkVersion"), kuzzle.getSdkVersion());
+  }
+
+  @Test
+  public void shouldContinueTheApplicationTrace() throws JSONException {
+    Options options = new Options().setVolatile(new JSONObject()
+      .put("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
+      .put("foo", "bar"));
+
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), options, listener);
+
+    JSONObject request = sent();
+    TraceContext context = TraceContext.parse(request.getJSONObject("volatile").getString("traceparent"));
+    assertEquals(context.getTraceId(), "4bf92f3577b34da6a3ce929d0e0e4736");
+    assertEquals(request.getJSONObject("volatile").getString("foo"), "bar");
+  }
+
+  @Test
+  public void shouldExportSpansOnceTheListenerReturns() throws JSONException {
+    JSONObject query = new JSONObject();
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), query, null, listener);
+    String requestId = query.getString("requestId");
+
+    receiver.onTextReceived(new JSONObject().put("requestId", requestId).put("room", requestId).put("result", new JSONObject()).toString());
+
+    assertEquals(exported.size(), 1);
+    Span span = exported.get(0);
+    assertEquals(span.getRequestId(), requestId);
+    assertEquals(span.getController(), "document");
+    assertEquals(span.getAction(), "get");
+    assertEquals(span.getStatus(), Span.Status.OK);
+    assertTrue(span.getSendTime() > 0 && span.getFirstByteTime() >= span.getSendTime() && span.getCallbackTime() >= span.getFirstByteTime());
+  }
+
+  @Test
+  public void shouldEndSpansOfFlushedRequests() throws JSONException {
+    kuzzle.setState(States.OFFLINE);
+    kuzzle.startQueuing();
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, listener);
+
+    kuzzle.flushQueue();
+
+    assertEquals(exported.size(), 1);
+    assertEquals(exported.get(0).getStatus(), Span.Status.DISCARDED);
+    assertEquals(exported.get(0).getSendTime(), 0);
+  }
+
+  @Test
+  public void shouldNotTouchRequestsWhenTracingIsOff() throws JSONException {
+    kuzzle.getTracer().setSampleRate(0);
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject(), null, listener);
+
+    assertEquals(sent().getJSONObject("volatile").has("traceparent"), false);
+    assertEquals(kuzzle.getTracer().isTracing(), false);
+  }
+}
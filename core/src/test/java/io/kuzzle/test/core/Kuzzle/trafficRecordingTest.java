@@ -0,0 +1,103 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.recording.TrafficRecorder;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class trafficRecordingTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private WebSocketClient receiver;
+  private TrafficRecorder recorder;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    receiver = kuzzle.createRealSocket();
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+    recorder = mock(TrafficRecorder.class);
+  }
+
+  @Test
+  public void shouldNotRecordByDefault() {
+    assertNull(kuzzle.getTrafficRecorder());
+  }
+
+  @Test
+  public void shouldRecordTheFramesAsSent() throws Exception {
+    assertEquals(kuzzle.setTrafficRecorder(recorder).getTrafficRecorder(), recorder);
+
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject().put("_id", "foo"));
+
+    ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> recorded = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(sent.capture());
+    verify(recorder).sent(recorded.capture());
+    assertEquals(recorded.getValue(), sent.getValue());
+  }
+
+  @Test
+  public void shouldRecordTheFramesAsReceived() throws Exception {
+    kuzzle.setTrafficRecorder(recorder);
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject().put("requestId", "foo"), mock(OnQueryDoneListener.class));
+
+    String response = "{\"requestId\":\"foo\",\"room\":\"foo\",\"status\":200,\"result\":{}}";
+    String notification = "{\"room\":\"channel\",\"type\":\"document\",\"action\":\"create\",\"result\":{}}";
+    receiver.onTextReceived(response);
+    receiver.onTextReceived(notification);
+
+    verify(recorder).received(response);
+    verify(recorder).received(notification);
+  }
+
+  @Test
+  public void shouldStopRecording() throws Exception {
+    kuzzle.setTrafficRecorder(recorder);
+    kuzzle.setTrafficRecorder(null);
+
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject());
+    receiver.onTextReceived("{\"requestId\":\"foo\",\"room\":\"foo\",\"status\":200,\"result\":{}}");
+
+    verify(recorder, never()).sent(anyString());
+    verify(recorder, never()).received(anyString());
+  }
+
+  @Test
+  public void shouldNotRecordQueuedRequestsUntilSent() throws Exception {
+    kuzzle.setTrafficRecorder(recorder);
+    kuzzle.setState(States.OFFLINE);
+    kuzzle.startQueuing();
+
+    kuzzle.query(QueryArgsHelper.makeQueryArgs("document", "get"), new JSONObject());
+    verify(recorder, never()).sent(anyString());
+
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.replayQueue();
+    verify(recorder).sent(anyString());
+  }
+}
@@ -0,0 +1,237 @@
+package io.kuzzle.test.core.Kuzzle;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.EventPolicy;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.time.ManualClock;
+import io.kuzzle.sdk.util.EventSummary;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import io.kuzzle.test.testUtils.StressServerSocket;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class virtualClockTest {
+  private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+  private ManualClock clock;
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private Kuzzle.QueryArgs args;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    clock = new ManualClock();
+
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    options.setClock(clock);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+    args = QueryArgsHelper.makeQueryArgs("document", "create");
+  }
+
+  @Test
+  public void shouldUseTheOptionsClock() {
+    assertEquals(kuzzle.getClock(), clock);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRequireAClock() {
+    new Options().setClock(null);
+  }
+
+  @Test
+  public void shouldExpireQueuedRequestsInVirtualTime() throws Exception {
+    kuzzle.setState(States.OFFLINE);
+    kuzzle.setQueueTTL((int) (2 * HOUR));
+    kuzzle.startQueuing();
+
+    kuzzle.query(args, new JSONObject());
+    clock.advance(90 * MINUTE);
+    kuzzle.query(args, new JSONObject());
+    assertEquals(kuzzle.getMetrics().snapshot().getGauge(MetricsRegistry.QUEUE_AGE), 90 * MINUTE);
+
+    clock.advance(45 * MINUTE);
+    kuzzle.query(args, new JSONObject());
+
+    // the first request expired when the third one was queued
+    assertEquals(kuzzle.getOfflineQueue().size(), 2);
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.QUEUE_EXPIRED), 1);
+    assertEquals(kuzzle.getMetrics().snapshot().getGauge(MetricsRegistry.QUEUE_AGE), 45 * MINUTE);
+  }
+
+  @Test
+  public void shouldReplayTheQueueInVirtualTime() throws Exception {
+    kuzzle.setState(States.OFFLINE);
+    kuzzle.setQueueTTL((int) (24 * HOUR));
+    kuzzle.setReplayInterval(10 * MINUTE);
+    kuzzle.startQueuing();
+
+    for (int i = 0; i < 6; i++) {
+      kuzzle.query(args, new JSONObject());
+    }
+
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.replayQueue();
+    verify(socket, times(1)).send(anyString());
+
+    clock.advance(10 * MINUTE);
+    verify(socket, times(2)).send(anyString());
+
+    clock.advance(HOUR);
+    verify(socket, times(6)).send(anyString());
+    assertEquals(kuzzle.getOfflineQueue().isEmpty(), true);
+    assertEquals(clock.getPending(), 0);
+  }
+
+  @Test
+  public void shouldExpireTheRequestHistoryInVirtualTime() throws Exception {
+    kuzzle.setState(States.CONNECTED);
+
+    JSONObject first = new JSONObject();
+    kuzzle.query(args, first);
+    clock.advance(TimeUnit.SECONDS.toMillis(11));
+    JSONObject second = new JSONObject();
+    kuzzle.query(args, second);
+
+    assertEquals(kuzzle.getRequestHistory().containsKey(first.getString("requestId")), false);
+    assertEquals(kuzzle.getRequestHistory().containsKey(second.getString("requestId")), true);
+  }
+
+  @Test
+  public void shouldCoalesceEventsInVirtualTime() {
+    EventListener listener = mock(EventListener.class);
+    kuzzle.addListener(Event.offlineQueuePop, listener);
+    kuzzle.setEventPolicy(Event.offlineQueuePop, EventPolicy.COALESCE);
+    kuzzle.setEventWindow(HOUR);
+
+    for (int i = 0; i < 5; i++) {
+      kuzzle.emitEvent(Event.offlineQueuePop, i);
+    }
+
+    clock.advance(HOUR - 1);
+    verify(listener, never()).trigger(any());
+
+    clock.advance(1);
+    verify(listener, times(1)).trigger(4);
+  }
+
+  @Test
+  public void shouldSummarizeEventsInVirtualTime() {
+    EventListener listener = mock(EventListener.class);
+    kuzzle.addListener(Event.tokenExpired, listener);
+    kuzzle.setEventPolicy(Event.tokenExpired, EventPolicy.SUMMARIZE);
+    kuzzle.setEventWindow(MINUTE);
+
+    kuzzle.emitEvent(Event.tokenExpired, 0);
+    clock.advance(MINUTE / 2);
+    kuzzle.emitEvent(Event.tokenExpired, 1);
+    clock.advance(MINUTE);
+    kuzzle.emitEvent(Event.tokenExpired, 2);
+
+    verify(listener, times(1)).trigger(0);
+    verify(listener, never()).trigger(1);
+    verify(listener, times(1)).trigger(2);
+  }
+
+  @Test
+  public void shouldDeliverTheSummaryOnceTheWindowCloses() {
+    final List<Object[]> delivered = new ArrayList<>();
+    kuzzle.addListener(Event.tokenExpired, new EventListener() {
+      @Override
+      public void trigger(Object... args) {
+        delivered.add(args);
+      }
+    });
+    kuzzle.setEventPolicy(Event.tokenExpired, EventPolicy.SUMMARIZE);
+    kuzzle.setEventWindow(MINUTE);
+
+    for (int i = 0; i < 4; i++) {
+      kuzzle.emitEvent(Event.tokenExpired, i);
+      clock.advance(MINUTE / 10);
+    }
+
+    assertEquals(delivered.size(), 1);
+    assertEquals(delivered.get(0)[0], 0);
+
+    clock.advance(MINUTE);
+
+    // last dropped event, followed by the number of events dropped during the window
+    assertEquals(delivered.size(), 2);
+    assertEquals(delivered.get(1).length, 2);
+    assertEquals(delivered.get(1)[0], 3);
+    assertEquals(((EventSummary) delivered.get(1)[1]).getCount(), 3);
+    // the last dropped event is delivered with the summary
+    assertEquals(kuzzle.getEventStats(Event.tokenExpired).getEmitted(), 4);
+    assertEquals(kuzzle.getEventStats(Event.tokenExpired).getDelivered(), 2);
+    assertEquals(kuzzle.getEventStats(Event.tokenExpired).getDropped(), 2);
+
+    // no summary for a window without any dropped event
+    kuzzle.emitEvent(Event.tokenExpired, 4);
+    clock.advance(2 * MINUTE);
+    assertEquals(delivered.size(), 3);
+    assertEquals(delivered.get(2)[0], 4);
+  }
+
+  @Test
+  public void shouldDebounceRoomRenewalsInVirtualTime() throws Exception {
+    StressServerSocket server = new StressServerSocket(kuzzle.createRealSocket(), 1, 0);
+    kuzzle.setSocket(server);
+    kuzzle.setState(States.CONNECTED);
+
+    ResponseListener<NotificationResponse> listener = mock(ResponseListener.class);
+    Room room = new Room(new Collection(kuzzle, "collection", "index")).renew(listener);
+    awaitRoomId(room, "room-1");
+
+    // renewed a moment after the subscription: skipped
+    room.renew(listener);
+    assertEquals(server.getReceived(), 1);
+
+    // renewed once the renewal delay elapsed: unsubscribes, then subscribes again
+    clock.advance(501);
+    room.renew(listener);
+    awaitRoomId(room, "room-2");
+    assertEquals(server.getReceived(), 3);
+
+    server.shutdown();
+  }
+
+  private static void awaitRoomId(final Room room, final String roomId) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+
+    while (!roomId.equals(room.getRoomId()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+
+    assertEquals(room.getRoomId(), roomId);
+  }
+}
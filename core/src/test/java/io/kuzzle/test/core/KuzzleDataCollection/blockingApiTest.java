@@ -0,0 +1,170 @@
+package io.kuzzle.test.core.KuzzleDataCollection;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+public class blockingApiTest {
+  private Kuzzle kuzzle;
+  private Collection collection;
+  private ExecutorService responder;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options opts = new Options();
+    opts.setConnect(Mode.MANUAL);
+    KuzzleExtend extended = new KuzzleExtend("localhost", opts, null);
+    extended.setSocket(mock(WebSocketClient.class));
+    extended.setState(States.CONNECTED);
+
+    kuzzle = spy(extended);
+    when(kuzzle.getHeaders()).thenReturn(new JSONObject());
+
+    collection = new Collection(kuzzle, "test", "index");
+
+    // responses are delivered by a single thread, as with the socket reader
+    responder = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    responder.shutdownNow();
+  }
+
+  private void respond(final boolean success) throws JSONException {
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        final JSONObject query = (JSONObject) invocation.getArguments()[1];
+        final OnQueryDoneListener listener = (OnQueryDoneListener) invocation.getArguments()[3];
+
+        responder.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              if (success) {
+                listener.onSuccess(new JSONObject().put("result", new JSONObject()
+                  .put("_id", query.optString("_id", "generated"))
+                  .put("_version", 1)
+                  .put("_source", new JSONObject().put("foo", "bar"))
+                  .put("_meta", new JSONObject())
+                  .put("count", 42)
+                ));
+              } else {
+                listener.onError(new JSONObject().put("message", "not found").put("status", 404));
+              }
+            } catch (JSONException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+  }
+
+  @Test(timeout = 5000)
+  public void testFetchDocumentSync() throws Exception {
+    respond(true);
+
+    Document document = collection.fetchDocumentSync("foo");
+
+    assertEquals("foo", document.getId());
+    assertEquals("bar", document.getContent("foo"));
+  }
+
+  @Test(timeout = 5000)
+  public void testFetchDocumentSyncError() throws Exception {
+    respond(false);
+
+    try {
+      collection.fetchDocumentSync("foo", new Options());
+      fail("fetchDocumentSync should have thrown");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals(404, e.getError().getInt("status"));
+      assertEquals("not found", e.getMessage());
+    }
+  }
+
+  @Test(timeout = 5000)
+  public void testCountSync() throws Exception {
+    respond(true);
+
+    assertEquals(42, collection.countSync(new JSONObject(), null));
+  }
+
+  @Test(timeout = 5000)
+  public void testCreateDocumentSync() throws Exception {
+    respond(true);
+
+    Document document = collection.createDocumentSync("foo", new JSONObject().put("foo", "bar"), null);
+
+    assertEquals("foo", document.getId());
+  }
+
+  @Test(timeout = 15000)
+  public void testConcurrentCallers() throws Exception {
+    final int callers = 200;
+    final CountDownLatch done = new CountDownLatch(callers);
+    final ConcurrentHashMap<String, String> results = new ConcurrentHashMap<>();
+    ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+    respond(true);
+
+    for (int i = 0; i < callers; i++) {
+      final String id = "doc-" + i;
+
+      pool.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            results.put(id, collection.fetchDocumentSync(id).getId());
+          } catch (Exception e) {
+            results.put(id, e.toString());
+          } finally {
+            done.countDown();
+          }
+        }
+      });
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    pool.shutdown();
+
+    assertEquals(callers, results.size());
+    for (int i = 0; i < callers; i++) {
+      assertEquals("doc-" + i, results.get("doc-" + i));
+    }
+  }
+}
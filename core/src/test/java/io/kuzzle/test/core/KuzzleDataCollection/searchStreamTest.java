@@ -0,0 +1,198 @@
+package io.kuzzle.test.core.KuzzleDataCollection;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.net.URISyntaxException;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.HitConsumer;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class searchStreamTest {
+  private KuzzleExtend kuzzle;
+  private WebSocketClient socket;
+  private Collection collection;
+  private HitConsumer consumer;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options opts = new Options();
+    opts.setConnect(Mode.MANUAL);
+    kuzzle = new KuzzleExtend("localhost", opts, null);
+    socket = mock(WebSocketClient.class);
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+
+    collection = new Collection(kuzzle, "test", "index");
+    consumer = mock(HitConsumer.class);
+  }
+
+  private String response(String requestId) throws JSONException {
+    return new JSONObject()
+        .put("requestId", requestId)
+        .put("status", 200)
+        .put("error", JSONObject.NULL)
+        .put("room", requestId)
+        .put("result", new JSONObject()
+            .put("total", 42)
+            .put("_scroll_id", "scrollId")
+            .put("hits", new JSONArray()
+                .put(new JSONObject().put("_id", "foo").put("_score", 1).put("_source", new JSONObject().put("name", "foo")).put("_meta", new JSONObject().put("author", "bar")))
+                .put(new JSONObject().put("_id", "bar").put("_source", new JSONObject().put("name", "bar"))))
+            .put("aggregations", new JSONObject().put("foo", "bar")))
+        .toString();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalConsumer() {
+    collection.searchStream(new JSONObject(), new Options(), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalOptions() {
+    collection.searchStream(new JSONObject(), null, consumer);
+  }
+
+  @Test
+  public void testStreamFromFrame() throws JSONException, URISyntaxException {
+    Options options = new Options();
+    collection.searchStream(new JSONObject(), options, consumer);
+
+    ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(sent.capture());
+    String requestId = new JSONObject(sent.getValue()).getString("requestId");
+
+    kuzzle.createRealSocket().onTextReceived(response(requestId));
+
+    ArgumentCaptor<JSONObject> content = ArgumentCaptor.forClass(JSONObject.class);
+    ArgumentCaptor<JSONObject> meta = ArgumentCaptor.forClass(JSONObject.class);
+    InOrder order = inOrder(consumer);
+    order.verify(consumer).onHit(eq("foo"), content.capture(), meta.capture());
+    order.verify(consumer).onHit(eq("bar"), content.capture(), meta.capture());
+    order.verify(consumer).onSuccess(eq(42L), any(JSONObject.class));
+    assertEquals(content.getAllValues().get(0).getString("name"), "foo");
+    assertEquals(content.getAllValues().get(1).getString("name"), "bar");
+    assertEquals(meta.getAllValues().get(0).getString("author"), "bar");
+    assertEquals(meta.getAllValues().get(1), null);
+    assertEquals(options.getScrollId(), "scrollId");
+    verify(consumer, never()).onError(any(JSONObject.class));
+  }
+
+  @Test
+  public void testOtherFramesAreParsedNormally() throws JSONException, URISyntaxException {
+    OnQueryDoneListener listener = mock(OnQueryDoneListener.class);
+    kuzzle.query(new Kuzzle.QueryArgs(), new JSONObject().put("requestId", "regular"), null, listener);
+    collection.searchStream(new JSONObject(), new Options(), consumer);
+
+    WebSocketClient client = kuzzle.createRealSocket();
+    client.onTextReceived(new JSONObject().put("requestId", "regular").put("room", "regular").put("result", "ok").toString());
+
+    verify(listener).onSuccess(any(JSONObject.class));
+    verify(consumer, never()).onHit(anyString(), any(JSONObject.class), any(JSONObject.class));
+  }
+
+  @Test
+  public void testNotificationsWithoutRequestIdDuringAStream() throws JSONException, URISyntaxException {
+    EventListener room = mock(EventListener.class);
+    kuzzle.addRoom("channel", room);
+    collection.searchStream(new JSONObject(), new Options(), consumer);
+
+    kuzzle.createRealSocket().onTextReceived(new JSONObject().put("room", "channel").put("result", new JSONObject()).toString());
+
+    verify(room).trigger(any(JSONObject.class));
+    verify(consumer, never()).onError(any(JSONObject.class));
+  }
+
+  @Test
+  public void testStreamErrorFrame() throws JSONException, URISyntaxException {
+    collection.searchStream(new JSONObject(), new Options(), consumer);
+
+    ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(sent.capture());
+    String requestId = new JSONObject(sent.getValue()).getString("requestId");
+
+    kuzzle.createRealSocket().onTextReceived(new JSONObject()
+        .put("requestId", requestId)
+        .put("status", 400)
+        .put("error", new JSONObject().put("message", "foo"))
+        .put("result", JSONObject.NULL)
+        .toString());
+
+    ArgumentCaptor<JSONObject> error = ArgumentCaptor.forClass(JSONObject.class);
+    verify(consumer).onError(error.capture());
+    assertEquals(error.getValue().getString("message"), "foo");
+    verify(consumer, never()).onSuccess(any(Long.class), any(JSONObject.class));
+  }
+
+  @Test
+  public void testStreamTokenExpired() throws JSONException, URISyntaxException {
+    EventListener expired = mock(EventListener.class);
+    kuzzle.addListener(Event.tokenExpired, expired);
+    collection.searchStream(new JSONObject(), new Options(), consumer);
+
+    ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+    verify(socket).send(sent.capture());
+    String requestId = new JSONObject(sent.getValue()).getString("requestId");
+
+    kuzzle.createRealSocket().onTextReceived(new JSONObject()
+        .put("requestId", requestId)
+        .put("status", 401)
+        .put("error", new JSONObject().put("message", "Token expired"))
+        .toString());
+
+    verify(expired).trigger(consumer);
+    verify(consumer).onError(any(JSONObject.class));
+  }
+
+  @Test
+  public void testStreamFromParsedResponse() throws JSONException {
+    Kuzzle spied = spy(kuzzle);
+    when(spied.getHeaders()).thenReturn(new JSONObject());
+    collection = new Collection(spied, "test", "index");
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(new JSONObject(response("42")));
+        return null;
+      }
+    }).when(spied).query(any(Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    collection.searchStream(new JSONObject(), new Options(), consumer);
+
+    ArgumentCaptor<JSONObject> aggregations = ArgumentCaptor.forClass(JSONObject.class);
+    verify(consumer).onHit(eq("foo"), any(JSONObject.class), any(JSONObject.class));
+    verify(consumer).onHit(eq("bar"), any(JSONObject.class), (JSONObject) isNull());
+    verify(consumer).onSuccess(eq(42L), aggregations.capture());
+    assertEquals(aggregations.getValue().getString("foo"), "bar");
+  }
+}
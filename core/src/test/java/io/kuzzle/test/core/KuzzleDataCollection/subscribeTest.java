@@ -0,0 +1,206 @@
+package io.kuzzle.test.core.KuzzleDataCollection;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.net.URISyntaxException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.core.RoomOptions;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.enums.OverflowStrategy;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.sdk.util.NotificationPublisher;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class subscribeTest {
+  private Kuzzle kuzzle;
+  private Collection collection;
+  private ResponseListener listener;
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options opts = new Options();
+    opts.setConnect(Mode.MANUAL);
+    KuzzleExtend extended = new KuzzleExtend("localhost", opts, null);
+    extended.setSocket(mock(WebSocketClient.class));
+    extended.setState(States.CONNECTED);
+
+    kuzzle = spy(extended);
+    when(kuzzle.getHeaders()).thenReturn(new JSONObject());
+
+    collection = new Collection(kuzzle, "test", "index");
+    listener = mock(ResponseListener.class);
+  }
+
+  @Test
+  public void checkSignaturesVariants() {
+    collection = spy(collection);
+    collection.subscribe(new JSONObject(), listener);
+    verify(collection).subscribe(any(JSONObject.class), eq((RoomOptions)null), eq(listener));
+  }
+
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubscribeIllegalListener() {
+    collection.subscribe(mock(JSONObject.class), null);
+  }
+
+  @Test
+  public void testSubscribe() throws JSONException {
+    final ArgumentCaptor argument = ArgumentCaptor.forClass(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class);
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        //Mock response
+        JSONObject result = new JSONObject();
+        result.put("result", new JSONObject().put("channel", "channel").put("roomId", "42"));
+        //Call callback with response
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(result);
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onError(new JSONObject());
+        verify(kuzzle, atLeastOnce()).query((io.kuzzle.sdk.core.Kuzzle.QueryArgs) argument.capture(), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+        assertEquals(((io.kuzzle.sdk.core.Kuzzle.QueryArgs) argument.getValue()).controller, "realtime");
+        assertEquals(((io.kuzzle.sdk.core.Kuzzle.QueryArgs) argument.getValue()).action, "subscribe");
+
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+    collection.subscribe(mock(JSONObject.class), new RoomOptions(), listener);
+    collection.subscribe(mock(JSONObject.class), listener);
+    collection.subscribe(new RoomOptions(), listener);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubscribeIllegalPublisher() {
+    collection.subscribe(mock(JSONObject.class), null, (NotificationPublisher) null);
+  }
+
+  @Test
+  public void testSubscribePublisherError() throws JSONException, InterruptedException {
+    final CountDownLatch failed = new CountDownLatch(1);
+    final Throwable[] error = {null};
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.DROP_OLDEST);
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onError(new JSONObject().put("message", "foo"));
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    publisher.subscribe(new Subscriber<NotificationResponse>() {
+      @Override
+      public void onSubscribe(Subscription s) {
+        s.request(1);
+      }
+
+      @Override
+      public void onNext(NotificationResponse response) {
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        error[0] = t;
+        failed.countDown();
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    collection.subscribe(new JSONObject(), null, publisher);
+
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+    assertTrue(error[0] instanceof KuzzleFuture.ResponseError);
+    assertEquals("foo", error[0].getMessage());
+  }
+
+  @Test
+  public void testPublisherCancelUnsubscribes() throws JSONException, InterruptedException {
+    final CountDownLatch unsubscribed = new CountDownLatch(1);
+    final Subscription[] subscription = {null};
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.DROP_OLDEST);
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        if (((io.kuzzle.sdk.core.Kuzzle.QueryArgs) invocation.getArguments()[0]).action.equals("unsubscribe")) {
+          assertEquals(((JSONObject) invocation.getArguments()[1]).getJSONObject("body").getString("roomId"), "42");
+          unsubscribed.countDown();
+        } else {
+          ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(new JSONObject()
+            .put("result", new JSONObject().put("channel", "channel").put("roomId", "42")));
+        }
+
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    publisher.subscribe(new Subscriber<NotificationResponse>() {
+      @Override
+      public void onSubscribe(Subscription s) {
+        subscription[0] = s;
+      }
+
+      @Override
+      public void onNext(NotificationResponse response) {
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    final CountDownLatch subscribed = new CountDownLatch(1);
+
+    collection.subscribe(new JSONObject(), null, publisher).onDone(new ResponseListener<Room>() {
+      @Override
+      public void onSuccess(Room response) {
+        subscribed.countDown();
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    });
+
+    assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+    subscription[0].cancel();
+
+    assertTrue(unsubscribed.await(5, TimeUnit.SECONDS));
+  }
+}
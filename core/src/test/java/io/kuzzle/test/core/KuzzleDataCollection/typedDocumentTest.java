@@ -0,0 +1,406 @@
+package io.kuzzle.test.core.KuzzleDataCollection;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.json.JsonReader;
+import io.kuzzle.sdk.listeners.EventListener;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.responses.TypedSearchResult;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.DocumentCodec;
+import io.kuzzle.sdk.util.StreamingDocumentCodec;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class typedDocumentTest {
+  private Kuzzle kuzzle;
+  private Collection collection;
+  private ResponseListener listener;
+  private List<JSONObject> sent = new ArrayList<>();
+
+  public static class Car {
+    public String id;
+    public String brand;
+    public int seats;
+  }
+
+  private DocumentCodec<Car> codec = new DocumentCodec<Car>() {
+    @Override
+    public Car decode(String id, JSONObject source) throws JSONException {
+      Car car = new Car();
+      car.id = id;
+      car.brand = source.getString("brand");
+      car.seats = source.getInt("seats");
+      return car;
+    }
+
+    @Override
+    public JSONObject encode(Car car) throws JSONException {
+      return new JSONObject().put("brand", car.brand).put("seats", car.seats);
+    }
+  };
+
+  private StreamingDocumentCodec<Car> streamingCodec = new StreamingDocumentCodec<Car>() {
+    @Override
+    public Car read(String id, JsonReader source) throws JSONException {
+      Car car = new Car();
+      car.id = id;
+      source.beginObject();
+      while (source.hasNext()) {
+        String name = source.nextName();
+
+        if (name.equals("brand")) {
+          car.brand = source.nextString();
+        } else if (name.equals("seats")) {
+          car.seats = source.nextNumber().intValue();
+        } else {
+          source.skipValue();
+        }
+      }
+      source.endObject();
+      return car;
+    }
+
+    @Override
+    public Car decode(String id, JSONObject source) throws JSONException {
+      return codec.decode(id, source);
+    }
+
+    @Override
+    public JSONObject encode(Car car) throws JSONException {
+      return codec.encode(car);
+    }
+  };
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options opts = new Options();
+    opts.setConnect(Mode.MANUAL);
+    KuzzleExtend extended = new KuzzleExtend("localhost", opts, null);
+    extended.setSocket(mock(WebSocketClient.class));
+    extended.setState(States.CONNECTED);
+    kuzzle = spy(extended);
+    when(kuzzle.getHeaders()).thenReturn(new JSONObject());
+
+    collection = new Collection(kuzzle, "test", "index");
+    listener = mock(ResponseListener.class);
+  }
+
+  private JSONObject hit(String id, String brand, int seats) throws JSONException {
+    return new JSONObject()
+        .put("_id", id)
+        .put("_source", new JSONObject().put("brand", brand).put("seats", seats))
+        .put("_meta", new JSONObject());
+  }
+
+  /**
+   * Answers queries with raw frames, built from the request identifier.
+   * Sent queries are kept in the sent list.
+   */
+  private Collection answerWithFrame(final String frame) throws URISyntaxException {
+    Options opts = new Options();
+    opts.setConnect(Mode.MANUAL);
+    KuzzleExtend extended = new KuzzleExtend("localhost", opts, null);
+    final WebSocketClient receiver = extended.createRealSocket();
+    WebSocketClient socket = mock(WebSocketClient.class);
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        JSONObject query = new JSONObject((String) invocation.getArguments()[0]);
+        String requestId = query.getString("requestId");
+        sent.add(query);
+        receiver.onTextReceived(frame.replace("%requestId%", requestId));
+        return null;
+      }
+    }).when(socket).send(anyString());
+
+    extended.setSocket(socket);
+    extended.setState(States.CONNECTED);
+    return new Collection(extended, "test", "index");
+  }
+
+  private void answerWith(final JSONObject result) throws JSONException {
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(new JSONObject().put("result", result));
+        return null;
+      }
+    }).when(kuzzle).query(any(Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFetchDocumentIllegalCodec() {
+    collection.fetchDocument("id", null, (DocumentCodec<Car>) null, listener);
+  }
+
+  @Test
+  public void testFetchDocument() throws JSONException {
+    answerWith(hit("foo", "Renault", 5).put("_version", 1));
+
+    collection.fetchDocument("foo", null, codec, listener);
+
+    ArgumentCaptor<Car> argument = ArgumentCaptor.forClass(Car.class);
+    verify(listener).onSuccess(argument.capture());
+    assertEquals(argument.getValue().id, "foo");
+    assertEquals(argument.getValue().brand, "Renault");
+    assertEquals(argument.getValue().seats, 5);
+
+    ArgumentCaptor<Kuzzle.QueryArgs> args = ArgumentCaptor.forClass(Kuzzle.QueryArgs.class);
+    verify(kuzzle).query(args.capture(), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+    assertEquals(args.getValue().controller, "document");
+    assertEquals(args.getValue().action, "get");
+  }
+
+  @Test
+  public void testSearch() throws JSONException {
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("_scroll_id", "scrollId")
+        .put("hits", new JSONArray().put(hit("foo", "Renault", 5)).put(hit("bar", "Peugeot", 2))));
+
+    Options options = new Options();
+    collection.search(new JSONObject(), options, codec, listener);
+
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+    TypedSearchResult<Car> result = argument.getValue();
+    assertEquals(result.getTotal(), 3);
+    assertEquals(result.getFetchedDocument(), 2);
+    assertEquals(result.getDocuments().size(), 2);
+    assertEquals(result.getDocuments().get(1).id, "bar");
+    assertEquals(result.getDocuments().get(1).brand, "Peugeot");
+    assertEquals(options.getScrollId(), "scrollId");
+  }
+
+  @Test
+  public void testFetchNextWithScroll() throws JSONException {
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("_scroll_id", "scrollId")
+        .put("hits", new JSONArray().put(hit("foo", "Renault", 5)).put(hit("bar", "Peugeot", 2))));
+
+    collection.search(new JSONObject(), new Options(), codec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("hits", new JSONArray().put(hit("baz", "Fiat", 4))));
+
+    ResponseListener next = mock(ResponseListener.class);
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(next);
+
+    ArgumentCaptor<Kuzzle.QueryArgs> args = ArgumentCaptor.forClass(Kuzzle.QueryArgs.class);
+    verify(kuzzle, times(2)).query(args.capture(), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+    assertEquals(args.getAllValues().get(1).action, "scroll");
+
+    ArgumentCaptor<TypedSearchResult> page = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(next).onSuccess(page.capture());
+    assertEquals(page.getValue().getFetchedDocument(), 3);
+    assertEquals(((Car) page.getValue().getDocuments().get(0)).brand, "Fiat");
+
+    ResponseListener last = mock(ResponseListener.class);
+    ((TypedSearchResult<Car>) page.getValue()).fetchNext(last);
+    verify(last).onSuccess(null);
+  }
+
+  @Test
+  public void testFetchNextWithSearchAfter() throws JSONException {
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("hits", new JSONArray().put(hit("foo", "Renault", 5)).put(hit("bar", "Peugeot", 2))));
+
+    JSONObject filters = new JSONObject().put("sort", new JSONArray().put(new JSONObject().put("seats", "asc")));
+    collection.search(filters, new Options().setSize(2L), codec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(mock(ResponseListener.class));
+
+    ArgumentCaptor<JSONObject> query = ArgumentCaptor.forClass(JSONObject.class);
+    verify(kuzzle, times(2)).query(any(Kuzzle.QueryArgs.class), query.capture(), any(Options.class), any(OnQueryDoneListener.class));
+    assertEquals(query.getAllValues().get(1).getJSONObject("body").getJSONArray("search_after").getInt(0), 2);
+  }
+
+  @Test
+  public void testSearchWithStreamingCodec() throws Exception {
+    // the second hit content comes before its identifier
+    Collection streamed = answerWithFrame("{\"requestId\":\"%requestId%\",\"room\":\"%requestId%\",\"status\":200,\"result\":{"
+        + "\"total\":3,\"_scroll_id\":\"scrollId\",\"hits\":["
+        + "{\"_id\":\"foo\",\"_source\":{\"brand\":\"Renault\",\"seats\":5,\"color\":[\"red\"]},\"_meta\":{}},"
+        + "{\"_source\":{\"brand\":\"Peugeot\",\"seats\":2},\"_id\":\"bar\"}]}}");
+
+    Options options = new Options();
+    streamed.search(new JSONObject(), options, streamingCodec, listener);
+
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+    TypedSearchResult<Car> result = argument.getValue();
+    assertEquals(result.getTotal(), 3);
+    assertEquals(result.getDocuments().size(), 2);
+    assertEquals(result.getDocuments().get(0).id, "foo");
+    assertEquals(result.getDocuments().get(0).seats, 5);
+    assertEquals(result.getDocuments().get(1).id, "bar");
+    assertEquals(result.getDocuments().get(1).brand, "Peugeot");
+    assertEquals(options.getScrollId(), "scrollId");
+  }
+
+  @Test
+  public void testFetchDocumentWithStreamingCodec() throws Exception {
+    Collection streamed = answerWithFrame("{\"requestId\":\"%requestId%\",\"room\":\"%requestId%\",\"status\":200,"
+        + "\"result\":{\"_id\":\"foo\",\"_version\":1,\"_source\":{\"brand\":\"Renault\",\"seats\":5}}}");
+
+    streamed.fetchDocument("foo", null, streamingCodec, listener);
+
+    ArgumentCaptor<Car> argument = ArgumentCaptor.forClass(Car.class);
+    verify(listener).onSuccess(argument.capture());
+    assertEquals(argument.getValue().id, "foo");
+    assertEquals(argument.getValue().brand, "Renault");
+  }
+
+  @Test
+  public void testStreamingCodecTokenExpired() throws Exception {
+    Collection streamed = answerWithFrame("{\"requestId\":\"%requestId%\",\"room\":\"%requestId%\",\"status\":401,"
+        + "\"error\":{\"message\":\"Token expired\"}}");
+    EventListener expired = mock(EventListener.class);
+    streamed.getKuzzle().addListener(Event.tokenExpired, expired);
+
+    streamed.search(new JSONObject(), new Options(), streamingCodec, listener);
+
+    verify(listener).onError(any(JSONObject.class));
+    verify(expired).trigger(listener);
+  }
+
+  @Test
+  public void testFetchNextWithSearchAfterAndStreamingCodec() throws JSONException {
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("hits", new JSONArray().put(hit("foo", "Renault", 5)).put(hit("bar", "Peugeot", 2))));
+
+    JSONObject filters = new JSONObject().put("sort", new JSONArray().put(new JSONObject().put("seats", "asc")));
+    collection.search(filters, new Options().setSize(2L), streamingCodec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+
+    // the raw last hit is kept: its content holds the sort values
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(mock(ResponseListener.class));
+
+    ArgumentCaptor<JSONObject> query = ArgumentCaptor.forClass(JSONObject.class);
+    verify(kuzzle, times(2)).query(any(Kuzzle.QueryArgs.class), query.capture(), any(Options.class), any(OnQueryDoneListener.class));
+    assertEquals(query.getAllValues().get(1).getJSONObject("body").getJSONArray("search_after").getInt(0), 2);
+  }
+
+  @Test
+  public void testFetchNextWithHitsSortValuesAndStreamingCodec() throws Exception {
+    // sorted on a field Car does not declare: Kuzzle sort values are used as they are
+    Collection streamed = answerWithFrame("{\"requestId\":\"%requestId%\",\"room\":\"%requestId%\",\"status\":200,\"result\":{"
+        + "\"total\":3,\"hits\":["
+        + "{\"_id\":\"foo\",\"_source\":{\"brand\":\"Renault\",\"seats\":5,\"price\":12000},\"sort\":[12000,\"foo\"]},"
+        + "{\"_id\":\"bar\",\"_source\":{\"brand\":\"Peugeot\",\"seats\":2,\"price\":15000},\"sort\":[15000,\"bar\"]}]}}");
+
+    JSONObject filters = new JSONObject().put("sort", new JSONArray().put(new JSONObject().put("price", "asc")).put("_id"));
+    streamed.search(filters, new Options().setSize(2L), streamingCodec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+    assertEquals(((TypedSearchResult<Car>) argument.getValue()).getDocuments().get(1).brand, "Peugeot");
+
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(mock(ResponseListener.class));
+
+    JSONArray searchAfter = sent.get(1).getJSONObject("body").getJSONArray("search_after");
+    assertEquals(searchAfter.length(), 2);
+    assertEquals(searchAfter.getInt(0), 15000);
+    assertEquals(searchAfter.getString(1), "bar");
+  }
+
+  @Test
+  public void testFetchNextWithRawSourceAndStreamingCodec() throws Exception {
+    // no sort values returned: they are read from the last hit raw content, the identifier being read first
+    Collection streamed = answerWithFrame("{\"requestId\":\"%requestId%\",\"room\":\"%requestId%\",\"status\":200,\"result\":{"
+        + "\"total\":3,\"hits\":["
+        + "{\"_id\":\"foo\",\"_source\":{\"brand\":\"Renault\",\"seats\":5,\"specs\":{\"weight\":1100}}},"
+        + "{\"_id\":\"bar\",\"_source\":{\"brand\":\"Peugeot\",\"seats\":2,\"specs\":{\"weight\":980}}}]}}");
+
+    JSONObject filters = new JSONObject().put("sort", new JSONArray()
+        .put(new JSONObject().put("specs.weight", "desc"))
+        .put(new JSONObject().put("_id", "asc")));
+    streamed.search(filters, new Options().setSize(2L), streamingCodec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+    assertEquals(((TypedSearchResult<Car>) argument.getValue()).getDocuments().get(1).id, "bar");
+    assertEquals(((TypedSearchResult<Car>) argument.getValue()).getDocuments().get(1).seats, 2);
+
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(mock(ResponseListener.class));
+
+    JSONArray searchAfter = sent.get(1).getJSONObject("body").getJSONArray("search_after");
+    assertEquals(searchAfter.length(), 2);
+    assertEquals(searchAfter.getInt(0), 980);
+    assertEquals(searchAfter.getString(1), "bar");
+  }
+
+  @Test
+  public void testFetchNextWithoutPagination() throws JSONException {
+    answerWith(new JSONObject()
+        .put("total", 3)
+        .put("hits", new JSONArray().put(hit("foo", "Renault", 5))));
+
+    collection.search(null, new Options(), codec, listener);
+    ArgumentCaptor<TypedSearchResult> argument = ArgumentCaptor.forClass(TypedSearchResult.class);
+    verify(listener).onSuccess(argument.capture());
+    assertNull(argument.getValue().getAggregations());
+
+    ResponseListener next = mock(ResponseListener.class);
+    ((TypedSearchResult<Car>) argument.getValue()).fetchNext(next);
+    verify(next).onError(any(JSONObject.class));
+  }
+
+  @Test
+  public void testCreateDocument() throws JSONException {
+    answerWith(hit("foo", "Renault", 5));
+
+    Car car = new Car();
+    car.brand = "Renault";
+    car.seats = 5;
+    collection.createDocument("foo", car, codec, null, listener);
+
+    ArgumentCaptor<JSONObject> query = ArgumentCaptor.forClass(JSONObject.class);
+    ArgumentCaptor<Kuzzle.QueryArgs> args = ArgumentCaptor.forClass(Kuzzle.QueryArgs.class);
+    verify(kuzzle).query(args.capture(), query.capture(), any(Options.class), any(OnQueryDoneListener.class));
+    assertEquals(args.getValue().action, "create");
+    assertEquals(query.getValue().getString("_id"), "foo");
+    assertEquals(query.getValue().getJSONObject("body").getString("brand"), "Renault");
+
+    ArgumentCaptor<Car> argument = ArgumentCaptor.forClass(Car.class);
+    verify(listener).onSuccess(argument.capture());
+    assertEquals(argument.getValue().id, "foo");
+  }
+}
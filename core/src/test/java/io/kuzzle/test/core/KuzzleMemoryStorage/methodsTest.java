@@ -18,6 +18,7 @@ import io.kuzzle.sdk.core.MemoryStorage;
 import io.kuzzle.sdk.core.Options;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
 import io.kuzzle.sdk.util.KuzzleJSONObject;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -2455,4 +2456,27 @@ public class methodsTest {
     ms.zunionstore("key", keys, listener);
   }
 
+  @Test
+  public void testBlockingVariants() throws Exception {
+    mockResult(new KuzzleJSONObject().put("result", "bar"));
+    assertEquals("bar", ms.getSync("foo", null));
+
+    mockResult(new KuzzleJSONObject().put("result", 42));
+    assertEquals(42, ms.incrSync("foo", null));
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onError(new JSONObject().put("message", "foo"));
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    try {
+      ms.ttlSync("foo", null);
+      fail("ttlSync should have thrown");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals("foo", e.getMessage());
+    }
+  }
 }
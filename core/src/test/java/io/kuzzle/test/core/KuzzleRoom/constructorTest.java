@@ -10,6 +10,7 @@ import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Room;
 import io.kuzzle.sdk.core.RoomOptions;
 import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.time.SystemClock;
 import io.kuzzle.test.testUtils.RoomExtend;
 
 import static org.junit.Assert.assertEquals;
@@ -42,6 +43,7 @@ public class constructorTest {
     mockResponse.put("result", new JSONObject().put("channel", "channel").put("roomId", "42"));
     k = mock(Kuzzle.class);
     when(k.getHeaders()).thenReturn(new JSONObject());
+    when(k.getClock()).thenReturn(SystemClock.INSTANCE);
     room = new RoomExtend(new Collection(k, "test", "index"));
   }
 
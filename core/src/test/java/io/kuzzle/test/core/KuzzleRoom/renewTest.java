@@ -11,6 +11,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.net.URISyntaxException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.kuzzle.sdk.core.Collection;
 import io.kuzzle.sdk.core.Kuzzle;
@@ -19,6 +22,7 @@ import io.kuzzle.sdk.core.Room;
 import io.kuzzle.sdk.enums.Mode;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.listeners.SubscribeListener;
 import io.kuzzle.sdk.responses.NotificationResponse;
 import io.kuzzle.sdk.state.States;
 import io.kuzzle.test.testUtils.KuzzleExtend;
@@ -26,6 +30,7 @@ import io.kuzzle.test.testUtils.RoomExtend;
 import tech.gusavila92.websocketclient.WebSocketClient;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -43,6 +48,26 @@ public class renewTest {
   private Kuzzle k;
   private RoomExtend room;
 
+  /**
+   * Room unsubscribing for real when renewed, unlike RoomExtend
+   */
+  private static class SubscribedRoom extends Room {
+    SubscribedRoom(final Collection collection, final String roomId) {
+      super(collection);
+      this.roomId = roomId;
+    }
+  }
+
+  private Kuzzle connectedKuzzle() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+    KuzzleExtend kuzzle = new KuzzleExtend("localhost", options, null);
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.setSocket(mock(WebSocketClient.class));
+
+    return spy(kuzzle);
+  }
+
   @Before
   public void setUp() throws JSONException {
     mockNotif.put("type", "type")
@@ -163,4 +188,86 @@ public class renewTest {
     }).when(extended).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
     room.renew(listener);
   }
+
+  @Test(timeout = 5000)
+  public void testRenewUnsubscribesOutsideOfTheQueueLock() throws Exception {
+    final Kuzzle kuzzleSpy = connectedKuzzle();
+    final Room testRoom = new SubscribedRoom(new Collection(kuzzleSpy, "collection", "index"), "foobar");
+    final CountDownLatch unsubscribed = new CountDownLatch(1);
+    final boolean[] lockFree = {false};
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        if (((io.kuzzle.sdk.core.Kuzzle.QueryArgs) invocation.getArguments()[0]).action.equals("unsubscribe")) {
+          // another thread queuing a call must not wait for the unsubscribe request to be sent
+          Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+              testRoom.unsubscribe();
+            }
+          });
+          other.start();
+          other.join(1000);
+          lockFree[0] = !other.isAlive();
+          unsubscribed.countDown();
+        }
+
+        return null;
+      }
+    }).when(kuzzleSpy).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    testRoom.renew(new JSONObject(), listener, null);
+
+    assertTrue(unsubscribed.await(1, TimeUnit.SECONDS));
+    assertTrue(lockFree[0]);
+  }
+
+  @Test(timeout = 5000)
+  public void testFailingSubscriptionStopsSubscribing() throws Exception {
+    final Kuzzle kuzzleSpy = connectedKuzzle();
+    final Room testRoom = new Room(new Collection(kuzzleSpy, "collection", "index"));
+    final CountDownLatch subscribed = new CountDownLatch(1);
+    final AtomicInteger unsubscriptions = new AtomicInteger();
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        if (((io.kuzzle.sdk.core.Kuzzle.QueryArgs) invocation.getArguments()[0]).action.equals("unsubscribe")) {
+          unsubscriptions.incrementAndGet();
+          return null;
+        }
+
+        try {
+          ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(mockResponse);
+        } catch (IllegalStateException e) {
+          // thrown by the application listener
+        } finally {
+          subscribed.countDown();
+        }
+
+        return null;
+      }
+    }).when(kuzzleSpy).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    SubscribeListener subscribeListener = new SubscribeListener();
+    subscribeListener.onDone(new ResponseListener<Room>() {
+      @Override
+      public void onSuccess(Room response) {
+        throw new IllegalStateException("listener failure");
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+      }
+    });
+
+    testRoom.renew(new JSONObject(), listener, subscribeListener);
+
+    assertTrue(subscribed.await(1, TimeUnit.SECONDS));
+
+    // not queued until a subscription that will never end
+    testRoom.unsubscribe();
+    assertEquals(unsubscriptions.get(), 1);
+  }
 }
@@ -9,7 +9,6 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.net.URISyntaxException;
-import java.util.Timer;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Collection;
@@ -161,7 +160,7 @@ public class unsubscribeTest {
 
     room = new RoomExtend(new Collection(extended, "test", "index"));
     room.setRoomId("foobar");
-    room.unsubscribeTask(new Timer(), room.getRoomId(), new JSONObject()).run();
+    room.unsubscribeTask(room.getRoomId(), new JSONObject()).run();
     verify(extended).query(any(Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
   }
 
@@ -176,7 +175,7 @@ public class unsubscribeTest {
     doThrow(JSONException.class).when(extended).getPendingSubscriptions();
     room = new RoomExtend(new Collection(extended, "test", "index"));
     room.setRoomId("foobar");
-    room.unsubscribeTask(new Timer(), room.getRoomId(), new JSONObject()).run();
+    room.unsubscribeTask(room.getRoomId(), new JSONObject()).run();
   }
 
 }
@@ -0,0 +1,79 @@
+package io.kuzzle.test.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.json.JsonEngine;
+import io.kuzzle.sdk.json.OrgJsonEngine;
+import io.kuzzle.sdk.json.StreamingJsonEngine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class JsonEngineTest {
+  private static final String DOCUMENT = "{\"requestId\":\"42\",\"status\":200,\"result\":{\"total\":4294967296," +
+      "\"hits\":[{\"_id\":\"foo\",\"_source\":{\"name\":\"\\\"quoted\\\"\",\"price\":12.5,\"tags\":[\"a\",null,false]}}]}}";
+
+  private JsonEngine streaming = new StreamingJsonEngine();
+  private JsonEngine orgJson = new OrgJsonEngine();
+
+  @After
+  public void tearDown() {
+    Json.setEngine(new StreamingJsonEngine());
+  }
+
+  @Test
+  public void shouldParseLikeOrgJson() throws JSONException {
+    JSONObject expected = orgJson.parse(DOCUMENT);
+    JSONObject parsed = streaming.parse(DOCUMENT);
+
+    assertEquals(parsed.toString(), expected.toString());
+    assertEquals(parsed.getJSONObject("result").get("total"), 4294967296L);
+    assertEquals(parsed.getInt("status"), 200);
+    assertTrue(parsed.getJSONObject("result").getJSONArray("hits").getJSONObject(0)
+        .getJSONObject("_source").getJSONArray("tags").isNull(1));
+  }
+
+  @Test
+  public void shouldSerializeLikeOrgJson() throws JSONException {
+    JSONObject object = orgJson.parse(DOCUMENT);
+    StringBuilder sb = new StringBuilder();
+
+    streaming.write(sb, object);
+    assertEquals(sb.toString(), object.toString());
+  }
+
+  @Test
+  public void shouldDeepCopy() throws JSONException {
+    JSONObject object = streaming.parse(DOCUMENT);
+    JSONObject copy = streaming.copy(object);
+
+    assertEquals(copy.toString(), object.toString());
+    assertNotSame(copy.getJSONObject("result"), object.getJSONObject("result"));
+
+    copy.getJSONObject("result").getJSONArray("hits").put("bar");
+    assertEquals(object.getJSONObject("result").getJSONArray("hits").length(), 1);
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectNonObjects() throws JSONException {
+    streaming.parse("[1, 2]");
+  }
+
+  @Test
+  public void shouldSwitchEngines() throws JSONException {
+    Json.setEngine(orgJson);
+    assertEquals(Json.getEngine(), orgJson);
+    assertEquals(Json.serialize(new JSONObject().put("foo", new JSONArray().put(1))), "{\"foo\":[1]}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNullEngine() {
+    Json.setEngine(null);
+  }
+}
@@ -0,0 +1,119 @@
+package io.kuzzle.test.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import io.kuzzle.sdk.json.JsonReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JsonReaderTest {
+  @Test
+  public void shouldReadTokens() throws JSONException {
+    JsonReader reader = new JsonReader(" { \"foo\" : [1, \"bar\", true, null], \"baz\": {} } ");
+
+    assertEquals(reader.peek(), JsonReader.Token.BEGIN_OBJECT);
+    reader.beginObject();
+    assertEquals(reader.nextName(), "foo");
+    reader.beginArray();
+    assertEquals(reader.nextNumber(), 1);
+    assertEquals(reader.nextString(), "bar");
+    assertTrue(reader.nextBoolean());
+    assertEquals(reader.peek(), JsonReader.Token.NULL);
+    reader.nextNull();
+    assertFalse(reader.hasNext());
+    reader.endArray();
+    assertEquals(reader.nextName(), "baz");
+    reader.beginObject();
+    assertFalse(reader.hasNext());
+    reader.endObject();
+    reader.endObject();
+    assertEquals(reader.peek(), JsonReader.Token.END_DOCUMENT);
+  }
+
+  @Test
+  public void shouldConvertNumbersLikeOrgJson() throws JSONException {
+    JsonReader reader = new JsonReader("[42, -3, 4294967296, 1.5, 1e3, 123456789012345678901234567890]");
+
+    reader.beginArray();
+    assertEquals(reader.nextNumber(), 42);
+    assertEquals(reader.nextNumber(), -3);
+    assertEquals(reader.nextNumber(), 4294967296L);
+    assertEquals(reader.nextNumber(), 1.5);
+    assertEquals(reader.nextNumber(), 1000.0);
+    assertEquals(reader.nextNumber(), 1.2345678901234568E29);
+    reader.endArray();
+  }
+
+  @Test
+  public void shouldUnescapeStrings() throws JSONException {
+    JsonReader reader = new JsonReader("[\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\"]");
+
+    reader.beginArray();
+    assertEquals(reader.nextString(), "a\"b\\c/d\n\té");
+  }
+
+  @Test
+  public void shouldSkipValues() throws JSONException {
+    JsonReader reader = new JsonReader("{\"skipped\": {\"a\": [1, {\"b\": \"\\\"}\"}]}, \"kept\": 42}");
+
+    reader.beginObject();
+    assertEquals(reader.nextName(), "skipped");
+    reader.skipValue();
+    assertEquals(reader.nextName(), "kept");
+    assertEquals(reader.nextNumber(), 42);
+    reader.endObject();
+  }
+
+  @Test
+  public void shouldBuildSubtrees() throws JSONException {
+    JsonReader reader = new JsonReader("{\"hits\": [{\"_id\": \"foo\"}, {\"_id\": \"bar\"}]}");
+
+    reader.beginObject();
+    reader.nextName();
+    JSONArray hits = reader.nextArray();
+    assertEquals(hits.length(), 2);
+    assertEquals(hits.getJSONObject(1).getString("_id"), "bar");
+  }
+
+  @Test
+  public void shouldReturnNullAsJSONObjectNull() throws JSONException {
+    assertEquals(new JsonReader("null").nextValue(), JSONObject.NULL);
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectMissingColon() throws JSONException {
+    new JsonReader("{\"foo\" 42}").nextObject();
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectMissingComma() throws JSONException {
+    new JsonReader("[1 2]").nextArray();
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectUnterminatedStrings() throws JSONException {
+    new JsonReader("{\"foo\": \"bar").nextObject();
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectTrailingData() throws JSONException {
+    JsonReader reader = new JsonReader("{} {}");
+    reader.nextObject();
+    reader.peek();
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldRejectUnexpectedTokens() throws JSONException {
+    new JsonReader("[1]").beginObject();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNullInput() {
+    new JsonReader(null);
+  }
+}
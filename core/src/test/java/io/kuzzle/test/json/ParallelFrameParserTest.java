@@ -0,0 +1,85 @@
+package io.kuzzle.test.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.kuzzle.sdk.json.Json;
+import io.kuzzle.sdk.json.ParallelFrameParser;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelFrameParserTest {
+  private ExecutorService executor;
+  private String frame;
+
+  @Before
+  public void setUp() throws JSONException {
+    executor = Executors.newFixedThreadPool(4);
+
+    JSONArray hits = new JSONArray();
+    for (int i = 0; i < 1000; i++) {
+      hits.put(new JSONObject()
+          .put("_id", "id" + i)
+          .put("_source", new JSONObject().put("index", i).put("tags", new JSONArray().put("a").put(i * 1.5)))
+          .put("_meta", JSONObject.NULL));
+    }
+
+    frame = new JSONObject()
+        .put("requestId", "42")
+        .put("status", 200)
+        .put("result", new JSONObject().put("total", 1000).put("hits", hits).put("aggregations", new JSONObject()))
+        .toString();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldParseLikeTheJsonEngine() throws JSONException {
+    JSONObject parsed = new ParallelFrameParser(executor, 4, 16).parse(frame);
+
+    assertEquals(parsed.toString(), Json.parse(frame).toString());
+    assertEquals(parsed.getJSONObject("result").getJSONArray("hits").getJSONObject(999).getString("_id"), "id999");
+  }
+
+  @Test
+  public void shouldParseFramesWithoutHits() throws JSONException {
+    String response = "{\"requestId\":\"42\",\"result\":{\"_id\":\"foo\"},\"error\":null}";
+
+    assertEquals(new ParallelFrameParser(executor, 4, 16).parse(response).toString(), Json.parse(response).toString());
+  }
+
+  @Test
+  public void shouldParseOnTheCallingThreadWhenTheExecutorRejectsTasks() throws JSONException {
+    Executor rejecting = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        throw new RejectedExecutionException();
+      }
+    };
+
+    JSONObject parsed = new ParallelFrameParser(rejecting, 4, 16).parse(frame);
+    assertEquals(parsed.getJSONObject("result").getJSONArray("hits").length(), 1000);
+  }
+
+  @Test(expected = JSONException.class)
+  public void shouldReportMalformedHits() throws JSONException {
+    new ParallelFrameParser(executor, 4, 1).parse("{\"result\":{\"hits\":[{\"_id\":\"foo\"},{\"_id\":tru}]}}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectMissingExecutor() {
+    new ParallelFrameParser(null, 4, 16);
+  }
+}
@@ -0,0 +1,204 @@
+package io.kuzzle.test.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.metrics.Gauge;
+import io.kuzzle.sdk.metrics.HistogramSnapshot;
+import io.kuzzle.sdk.metrics.LatencyHistogram;
+import io.kuzzle.sdk.metrics.MetricsExporter;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.metrics.MetricsSnapshot;
+import io.kuzzle.sdk.metrics.StripedCounter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+  private MetricsRegistry metrics;
+
+  @Before
+  public void setUp() {
+    metrics = new MetricsRegistry();
+  }
+
+  @Test
+  public void stripedCounterShouldSumConcurrentIncrements() throws InterruptedException {
+    final StripedCounter counter = new StripedCounter();
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            counter.increment();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    counter.add(-5);
+    assertEquals(counter.sum(), 79995);
+  }
+
+  @Test
+  public void histogramShouldReportPercentilesWithinItsPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(snapshot.getCount(), 1000);
+    assertEquals(snapshot.getMax(), 1000000);
+    assertEquals(snapshot.getMean(), 500500);
+    assertTrue(Math.abs(snapshot.getPercentile(50) - 500000) <= 500000 / 16);
+    assertTrue(Math.abs(snapshot.getPercentile(99) - 990000) <= 990000 / 16);
+    assertEquals(snapshot.getPercentile(100), 1000000);
+  }
+
+  @Test
+  public void histogramShouldHandleExtremeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-1);
+    histogram.record(Long.MAX_VALUE);
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(snapshot.getCount(), 2);
+    assertEquals(snapshot.getPercentile(0), 0);
+    assertEquals(snapshot.getPercentile(100), snapshot.getMax());
+  }
+
+  @Test
+  public void emptyHistogramShouldReportZeros() {
+    HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+    assertEquals(snapshot.getCount(), 0);
+    assertEquals(snapshot.getMean(), 0);
+    assertEquals(snapshot.getPercentile(99), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidPercentiles() {
+    new LatencyHistogram().snapshot().getPercentile(101);
+  }
+
+  @Test
+  public void shouldTimeRequestsPerControllerAction() {
+    metrics.requestSent("foo", "document", "get");
+    metrics.requestSent("bar", "document", "get");
+    metrics.requestSent("baz", "document", "search");
+    metrics.responseReceived("foo", false);
+    metrics.responseReceived("bar", true);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_SENT), 3);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_RECEIVED), 2);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_FAILED), 1);
+    assertEquals(snapshot.getLatency("document", "get").getCount(), 2);
+    assertEquals(snapshot.getLatency("document", "search").getCount(), 0);
+    assertNull(snapshot.getLatency("document", "create"));
+  }
+
+  @Test
+  public void shouldCountAbandonedRequests() {
+    metrics.requestSent("foo", "document", "get");
+    metrics.requestSent("bar", "document", "get");
+    metrics.requestsAbandoned();
+    metrics.responseReceived("foo", false);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_ABANDONED), 2);
+    assertEquals(snapshot.getLatency("document", "get").getCount(), 0);
+  }
+
+  @Test
+  public void shouldNotRecordWhenDisabled() {
+    metrics.setEnabled(false);
+    metrics.requestSent("foo", "document", "get");
+    metrics.responseReceived("foo", false);
+    metrics.increment(MetricsRegistry.NOTIFICATIONS_DELIVERED);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getCounter(MetricsRegistry.REQUESTS_SENT), 0);
+    assertEquals(snapshot.getCounter(MetricsRegistry.RESPONSES_RECEIVED), 0);
+    assertEquals(snapshot.getCounter(MetricsRegistry.NOTIFICATIONS_DELIVERED), 0);
+  }
+
+  @Test
+  public void shouldReadGaugesAndCustomCounters() {
+    metrics.gauge("answer", new Gauge() {
+      @Override
+      public long value() {
+        return 42;
+      }
+    });
+    metrics.counter("custom").add(3);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getGauge("answer"), 42);
+    assertEquals(snapshot.getCounter("custom"), 3);
+    assertEquals(snapshot.getCounter("unknown"), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNullGauges() {
+    metrics.gauge("foo", null);
+  }
+
+  @Test
+  public void shouldComputeRatesBetweenSnapshots() throws InterruptedException {
+    MetricsSnapshot first = metrics.snapshot();
+    Thread.sleep(20);
+
+    for (int i = 0; i < 10; i++) {
+      metrics.increment(MetricsRegistry.NOTIFICATIONS_DELIVERED);
+    }
+
+    MetricsSnapshot second = metrics.snapshot();
+    double rate = second.getRate(MetricsRegistry.NOTIFICATIONS_DELIVERED, first);
+    assertTrue(rate > 0 && rate <= 10 * 1000.0 / 20);
+    assertEquals(second.getRate(MetricsRegistry.NOTIFICATIONS_DELIVERED, null), 0, 0);
+  }
+
+  @Test
+  public void shouldExportPeriodically() throws InterruptedException {
+    final CountDownLatch exported = new CountDownLatch(2);
+    final List<MetricsSnapshot> snapshots = new ArrayList<>();
+
+    metrics.startExporting(new MetricsExporter() {
+      @Override
+      public void export(MetricsSnapshot snapshot) {
+        snapshots.add(snapshot);
+        exported.countDown();
+      }
+    }, 10);
+
+    assertTrue(exported.await(5, TimeUnit.SECONDS));
+    metrics.stopExporting();
+    assertNotNull(snapshots.get(0).getCounters().get(MetricsRegistry.REQUESTS_SENT));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidExportPeriods() {
+    metrics.startExporting(new MetricsExporter() {
+      @Override
+      public void export(MetricsSnapshot snapshot) {
+      }
+    }, 0);
+  }
+}
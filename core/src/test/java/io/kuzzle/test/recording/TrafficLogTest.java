@@ -0,0 +1,173 @@
+package io.kuzzle.test.recording;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.kuzzle.sdk.recording.TrafficLogReader;
+import io.kuzzle.sdk.recording.TrafficLogWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TrafficLogTest {
+  private static TrafficLogReader reader(ByteArrayOutputStream out) throws IOException {
+    return new TrafficLogReader(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  @Test
+  public void shouldReadBackTheRecordedFrames() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long before = System.currentTimeMillis();
+    TrafficLogWriter writer = new TrafficLogWriter(out, 16);
+
+    writer.sent("{\"requestId\":\"foo\",\"controller\":\"document\",\"action\":\"get\"}");
+    Thread.sleep(20);
+    writer.received("{\"requestId\":\"foo\",\"status\":200,\"result\":{\"_id\":\"é\"}}");
+    writer.close();
+
+    assertEquals(writer.getRecorded(), 2);
+    assertEquals(writer.getDropped(), 0);
+
+    TrafficLogReader reader = reader(out);
+    assertTrue(reader.getStartTime() >= before);
+
+    TrafficLogReader.Entry sent = reader.next();
+    assertEquals(sent.isSent(), true);
+    assertEquals(sent.getFrame(), "{\"requestId\":\"foo\",\"controller\":\"document\",\"action\":\"get\"}");
+
+    TrafficLogReader.Entry received = reader.next();
+    assertEquals(received.isSent(), false);
+    assertEquals(new JSONObject(received.getFrame()).getJSONObject("result").getString("_id"), "é");
+    assertTrue(received.getTime() - sent.getTime() >= 20000);
+
+    assertNull(reader.next());
+    reader.close();
+  }
+
+  @Test
+  public void shouldRedactSecrets() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TrafficLogWriter writer = new TrafficLogWriter(out, 16);
+
+    writer.sent("{\"controller\":\"auth\",\"action\":\"login\",\"body\":{\"username\":\"foo\",\"password\":\"bar\"}}");
+    writer.received("{\"requestId\":\"foo\",\"result\":{\"_id\":\"foo\",\"jwt\":\"token\"}}");
+    writer.sent("{\"controller\":\"document\",\"action\":\"get\",\"jwt\":\"token\",\"_id\":\"foo\"}");
+    writer.sent("{\"controller\":\"security\",\"action\":\"createUser\",\"body\":{\"content\":{},\"credentials\":{\"local\":{}}}}");
+    writer.sent("{\"controller\":\"auth\",\"action\":\"checkToken\",\"body\":{\"token\":\"secret\"}}");
+    writer.sent("{\"controller\":\"security\",\"action\":\"createCredentials\",\"strategy\":\"local\",\"body\":{\"password\":\"bar\"}}");
+    writer.sent("{\"controller\":\"security\",\"action\":\"updateCredentials\",\"strategy\":\"local\",\"body\":{\"password\":\"bar\"}}");
+    writer.sent("{\"controller\":\"security\",\"action\":\"validateCredentials\",\"strategy\":\"local\",\"body\":{\"password\":\"bar\"}}");
+    writer.sent("{\"controller\":\"auth\",\"action\":\"updateSelf\",\"body\":{\"password\":\"bar\"}}");
+    writer.close();
+
+    TrafficLogReader reader = reader(out);
+    assertEquals(new JSONObject(reader.next().getFrame()).getJSONObject("body").length(), 0);
+    assertEquals(new JSONObject(reader.next().getFrame()).getJSONObject("result").has("jwt"), false);
+
+    JSONObject get = new JSONObject(reader.next().getFrame());
+    assertEquals(get.has("jwt"), false);
+    assertEquals(get.getString("_id"), "foo");
+
+    JSONObject createUser = new JSONObject(reader.next().getFrame());
+    assertEquals(createUser.getJSONObject("body").has("credentials"), false);
+    assertEquals(createUser.getJSONObject("body").has("content"), true);
+    assertEquals(new JSONObject(reader.next().getFrame()).getJSONObject("body").has("token"), false);
+
+    for (int i = 0; i < 4; i++) {
+      JSONObject frame = new JSONObject(reader.next().getFrame());
+      assertEquals(frame.getString("action"), frame.getJSONObject("body").length(), 0);
+    }
+
+    reader.close();
+  }
+
+  @Test
+  public void shouldKeepSecretsIfAsked() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TrafficLogWriter writer = new TrafficLogWriter(out, 16).setRedacted(false);
+    String frame = "{\"controller\":\"document\",\"action\":\"get\",\"jwt\":\"token\"}";
+
+    writer.sent(frame);
+    writer.close();
+
+    TrafficLogReader reader = reader(out);
+    assertEquals(reader.next().getFrame(), frame);
+    reader.close();
+  }
+
+  @Test
+  public void shouldDropFramesRatherThanBlock() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicBoolean stalled = new AtomicBoolean(false);
+    ByteArrayOutputStream out = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        if (!stalled.get()) {
+          super.write(b, off, len);
+          return;
+        }
+
+        blocked.countDown();
+
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        super.write(b, off, len);
+      }
+    };
+    TrafficLogWriter writer = new TrafficLogWriter(out, 4);
+
+    // a frame larger than the writer buffers stalls the writer thread on the output stream
+    StringBuilder large = new StringBuilder();
+    Random random = new Random(0);
+
+    for (int i = 0; i < 200000; i++) {
+      large.append((char) ('a' + random.nextInt(26)));
+    }
+
+    stalled.set(true);
+
+    writer.sent(large.toString());
+    blocked.await();
+
+    for (int i = 0; i < 10; i++) {
+      writer.sent("{}");
+    }
+
+    assertEquals(writer.getDropped(), 6);
+    stalled.set(false);
+    release.countDown();
+    writer.close();
+    assertEquals(writer.getRecorded(), 5);
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldRejectOtherFiles() throws Exception {
+    new TrafficLogReader(new ByteArrayInputStream("not a traffic log".getBytes("UTF-8")));
+  }
+
+  @Test
+  public void shouldIgnoreFramesRecordedOnceClosed() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TrafficLogWriter writer = new TrafficLogWriter(out, 16);
+
+    writer.close();
+    writer.sent("{}");
+    writer.close();
+
+    assertEquals(writer.getRecorded(), 0);
+    assertNull(reader(out).next());
+  }
+}
@@ -0,0 +1,252 @@
+package io.kuzzle.test.responses;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.responses.SearchResult;
+import io.kuzzle.sdk.responses.SearchResultIterator;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class SearchResultIteratorTest {
+  private static final int TOTAL = 10;
+  private static final int PAGE = 2;
+
+  private Collection collection;
+  private WebSocketClient receiver;
+  private List<JSONObject> requests;
+  private int failAt;
+
+  /**
+   * Answers search and scroll requests over TOTAL documents, whose "age" is their position
+   */
+  private JSONObject page(final JSONObject request) throws JSONException {
+    int start;
+    int size = request.optInt("size", PAGE);
+
+    if (request.getString("action").equals("scroll")) {
+      start = Integer.parseInt(request.getString("scrollId"));
+    } else if (request.getJSONObject("body").has("search_after")) {
+      start = request.getJSONObject("body").getJSONArray("search_after").getInt(0) + 1;
+    } else {
+      start = request.optInt("from", 0);
+    }
+
+    JSONArray hits = new JSONArray();
+
+    for (int i = start; i < Math.min(start + size, TOTAL); i++) {
+      hits.put(new JSONObject()
+        .put("_id", "doc-" + i)
+        .put("_source", new JSONObject().put("age", i))
+        .put("_meta", new JSONObject()));
+    }
+
+    JSONObject result = new JSONObject().put("total", TOTAL).put("hits", hits);
+
+    if (request.has("scroll") || request.has("scrollId")) {
+      result.put("_scroll_id", String.valueOf(start + size));
+    }
+
+    return result;
+  }
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    KuzzleExtend kuzzle = new KuzzleExtend("localhost", options, null);
+    WebSocketClient socket = mock(WebSocketClient.class);
+    receiver = kuzzle.createRealSocket();
+    requests = new ArrayList<>();
+    failAt = -1;
+
+    // pages are answered as soon as they are requested
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        JSONObject request = new JSONObject((String) invocation.getArguments()[0]);
+        JSONObject response = new JSONObject()
+          .put("requestId", request.getString("requestId"))
+          .put("room", request.getString("requestId"))
+          .put("status", 200);
+
+        requests.add(request);
+
+        if (requests.size() == failAt) {
+          response.put("status", 500).put("error", new JSONObject().put("message", "page lost"));
+        } else {
+          response.put("result", page(request));
+        }
+
+        receiver.onTextReceived(response.toString());
+        return null;
+      }
+    }).when(socket).send(anyString());
+
+    kuzzle.setSocket(socket);
+    kuzzle.setState(States.CONNECTED);
+    collection = new Collection(kuzzle, "collection", "index");
+  }
+
+  private static List<String> ids(final SearchResultIterator iterator) {
+    List<String> ids = new ArrayList<>();
+
+    while (iterator.hasNext()) {
+      ids.add(iterator.next().getId());
+    }
+
+    return ids;
+  }
+
+  private static List<String> expectedIds() {
+    List<String> ids = new ArrayList<>();
+
+    for (int i = 0; i < TOTAL; i++) {
+      ids.add("doc-" + i);
+    }
+
+    return ids;
+  }
+
+  @Test
+  public void shouldIterateWithFromAndSize() throws Exception {
+    SearchResult first = collection.searchSync(new JSONObject(), new Options().setFrom(0L).setSize((long) PAGE));
+
+    assertEquals(ids(first.iterate(1)), expectedIds());
+    assertEquals(requests.size(), TOTAL / PAGE);
+    assertEquals(requests.get(4).getInt("from"), 8);
+  }
+
+  @Test
+  public void shouldIterateWithScroll() throws Exception {
+    SearchResult first = collection.searchSync(new JSONObject(), new Options().setScroll("1m").setSize((long) PAGE));
+
+    assertEquals(ids(first.iterate(3)), expectedIds());
+    assertEquals(requests.size(), TOTAL / PAGE);
+    assertEquals(requests.get(4).getString("action"), "scroll");
+  }
+
+  @Test
+  public void shouldIterateWithSearchAfter() throws Exception {
+    JSONObject filters = new JSONObject().put("sort", new JSONArray().put(new JSONObject().put("age", "asc")));
+    SearchResult first = collection.searchSync(filters, new Options().setSize((long) PAGE));
+
+    assertEquals(ids(first.iterate(2)), expectedIds());
+    assertEquals(requests.get(4).getJSONObject("body").getJSONArray("search_after").getInt(0), 7);
+  }
+
+  @Test
+  public void shouldFetchPagesAheadOfTheConsumer() throws Exception {
+    SearchResult first = collection.searchSync(new JSONObject(), new Options().setFrom(0L).setSize((long) PAGE));
+    SearchResultIterator iterator = first.iterate(2);
+
+    // pages 2 and 3 are fetched before any document is consumed
+    assertEquals(iterator.getBuffered(), 2);
+    assertEquals(requests.size(), 3);
+
+    iterator.next();
+    iterator.next();
+    assertEquals(requests.size(), 3);
+
+    // consuming page 2 fetches page 4
+    iterator.next();
+    assertEquals(iterator.getBuffered(), 2);
+    assertEquals(requests.size(), 4);
+  }
+
+  @Test
+  public void shouldReleaseConsumedPages() throws Exception {
+    SearchResultIterator iterator = collection.searchSync(new JSONObject(), new Options().setFrom(0L).setSize((long) PAGE)).iterate(1);
+    List<WeakReference<Document>> consumed = new ArrayList<>();
+
+    while (iterator.hasNext()) {
+      consumed.add(new WeakReference<>(iterator.next()));
+    }
+
+    // the iterator still holds the last page: the documents of the previous ones must be collectable
+    for (int i = 0; i < 50 && consumed.get(PAGE).get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertEquals(consumed.get(PAGE).get(), null);
+    assertEquals(iterator.hasNext(), false);
+  }
+
+  @Test
+  public void shouldThrowFailedPageRequests() throws Exception {
+    failAt = 3;
+    SearchResult first = collection.searchSync(new JSONObject(), new Options().setFrom(0L).setSize((long) PAGE));
+    SearchResultIterator iterator = first.iterate(1);
+    int consumed = 0;
+
+    try {
+      while (iterator.hasNext()) {
+        iterator.next();
+        consumed++;
+      }
+      fail("the failed page request should have been thrown");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof KuzzleFuture.ResponseError);
+      assertEquals(((KuzzleFuture.ResponseError) e.getCause()).getError().getString("message"), "page lost");
+    }
+
+    assertEquals(consumed, 2 * PAGE);
+  }
+
+  @Test
+  public void shouldFailWithoutPaginationParameters() throws Exception {
+    SearchResult first = collection.searchSync(new JSONObject(), new Options());
+    SearchResultIterator iterator = first.iterate(1);
+
+    try {
+      ids(iterator);
+      fail("the pagination error should have been thrown");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof KuzzleFuture.ResponseError);
+    }
+  }
+
+  @Test
+  public void shouldStopOnceClosed() throws Exception {
+    SearchResult first = collection.searchSync(new JSONObject(), new Options().setFrom(0L).setSize((long) PAGE));
+    SearchResultIterator iterator = first.iterate(2);
+
+    iterator.next();
+    iterator.next();
+    iterator.close();
+
+    assertEquals(iterator.hasNext(), false);
+    assertEquals(iterator.getBuffered(), 0);
+    assertEquals(requests.size(), 3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRequireAPositivePrefetch() {
+    new SearchResult(collection, 0, new ArrayList<Document>()).iterate(0);
+  }
+}
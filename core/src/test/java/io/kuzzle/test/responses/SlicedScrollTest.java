@@ -0,0 +1,379 @@
+package io.kuzzle.test.responses;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Document;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.responses.SlicedScroll;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SlicedScrollTest {
+  private static final int TOTAL = 30;
+  private static final long PAGE = 2;
+
+  private Collection collection;
+  private SliceServerSocket server;
+
+  /**
+   * Answers sliced searches and scrolls over TOTAL documents from a pool of threads.
+   * Slice i of n holds the documents whose number modulo n is i.
+   */
+  private static class SliceServerSocket extends WebSocketClient {
+    private final WebSocketClient receiver;
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final List<JSONObject> requests = Collections.synchronizedList(new ArrayList<JSONObject>());
+    private volatile int failAt = -1;
+
+    SliceServerSocket(final WebSocketClient receiver) throws URISyntaxException {
+      super(new URI("ws://localhost:7512/"));
+      this.receiver = receiver;
+    }
+
+    @Override
+    public void send(final String message) {
+      final JSONObject request;
+
+      try {
+        request = new JSONObject(message);
+        this.requests.add(request);
+
+        final JSONObject response = new JSONObject()
+          .put("requestId", request.getString("requestId"))
+          .put("room", request.getString("requestId"))
+          .put("status", 200);
+
+        if (this.requests.size() == this.failAt) {
+          response.put("status", 500).put("error", new JSONObject().put("message", "slice lost"));
+        } else {
+          response.put("result", this.page(request));
+        }
+
+        this.pool.execute(new Runnable() {
+          @Override
+          public void run() {
+            SliceServerSocket.this.receiver.onTextReceived(response.toString());
+          }
+        });
+      } catch (JSONException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private JSONObject page(final JSONObject request) throws JSONException {
+      int slice;
+      int max;
+      int position;
+
+      if (request.getString("action").equals("scroll")) {
+        String[] cursor = request.getString("scrollId").split(":");
+        slice = Integer.parseInt(cursor[0]);
+        max = Integer.parseInt(cursor[1]);
+        position = Integer.parseInt(cursor[2]);
+      } else {
+        JSONObject clause = request.getJSONObject("body").optJSONObject("slice");
+        slice = clause != null ? clause.getInt("id") : 0;
+        max = clause != null ? clause.getInt("max") : 1;
+        position = 0;
+      }
+
+      List<Integer> documents = new ArrayList<>();
+
+      for (int i = slice; i < TOTAL; i += max) {
+        documents.add(i);
+      }
+
+      JSONArray hits = new JSONArray();
+
+      for (int i = position; i < Math.min(position + PAGE, documents.size()); i++) {
+        hits.put(new JSONObject()
+          .put("_id", "doc-" + documents.get(i))
+          .put("_source", new JSONObject().put("slice", slice))
+          .put("_meta", new JSONObject()));
+      }
+
+      return new JSONObject()
+        .put("total", documents.size())
+        .put("hits", hits)
+        .put("_scroll_id", slice + ":" + max + ":" + (position + PAGE));
+    }
+
+    @Override
+    public void onOpen() {
+    }
+
+    @Override
+    public void onTextReceived(String message) {
+    }
+
+    @Override
+    public void onBinaryReceived(byte[] data) {
+    }
+
+    @Override
+    public void onPingReceived(byte[] data) {
+    }
+
+    @Override
+    public void onPongReceived(byte[] data) {
+    }
+
+    @Override
+    public void onException(Exception e) {
+    }
+
+    @Override
+    public void onCloseReceived() {
+    }
+  }
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    KuzzleExtend kuzzle = new KuzzleExtend("localhost", options, null);
+    server = new SliceServerSocket(kuzzle.createRealSocket());
+    kuzzle.setSocket(server);
+    kuzzle.setState(States.CONNECTED);
+    collection = new Collection(kuzzle, "collection", "index");
+  }
+
+  @After
+  public void tearDown() {
+    server.pool.shutdownNow();
+  }
+
+  private static Options scrollOptions() {
+    return new Options().setScroll("1m").setSize(PAGE);
+  }
+
+  private static Set<String> allIds() {
+    Set<String> ids = new HashSet<>();
+
+    for (int i = 0; i < TOTAL; i++) {
+      ids.add("doc-" + i);
+    }
+
+    return ids;
+  }
+
+  private static int requestsSettled(final SliceServerSocket server) throws InterruptedException {
+    int count = -1;
+
+    while (count != server.requests.size()) {
+      count = server.requests.size();
+      Thread.sleep(100);
+    }
+
+    return count;
+  }
+
+  @Test
+  public void shouldMergeTheSlices() {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 3, scrollOptions(), 6);
+    Set<String> ids = new HashSet<>();
+    int count = 0;
+
+    for (Iterator<Document> documents = scroll.iterator(); documents.hasNext(); count++) {
+      ids.add(documents.next().getId());
+      assertTrue(scroll.getInFlight() <= 6);
+    }
+
+    assertEquals(count, TOTAL);
+    assertEquals(ids, allIds());
+    assertEquals(scroll.getTotal(), TOTAL);
+  }
+
+  @Test
+  public void shouldSearchEachSlice() throws JSONException {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject().put("query", new JSONObject()), 3, scrollOptions(), 3);
+
+    for (Iterator<Document> documents = scroll.iterator(); documents.hasNext(); ) {
+      documents.next();
+    }
+
+    Set<Integer> slices = new HashSet<>();
+
+    synchronized (server.requests) {
+      for (JSONObject request : server.requests) {
+        if (request.getString("action").equals("search")) {
+          JSONObject body = request.getJSONObject("body");
+          assertEquals(body.getJSONObject("slice").getInt("max"), 3);
+          assertEquals(body.has("query"), true);
+          assertEquals(request.getString("scroll"), "1m");
+          slices.add(body.getJSONObject("slice").getInt("id"));
+        }
+      }
+    }
+
+    assertEquals(slices.size(), 3);
+  }
+
+  @Test
+  public void shouldPartitionTheSlices() throws Exception {
+    final SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 3, scrollOptions(), 4);
+    ExecutorService consumers = Executors.newFixedThreadPool(3);
+    List<Future<List<Document>>> partitions = new ArrayList<>();
+
+    for (int i = 0; i < 3; i++) {
+      final Iterator<Document> partition = scroll.partition(i);
+
+      partitions.add(consumers.submit(new Callable<List<Document>>() {
+        @Override
+        public List<Document> call() {
+          List<Document> documents = new ArrayList<>();
+
+          while (partition.hasNext()) {
+            documents.add(partition.next());
+          }
+
+          return documents;
+        }
+      }));
+    }
+
+    Set<String> ids = new HashSet<>();
+
+    for (int i = 0; i < 3; i++) {
+      for (Document document : partitions.get(i).get(10, TimeUnit.SECONDS)) {
+        assertEquals(document.getContent().getInt("slice"), i);
+        ids.add(document.getId());
+      }
+    }
+
+    assertEquals(ids, allIds());
+    consumers.shutdown();
+  }
+
+  @Test
+  public void shouldReadPartitionsOneAfterTheOther() {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 3, scrollOptions(), 3);
+    int count = 0;
+
+    // each slice keeps one page of the budget: the last partitions do not wait for the first ones
+    for (int i = 0; i < 3; i++) {
+      for (Iterator<Document> partition = scroll.partition(i); partition.hasNext(); count++) {
+        partition.next();
+      }
+    }
+
+    assertEquals(count, TOTAL);
+  }
+
+  @Test
+  public void shouldBoundThePagesInFlight() throws Exception {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 2, scrollOptions(), 3);
+
+    // first page of each slice, and one more page
+    assertEquals(requestsSettled(server), 3);
+    assertEquals(scroll.getInFlight(), 3);
+
+    Iterator<Document> documents = scroll.iterator();
+
+    // taking a page to consume it releases its place in the budget
+    documents.next();
+    assertEquals(requestsSettled(server), 4);
+    assertEquals(scroll.getInFlight(), 3);
+
+    documents.next();
+    assertEquals(requestsSettled(server), 4);
+
+    documents.next();
+    assertEquals(requestsSettled(server), 5);
+    assertEquals(scroll.getInFlight(), 3);
+  }
+
+  @Test
+  public void shouldThrowFailedPageRequests() {
+    server.failAt = 4;
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 2, scrollOptions(), 2);
+
+    try {
+      for (Iterator<Document> documents = scroll.iterator(); documents.hasNext(); ) {
+        documents.next();
+      }
+      fail("the failed page request should have been thrown");
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof KuzzleFuture.ResponseError);
+      assertEquals(((KuzzleFuture.ResponseError) e.getCause()).getError().optString("message"), "slice lost");
+    }
+  }
+
+  @Test
+  public void shouldStopOnceClosed() throws Exception {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 2, scrollOptions(), 2);
+    Iterator<Document> documents = scroll.iterator();
+
+    documents.next();
+    scroll.close();
+
+    assertEquals(documents.hasNext(), true);
+    documents.next();
+    assertEquals(documents.hasNext(), false);
+  }
+
+  @Test
+  public void shouldReadWithASingleSlice() throws Exception {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 1, scrollOptions(), 1);
+    Set<String> ids = new HashSet<>();
+
+    for (Iterator<Document> documents = scroll.iterator(); documents.hasNext(); ) {
+      ids.add(documents.next().getId());
+    }
+
+    assertEquals(ids, allIds());
+    assertEquals(server.requests.get(0).getJSONObject("body").has("slice"), false);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotMixMergedAndPartitionedConsumers() {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 2, scrollOptions(), 2);
+    scroll.partition(0);
+    scroll.iterator();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotConsumeASliceTwice() {
+    SlicedScroll scroll = collection.slicedScroll(new JSONObject(), 2, scrollOptions(), 2);
+    scroll.partition(1);
+    scroll.partition(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRequireAScroll() {
+    collection.slicedScroll(new JSONObject(), 2, new Options().setSize(PAGE), 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRequireABudgetOfOnePagePerSlice() {
+    collection.slicedScroll(new JSONObject(), 4, scrollOptions(), 3);
+  }
+}
@@ -100,4 +100,26 @@ public class getUserTest {
 
     kuzzleSecurity.fetchUser("foobar", listener);
   }
+
+  @Test
+  public void testFetchUserSync() throws Exception {
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        JSONObject response = new JSONObject(
+          "{" +
+            "\"result\": {" +
+              "\"_id\": \"foobar\"," +
+              "\"_source\": {}," +
+              "\"_meta\": {}" +
+            "}" +
+          "}");
+
+        ((OnQueryDoneListener) invocation.getArguments()[3]).onSuccess(response);
+        return null;
+      }
+    }).when(kuzzle).query(any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
+
+    assertEquals("foobar", kuzzleSecurity.fetchUserSync("foobar", null).id);
+  }
 }
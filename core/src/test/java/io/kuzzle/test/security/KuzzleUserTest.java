@@ -9,6 +9,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
 import io.kuzzle.sdk.listeners.ResponseListener;
@@ -405,4 +408,63 @@ public class KuzzleUserTest {
     ArgumentCaptor argument = ArgumentCaptor.forClass(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class);
     verify(kuzzle, times(3)).query((io.kuzzle.sdk.core.Kuzzle.QueryArgs) argument.capture(), any(JSONObject.class), any(Options.class), any(OnQueryDoneListener.class));
   }
+
+  @Test
+  public void testGetProfilesOutOfOrder() throws JSONException {
+    JSONArray profiles = new JSONArray().put("foo").put("bar").put("baz");
+    User user = new User(kuzzle, "foo", new JSONObject().put("profileIds", profiles), null);
+    final List<OnQueryDoneListener> pending = new ArrayList<>();
+    final List<JSONObject> queries = new ArrayList<>();
+    final Profile[][] result = {null};
+
+    doAnswer(new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        queries.add((JSONObject) invocation.getArguments()[1]);
+        pending.add((OnQueryDoneListener) invocation.getArguments()[3]);
+        return null;
+      }
+    })
+      .when(kuzzle)
+      .query(
+        any(io.kuzzle.sdk.core.Kuzzle.QueryArgs.class),
+        any(JSONObject.class),
+        any(Options.class),
+        any(OnQueryDoneListener.class)
+      );
+
+    user.getProfiles(new ResponseListener<Profile[]>() {
+      @Override
+      public void onSuccess(Profile[] response) {
+        result[0] = response;
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        fail("onError should not have been invoked");
+      }
+    });
+
+    assertEquals(3, pending.size());
+
+    List<Integer> order = new ArrayList<>();
+    order.add(2);
+    order.add(0);
+    order.add(1);
+
+    for (int i : order) {
+      pending.get(i).onSuccess(new JSONObject()
+        .put("result", new JSONObject()
+          .put("_id", queries.get(i).getString("_id"))
+          .put("_source", new JSONObject().put("policies", new JSONArray()))
+          .put("_meta", new JSONObject())
+        )
+      );
+    }
+
+    assertEquals(3, result[0].length);
+    assertEquals("foo", result[0][0].getId());
+    assertEquals("bar", result[0][1].getId());
+    assertEquals("baz", result[0][2].getId());
+  }
 }
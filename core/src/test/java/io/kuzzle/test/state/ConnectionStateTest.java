@@ -0,0 +1,171 @@
+package io.kuzzle.test.state;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.kuzzle.sdk.state.ConnectionState;
+import io.kuzzle.sdk.state.States;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionStateTest {
+  @Test
+  public void shouldApplyLegalTransitions() {
+    ConnectionState state = new ConnectionState(States.INITIALIZING);
+
+    assertEquals(state.transition(States.CONNECTING), States.INITIALIZING);
+    assertEquals(state.transition(States.CONNECTED), States.CONNECTING);
+    assertEquals(state.transition(States.OFFLINE), States.CONNECTED);
+    assertEquals(state.transition(States.CONNECTED), States.OFFLINE);
+    assertEquals(state.transition(States.DISCONNECTED), States.CONNECTED);
+    assertEquals(state.get(), States.DISCONNECTED);
+  }
+
+  @Test
+  public void shouldRejectIllegalTransitions() {
+    ConnectionState state = new ConnectionState(States.DISCONNECTED);
+
+    // a late socket event must not resurrect a disconnected instance
+    assertNull(state.transition(States.OFFLINE));
+    assertNull(state.transition(States.CONNECTED));
+    assertNull(state.transition(States.ERROR));
+    assertEquals(state.get(), States.DISCONNECTED);
+
+    assertEquals(ConnectionState.isLegal(States.READY, States.CONNECTED), false);
+    assertEquals(ConnectionState.isLegal(States.CONNECTED, States.CONNECTED), false);
+  }
+
+  @Test
+  public void shouldCompareAndSet() {
+    ConnectionState state = new ConnectionState(States.CONNECTING);
+
+    assertEquals(state.compareAndSet(States.OFFLINE, States.CONNECTED), false);
+    assertEquals(state.compareAndSet(States.CONNECTING, States.READY), false);
+    assertEquals(state.compareAndSet(States.CONNECTING, States.CONNECTED), true);
+    assertEquals(state.get(), States.CONNECTED);
+  }
+
+  @Test
+  public void shouldNotifyTransitionsOnly() {
+    final List<String> transitions = new CopyOnWriteArrayList<>();
+    ConnectionState state = new ConnectionState(States.CONNECTING);
+    state.addListener(new ConnectionState.TransitionListener() {
+      @Override
+      public void onTransition(States from, States to) {
+        transitions.add(from + ">" + to);
+      }
+    });
+
+    state.transition(States.CONNECTED);
+    state.transition(States.CONNECTED);
+    state.transition(States.READY);
+    state.compareAndSet(States.OFFLINE, States.CONNECTED);
+    state.reset(States.OFFLINE);
+
+    assertEquals(transitions.toString(), "[CONNECTING>CONNECTED, CONNECTED>OFFLINE]");
+  }
+
+  @Test
+  public void shouldLetOneThreadWinEachTransition() throws Exception {
+    final int threads = 8;
+    final int rounds = 2000;
+    final ConnectionState state = new ConnectionState(States.CONNECTING);
+    final AtomicInteger notified = new AtomicInteger();
+    final ConcurrentHashMap<Integer, AtomicInteger> winners = new ConcurrentHashMap<>();
+    final CyclicBarrier barrier = new CyclicBarrier(threads, new Runnable() {
+      @Override
+      public void run() {
+        // between rounds: check the last one and start over
+        state.reset(States.CONNECTING);
+      }
+    });
+    final CountDownLatch done = new CountDownLatch(threads);
+    final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    state.addListener(new ConnectionState.TransitionListener() {
+      @Override
+      public void onTransition(States from, States to) {
+        if (from == States.CONNECTING && to == States.CONNECTED) {
+          notified.incrementAndGet();
+        }
+      }
+    });
+
+    for (int i = 0; i < threads; i++) {
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int round = 0; round < rounds; round++) {
+              barrier.await();
+
+              if (state.compareAndSet(States.CONNECTING, States.CONNECTED)) {
+                winners.putIfAbsent(round, new AtomicInteger());
+                winners.get(round).incrementAndGet();
+              }
+            }
+            barrier.await();
+          } catch (Throwable e) {
+            errors.add(e);
+          } finally {
+            done.countDown();
+          }
+        }
+      }).start();
+    }
+
+    done.await();
+
+    assertTrue(errors.toString(), errors.isEmpty());
+    assertEquals(winners.size(), rounds);
+    for (AtomicInteger count : winners.values()) {
+      assertEquals(count.get(), 1);
+    }
+    assertEquals(notified.get(), rounds);
+  }
+
+  @Test
+  public void shouldNeverReachAnIllegalStateUnderContention() throws InterruptedException {
+    final ConnectionState state = new ConnectionState(States.CONNECTING);
+    final List<String> illegal = new CopyOnWriteArrayList<>();
+    final States[] targets = {States.CONNECTED, States.OFFLINE, States.ERROR, States.CONNECTING, States.READY, States.LOGGED_OUT};
+    Thread[] workers = new Thread[6];
+
+    state.addListener(new ConnectionState.TransitionListener() {
+      @Override
+      public void onTransition(States from, States to) {
+        if (!ConnectionState.isLegal(from, to)) {
+          illegal.add(from + ">" + to);
+        }
+      }
+    });
+
+    for (int i = 0; i < workers.length; i++) {
+      final States target = targets[i];
+      workers[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 20000; j++) {
+            state.transition(target);
+          }
+        }
+      });
+      workers[i].start();
+    }
+
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    assertTrue(illegal.toString(), illegal.isEmpty());
+    assertTrue(state.get() != States.READY && state.get() != States.INITIALIZING);
+  }
+}
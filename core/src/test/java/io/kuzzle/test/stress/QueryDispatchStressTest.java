@@ -0,0 +1,168 @@
+package io.kuzzle.test.stress;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.metrics.MetricsSnapshot;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.QueryArgsHelper;
+import io.kuzzle.test.testUtils.StressHarness;
+import io.kuzzle.test.testUtils.StressServerSocket;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryDispatchStressTest {
+  private static final int THREADS = 8;
+  private static final int ITERATIONS = 500;
+
+  private KuzzleExtend kuzzle;
+  private StressHarness harness;
+  private StressServerSocket server;
+
+  private static class CountingListener implements OnQueryDoneListener {
+    final AtomicInteger calls = new AtomicInteger();
+    final int sequence;
+    volatile int answered = -1;
+
+    CountingListener(final int sequence) {
+      this.sequence = sequence;
+    }
+
+    @Override
+    public void onSuccess(JSONObject response) {
+      this.calls.incrementAndGet();
+      this.answered = response.optJSONObject("result").optInt("sequence", -2);
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      this.calls.incrementAndGet();
+      this.answered = this.sequence;
+    }
+  }
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    harness = new StressHarness(THREADS, ITERATIONS);
+    server = new StressServerSocket(kuzzle.createRealSocket(), 4, harness.getSeed());
+    kuzzle.setSocket(server);
+    kuzzle.setState(States.CONNECTED);
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    server.shutdown();
+  }
+
+  @Test
+  public void shouldInvokeEachListenerExactlyOnce() throws Exception {
+    server.setErrorRate(0.1).setDuplicateRate(0.2);
+
+    final List<CountingListener> listeners = new CopyOnWriteArrayList<>();
+    final AtomicInteger sequence = new AtomicInteger();
+    final Kuzzle.QueryArgs args = QueryArgsHelper.makeQueryArgs("document", "create");
+
+    harness.run(new StressHarness.Operation() {
+      @Override
+      public void run(int thread, int iteration, Random random) throws Exception {
+        CountingListener listener = new CountingListener(sequence.incrementAndGet());
+        listeners.add(listener);
+        kuzzle.query(args, new JSONObject().put("body", new JSONObject().put("sequence", listener.sequence)), null, listener);
+      }
+    });
+
+    harness.await(answered(listeners), 10000, "some requests were never answered");
+    server.shutdown();
+
+    assertEquals(harness.describe("failures"), 0, server.getFailures().size());
+    assertEquals(listeners.size(), THREADS * ITERATIONS);
+
+    for (CountingListener listener : listeners) {
+      assertEquals(harness.describe("calls of listener " + listener.sequence), 1, listener.calls.get());
+      // a response routed to the wrong listener would carry another sequence number
+      assertEquals(harness.describe("response of listener " + listener.sequence), listener.sequence, listener.answered);
+    }
+
+    MetricsSnapshot metrics = kuzzle.getMetrics().snapshot();
+    assertEquals(metrics.getCounter(MetricsRegistry.REQUESTS_SENT), THREADS * ITERATIONS);
+    assertEquals(metrics.getCounter(MetricsRegistry.RESPONSES_RECEIVED), THREADS * ITERATIONS);
+    assertEquals(metrics.getGauge(MetricsRegistry.PENDING_REQUESTS), 0);
+    assertEquals(kuzzle.getCurrentQueries().isEmpty(), true);
+  }
+
+  @Test
+  public void shouldAnswerEachRequestOnceWhileTheConnectionFlaps() throws Exception {
+    // kept under the offline queue maximum size: requests in excess would be dropped silently
+    StressHarness flaps = new StressHarness(4, 100);
+    final List<CountingListener> listeners = new CopyOnWriteArrayList<>();
+    final AtomicInteger sequence = new AtomicInteger();
+    final Kuzzle.QueryArgs args = QueryArgsHelper.makeQueryArgs("document", "create");
+
+    kuzzle.setReplayInterval(0);
+
+    flaps.run(new StressHarness.Operation() {
+      @Override
+      public void run(int thread, int iteration, Random random) throws Exception {
+        // one thread toggles the connection state while the others send requests
+        if (thread == 0) {
+          kuzzle.setState(random.nextBoolean() ? States.OFFLINE : States.CONNECTED);
+          return;
+        }
+
+        CountingListener listener = new CountingListener(sequence.incrementAndGet());
+        listeners.add(listener);
+        kuzzle.query(args, new JSONObject().put("body", new JSONObject().put("sequence", listener.sequence)), new Options(), listener);
+      }
+    });
+
+    // requests queued while offline are sent once replayed
+    kuzzle.setState(States.CONNECTED);
+    kuzzle.replayQueue();
+
+    flaps.await(answered(listeners), 10000, "some requests were never answered");
+    server.shutdown();
+
+    assertEquals(flaps.describe("failures"), 0, server.getFailures().size());
+
+    for (CountingListener listener : listeners) {
+      assertEquals(flaps.describe("calls of listener " + listener.sequence), 1, listener.calls.get());
+      assertEquals(flaps.describe("response of listener " + listener.sequence), listener.sequence, listener.answered);
+    }
+
+    assertEquals(kuzzle.getOfflineQueue().isEmpty(), true);
+    assertEquals(kuzzle.getCurrentQueries().isEmpty(), true);
+  }
+
+  private static StressHarness.Condition answered(final List<CountingListener> listeners) {
+    return new StressHarness.Condition() {
+      @Override
+      public boolean isMet() {
+        for (CountingListener listener : listeners) {
+          if (listener.calls.get() == 0) {
+            return false;
+          }
+        }
+
+        return true;
+      }
+    };
+  }
+}
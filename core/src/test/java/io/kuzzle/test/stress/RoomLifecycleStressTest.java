@@ -0,0 +1,210 @@
+package io.kuzzle.test.stress;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.kuzzle.sdk.core.Collection;
+import io.kuzzle.sdk.core.Options;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.enums.Mode;
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.listeners.SubscribeListener;
+import io.kuzzle.sdk.metrics.MetricsRegistry;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.state.States;
+import io.kuzzle.test.testUtils.KuzzleExtend;
+import io.kuzzle.test.testUtils.StressHarness;
+import io.kuzzle.test.testUtils.StressServerSocket;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoomLifecycleStressTest {
+  private static final int THREADS = 8;
+  private static final int ITERATIONS = 200;
+  private static final int ROOMS = 8;
+
+  private KuzzleExtend kuzzle;
+  private Collection collection;
+  private StressHarness harness;
+  private StressServerSocket server;
+
+  private static class CountListener implements ResponseListener<Integer> {
+    final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void onSuccess(Integer response) {
+      this.calls.incrementAndGet();
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+      this.calls.incrementAndGet();
+    }
+  }
+
+  private static class NotificationCounter implements ResponseListener<NotificationResponse> {
+    final AtomicInteger received = new AtomicInteger();
+
+    @Override
+    public void onSuccess(NotificationResponse response) {
+      this.received.incrementAndGet();
+    }
+
+    @Override
+    public void onError(JSONObject error) {
+    }
+  }
+
+  @Before
+  public void setUp() throws URISyntaxException {
+    Options options = new Options();
+    options.setConnect(Mode.MANUAL);
+
+    kuzzle = new KuzzleExtend("localhost", options, null);
+    harness = new StressHarness(THREADS, ITERATIONS);
+    server = new StressServerSocket(kuzzle.createRealSocket(), 4, harness.getSeed());
+    kuzzle.setSocket(server);
+    kuzzle.setState(States.CONNECTED);
+    collection = new Collection(kuzzle, "collection", "index");
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    server.shutdown();
+  }
+
+  @Test
+  public void shouldAnswerEachCountOnceWhileRoomsAreRenewedAndUnsubscribed() throws Exception {
+    final AtomicReferenceArray<Room> rooms = new AtomicReferenceArray<>(ROOMS);
+    final List<CountListener> counts = new CopyOnWriteArrayList<>();
+    final NotificationCounter notifications = new NotificationCounter();
+
+    for (int i = 0; i < ROOMS; i++) {
+      rooms.set(i, new Room(collection).renew(notifications));
+    }
+
+    harness.run(new StressHarness.Operation() {
+      @Override
+      public void run(int thread, int iteration, Random random) throws Exception {
+        int index = random.nextInt(ROOMS);
+        Room room = rooms.get(index);
+        int operation = random.nextInt(10);
+
+        if (operation < 5) {
+          CountListener listener = new CountListener();
+          counts.add(listener);
+
+          try {
+            room.count(listener);
+          } catch (IllegalStateException e) {
+            // the room was unsubscribed: the caller is told synchronously, instead of the listener
+            listener.calls.incrementAndGet();
+          }
+        } else if (operation < 7) {
+          room.unsubscribe();
+        } else if (operation < 9) {
+          // renewals of a room are debounced: most of these are skipped, or queued behind a subscription in progress
+          room.renew(notifications);
+        } else {
+          rooms.set(index, new Room(collection).renew(notifications));
+        }
+      }
+    });
+
+    harness.await(new StressHarness.Condition() {
+      @Override
+      public boolean isMet() {
+        for (CountListener listener : counts) {
+          if (listener.calls.get() == 0) {
+            return false;
+          }
+        }
+
+        return true;
+      }
+    }, 20000, "some count listeners were never invoked");
+    server.shutdown();
+
+    assertEquals(harness.describe("failures"), 0, server.getFailures().size());
+
+    for (CountListener listener : counts) {
+      assertEquals(harness.describe("count listener calls"), 1, listener.calls.get());
+    }
+  }
+
+  @Test
+  public void shouldDeliverEveryNotification() throws Exception {
+    final Room[] rooms = new Room[ROOMS];
+    final NotificationCounter[] counters = new NotificationCounter[ROOMS];
+    final CountDownLatch subscribed = new CountDownLatch(ROOMS);
+
+    for (int i = 0; i < ROOMS; i++) {
+      counters[i] = new NotificationCounter();
+      SubscribeListener done = new SubscribeListener();
+      done.onDone(new ResponseListener<Room>() {
+        @Override
+        public void onSuccess(Room room) {
+          subscribed.countDown();
+        }
+
+        @Override
+        public void onError(JSONObject error) {
+        }
+      });
+      rooms[i] = new Room(collection).renew(counters[i], done);
+    }
+
+    assertEquals(subscribed.await(10, TimeUnit.SECONDS), true);
+
+    final AtomicInteger[] published = new AtomicInteger[ROOMS];
+    for (int i = 0; i < ROOMS; i++) {
+      published[i] = new AtomicInteger();
+    }
+
+    harness.run(new StressHarness.Operation() {
+      @Override
+      public void run(int thread, int iteration, Random random) throws Exception {
+        int index = random.nextInt(ROOMS);
+        server.publish(channelOf(rooms[index]), published[index].incrementAndGet());
+      }
+    });
+
+    harness.await(new StressHarness.Condition() {
+      @Override
+      public boolean isMet() {
+        for (int i = 0; i < ROOMS; i++) {
+          if (counters[i].received.get() < published[i].get()) {
+            return false;
+          }
+        }
+
+        return true;
+      }
+    }, 10000, "some notifications were lost");
+    server.shutdown();
+
+    assertEquals(harness.describe("failures"), 0, server.getFailures().size());
+
+    for (int i = 0; i < ROOMS; i++) {
+      assertEquals(harness.describe("notifications of room " + i), published[i].get(), counters[i].received.get());
+    }
+
+    assertEquals(kuzzle.getMetrics().snapshot().getCounter(MetricsRegistry.NOTIFICATIONS_DELIVERED), THREADS * ITERATIONS);
+  }
+
+  private static String channelOf(final Room room) {
+    // the stand-in server names the channel after the room id
+    return room.getRoomId().replace("room-", "channel-");
+  }
+}
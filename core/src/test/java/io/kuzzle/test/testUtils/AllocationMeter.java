@@ -0,0 +1,59 @@
+package io.kuzzle.test.testUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the current thread, using the HotSpot
+ * extension of ThreadMXBean (com.sun.management.ThreadMXBean)
+ */
+public final class AllocationMeter {
+  private static final int WARMUP = 20000;
+  private static final int ITERATIONS = 20000;
+
+  private AllocationMeter() {
+  }
+
+  /**
+   * @return true if the JVM measures per-thread allocations
+   */
+  public static boolean isSupported() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+    return bean instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+      && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * Runs an operation enough times for the JIT compiler to settle,
+   * then measures the bytes it allocates on average
+   *
+   * @param operation - Operation to measure, run on the current thread
+   * @return bytes allocated per operation
+   * @throws Exception thrown by the operation
+   */
+  public static long bytesPerOperation(final Operation operation) throws Exception {
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+
+    for (int i = 0; i < WARMUP; i++) {
+      operation.run();
+    }
+
+    long before = bean.getThreadAllocatedBytes(thread);
+
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+
+    return (bean.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+  }
+
+  /**
+   * Measured operation
+   */
+  public interface Operation {
+    void run() throws Exception;
+  }
+}
@@ -1,7 +1,6 @@
 package io.kuzzle.test.testUtils;
 
 import android.support.annotation.NonNull;
-import android.webkit.WebView;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -10,11 +9,13 @@ import java.net.URISyntaxException;
 import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import io.kuzzle.sdk.core.Kuzzle;
 import io.kuzzle.sdk.core.Options;
 import io.kuzzle.sdk.core.Room;
 import io.kuzzle.sdk.enums.Event;
+import io.kuzzle.sdk.listeners.EventListener;
 import io.kuzzle.sdk.listeners.ResponseListener;
 import io.kuzzle.sdk.listeners.OnQueryDoneListener;
 import io.kuzzle.sdk.state.States;
@@ -28,22 +29,12 @@ public class KuzzleExtend extends Kuzzle {
 
   public ResponseListener loginCallback;
 
-  public class KuzzleWebViewClient extends Kuzzle.KuzzleWebViewClient {
-    public boolean shouldOverrideUrlLoading(WebView view, final String url) {
-      return super.shouldOverrideUrlLoading(view, url);
-    }
-  }
-
-  public KuzzleExtend.KuzzleWebViewClient getKuzzleWebViewClient() {
-    return new KuzzleWebViewClient();
-  }
-
   public KuzzleExtend(@NonNull final String host, final Options options, final ResponseListener<Void> connectionCallback) throws URISyntaxException {
     super(host, options, connectionCallback);
   }
 
   public void setState(States newState) {
-    this.state = newState;
+    this.state.reset(newState);
   }
 
   public void setSocket(WebSocketClient s) {
@@ -59,11 +50,29 @@ public class KuzzleExtend extends Kuzzle {
     return super.deleteSubscription(roomId, id);
   }
 
+  public Kuzzle addSubscription(final String roomId, final String id, final Room room) {
+    return super.addSubscription(roomId, id, room);
+  }
+
+  public String peekOrderingKey(final String frame) {
+    return super.peekOrderingKey(frame);
+  }
+
 
   protected WebSocketClient createSocket() throws URISyntaxException {
     return this.savedSocket != null ? this.savedSocket : super.createSocket();
   }
 
+  /**
+   * Creates a socket bound to this instance, bypassing the saved one,
+   * to simulate incoming frames
+   *
+   * @return
+   */
+  public WebSocketClient createRealSocket() throws URISyntaxException {
+    return super.createSocket();
+  }
+
   /**
    * * Returns all registered listeners on a given event
    *
@@ -141,4 +150,18 @@ public class KuzzleExtend extends Kuzzle {
     return this;
   }
 
+  public Kuzzle addRoom(String channel, EventListener listener) {
+    super.addRoom(channel, listener);
+
+    return this;
+  }
+
+  public Map<String, OnQueryDoneListener> getCurrentQueries() {
+    return this.currentQueries;
+  }
+
+  public ThreadPoolExecutor getDecodeExecutor() {
+    return this.decodeExecutor;
+  }
+
 }
@@ -2,9 +2,6 @@ package io.kuzzle.test.testUtils;
 
 import org.json.JSONObject;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import io.kuzzle.sdk.core.Collection;
 import io.kuzzle.sdk.core.Room;
 import io.kuzzle.sdk.core.RoomOptions;
@@ -46,12 +43,17 @@ public class RoomExtend extends Room {
     return this;
   }
 
+  @Override
+  protected void unsubscribeRenewed(final String roomId) {
+    // do nothing
+  }
+
   public Room superUnsubscribe() {
     return super.unsubscribe();
   }
 
-  public TimerTask  unsubscribeTask(final Timer timer, final String roomId, final JSONObject data) {
-    return super.unsubscribeTask(timer, roomId, data);
+  public Runnable unsubscribeTask(final String roomId, final JSONObject data) {
+    return super.unsubscribeTask(roomId, data);
   }
 
   public Room makeHeadersNull() {
@@ -0,0 +1,135 @@
+package io.kuzzle.test.testUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a randomized operation from many threads at once, released together,
+ * and reports any failure with the seed which drove the random choices.
+ *
+ * Replay a failing run with -Dkuzzle.stress.seed=&lt;seed&gt;: the operations chosen are the same,
+ * their interleaving may differ.
+ */
+public class StressHarness {
+  private final int threads;
+  private final int iterations;
+  private final long seed;
+
+  /**
+   * One iteration of a stress thread
+   */
+  public interface Operation {
+    /**
+     * @param thread - Thread index
+     * @param iteration - Iteration index, in this thread
+     * @param random - Random generator of this thread
+     * @throws Exception
+     */
+    void run(int thread, int iteration, Random random) throws Exception;
+  }
+
+  /**
+   * A condition awaited once the stress threads are done
+   */
+  public interface Condition {
+    boolean isMet();
+  }
+
+  /**
+   * @param threads - Number of concurrent threads
+   * @param iterations - Iterations per thread
+   */
+  public StressHarness(final int threads, final int iterations) {
+    this.threads = threads;
+    this.iterations = iterations;
+    this.seed = Long.getLong("kuzzle.stress.seed", System.nanoTime());
+  }
+
+  /**
+   * @return seed of the random generators
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Runs the operation in every thread, and waits for all of them to finish
+   *
+   * @param operation - Operation run at each iteration
+   * @throws InterruptedException
+   */
+  public void run(final Operation operation) throws InterruptedException {
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Throwable> failures = new CopyOnWriteArrayList<>();
+    Thread[] workers = new Thread[this.threads];
+
+    for (int i = 0; i < this.threads; i++) {
+      final int thread = i;
+
+      workers[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          Random random = new Random(StressHarness.this.seed + thread);
+
+          try {
+            start.await();
+
+            for (int iteration = 0; iteration < StressHarness.this.iterations; iteration++) {
+              operation.run(thread, iteration, random);
+            }
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        }
+      }, "stress-" + i);
+      workers[i].start();
+    }
+
+    start.countDown();
+
+    for (Thread worker : workers) {
+      worker.join(TimeUnit.SECONDS.toMillis(60));
+
+      if (worker.isAlive()) {
+        throw new AssertionError(this.describe(worker.getName() + " did not finish"));
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      AssertionError error = new AssertionError(this.describe(failures.size() + " thread(s) failed"));
+      error.initCause(failures.get(0));
+      throw error;
+    }
+  }
+
+  /**
+   * Waits for a condition to be met, once the stress threads are done
+   *
+   * @param condition - Awaited condition
+   * @param timeout - Maximum wait, in milliseconds
+   * @param message - Failure message
+   * @throws InterruptedException
+   */
+  public void await(final Condition condition, final long timeout, final String message) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeout;
+
+    while (!condition.isMet()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError(this.describe(message));
+      }
+
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * @param message - Failure message
+   * @return the message, with the seed to replay the run
+   */
+  public String describe(final String message) {
+    return message + " (seed: " + this.seed + ")";
+  }
+}
@@ -0,0 +1,213 @@
+package io.kuzzle.test.testUtils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tech.gusavila92.websocketclient.WebSocketClient;
+
+/**
+ * Socket answering the requests sent by a Kuzzle instance like a server would,
+ * from a pool of threads, so that responses and notifications reach the SDK concurrently and out of order.
+ *
+ * realtime:subscribe creates a new room, realtime:count answers a count,
+ * any other request is answered with its own body, or with an error at the configured rate.
+ */
+public class StressServerSocket extends WebSocketClient {
+  private final WebSocketClient receiver;
+  private final ExecutorService pool;
+  private final Random random;
+  private final AtomicInteger rooms = new AtomicInteger();
+  private final AtomicLong received = new AtomicLong();
+  private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+  private volatile double errorRate = 0;
+  private volatile double duplicateRate = 0;
+
+  /**
+   * @param receiver - Socket of the Kuzzle instance, receiving the frames
+   * @param threads - Number of threads answering the requests
+   * @param seed - Seed of the error and duplication choices
+   * @throws URISyntaxException
+   */
+  public StressServerSocket(final WebSocketClient receiver, final int threads, final long seed) throws URISyntaxException {
+    super(new URI("ws://localhost:7512/"));
+    this.receiver = receiver;
+    this.pool = Executors.newFixedThreadPool(threads);
+    this.random = new Random(seed);
+  }
+
+  /**
+   * @param errorRate - Share of the requests answered with an error, subscriptions excepted
+   * @return this
+   */
+  public StressServerSocket setErrorRate(final double errorRate) {
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  /**
+   * @param duplicateRate - Share of the responses sent twice, from two threads
+   * @return this
+   */
+  public StressServerSocket setDuplicateRate(final double duplicateRate) {
+    this.duplicateRate = duplicateRate;
+    return this;
+  }
+
+  /**
+   * @return number of requests received
+   */
+  public long getReceived() {
+    return this.received.get();
+  }
+
+  /**
+   * @return exceptions thrown by the SDK while it handled the frames sent
+   */
+  public List<Throwable> getFailures() {
+    return this.failures;
+  }
+
+  /**
+   * Sends a notification to a room channel, from one of the server threads
+   *
+   * @param channel - Room channel
+   * @param sequence - Sequence number, sent as the notification result
+   */
+  public void publish(final String channel, final int sequence) {
+    try {
+      this.deliver(new JSONObject()
+        .put("room", channel)
+        .put("status", 200)
+        .put("type", "document")
+        .put("index", "index")
+        .put("collection", "collection")
+        .put("controller", "realtime")
+        .put("action", "publish")
+        .put("state", "done")
+        .put("result", new JSONObject().put("sequence", sequence))
+        .toString());
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Stops answering, once the pending answers are sent. Requests sent afterwards are ignored.
+   *
+   * @throws InterruptedException
+   */
+  public void shutdown() throws InterruptedException {
+    this.pool.shutdown();
+    this.pool.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void send(final String message) {
+    if (this.pool.isShutdown()) {
+      return;
+    }
+
+    this.received.incrementAndGet();
+
+    try {
+      JSONObject request = new JSONObject(message);
+      String requestId = request.getString("requestId");
+      String controller = request.getString("controller");
+      String action = request.getString("action");
+      JSONObject response = new JSONObject()
+        .put("requestId", requestId)
+        .put("room", requestId)
+        .put("status", 200)
+        .put("controller", controller)
+        .put("action", action);
+
+      if (controller.equals("realtime") && action.equals("subscribe")) {
+        int room = this.rooms.incrementAndGet();
+        response.put("result", new JSONObject().put("roomId", "room-" + room).put("channel", "channel-" + room));
+      } else if (controller.equals("realtime") && action.equals("count")) {
+        response.put("result", new JSONObject().put("count", 1));
+      } else if (this.chance(this.errorRate)) {
+        response.put("status", 500).put("error", new JSONObject().put("message", "stress error").put("status", 500));
+      } else {
+        response.put("result", request.optJSONObject("body") != null ? request.getJSONObject("body") : new JSONObject());
+      }
+
+      String frame = response.toString();
+      this.deliver(frame);
+
+      if (this.chance(this.duplicateRate)) {
+        this.deliver(frame);
+      }
+    } catch (JSONException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void onOpen() {
+  }
+
+  @Override
+  public void onTextReceived(String message) {
+  }
+
+  @Override
+  public void onBinaryReceived(byte[] data) {
+  }
+
+  @Override
+  public void onPingReceived(byte[] data) {
+  }
+
+  @Override
+  public void onPongReceived(byte[] data) {
+  }
+
+  @Override
+  public void onException(Exception e) {
+  }
+
+  @Override
+  public void onCloseReceived() {
+  }
+
+  private void deliver(final String frame) {
+    try {
+      this.pool.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            StressServerSocket.this.receiver.onTextReceived(frame);
+          } catch (Throwable e) {
+            StressServerSocket.this.failures.add(e);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // shut down meanwhile
+    }
+  }
+
+  private boolean chance(final double rate) {
+    if (rate <= 0) {
+      return false;
+    }
+
+    synchronized (this.random) {
+      return this.random.nextDouble() < rate;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.kuzzle.test.time;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.time.Clock;
+import io.kuzzle.sdk.time.ManualClock;
+
+import static org.junit.Assert.assertEquals;
+
+public class ManualClockTest {
+  private ManualClock clock;
+  private List<String> runs;
+
+  private Runnable record(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        runs.add(name + "@" + clock.now());
+      }
+    };
+  }
+
+  @Before
+  public void setUp() {
+    clock = new ManualClock(1000);
+    runs = new CopyOnWriteArrayList<>();
+  }
+
+  @Test
+  public void shouldOnlyMoveWhenAdvanced() {
+    assertEquals(clock.now(), 1000);
+    assertEquals(clock.advance(500), 0);
+    assertEquals(clock.now(), 1500);
+  }
+
+  @Test
+  public void shouldRunTasksInDueOrderAtTheirDueTime() {
+    clock.schedule(record("c"), 300);
+    clock.schedule(record("a"), 100);
+    clock.schedule(record("b"), 100);
+    clock.schedule(record("later"), 1000);
+
+    assertEquals(clock.advance(500), 3);
+    assertEquals(runs.toString(), "[a@1100, b@1100, c@1300]");
+    assertEquals(clock.now(), 1500);
+    assertEquals(clock.getPending(), 1);
+  }
+
+  @Test
+  public void shouldRunTasksScheduledByRunningTasks() {
+    final int[] remaining = {100};
+
+    clock.schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (--remaining[0] > 0) {
+          clock.schedule(this, TimeUnit.MINUTES.toMillis(1));
+        }
+      }
+    }, TimeUnit.MINUTES.toMillis(1));
+
+    assertEquals(clock.advance(TimeUnit.HOURS.toMillis(2)), 100);
+    assertEquals(remaining[0], 0);
+    assertEquals(clock.getPending(), 0);
+  }
+
+  @Test
+  public void shouldRunDueTasksWithoutMovingTheTime() {
+    clock.schedule(record("now"), 0);
+    clock.schedule(record("negative"), -10);
+
+    assertEquals(clock.runDue(), 2);
+    assertEquals(runs.toString(), "[now@1000, negative@1000]");
+  }
+
+  @Test
+  public void shouldCancelTasks() {
+    Clock.Scheduled cancelled = clock.schedule(record("cancelled"), 100);
+    Clock.Scheduled ran = clock.schedule(record("ran"), 100);
+
+    assertEquals(cancelled.cancel(), true);
+    assertEquals(cancelled.cancel(), false);
+    assertEquals(clock.advance(100), 1);
+    assertEquals(ran.cancel(), false);
+    assertEquals(runs.toString(), "[ran@1100]");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotMoveBackward() {
+    clock.advance(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRequireATask() {
+    clock.schedule(null, 0);
+  }
+}
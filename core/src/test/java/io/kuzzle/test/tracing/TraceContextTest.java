@@ -0,0 +1,58 @@
+package io.kuzzle.test.tracing;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import io.kuzzle.sdk.tracing.TraceContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraceContextTest {
+  @Test
+  public void shouldParseTraceparents() {
+    TraceContext context = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+    assertEquals(context.getTraceId(), "4bf92f3577b34da6a3ce929d0e0e4736");
+    assertEquals(context.getSpanId(), "00f067aa0ba902b7");
+    assertEquals(context.isSampled(), true);
+    assertEquals(context.toTraceparent(), "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    assertEquals(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").isSampled(), false);
+  }
+
+  @Test
+  public void shouldAcceptFutureVersions() {
+    assertEquals(TraceContext.parse("cc-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-what-the-future-holds").isSampled(), true);
+  }
+
+  @Test
+  public void shouldRejectInvalidTraceparents() {
+    assertNull(TraceContext.parse(null));
+    assertNull(TraceContext.parse("garbage"));
+    assertNull(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+    assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra"));
+    assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+    assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+    assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+  }
+
+  @Test
+  public void shouldGenerateValidContexts() {
+    Random random = new Random(42);
+    TraceContext root = TraceContext.root(random);
+    TraceContext child = root.child(random);
+
+    assertTrue(root.toTraceparent().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+    assertEquals(TraceContext.parse(root.toTraceparent()).getTraceId(), root.getTraceId());
+    assertEquals(child.getTraceId(), root.getTraceId());
+    assertNotEquals(child.getSpanId(), root.getSpanId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidIdentifiers() {
+    new TraceContext("foo", "bar", true);
+  }
+}
@@ -0,0 +1,106 @@
+package io.kuzzle.test.tracing;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.tracing.Span;
+import io.kuzzle.sdk.tracing.SpanSink;
+import io.kuzzle.sdk.tracing.Tracer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TracerTest {
+  private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  private Tracer tracer;
+  private List<Span> exported;
+
+  @Before
+  public void setUp() {
+    tracer = new Tracer();
+    exported = new ArrayList<>();
+    tracer.setSink(new SpanSink() {
+      @Override
+      public void export(Span span) {
+        exported.add(span);
+      }
+    });
+  }
+
+  @Test
+  public void shouldNotTraceWhenDisabled() {
+    assertNull(tracer.start("foo", "document", "get", null));
+    assertEquals(tracer.isTracing(), false);
+  }
+
+  @Test
+  public void shouldSampleRequests() {
+    tracer.setSampleRate(0.5);
+    int traced = 0;
+
+    for (int i = 0; i < 10000; i++) {
+      if (tracer.start(String.valueOf(i), "document", "get", null) != null) {
+        traced++;
+      }
+    }
+
+    assertTrue(traced > 4500 && traced < 5500);
+  }
+
+  @Test
+  public void shouldContinueSampledParentTraces() {
+    Span span = tracer.start("foo", "document", "get", PARENT);
+
+    assertEquals(span.getTraceId(), "4bf92f3577b34da6a3ce929d0e0e4736");
+    assertEquals(span.getParentSpanId(), "00f067aa0ba902b7");
+    assertNull(tracer.start("bar", "document", "get", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00"));
+  }
+
+  @Test
+  public void shouldRecordTimestampsAndExportEndedSpans() {
+    tracer.setSampleRate(1);
+    Span span = tracer.start("foo", "document", "get", null);
+    assertNull(span.getParentSpanId());
+
+    tracer.sent("foo");
+    tracer.received("foo");
+    tracer.end("foo", Span.Status.OK);
+
+    assertEquals(exported.size(), 1);
+    assertEquals(span.getStatus(), Span.Status.OK);
+    assertTrue(span.getQueueTime() <= span.getSendTime());
+    assertTrue(span.getSendTime() <= span.getFirstByteTime());
+    assertTrue(span.getFirstByteTime() <= span.getCallbackTime());
+    assertEquals(span.getDuration(), span.getCallbackTime() - span.getQueueTime());
+    assertEquals(tracer.isTracing(), false);
+
+    tracer.end("foo", Span.Status.OK);
+    assertEquals(exported.size(), 1);
+  }
+
+  @Test
+  public void shouldAbandonSentRequestsOnly() {
+    tracer.setSampleRate(1);
+    tracer.start("sent", "document", "get", null);
+    tracer.start("queued", "document", "get", null);
+    tracer.sent("sent");
+
+    tracer.abandon();
+
+    assertEquals(exported.size(), 1);
+    assertEquals(exported.get(0).getRequestId(), "sent");
+    assertEquals(exported.get(0).getStatus(), Span.Status.ABANDONED);
+    assertEquals(exported.get(0).getCallbackTime(), 0);
+    assertEquals(tracer.isTracing(), true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidSampleRates() {
+    tracer.setSampleRate(1.5);
+  }
+}
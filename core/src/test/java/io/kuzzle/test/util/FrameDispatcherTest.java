@@ -0,0 +1,165 @@
+package io.kuzzle.test.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.kuzzle.sdk.util.FrameDispatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameDispatcherTest {
+  private ExecutorService executor;
+  private FrameDispatcher dispatcher;
+  private List<String> handled;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+    dispatcher = new FrameDispatcher(executor);
+    handled = Collections.synchronizedList(new ArrayList<String>());
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private Runnable record(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        handled.add(name);
+      }
+    };
+  }
+
+  @Test
+  public void shouldHandleSmallFramesInline() {
+    dispatcher.dispatch("foo", false, record("foo"));
+
+    assertEquals(handled.size(), 1);
+    assertTrue(dispatcher.isIdle());
+  }
+
+  @Test
+  public void shouldKeepFramesOfTheSameKeyInOrder() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    dispatcher.dispatch("foo", true, new Runnable() {
+      @Override
+      public void run() {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        handled.add("large");
+      }
+    });
+    dispatcher.dispatch("foo", false, record("small"));
+    dispatcher.dispatch("bar", false, record("other"));
+    dispatcher.dispatch("foo", false, new Runnable() {
+      @Override
+      public void run() {
+        done.countDown();
+      }
+    });
+
+    assertFalse(dispatcher.isIdle());
+    assertEquals(handled.size(), 1);
+    assertEquals(handled.get(0), "other");
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(handled.get(1), "large");
+    assertEquals(handled.get(2), "small");
+  }
+
+  @Test
+  public void shouldKeepFramesWithoutKeyInOrderWithAnyFrame() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    dispatcher.dispatch("foo", true, new Runnable() {
+      @Override
+      public void run() {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        handled.add("large");
+      }
+    });
+    // its room is unknown: it could be a "foo" frame, and the frames following it could be from its room
+    dispatcher.dispatch(null, false, record("unknown"));
+    dispatcher.dispatch("bar", false, record("other"));
+    dispatcher.dispatch("baz", false, new Runnable() {
+      @Override
+      public void run() {
+        done.countDown();
+      }
+    });
+
+    assertFalse(dispatcher.isIdle());
+    assertEquals(handled.size(), 0);
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(handled.get(0), "large");
+    assertEquals(handled.get(1), "unknown");
+    assertEquals(handled.get(2), "other");
+
+    for (int i = 0; i < 500 && !dispatcher.isIdle(); i++) {
+      Thread.sleep(10);
+    }
+
+    assertTrue(dispatcher.isIdle());
+    dispatcher.dispatch("bar", false, record("inline"));
+    assertEquals(handled.get(3), "inline");
+  }
+
+  @Test
+  public void shouldKeepDrainingAfterAFailure() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    dispatcher.dispatch(null, true, new Runnable() {
+      @Override
+      public void run() {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        throw new RuntimeException("failure");
+      }
+    });
+    dispatcher.dispatch(null, false, new Runnable() {
+      @Override
+      public void run() {
+        done.countDown();
+      }
+    });
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectMissingExecutor() {
+    new FrameDispatcher(null);
+  }
+}
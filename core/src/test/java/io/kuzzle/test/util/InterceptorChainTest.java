@@ -0,0 +1,125 @@
+package io.kuzzle.test.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.listeners.OnQueryDoneListener;
+import io.kuzzle.sdk.util.InterceptorChain;
+import io.kuzzle.sdk.util.RequestInterceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class InterceptorChainTest {
+  private final List<String> calls = new ArrayList<>();
+  private JSONObject performed;
+  private OnQueryDoneListener performedListener;
+
+  private final RequestInterceptor terminal = new RequestInterceptor() {
+    @Override
+    public void intercept(Chain chain) throws JSONException {
+      calls.add("terminal");
+      performed = chain.getRequest();
+      performedListener = chain.getListener();
+    }
+  };
+
+  private RequestInterceptor passing(final String name) {
+    return new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) throws JSONException {
+        calls.add(name);
+        chain.proceed(chain.getRequest(), chain.getListener());
+      }
+    };
+  }
+
+  @Test
+  public void shouldInvokeInterceptorsInOrder() throws JSONException {
+    JSONObject request = new JSONObject().put("action", "foo");
+    OnQueryDoneListener listener = mock(OnQueryDoneListener.class);
+
+    new InterceptorChain(new RequestInterceptor[] {passing("first"), passing("second")}, terminal, request, null, listener).start();
+
+    assertEquals(calls.toString(), "[first, second, terminal]");
+    assertSame(performed, request);
+    assertSame(performedListener, listener);
+  }
+
+  @Test
+  public void shouldPassRewrittenRequests() throws JSONException {
+    final JSONObject rewritten = new JSONObject().put("action", "bar");
+    final OnQueryDoneListener wrapper = mock(OnQueryDoneListener.class);
+
+    new InterceptorChain(new RequestInterceptor[] {new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) throws JSONException {
+        chain.proceed(rewritten, wrapper);
+      }
+    }}, terminal, new JSONObject(), null, null).start();
+
+    assertSame(performed, rewritten);
+    assertSame(performedListener, wrapper);
+  }
+
+  @Test
+  public void shouldStopWhenAnInterceptorDoesNotProceed() throws JSONException {
+    new InterceptorChain(new RequestInterceptor[] {new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) {
+        calls.add("answering");
+      }
+    }, passing("second")}, terminal, new JSONObject(), null, null).start();
+
+    assertEquals(calls.toString(), "[answering]");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNullRequests() throws JSONException {
+    new InterceptorChain(new RequestInterceptor[0], terminal, new JSONObject(), null, null).proceed(null, null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectProceedingPastThePerformer() throws JSONException {
+    new InterceptorChain(new RequestInterceptor[0], new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) throws JSONException {
+        chain.proceed(chain.getRequest(), chain.getListener());
+      }
+    }, new JSONObject(), null, null).start();
+  }
+
+  @Test
+  public void shouldRejectProceedingTwice() throws JSONException {
+    new InterceptorChain(new RequestInterceptor[] {new RequestInterceptor() {
+      @Override
+      public void intercept(Chain chain) throws JSONException {
+        chain.proceed(chain.getRequest(), chain.getListener());
+
+        try {
+          chain.proceed(chain.getRequest(), chain.getListener());
+          fail("proceed should have thrown");
+        } catch (IllegalStateException e) {
+          calls.add("rejected");
+        }
+      }
+    }}, terminal, new JSONObject(), null, null).start();
+
+    // the request is performed once
+    assertEquals(calls.toString(), "[terminal, rejected]");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectStartingTwice() throws JSONException {
+    InterceptorChain chain = new InterceptorChain(new RequestInterceptor[0], terminal, new JSONObject(), null, null);
+
+    chain.start();
+    chain.start();
+  }
+}
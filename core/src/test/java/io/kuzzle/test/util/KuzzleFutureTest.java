@@ -0,0 +1,313 @@
+package io.kuzzle.test.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.kuzzle.sdk.listeners.ResponseListener;
+import io.kuzzle.sdk.util.KuzzleFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class KuzzleFutureTest {
+  private JSONObject error(String message) throws JSONException {
+    return new JSONObject().put("message", message);
+  }
+
+  @Test
+  public void testCompletesOnce() throws Exception {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+
+    assertFalse(future.isDone());
+    future.onSuccess("foo");
+    future.onSuccess("bar");
+    future.onError(error("baz"));
+
+    assertTrue(future.isDone());
+    assertEquals("foo", future.get());
+  }
+
+  @Test
+  public void testGetThrowsResponseError() throws Exception {
+    JSONObject error = error("foo");
+    KuzzleFuture<String> future = KuzzleFuture.failed(error);
+
+    try {
+      future.get();
+      fail("get should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof KuzzleFuture.ResponseError);
+      assertSame(error, ((KuzzleFuture.ResponseError) e.getCause()).getError());
+      assertEquals("foo", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testAwaitValueRejectsMissingResponses() throws Exception {
+    KuzzleFuture<Integer> future = new KuzzleFuture<>();
+    future.onSuccess(null);
+
+    try {
+      future.awaitValue();
+      fail("awaitValue should have thrown");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals("Request completed without a response", e.getMessage());
+    }
+
+    assertEquals(Integer.valueOf(42), KuzzleFuture.completed(42).awaitValue());
+  }
+
+  @Test(expected = TimeoutException.class)
+  public void testGetTimeout() throws Exception {
+    new KuzzleFuture<String>().get(10, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void testThenBeforeAndAfterCompletion() throws Exception {
+    final StringBuilder calls = new StringBuilder();
+    ResponseListener<String> listener = new ResponseListener<String>() {
+      @Override
+      public void onSuccess(String response) {
+        calls.append(response);
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        fail("onError should not have been invoked");
+      }
+    };
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+
+    future.then(listener);
+    assertEquals("", calls.toString());
+    future.onSuccess("foo");
+    future.then(listener);
+    assertEquals("foofoo", calls.toString());
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    future.then(new ResponseListener<String>() {
+      @Override
+      public void onSuccess(String response) {
+        fail("a cancelled future should not notify its listeners");
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        fail("a cancelled future should not notify its listeners");
+      }
+    });
+
+    assertTrue(future.cancel(false));
+    assertFalse(future.cancel(false));
+    future.onSuccess("foo");
+    assertTrue(future.isCancelled());
+
+    try {
+      future.get();
+      fail("get should have thrown");
+    } catch (CancellationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testAllOfKeepsOrder() throws Exception {
+    KuzzleFuture<String> first = new KuzzleFuture<>();
+    KuzzleFuture<String> second = new KuzzleFuture<>();
+    KuzzleFuture<String> third = new KuzzleFuture<>();
+    KuzzleFuture<List<String>> all = KuzzleFuture.allOf(first, second, third);
+
+    third.onSuccess("baz");
+    first.onSuccess("foo");
+    assertFalse(all.isDone());
+    second.onSuccess("bar");
+
+    assertEquals(Arrays.asList("foo", "bar", "baz"), all.get());
+  }
+
+  @Test
+  public void testAllOfEmpty() throws Exception {
+    assertTrue(KuzzleFuture.<String>allOf().get().isEmpty());
+  }
+
+  @Test
+  public void testAllOfFailsOnFirstError() throws Exception {
+    final int[] errors = {0};
+    KuzzleFuture<String> first = new KuzzleFuture<>();
+    KuzzleFuture<String> second = new KuzzleFuture<>();
+    KuzzleFuture<List<String>> all = KuzzleFuture.allOf(first, second);
+
+    all.then(new ResponseListener<List<String>>() {
+      @Override
+      public void onSuccess(List<String> response) {
+        fail("onSuccess should not have been invoked");
+      }
+
+      @Override
+      public void onError(JSONObject error) {
+        errors[0]++;
+      }
+    });
+
+    first.onError(error("foo"));
+    second.onError(error("bar"));
+
+    assertEquals(1, errors[0]);
+  }
+
+  @Test
+  public void testAllOfConcurrentCompletions() throws Exception {
+    final int count = 200;
+    final KuzzleFuture<Integer>[] futures = new KuzzleFuture[count];
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[4];
+
+    for (int i = 0; i < count; i++) {
+      futures[i] = new KuzzleFuture<>();
+    }
+
+    KuzzleFuture<List<Integer>> all = KuzzleFuture.allOf(futures);
+
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t;
+
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+
+          for (int i = offset; i < count; i += 4) {
+            futures[i].onSuccess(i);
+          }
+        }
+      });
+      threads[t].start();
+    }
+
+    start.countDown();
+    List<Integer> results = all.get(5, TimeUnit.SECONDS);
+
+    for (int i = 0; i < count; i++) {
+      assertEquals(i, (int) results.get(i));
+    }
+  }
+
+  @Test
+  public void testAnyOf() throws Exception {
+    KuzzleFuture<String> first = new KuzzleFuture<>();
+    KuzzleFuture<String> second = new KuzzleFuture<>();
+    KuzzleFuture<String> any = KuzzleFuture.anyOf(first, second);
+
+    first.onError(error("foo"));
+    assertFalse(any.isDone());
+    second.onSuccess("bar");
+
+    assertEquals("bar", any.get());
+  }
+
+  @Test
+  public void testAnyOfAllFailed() throws Exception {
+    KuzzleFuture<String> any = KuzzleFuture.anyOf(
+      KuzzleFuture.<String>failed(error("foo")),
+      KuzzleFuture.<String>failed(error("bar"))
+    );
+
+    try {
+      any.get();
+      fail("get should have thrown");
+    } catch (ExecutionException e) {
+      assertEquals("bar", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testWithTimeout() throws Exception {
+    KuzzleFuture<String> future = new KuzzleFuture<>();
+    KuzzleFuture<String> bounded = future.withTimeout(20, TimeUnit.MILLISECONDS);
+
+    try {
+      bounded.get(5, TimeUnit.SECONDS);
+      fail("get should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().getMessage().contains("timed out"));
+    }
+
+    future.onSuccess("foo");
+    assertFalse(future.isCancelled());
+  }
+
+  @Test
+  public void testWithTimeoutCompletedInTime() throws Exception {
+    KuzzleFuture<String> bounded = KuzzleFuture.completed("foo").withTimeout(1, TimeUnit.SECONDS);
+
+    assertEquals("foo", bounded.get());
+  }
+
+  @Test
+  public void testAwait() throws Exception {
+    final KuzzleFuture<String> future = new KuzzleFuture<>();
+
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        future.onSuccess("foo");
+      }
+    }).start();
+
+    assertEquals("foo", future.await());
+  }
+
+  @Test
+  public void testAwaitError() throws Exception {
+    JSONObject error = error("foo");
+
+    try {
+      KuzzleFuture.<String>failed(error).await();
+      fail("await should have thrown");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertSame(error, e.getError());
+    }
+  }
+
+  @Test
+  public void testAwaitWithTimeout() throws Exception {
+    assertEquals("foo", KuzzleFuture.completed("foo").await(1, TimeUnit.SECONDS));
+    assertEquals("foo", KuzzleFuture.completed("foo").await(0, TimeUnit.SECONDS));
+
+    try {
+      new KuzzleFuture<String>().await(10, TimeUnit.MILLISECONDS);
+      fail("await should have timed out");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals("Request timed out after 10ms", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testAwaitValueWithTimeout() throws Exception {
+    try {
+      KuzzleFuture.<Integer>completed(null).awaitValue(1, TimeUnit.SECONDS);
+      fail("awaitValue should have thrown");
+    } catch (KuzzleFuture.ResponseError e) {
+      assertEquals("Request completed without a response", e.getMessage());
+    }
+  }
+}
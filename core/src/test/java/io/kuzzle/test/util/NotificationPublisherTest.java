@@ -0,0 +1,359 @@
+package io.kuzzle.test.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kuzzle.sdk.core.Kuzzle;
+import io.kuzzle.sdk.core.Room;
+import io.kuzzle.sdk.enums.OverflowStrategy;
+import io.kuzzle.sdk.responses.NotificationResponse;
+import io.kuzzle.sdk.util.KuzzleFuture;
+import io.kuzzle.sdk.util.NotificationPublisher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NotificationPublisherTest {
+  private Kuzzle kuzzle;
+
+  private class TestSubscriber implements Subscriber<NotificationResponse> {
+    Subscription subscription;
+    List<String> received = new ArrayList<>();
+    Throwable error;
+    boolean completed = false;
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      this.subscription = s;
+    }
+
+    @Override
+    public void onNext(NotificationResponse response) {
+      received.add(response.getDocument().getId() + ":" + response.getResult().optJSONObject("_source").optString("v"));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      this.error = t;
+    }
+
+    @Override
+    public void onComplete() {
+      this.completed = true;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    kuzzle = mock(Kuzzle.class);
+    when(kuzzle.getHeaders()).thenReturn(new JSONObject());
+  }
+
+  private NotificationResponse notification(String id, String value) throws JSONException {
+    return new NotificationResponse(kuzzle, new JSONObject()
+      .put("status", 200)
+      .put("index", "index")
+      .put("collection", "collection")
+      .put("controller", "document")
+      .put("action", "update")
+      .put("state", "done")
+      .put("scope", "in")
+      .put("result", new JSONObject()
+        .put("_id", id)
+        .put("_source", new JSONObject().put("v", value))
+      )
+    );
+  }
+
+  private TestSubscriber subscribe(NotificationPublisher publisher) {
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+    return subscriber;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new NotificationPublisher(0, OverflowStrategy.BUFFER);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingStrategy() {
+    new NotificationPublisher(1, null);
+  }
+
+  @Test
+  public void testHonoursDemand() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("c", "1"));
+    assertTrue(subscriber.received.isEmpty());
+
+    subscriber.subscription.request(2);
+    assertEquals(2, subscriber.received.size());
+
+    subscriber.subscription.request(5);
+    publisher.onSuccess(notification("d", "1"));
+    assertEquals(4, subscriber.received.size());
+    assertEquals("a:1", subscriber.received.get(0));
+    assertEquals("d:1", subscriber.received.get(3));
+    assertEquals(4, publisher.getDelivered());
+    assertEquals(4, publisher.getReceived());
+  }
+
+  @Test
+  public void testBufferOverflowFailsSubscription() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(2, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("c", "1"));
+
+    assertTrue(subscriber.error instanceof IllegalStateException);
+    assertEquals(1, publisher.getOverflows());
+    assertEquals(0, publisher.getSubscriberCount());
+
+    subscriber.subscription.request(10);
+    assertTrue(subscriber.received.isEmpty());
+  }
+
+  @Test
+  public void testDropOldest() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(2, OverflowStrategy.DROP_OLDEST);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("c", "1"));
+    subscriber.subscription.request(10);
+
+    assertEquals(2, subscriber.received.size());
+    assertEquals("b:1", subscriber.received.get(0));
+    assertEquals("c:1", subscriber.received.get(1));
+    assertEquals(1, publisher.getDropped());
+  }
+
+  @Test
+  public void testDropNewest() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(2, OverflowStrategy.DROP_NEWEST);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("c", "1"));
+    subscriber.subscription.request(10);
+
+    assertEquals(2, subscriber.received.size());
+    assertEquals("a:1", subscriber.received.get(0));
+    assertEquals("b:1", subscriber.received.get(1));
+    assertEquals(1, publisher.getDropped());
+  }
+
+  @Test
+  public void testLatestPerDocument() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(2, OverflowStrategy.LATEST);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("a", "2"));
+    publisher.onSuccess(notification("a", "3"));
+    subscriber.subscription.request(10);
+
+    assertEquals(2, subscriber.received.size());
+    assertEquals("a:3", subscriber.received.get(0));
+    assertEquals("b:1", subscriber.received.get(1));
+    assertEquals(2, publisher.getCoalesced());
+    assertEquals(0, publisher.getDropped());
+
+    publisher.onSuccess(notification("c", "1"));
+    publisher.onSuccess(notification("d", "1"));
+    publisher.onSuccess(notification("e", "1"));
+    assertEquals(5, subscriber.received.size());
+  }
+
+  @Test
+  public void testLatestDropsOldestDocument() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(2, OverflowStrategy.LATEST);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    publisher.onSuccess(notification("c", "1"));
+    subscriber.subscription.request(10);
+
+    assertEquals("b:1", subscriber.received.get(0));
+    assertEquals("c:1", subscriber.received.get(1));
+    assertEquals(1, publisher.getDropped());
+  }
+
+  @Test
+  public void testSubscribersHaveTheirOwnBuffer() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(1, OverflowStrategy.DROP_NEWEST);
+    TestSubscriber fast = subscribe(publisher);
+    TestSubscriber slow = subscribe(publisher);
+
+    fast.subscription.request(Long.MAX_VALUE);
+    publisher.onSuccess(notification("a", "1"));
+    publisher.onSuccess(notification("b", "1"));
+    slow.subscription.request(Long.MAX_VALUE);
+
+    assertEquals(2, fast.received.size());
+    assertEquals(1, slow.received.size());
+    assertEquals(1, publisher.getDropped());
+  }
+
+  @Test
+  public void testInvalidRequest() {
+    NotificationPublisher publisher = new NotificationPublisher(1, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    subscriber.subscription.request(0);
+
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testCancel() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    subscriber.subscription.request(10);
+    subscriber.subscription.cancel();
+    publisher.onSuccess(notification("a", "1"));
+
+    assertTrue(subscriber.received.isEmpty());
+    assertEquals(0, publisher.getSubscriberCount());
+  }
+
+  @Test
+  public void testLastCancelUnsubscribesTheRoom() {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    Room room = mock(Room.class);
+    TestSubscriber first = subscribe(publisher);
+    TestSubscriber second = subscribe(publisher);
+
+    publisher.attach(room);
+    first.subscription.cancel();
+    verify(room, never()).unsubscribe();
+
+    second.subscription.cancel();
+    second.subscription.cancel();
+    verify(room, times(1)).unsubscribe();
+
+    // no notification can arrive anymore
+    assertTrue(subscribe(publisher).completed);
+  }
+
+  @Test
+  public void testCancelBeforeAttachUnsubscribesTheRoom() {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    Room room = mock(Room.class);
+
+    subscribe(publisher).subscription.cancel();
+    publisher.attach(room);
+
+    verify(room).unsubscribe();
+  }
+
+  @Test
+  public void testCompleteUnsubscribesTheRoom() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    Room room = mock(Room.class);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.attach(room);
+    publisher.onSuccess(notification("a", "1"));
+    publisher.complete();
+    verify(room).unsubscribe();
+
+    subscriber.subscription.request(1);
+    assertEquals(1, subscriber.received.size());
+    assertTrue(subscriber.completed);
+    verify(room, times(1)).unsubscribe();
+  }
+
+  @Test
+  public void testCompleteAfterBufferedNotifications() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+
+    publisher.onSuccess(notification("a", "1"));
+    publisher.complete();
+    assertFalse(subscriber.completed);
+
+    subscriber.subscription.request(1);
+    assertEquals(1, subscriber.received.size());
+    assertTrue(subscriber.completed);
+
+    TestSubscriber late = subscribe(publisher);
+    assertTrue(late.completed);
+    assertNull(late.error);
+  }
+
+  @Test
+  public void testError() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(10, OverflowStrategy.BUFFER);
+    TestSubscriber subscriber = subscribe(publisher);
+    JSONObject error = new JSONObject().put("message", "foo");
+
+    publisher.onError(error);
+
+    assertTrue(subscriber.error instanceof KuzzleFuture.ResponseError);
+    assertEquals(error, ((KuzzleFuture.ResponseError) subscriber.error).getError());
+  }
+
+  @Test
+  public void testRequestFromOnNext() throws JSONException {
+    NotificationPublisher publisher = new NotificationPublisher(100, OverflowStrategy.BUFFER);
+    final List<String> received = new ArrayList<>();
+
+    publisher.subscribe(new Subscriber<NotificationResponse>() {
+      private Subscription subscription;
+
+      @Override
+      public void onSubscribe(Subscription s) {
+        this.subscription = s;
+        s.request(1);
+      }
+
+      @Override
+      public void onNext(NotificationResponse response) {
+        received.add(response.getDocument().getId());
+        this.subscription.request(1);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    for (int i = 0; i < 50; i++) {
+      publisher.onSuccess(notification(String.valueOf(i), "1"));
+    }
+
+    assertEquals(50, received.size());
+    assertEquals("49", received.get(49));
+  }
+}
@@ -0,0 +1,152 @@
+package io.kuzzle.test.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.kuzzle.sdk.util.RequestEnvelope;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestEnvelopeTest {
+  private RequestEnvelope envelope;
+  private JSONObject headers;
+  private JSONObject _volatile;
+  private JSONObject request;
+
+  @Before
+  public void setUp() throws JSONException {
+    envelope = new RequestEnvelope();
+    headers = new JSONObject().put("foo", "bar");
+    _volatile = new JSONObject().put("qux", "qux");
+    request = new JSONObject()
+        .put("requestId", "42")
+        .put("controller", "document")
+        .put("action", "get")
+        .put("_id", "id");
+  }
+
+  @Test
+  public void shouldAddEnvelopeParts() throws JSONException {
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", "token"));
+
+    assertEquals(sent.getString("requestId"), "42");
+    assertEquals(sent.getString("controller"), "document");
+    assertEquals(sent.getString("action"), "get");
+    assertEquals(sent.getString("_id"), "id");
+    assertEquals(sent.getString("foo"), "bar");
+    assertEquals(sent.getString("jwt"), "token");
+    assertEquals(sent.getJSONObject("volatile").length(), 2);
+    assertEquals(sent.getJSONObject("volatile").getString("qux"), "qux");
+    assertEquals(sent.getJSONObject("volatile").getString("sdkVersion"), "1.0");
+  }
+
+  @Test
+  public void shouldNotModifyTheRequest() throws JSONException {
+    envelope.serialize(request, headers, _volatile, "1.0", "token");
+    assertEquals(request.length(), 4);
+  }
+
+  @Test
+  public void shouldKeepRequestFieldsOverHeaders() throws JSONException {
+    request.put("foo", "baz");
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertEquals(sent.getString("foo"), "baz");
+  }
+
+  @Test
+  public void shouldReplaceNullRequestFieldsWithHeaders() throws JSONException {
+    request.put("foo", JSONObject.NULL);
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertEquals(sent.getString("foo"), "bar");
+  }
+
+  @Test
+  public void shouldKeepRequestVolatileData() throws JSONException {
+    request.put("volatile", new JSONObject().put("foo", "foo"));
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertEquals(sent.getJSONObject("volatile").length(), 1);
+    assertEquals(sent.getJSONObject("volatile").getString("foo"), "foo");
+  }
+
+  @Test
+  public void shouldOverrideRequestJwt() throws JSONException {
+    request.put("jwt", "old");
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", "new"));
+    assertEquals(sent.getString("jwt"), "new");
+  }
+
+  @Test
+  public void shouldNotAddJwtWhenCheckingToken() throws JSONException {
+    request.put("controller", "auth").put("action", "checkToken");
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", "token"));
+    assertFalse(sent.has("jwt"));
+  }
+
+  @Test
+  public void shouldFollowTokenChanges() throws JSONException {
+    envelope.serialize(request, headers, _volatile, "1.0", "foo");
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", "bar"));
+    assertEquals(sent.getString("jwt"), "bar");
+
+    sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertFalse(sent.has("jwt"));
+  }
+
+  @Test
+  public void shouldRebuildOnlyWhenInvalidated() throws JSONException {
+    envelope.serialize(request, headers, _volatile, "1.0", null);
+    headers.put("foo", "baz");
+    _volatile.put("qux", "foo");
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertEquals(sent.getString("foo"), "bar");
+    assertEquals(sent.getJSONObject("volatile").getString("qux"), "qux");
+
+    envelope.invalidate();
+    sent = new JSONObject(envelope.serialize(request, headers, _volatile, "1.0", null));
+    assertEquals(sent.getString("foo"), "baz");
+    assertEquals(sent.getJSONObject("volatile").getString("qux"), "foo");
+  }
+
+  @Test
+  public void shouldRebuildWhenSourcesAreReplaced() throws JSONException {
+    envelope.serialize(request, headers, _volatile, "1.0", null);
+
+    JSONObject sent = new JSONObject(envelope.serialize(request, new JSONObject(), null, "1.0", null));
+    assertFalse(sent.has("foo"));
+    assertEquals(sent.getJSONObject("volatile").length(), 1);
+    assertEquals(sent.getJSONObject("volatile").getString("sdkVersion"), "1.0");
+  }
+
+  @Test
+  public void shouldMergeRequestVolatileData() throws JSONException {
+    JSONObject merged = envelope.mergeVolatile(headers, _volatile, "1.0", new JSONObject().put("qux", "bar").put("foo", "foo"));
+
+    assertEquals(merged.length(), 3);
+    assertEquals(merged.getString("qux"), "bar");
+    assertEquals(merged.getString("foo"), "foo");
+    assertEquals(merged.getString("sdkVersion"), "1.0");
+    assertTrue(_volatile.getString("qux").equals("qux"));
+  }
+
+  @Test
+  public void shouldSerializeLikeJSONObject() throws JSONException {
+    request
+        .put("volatile", new JSONObject().put("foo", "bar"))
+        .put("body", new JSONObject().put("nested", new JSONObject().put("a", 1.5)))
+        .put("from", 10)
+        .put("refresh", true)
+        .put("quoted", "\"foo\"\n");
+
+    assertEquals(envelope.serialize(request, new JSONObject(), null, "1.0", null), request.toString());
+  }
+}
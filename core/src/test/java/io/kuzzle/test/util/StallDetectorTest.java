@@ -0,0 +1,111 @@
+package io.kuzzle.test.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import io.kuzzle.sdk.util.StallDetector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StallDetectorTest {
+  private StallDetector detector;
+  private List<StallDetector.Stall> stalls;
+
+  @Before
+  public void setUp() {
+    stalls = new CopyOnWriteArrayList<>();
+    detector = new StallDetector(50, new StallDetector.StallListener() {
+      @Override
+      public void onStall(StallDetector.Stall stall) {
+        stalls.add(stall);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    detector.stop();
+  }
+
+  @Test
+  public void shouldNotReportFastCallbacks() {
+    for (int i = 0; i < 1000; i++) {
+      detector.enter("response", "document", "get");
+      detector.exit();
+    }
+
+    assertEquals(stalls.size(), 0);
+  }
+
+  @Test
+  public void shouldReportRunningCallbacksOnce() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        detector.enter("notification", "channel", null);
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        } finally {
+          detector.exit();
+        }
+      }
+    }, "stalled-thread");
+    thread.start();
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (stalls.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+    thread.join();
+
+    assertEquals(stalls.size(), 1);
+    StallDetector.Stall stall = stalls.get(0);
+    assertEquals(stall.getType(), "notification");
+    assertEquals(stall.getName(), "channel");
+    assertEquals(stall.isRunning(), true);
+    assertEquals(stall.getThread(), "stalled-thread");
+    assertTrue(stall.getDuration() > 50);
+    assertTrue(stall.getStackTrace().length > 0);
+  }
+
+  @Test
+  public void shouldReportLateCallbacksOnReturn() throws InterruptedException {
+    detector.enter("response", "document", "search");
+    // without the watchdog, the callback can only be reported when it returns
+    detector.stop();
+    Thread.sleep(60);
+    detector.exit();
+
+    assertEquals(stalls.size(), 1);
+    assertEquals(stalls.get(0).getName(), "document:search");
+    assertEquals(stalls.get(0).isRunning(), false);
+  }
+
+  @Test
+  public void shouldTimeNestedCallbacksAsTheOuterOne() throws InterruptedException {
+    detector.enter("response", "document", "get");
+    detector.stop();
+    detector.enter("notification", "channel", null);
+    detector.exit();
+    Thread.sleep(60);
+    detector.exit();
+
+    assertEquals(stalls.size(), 1);
+    assertEquals(stalls.get(0).getName(), "document:get");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectInvalidThresholds() {
+    new StallDetector(0, null);
+  }
+}
@@ -0,0 +1,35 @@
+package io.kuzzle.sdk.android;
+
+import android.support.annotation.NonNull;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import io.kuzzle.sdk.core.Kuzzle;
+
+/**
+ * WebViewClient to forward kuzzle's jwt token after an OAuth authentication
+ */
+public class KuzzleWebViewClient extends WebViewClient {
+  private final Kuzzle kuzzle;
+
+  /**
+   * @param kuzzle - Kuzzle instance to authenticate
+   */
+  public KuzzleWebViewClient(@NonNull final Kuzzle kuzzle) {
+    if (kuzzle == null) {
+      throw new IllegalArgumentException("KuzzleWebViewClient: a Kuzzle instance is required");
+    }
+
+    this.kuzzle = kuzzle;
+  }
+
+  @Override
+  public boolean shouldOverrideUrlLoading(WebView view, final String url) {
+    if (url.contains("code=")) {
+      this.kuzzle.completeOAuthLogin(url);
+    } else {
+      view.loadUrl(url);
+    }
+    return true;
+  }
+}
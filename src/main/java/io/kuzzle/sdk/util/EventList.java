@@ -1,8 +0,0 @@
-package io.kuzzle.sdk.util;
-
-import java.util.HashMap;
-import io.kuzzle.sdk.listeners.EventListener;
-
-public class EventList extends HashMap<EventListener, Event> {
-  public long lastEmitted = 0;
-}
@@ -0,0 +1,47 @@
+package io.kuzzle.test.android;
+
+import android.webkit.WebView;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.kuzzle.sdk.android.KuzzleWebViewClient;
+import io.kuzzle.sdk.core.Kuzzle;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class KuzzleWebViewClientTest {
+  private Kuzzle kuzzle;
+  private KuzzleWebViewClient webViewClient;
+
+  @Before
+  public void setUp() {
+    kuzzle = mock(Kuzzle.class);
+    webViewClient = new KuzzleWebViewClient(kuzzle);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingKuzzle() {
+    new KuzzleWebViewClient(null);
+  }
+
+  @Test
+  public void testShouldLoadFinalUrl() {
+    WebView view = mock(WebView.class);
+    webViewClient.shouldOverrideUrlLoading(view, "url");
+    verify(view).loadUrl(eq("url"));
+    verify(kuzzle, never()).completeOAuthLogin(anyString());
+  }
+
+  @Test
+  public void testShouldCompleteLogin() {
+    WebView view = mock(WebView.class);
+    webViewClient.shouldOverrideUrlLoading(view, "http://localhost/auth?code=foo");
+    verify(kuzzle).completeOAuthLogin(eq("http://localhost/auth?code=foo"));
+    verify(view, never()).loadUrl(anyString());
+  }
+}